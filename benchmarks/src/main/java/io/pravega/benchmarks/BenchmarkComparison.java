@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.benchmarks;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.Data;
+
+/**
+ * Compares two sets of JMH results (as produced with "-rf json") and reports, for every benchmark and parameter
+ * combination, the change between the baseline and the current run.
+ *
+ * Usage: BenchmarkComparison &lt;baseline.json&gt; &lt;current.json&gt; [threshold percent]
+ *
+ * The process exits with a non-zero code if any benchmark regressed by more than the threshold (default 10%), so that
+ * it can be used as a build gate. For throughput benchmarks a regression is a lower score; for all other modes
+ * (average time, sample time, single shot) it is a higher score.
+ */
+public final class BenchmarkComparison {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold percent]");
+            System.exit(2);
+        }
+
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Result> baseline = load(args[0]);
+        Map<String, Result> current = load(args[1]);
+        int regressionCount = compare(baseline, current, thresholdPercent, System.out);
+        if (regressionCount > 0) {
+            System.err.println(String.format("%d benchmark(s) regressed by more than %.1f%%.", regressionCount, thresholdPercent));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares the given results and prints a report to the given PrintStream.
+     *
+     * @param baseline         The baseline results, indexed by {@link Result#getKey()}.
+     * @param current          The current results, indexed by {@link Result#getKey()}.
+     * @param thresholdPercent The maximum allowed regression, in percent.
+     * @param out              The PrintStream to write the report to.
+     * @return The number of benchmarks that regressed by more than the threshold.
+     */
+    static int compare(Map<String, Result> baseline, Map<String, Result> current, double thresholdPercent, PrintStream out) {
+        Preconditions.checkArgument(thresholdPercent >= 0, "thresholdPercent must be a non-negative number.");
+        out.println(String.format("%-100s %16s %16s %10s  %s", "Benchmark", "Baseline", "Current", "Change", "Status"));
+        int regressionCount = 0;
+        for (Result c : current.values()) {
+            Result b = baseline.get(c.getKey());
+            if (b == null) {
+                out.println(String.format("%-100s %16s %16.3f %10s  NEW", c.getKey(), "-", c.getScore(), "-"));
+                continue;
+            }
+
+            double changePercent = b.getScore() == 0 ? 0 : (c.getScore() - b.getScore()) * 100 / b.getScore();
+            double regressionPercent = c.isHigherBetter() ? -changePercent : changePercent;
+            String status;
+            if (regressionPercent > thresholdPercent) {
+                status = "REGRESSED";
+                regressionCount++;
+            } else if (-regressionPercent > thresholdPercent) {
+                status = "IMPROVED";
+            } else {
+                status = "OK";
+            }
+
+            out.println(String.format("%-100s %16.3f %16.3f %+9.1f%%  %s (%s)", c.getKey(), b.getScore(), c.getScore(),
+                    changePercent, status, c.getUnit()));
+        }
+
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> out.println(String.format("%-100s %16.3f %16s %10s  MISSING", key, baseline.get(key).getScore(), "-", "-")));
+        return regressionCount;
+    }
+
+    /**
+     * Loads the JMH results from the given JSON file.
+     *
+     * @param path The path to the file.
+     * @return A Map of {@link Result#getKey()} to {@link Result}, sorted by key.
+     * @throws IOException If the file could not be read.
+     */
+    static Map<String, Result> load(String path) throws IOException {
+        Map<String, Result> result = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            for (JsonElement e : new JsonParser().parse(reader).getAsJsonArray()) {
+                Result r = Result.fromJson(e.getAsJsonObject());
+                result.put(r.getKey(), r);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * A single JMH result (one benchmark method with one combination of parameters).
+     */
+    @Data
+    static class Result {
+        private final String key;
+        private final String mode;
+        private final double score;
+        private final String unit;
+
+        boolean isHigherBetter() {
+            return "thrpt".equals(this.mode);
+        }
+
+        static Result fromJson(JsonObject json) {
+            String benchmark = json.get("benchmark").getAsString();
+            String params = "";
+            if (json.has("params")) {
+                params = json.getAsJsonObject("params").entrySet().stream()
+                        .map(e -> e.getKey() + "=" + e.getValue().getAsString())
+                        .sorted()
+                        .collect(Collectors.joining(", ", " [", "]"));
+            }
+
+            JsonObject metric = json.getAsJsonObject("primaryMetric");
+            return new Result(benchmark + params, json.get("mode").getAsString(), metric.get("score").getAsDouble(),
+                    metric.get("scoreUnit").getAsString());
+        }
+    }
+}
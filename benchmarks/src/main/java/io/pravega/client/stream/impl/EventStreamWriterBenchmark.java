@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.stream.impl;
+
+import io.pravega.client.security.auth.DelegationTokenProvider;
+import io.pravega.client.segment.impl.Segment;
+import io.pravega.client.segment.impl.SegmentOutputStream;
+import io.pravega.client.segment.impl.SegmentOutputStreamFactory;
+import io.pravega.client.stream.EventWriterConfig;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Measures the throughput of a single {@link EventStreamWriterImpl} instance that is shared by a varying number of
+ * producer threads (1 to 32). The Segment Store is replaced by {@link SegmentOutputStream}s that acknowledge every
+ * event as soon as it is written, so the results reflect the writer's own routing, serialization and locking overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventStreamWriterBenchmark {
+    private static final String SCOPE = "scope";
+    private static final String STREAM = "stream";
+    private static final String EVENT = "0123456789012345678901234567890123456789012345678901234567890123";
+    private static final int ROUTING_KEY_COUNT = 1024;
+
+    /**
+     * The number of segments in the stream.
+     */
+    @Param({"1", "4", "16"})
+    public int segmentCount;
+
+    /**
+     * The amount of CPU work (in {@link Blackhole#consumeCPU} tokens) that each {@link SegmentOutputStream#write} costs.
+     */
+    @Param({"0", "100"})
+    public int writeCost;
+
+    private ScheduledExecutorService executor;
+    private EventStreamWriterImpl<String> writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(1, "writer-benchmark");
+        NavigableMap<Double, SegmentWithRange> segments = new TreeMap<>();
+        for (int i = 0; i < this.segmentCount; i++) {
+            double high = (double) (i + 1) / this.segmentCount;
+            segments.put(high, new SegmentWithRange(new Segment(SCOPE, STREAM, i), (double) i / this.segmentCount, high));
+        }
+
+        Controller controller = Mockito.mock(Controller.class);
+        Mockito.when(controller.getCurrentSegments(anyString(), anyString()))
+               .thenReturn(CompletableFuture.completedFuture(new StreamSegments(segments, "")));
+        this.writer = new EventStreamWriterImpl<>(new StreamImpl(SCOPE, STREAM), "writer", controller,
+                new ImmediateAckStreamFactory(this.writeCost), new JavaSerializer<>(), EventWriterConfig.builder().build(),
+                this.executor, this.executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.writer.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    //region Benchmarks
+
+    @Benchmark
+    @Threads(1)
+    public CompletableFuture<Void> writeEvent01Thread(ProducerState producer) {
+        return writeEvent(producer);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public CompletableFuture<Void> writeEvent02Threads(ProducerState producer) {
+        return writeEvent(producer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CompletableFuture<Void> writeEvent04Threads(ProducerState producer) {
+        return writeEvent(producer);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public CompletableFuture<Void> writeEvent08Threads(ProducerState producer) {
+        return writeEvent(producer);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public CompletableFuture<Void> writeEvent16Threads(ProducerState producer) {
+        return writeEvent(producer);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public CompletableFuture<Void> writeEvent32Threads(ProducerState producer) {
+        return writeEvent(producer);
+    }
+
+    private CompletableFuture<Void> writeEvent(ProducerState producer) {
+        return this.writer.writeEvent(producer.nextRoutingKey(), EVENT);
+    }
+
+    //endregion
+
+    //region Helper Classes
+
+    /**
+     * Per-thread state that cycles through a fixed set of Routing Keys, so that events are spread across all segments
+     * without allocating a new key for every event.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState {
+        private final String[] routingKeys = new String[ROUTING_KEY_COUNT];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < this.routingKeys.length; i++) {
+                this.routingKeys[i] = "RoutingKey" + i;
+            }
+        }
+
+        String nextRoutingKey() {
+            this.next = (this.next + 1) % this.routingKeys.length;
+            return this.routingKeys[this.next];
+        }
+    }
+
+    /**
+     * Creates {@link SegmentOutputStream}s which acknowledge every event as soon as it is written.
+     */
+    private static class ImmediateAckStreamFactory implements SegmentOutputStreamFactory {
+        private final int writeCost;
+
+        ImmediateAckStreamFactory(int writeCost) {
+            this.writeCost = writeCost;
+        }
+
+        @Override
+        public SegmentOutputStream createOutputStreamForTransaction(Segment segment, UUID txId,
+                                                                    EventWriterConfig config, DelegationTokenProvider tokenProvider) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SegmentOutputStream createOutputStreamForSegment(Segment segment, Consumer<Segment> segmentSealedCallback,
+                                                                EventWriterConfig config, DelegationTokenProvider tokenProvider) {
+            return new ImmediateAckOutputStream(segment, this.writeCost);
+        }
+
+        @Override
+        public SegmentOutputStream createOutputStreamForSegment(Segment segment, EventWriterConfig config,
+                                                                DelegationTokenProvider tokenProvider) {
+            return new ImmediateAckOutputStream(segment, this.writeCost);
+        }
+    }
+
+    private static class ImmediateAckOutputStream implements SegmentOutputStream {
+        private final Segment segment;
+        private final int writeCost;
+
+        ImmediateAckOutputStream(Segment segment, int writeCost) {
+            this.segment = segment;
+            this.writeCost = writeCost;
+        }
+
+        @Override
+        public String getSegmentName() {
+            return this.segment.getScopedName();
+        }
+
+        @Override
+        public void write(PendingEvent event) {
+            if (this.writeCost > 0) {
+                Blackhole.consumeCPU(this.writeCost);
+            }
+
+            event.getData().release();
+            event.getAckFuture().complete(null);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public List<PendingEvent> getUnackedEventsOnSeal() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public long getLastObservedWriteOffset() {
+            return -1;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util.btree;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of updates and point lookups against a {@link BTreeIndex} that is backed by an in-memory
+ * data source and holds a fixed set of keys (so its size remains constant while the benchmark is running).
+ *
+ * {@link BTreeIndex} does not support concurrent updates (its owner must serialize them), so this benchmark is
+ * single-threaded by design.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BTreeIndexBenchmark {
+    private static final int KEY_COUNT = 100000;
+    private static final int KEY_LENGTH = 16;
+    private static final int VALUE_LENGTH = 8;
+    private static final int INITIAL_BATCH_SIZE = 1000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The maximum size of a BTreeIndex page, in bytes.
+     */
+    @Param({"4096", "16384"})
+    public int maxPageSize;
+
+    /**
+     * The number of entries in each update.
+     */
+    @Param({"1", "100", "1000"})
+    public int batchSize;
+
+    private ScheduledExecutorService executor;
+    private BTreeIndex index;
+    private ByteArraySegment[] keys;
+    private ByteArraySegment value;
+
+    //region Setup and TearDown
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(1, "btree-index-benchmark");
+        DataSource dataSource = new DataSource();
+        this.index = BTreeIndex.builder()
+                .maxPageSize(this.maxPageSize)
+                .keyLength(KEY_LENGTH)
+                .valueLength(VALUE_LENGTH)
+                .readPage(dataSource::read)
+                .writePages(dataSource::write)
+                .getLength(dataSource::getLength)
+                .executor(this.executor)
+                .build();
+        this.index.initialize(TIMEOUT).join();
+
+        Random random = new Random(0);
+        this.keys = new ByteArraySegment[KEY_COUNT];
+        for (int i = 0; i < this.keys.length; i++) {
+            byte[] key = new byte[KEY_LENGTH];
+            random.nextBytes(key);
+            this.keys[i] = new ByteArraySegment(key);
+        }
+
+        byte[] value = new byte[VALUE_LENGTH];
+        random.nextBytes(value);
+        this.value = new ByteArraySegment(value);
+        for (int i = 0; i < this.keys.length; i += INITIAL_BATCH_SIZE) {
+            this.index.update(getEntries(i, INITIAL_BATCH_SIZE), TIMEOUT).join();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    //endregion
+
+    //region Benchmarks
+
+    @Benchmark
+    public long update() {
+        int firstKeyIndex = ThreadLocalRandom.current().nextInt(this.keys.length);
+        return this.index.update(getEntries(firstKeyIndex, this.batchSize), TIMEOUT).join();
+    }
+
+    @Benchmark
+    public ByteArraySegment get() {
+        return this.index.get(this.keys[ThreadLocalRandom.current().nextInt(this.keys.length)], TIMEOUT).join();
+    }
+
+    /**
+     * Gets the PageEntries for count consecutive keys (wrapping around), starting at the given index. Keys are randomly
+     * generated, so consecutive keys are scattered across the whole index.
+     */
+    private List<PageEntry> getEntries(int firstKeyIndex, int count) {
+        count = Math.min(count, this.keys.length);
+        List<PageEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new PageEntry(this.keys[(firstKeyIndex + i) % this.keys.length], this.value));
+        }
+
+        return entries;
+    }
+
+    //endregion
+
+    //region DataSource
+
+    /**
+     * In-memory, append-only page store. Data before the truncation offset provided by the {@link BTreeIndex} is
+     * discarded, which keeps memory usage proportional to the size of the index.
+     */
+    private static class DataSource {
+        @GuardedBy("pages")
+        private final TreeMap<Long, byte[]> pages = new TreeMap<>();
+        @GuardedBy("pages")
+        private long length;
+
+        CompletableFuture<Long> getLength(Duration timeout) {
+            synchronized (this.pages) {
+                return CompletableFuture.completedFuture(this.length);
+            }
+        }
+
+        CompletableFuture<ByteArraySegment> read(long offset, int length, Duration timeout) {
+            byte[] page;
+            synchronized (this.pages) {
+                page = this.pages.get(offset);
+            }
+
+            Preconditions.checkArgument(page != null && page.length == length, "No page with length %s at offset %s.", length, offset);
+            return CompletableFuture.completedFuture(new ByteArraySegment(page.clone()));
+        }
+
+        CompletableFuture<Long> write(List<Map.Entry<Long, ByteArraySegment>> toWrite, Collection<Long> obsoleteOffsets,
+                                      long truncateOffset, Duration timeout) {
+            synchronized (this.pages) {
+                for (Map.Entry<Long, ByteArraySegment> e : toWrite) {
+                    Preconditions.checkArgument(e.getKey() == this.length, "Bad Offset. Expected %s, given %s.", this.length, e.getKey());
+                    this.pages.put(e.getKey(), e.getValue().getCopy());
+                    this.length += e.getValue().getLength();
+                }
+
+                this.pages.headMap(truncateOffset).clear();
+                return CompletableFuture.completedFuture(this.length);
+            }
+        }
+    }
+
+    //endregion
+}
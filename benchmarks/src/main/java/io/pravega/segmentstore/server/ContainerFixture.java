@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server;
+
+import io.pravega.segmentstore.server.containers.StreamSegmentContainerMetadata;
+import io.pravega.segmentstore.server.reading.ContainerReadIndex;
+import io.pravega.segmentstore.server.reading.ReadIndexConfig;
+import io.pravega.segmentstore.storage.CacheFactory;
+import io.pravega.segmentstore.storage.Storage;
+import io.pravega.segmentstore.storage.mocks.InMemoryCacheFactory;
+import io.pravega.segmentstore.storage.mocks.InMemoryStorageFactory;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import lombok.Getter;
+
+/**
+ * In-memory Segment Container components (metadata, {@link Storage}, cache and {@link ContainerReadIndex}) for use by
+ * Segment Store benchmarks.
+ *
+ * Benchmarks that keep appending data should periodically invoke {@link #flush()}, which simulates the StorageWriter
+ * having persisted everything to Storage, so that the cache can evict it and memory usage remains bounded.
+ */
+public class ContainerFixture implements AutoCloseable {
+    /**
+     * The CachePolicy to use when the fixture is flushed. Every flush starts a new generation, and any data older than
+     * 10 generations (or exceeding the max size) is evicted.
+     */
+    private static final CachePolicy FLUSHING_CACHE_POLICY = new CachePolicy(64 * 1024 * 1024, Duration.ofSeconds(1), Duration.ofMillis(100));
+    private static final int CONTAINER_ID = 0;
+    @Getter
+    private final UpdateableContainerMetadata metadata;
+    @Getter
+    private final ReadIndex readIndex;
+    private final Storage storage;
+    private final CacheFactory cacheFactory;
+    private final CacheManager cacheManager;
+    private final int segmentCount;
+
+    /**
+     * Creates a new instance of the ContainerFixture class.
+     *
+     * @param segmentCount The number of Segments to create. Their ids will be 0 to segmentCount - 1.
+     * @param flushing     If true, the cache will evict flushed data (see {@link #flush()}). If false, nothing will
+     *                     ever be evicted from the cache.
+     * @param executor     An executor to use for async operations.
+     */
+    public ContainerFixture(int segmentCount, boolean flushing, ScheduledExecutorService executor) {
+        this.segmentCount = segmentCount;
+        this.metadata = new StreamSegmentContainerMetadata(CONTAINER_ID, segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            UpdateableSegmentMetadata sm = this.metadata.mapStreamSegmentId(getSegmentName(i), i);
+            sm.setLength(0);
+            sm.setStorageLength(0);
+        }
+
+        this.storage = InMemoryStorageFactory.newStorage(executor);
+        this.storage.initialize(1);
+        this.cacheFactory = new InMemoryCacheFactory();
+        this.cacheManager = new CacheManager(flushing ? FLUSHING_CACHE_POLICY : CachePolicy.INFINITE, executor);
+        this.readIndex = new ContainerReadIndex(ReadIndexConfig.builder().build(), this.metadata, this.cacheFactory,
+                this.storage, this.cacheManager, executor);
+    }
+
+    @Override
+    public void close() {
+        this.readIndex.close();
+        this.cacheManager.close();
+        this.cacheFactory.close();
+        this.storage.close();
+    }
+
+    /**
+     * Gets the name of the Segment with given id.
+     *
+     * @param segmentId The Segment Id.
+     * @return The Segment Name.
+     */
+    public static String getSegmentName(long segmentId) {
+        return "Segment_" + segmentId;
+    }
+
+    /**
+     * Marks all data appended so far as persisted to Storage and applies the cache policy, evicting any data that is
+     * old enough.
+     */
+    public void flush() {
+        for (int i = 0; i < this.segmentCount; i++) {
+            UpdateableSegmentMetadata sm = this.metadata.getStreamSegmentMetadata(i);
+            sm.setStorageLength(sm.getLength());
+        }
+
+        this.cacheManager.applyCachePolicy();
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.server.logs.operations.Operation;
+import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.mocks.InMemoryDurableDataLogFactory;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of serializing {@link StreamSegmentAppendOperation}s into DataFrames using a
+ * {@link DataFrameBuilder} backed by an in-memory {@link DurableDataLog}. Committed DataFrames are truncated out of the
+ * log as soon as they are acknowledged, so memory usage does not grow with the number of appends.
+ *
+ * {@link DataFrameBuilder} is not thread safe, so this benchmark is single-threaded by design.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataFrameBuilderBenchmark {
+    private static final int CONTAINER_ID = 0;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The size of each append, in bytes.
+     */
+    @Param({"100", "1024", "10240"})
+    public int appendSize;
+
+    /**
+     * The number of segments that appends are spread across.
+     */
+    @Param({"1", "16", "256"})
+    public int segmentCount;
+
+    private ScheduledExecutorService executor;
+    private InMemoryDurableDataLogFactory dataLogFactory;
+    private DurableDataLog dataLog;
+    private DataFrameBuilder<Operation> builder;
+    private AtomicReference<Throwable> failure;
+    private ByteArraySegment appendData;
+    private long[] segmentLengths;
+    private long nextSequenceNumber;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(2, "data-frame-builder-benchmark");
+        this.dataLogFactory = new InMemoryDurableDataLogFactory(this.executor);
+        this.dataLog = this.dataLogFactory.createDurableDataLog(CONTAINER_ID);
+        this.dataLog.initialize(TIMEOUT);
+        this.failure = new AtomicReference<>();
+        DataFrameBuilder.Args args = new DataFrameBuilder.Args(Callbacks::doNothing, this::commitSuccess,
+                (ex, commitArgs) -> this.failure.compareAndSet(null, ex), this.executor);
+        this.builder = new DataFrameBuilder<>(this.dataLog, OperationSerializer.DEFAULT, args);
+
+        byte[] data = new byte[this.appendSize];
+        new Random(0).nextBytes(data);
+        this.appendData = new ByteArraySegment(data);
+        this.segmentLengths = new long[this.segmentCount];
+        this.nextSequenceNumber = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.builder.flush();
+        this.builder.close();
+        this.dataLog.close();
+        this.dataLogFactory.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+        if (this.failure.get() != null) {
+            throw new IllegalStateException("At least one DataFrame could not be committed.", this.failure.get());
+        }
+    }
+
+    private void commitSuccess(DataFrameBuilder.CommitArgs commitArgs) {
+        this.dataLog.truncate(commitArgs.getLogAddress(), TIMEOUT);
+    }
+
+    @Benchmark
+    public void append() throws IOException {
+        long sequenceNumber = ++this.nextSequenceNumber;
+        int segmentId = (int) (sequenceNumber % this.segmentCount);
+        StreamSegmentAppendOperation operation = new StreamSegmentAppendOperation(segmentId,
+                this.segmentLengths[segmentId], this.appendData, null);
+        operation.setSequenceNumber(sequenceNumber);
+        this.segmentLengths[segmentId] += this.appendSize;
+        this.builder.append(operation);
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import com.google.common.util.concurrent.Runnables;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.SequencedItemList;
+import io.pravega.segmentstore.server.ContainerFixture;
+import io.pravega.segmentstore.server.UpdateableContainerMetadata;
+import io.pravega.segmentstore.server.logs.operations.Operation;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.mocks.InMemoryDurableDataLogFactory;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link StreamSegmentAppendOperation}s going through an {@link OperationProcessor}: metadata
+ * validation, serialization into DataFrames, the (in-memory) {@link DurableDataLog} write and the in-memory state update
+ * (Read Index and in-memory Operation Log).
+ *
+ * Each producer thread keeps a bounded number of operations in flight. A background task periodically simulates the
+ * StorageWriter and DurableLog truncation (everything written so far is considered flushed to Storage and truncated
+ * out of the logs), so memory usage remains bounded regardless of how many operations are processed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperationProcessorBenchmark {
+    private static final int CONTAINER_ID = 0;
+    private static final int MAX_IN_FLIGHT_PER_THREAD = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(100);
+
+    /**
+     * The size of each append, in bytes.
+     */
+    @Param({"100", "1024", "10240"})
+    public int appendSize;
+
+    /**
+     * The number of segments that appends are spread across.
+     */
+    @Param({"1", "16", "256"})
+    public int segmentCount;
+
+    private ScheduledExecutorService executor;
+    private ContainerFixture container;
+    private InMemoryDurableDataLogFactory dataLogFactory;
+    private DurableDataLog dataLog;
+    private SequencedItemList<Operation> memoryLog;
+    private OperationProcessor operationProcessor;
+    private ScheduledFuture<?> flushTask;
+    private AtomicReference<Throwable> flushFailure;
+    private ByteArraySegment appendData;
+
+    //region Setup and TearDown
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(8, "operation-processor-benchmark");
+        this.container = new ContainerFixture(this.segmentCount, true, this.executor);
+        this.dataLogFactory = new InMemoryDurableDataLogFactory(this.executor);
+        this.dataLog = this.dataLogFactory.createDurableDataLog(CONTAINER_ID);
+        this.dataLog.initialize(TIMEOUT);
+        this.memoryLog = new SequencedItemList<>();
+        MemoryStateUpdater stateUpdater = new MemoryStateUpdater(this.memoryLog, this.container.getReadIndex(), Runnables.doNothing());
+
+        // We never want the OperationProcessor to generate checkpoints on its own.
+        DurableLogConfig config = DurableLogConfig
+                .builder()
+                .with(DurableLogConfig.CHECKPOINT_COMMIT_COUNT, Integer.MAX_VALUE)
+                .with(DurableLogConfig.CHECKPOINT_TOTAL_COMMIT_LENGTH, Long.MAX_VALUE)
+                .build();
+        MetadataCheckpointPolicy checkpointPolicy = new MetadataCheckpointPolicy(config, Runnables.doNothing(), this.executor);
+        this.operationProcessor = new OperationProcessor(this.container.getMetadata(), stateUpdater, this.dataLog,
+                checkpointPolicy, this.executor);
+        this.operationProcessor.startAsync().awaitRunning();
+
+        byte[] data = new byte[this.appendSize];
+        new Random(0).nextBytes(data);
+        this.appendData = new ByteArraySegment(data);
+        this.flushFailure = new AtomicReference<>();
+        this.flushTask = this.executor.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL.toMillis(),
+                FLUSH_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.flushTask.cancel(true);
+        this.operationProcessor.stopAsync().awaitTerminated();
+        this.operationProcessor.close();
+        this.dataLog.close();
+        this.dataLogFactory.close();
+        this.container.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+        if (this.flushFailure.get() != null) {
+            throw new IllegalStateException("Unable to simulate a flush.", this.flushFailure.get());
+        }
+    }
+
+    /**
+     * Simulates everything processed so far being flushed to Storage, followed by a DurableLog truncation.
+     */
+    private void flush() {
+        try {
+            UpdateableContainerMetadata metadata = this.container.getMetadata();
+            long sequenceNumber = metadata.getOperationSequenceNumber();
+            LogAddress truncationAddress = metadata.getClosestTruncationMarker(sequenceNumber);
+            if (truncationAddress != null) {
+                this.dataLog.truncate(truncationAddress, TIMEOUT).join();
+                this.memoryLog.truncate(sequenceNumber);
+                metadata.removeTruncationMarkers(sequenceNumber);
+            }
+
+            this.container.flush();
+        } catch (Throwable ex) {
+            this.flushFailure.compareAndSet(null, ex);
+            throw ex;
+        }
+    }
+
+    //endregion
+
+    //region Benchmarks
+
+    @Benchmark
+    @Threads(1)
+    public void append01Thread(ProducerState producer) {
+        append(producer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void append04Threads(ProducerState producer) {
+        append(producer);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void append16Threads(ProducerState producer) {
+        append(producer);
+    }
+
+    private void append(ProducerState producer) {
+        long segmentId = ThreadLocalRandom.current().nextInt(this.segmentCount);
+        producer.add(this.operationProcessor.process(new StreamSegmentAppendOperation(segmentId, this.appendData, null)));
+    }
+
+    //endregion
+
+    //region Helper Classes
+
+    /**
+     * Per-thread state that bounds the number of operations each producer thread has in flight.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState {
+        private final ArrayDeque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+
+        void add(CompletableFuture<Void> operation) {
+            if (this.inFlight.size() >= MAX_IN_FLIGHT_PER_THREAD) {
+                this.inFlight.removeFirst().join();
+            }
+
+            this.inFlight.addLast(operation);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            // The OperationProcessor may have already been stopped, in which case these will have been cancelled.
+            this.inFlight.forEach(f -> f.handle((r, ex) -> null).join());
+            this.inFlight.clear();
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.contracts.ReadResult;
+import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
+import io.pravega.segmentstore.server.ContainerFixture;
+import io.pravega.segmentstore.server.ReadIndex;
+import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link ContainerReadIndex} appends and cache-hit reads.
+ *
+ * Appends are always issued from a single thread, since that is how the OperationProcessor invokes the Read Index.
+ * Reads are issued from a varying number of threads against Segments whose data is entirely in the cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerReadIndexBenchmark {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(100);
+    private static final int TOTAL_READ_DATA_SIZE = 64 * 1024 * 1024;
+
+    //region Benchmarks
+
+    @Benchmark
+    @Threads(1)
+    public void append(AppendState state) throws StreamSegmentNotExistsException {
+        state.append();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int read01Thread(ReadState state, ReaderState reader) throws StreamSegmentNotExistsException {
+        return state.read(reader);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int read04Threads(ReadState state, ReaderState reader) throws StreamSegmentNotExistsException {
+        return state.read(reader);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int read16Threads(ReadState state, ReaderState reader) throws StreamSegmentNotExistsException {
+        return state.read(reader);
+    }
+
+    //endregion
+
+    //region States
+
+    /**
+     * Appends to a Read Index whose data is periodically marked as flushed to Storage, so that the cache evicts it and
+     * memory usage remains bounded.
+     */
+    @State(Scope.Benchmark)
+    public static class AppendState {
+        /**
+         * The size of each append, in bytes.
+         */
+        @Param({"100", "1024", "10240"})
+        public int appendSize;
+
+        /**
+         * The number of segments that appends are spread across.
+         */
+        @Param({"1", "16", "256"})
+        public int segmentCount;
+
+        private ScheduledExecutorService executor;
+        private ContainerFixture container;
+        private ScheduledFuture<?> flushTask;
+        private ByteArraySegment appendData;
+        private long nextSegmentId;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            this.executor = ExecutorServiceHelpers.newScheduledThreadPool(2, "read-index-append-benchmark");
+            this.container = new ContainerFixture(this.segmentCount, true, this.executor);
+            byte[] data = new byte[this.appendSize];
+            new Random(0).nextBytes(data);
+            this.appendData = new ByteArraySegment(data);
+            this.flushTask = this.executor.scheduleWithFixedDelay(this.container::flush, FLUSH_INTERVAL.toMillis(),
+                    FLUSH_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            this.flushTask.cancel(true);
+            this.container.close();
+            ExecutorServiceHelpers.shutdown(this.executor);
+        }
+
+        void append() throws StreamSegmentNotExistsException {
+            long segmentId = this.nextSegmentId;
+            this.nextSegmentId = (this.nextSegmentId + 1) % this.segmentCount;
+
+            // The Read Index requires the Segment's metadata to reflect the append before it is added.
+            UpdateableSegmentMetadata sm = this.container.getMetadata().getStreamSegmentMetadata(segmentId);
+            long offset = sm.getLength();
+            sm.setLength(offset + this.appendSize);
+            this.container.getReadIndex().append(segmentId, offset, this.appendData);
+        }
+    }
+
+    /**
+     * Reads from a Read Index which has been pre-populated with {@link #TOTAL_READ_DATA_SIZE} bytes, evenly spread
+     * across all Segments. Nothing is ever evicted from the cache, so every read is a cache hit.
+     */
+    @State(Scope.Benchmark)
+    public static class ReadState {
+        /**
+         * The number of bytes requested by each read.
+         */
+        @Param({"100", "1024", "10240"})
+        public int readSize;
+
+        /**
+         * The size of each append used to populate the Read Index, in bytes. Reads larger than this need to stitch
+         * together multiple cache entries.
+         */
+        @Param({"1024", "102400"})
+        public int appendSize;
+
+        /**
+         * The number of segments that reads are spread across.
+         */
+        @Param({"1", "16", "256"})
+        public int segmentCount;
+
+        private ScheduledExecutorService executor;
+        private ContainerFixture container;
+        private long segmentLength;
+
+        @Setup(Level.Trial)
+        public void setUp() throws StreamSegmentNotExistsException {
+            this.executor = ExecutorServiceHelpers.newScheduledThreadPool(2, "read-index-read-benchmark");
+            this.container = new ContainerFixture(this.segmentCount, false, this.executor);
+            byte[] data = new byte[this.appendSize];
+            new Random(0).nextBytes(data);
+            ByteArraySegment appendData = new ByteArraySegment(data);
+
+            int appendsPerSegment = Math.max(1, TOTAL_READ_DATA_SIZE / this.segmentCount / this.appendSize);
+            this.segmentLength = (long) appendsPerSegment * this.appendSize;
+            ReadIndex readIndex = this.container.getReadIndex();
+            for (long segmentId = 0; segmentId < this.segmentCount; segmentId++) {
+                UpdateableSegmentMetadata sm = this.container.getMetadata().getStreamSegmentMetadata(segmentId);
+                for (int i = 0; i < appendsPerSegment; i++) {
+                    long offset = sm.getLength();
+                    sm.setLength(offset + this.appendSize);
+                    readIndex.append(segmentId, offset, appendData);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.container.close();
+            ExecutorServiceHelpers.shutdown(this.executor);
+        }
+
+        int read(ReaderState reader) throws StreamSegmentNotExistsException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long segmentId = random.nextInt(this.segmentCount);
+            int length = (int) Math.min(this.readSize, this.segmentLength);
+            long offset = random.nextLong(this.segmentLength - length + 1);
+            try (ReadResult readResult = this.container.getReadIndex().read(segmentId, offset, length, TIMEOUT)) {
+                return readResult.readRemaining(reader.getBuffer(length), TIMEOUT);
+            }
+        }
+    }
+
+    /**
+     * Per-thread state that holds a reusable read buffer.
+     */
+    @State(Scope.Thread)
+    public static class ReaderState {
+        private byte[] buffer = new byte[0];
+
+        byte[] getBuffer(int length) {
+            if (this.buffer.length != length) {
+                this.buffer = new byte[length];
+            }
+
+            return this.buffer;
+        }
+    }
+
+    //endregion
+}
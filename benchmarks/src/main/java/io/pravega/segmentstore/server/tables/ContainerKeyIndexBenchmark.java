@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.tables;
+
+import io.pravega.common.TimeoutTimer;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.contracts.AttributeUpdate;
+import io.pravega.segmentstore.contracts.ReadResult;
+import io.pravega.segmentstore.contracts.SegmentProperties;
+import io.pravega.segmentstore.contracts.StreamSegmentInformation;
+import io.pravega.segmentstore.contracts.tables.TableKey;
+import io.pravega.segmentstore.server.AttributeIterator;
+import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePolicy;
+import io.pravega.segmentstore.server.DirectSegmentAccess;
+import io.pravega.segmentstore.storage.CacheFactory;
+import io.pravega.segmentstore.storage.mocks.InMemoryCacheFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of unconditional updates and cached lookups against a {@link ContainerKeyIndex}.
+ *
+ * Updates are "persisted" instantly (the persist callback completes immediately), so the results reflect the cost of
+ * hashing the keys and updating the in-memory key cache. A fixed set of keys is used for each Table Segment, so memory
+ * usage remains bounded. Every key is inserted before the benchmark starts, so every lookup is a cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerKeyIndexBenchmark {
+    private static final int CONTAINER_ID = 0;
+    private static final int SEGMENT_COUNT = 16;
+    private static final int KEYS_PER_SEGMENT = 10000;
+    private static final int KEY_LENGTH = 64;
+    private static final int ENTRY_LENGTH = 1024;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The number of keys in each update batch or lookup.
+     */
+    @Param({"1", "10", "100"})
+    public int batchSize;
+
+    private ScheduledExecutorService executor;
+    private CacheFactory cacheFactory;
+    private CacheManager cacheManager;
+    private ContainerKeyIndex keyIndex;
+    private KeyHasher keyHasher;
+    private TableSegment[] segments;
+    private ArrayView[] keys;
+    private UUID[] hashes;
+    private AtomicLong nextOffset;
+
+    //region Setup and TearDown
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(4, "key-index-benchmark");
+        this.cacheFactory = new InMemoryCacheFactory();
+        this.cacheManager = new CacheManager(CachePolicy.INFINITE, this.executor);
+        this.keyHasher = KeyHasher.sha256();
+        this.keyIndex = new ContainerKeyIndex(CONTAINER_ID, this.cacheFactory, this.cacheManager, this.keyHasher, this.executor);
+        this.nextOffset = new AtomicLong();
+
+        this.segments = new TableSegment[SEGMENT_COUNT];
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = new TableSegment(i);
+        }
+
+        Random random = new Random(0);
+        this.keys = new ArrayView[KEYS_PER_SEGMENT];
+        this.hashes = new UUID[KEYS_PER_SEGMENT];
+        for (int i = 0; i < this.keys.length; i++) {
+            byte[] key = new byte[KEY_LENGTH];
+            random.nextBytes(key);
+            this.keys[i] = new ByteArraySegment(key);
+            this.hashes[i] = this.keyHasher.hash(this.keys[i]);
+        }
+
+        // Insert every key into every segment, so that lookups will always find them in the cache.
+        for (TableSegment segment : this.segments) {
+            TableKeyBatch batch = TableKeyBatch.update();
+            for (int i = 0; i < this.keys.length; i++) {
+                batch.add(TableKey.unversioned(this.keys[i]), this.hashes[i], ENTRY_LENGTH);
+            }
+
+            update(segment, batch).join();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.keyIndex.close();
+        this.cacheManager.close();
+        this.cacheFactory.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    //endregion
+
+    //region Benchmarks
+
+    @Benchmark
+    @Threads(1)
+    public List<Long> update01Thread() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Long> update04Threads() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public List<Long> update16Threads() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<UUID, Long> getBucketOffsets01Thread() {
+        return getBucketOffsets();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Map<UUID, Long> getBucketOffsets04Threads() {
+        return getBucketOffsets();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Map<UUID, Long> getBucketOffsets16Threads() {
+        return getBucketOffsets();
+    }
+
+    private List<Long> update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TableKeyBatch batch = TableKeyBatch.update();
+        for (int i = 0; i < this.batchSize; i++) {
+            ArrayView key = this.keys[random.nextInt(this.keys.length)];
+            batch.add(TableKey.unversioned(key), this.keyHasher.hash(key), ENTRY_LENGTH);
+        }
+
+        return update(this.segments[random.nextInt(this.segments.length)], batch).join();
+    }
+
+    private CompletableFuture<List<Long>> update(TableSegment segment, TableKeyBatch batch) {
+        long batchOffset = this.nextOffset.getAndAdd(batch.getLength());
+        return this.keyIndex.update(segment, batch, () -> CompletableFuture.completedFuture(batchOffset), new TimeoutTimer(TIMEOUT));
+    }
+
+    private Map<UUID, Long> getBucketOffsets() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<UUID> hashes = new ArrayList<>(this.batchSize);
+        for (int i = 0; i < this.batchSize; i++) {
+            hashes.add(this.hashes[random.nextInt(this.hashes.length)]);
+        }
+
+        return this.keyIndex.getBucketOffsets(this.segments[random.nextInt(this.segments.length)], hashes, new TimeoutTimer(TIMEOUT)).join();
+    }
+
+    //endregion
+
+    //region TableSegment
+
+    /**
+     * A {@link DirectSegmentAccess} for an empty Table Segment that has never been indexed. Only the methods that are
+     * required by {@link ContainerKeyIndex} for updates and cached lookups are implemented.
+     */
+    private static class TableSegment implements DirectSegmentAccess {
+        private final long segmentId;
+        private final SegmentProperties info;
+
+        TableSegment(long segmentId) {
+            this.segmentId = segmentId;
+            this.info = StreamSegmentInformation.builder()
+                    .name("Table_" + segmentId)
+                    .attributes(Collections.emptyMap())
+                    .build();
+        }
+
+        @Override
+        public long getSegmentId() {
+            return this.segmentId;
+        }
+
+        @Override
+        public SegmentProperties getInfo() {
+            return this.info;
+        }
+
+        @Override
+        public CompletableFuture<Long> append(BufferView data, Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> updateAttributes(Collection<AttributeUpdate> attributeUpdates, Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Map<UUID, Long>> getAttributes(Collection<UUID> attributeIds, boolean cache, Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ReadResult read(long offset, int maxLength, Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Long> seal(Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> truncate(long offset, Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<AttributeIterator> attributeIterator(UUID fromId, UUID toId, Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    //endregion
+}
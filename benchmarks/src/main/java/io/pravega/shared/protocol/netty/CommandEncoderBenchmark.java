@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.shared.protocol.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of encoding a single writer's {@link Append}s using a {@link CommandEncoder}, including batching them
+ * into AppendBlocks. Run with "-prof gc" to get the number of bytes allocated per event (gc.alloc.rate.norm). Note that
+ * this includes the {@link Append} itself (which is created by the writer, not the encoder), but not the event data,
+ * which is allocated once and reused.
+ *
+ * {@link CommandEncoder} is not thread safe, so this benchmark is single-threaded by design.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandEncoderBenchmark {
+    private static final String SEGMENT = "scope/stream/0";
+    private static final long FLOW_ID = 1L << 33;
+    private static final int MAX_OUTPUT_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * The size of each event, in bytes (excluding its header).
+     */
+    @Param({"100", "1024"})
+    public int eventSize;
+
+    /**
+     * The size of the AppendBlocks chosen by the AppendBatchSizeTracker. 0 means events are not batched.
+     */
+    @Param({"0", "102400"})
+    public int blockSize;
+
+    private final UUID writerId = new UUID(1, 2);
+    private CommandEncoder encoder;
+    private ChannelHandlerContext context;
+    private ByteBuf eventData;
+    private ByteBuf out;
+    private long eventNumber;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        AppendBatchSizeTracker tracker = new FixedBatchSizeTracker(this.blockSize);
+        this.encoder = new CommandEncoder(flowId -> tracker);
+
+        // stubOnly(), so that the mocks do not record (and hold on to) every invocation.
+        EventExecutor executor = Mockito.mock(EventExecutor.class, Mockito.withSettings().stubOnly());
+        this.context = Mockito.mock(ChannelHandlerContext.class, Mockito.withSettings().stubOnly());
+        Mockito.when(this.context.executor()).thenReturn(executor);
+
+        this.eventData = new WireCommands.Event(Unpooled.wrappedBuffer(new byte[this.eventSize])).getAsByteBuf();
+        this.out = Unpooled.buffer(MAX_OUTPUT_SIZE + WireCommands.MAX_WIRECOMMAND_SIZE);
+        this.eventNumber = 0;
+        this.encoder.encode(this.context, new WireCommands.SetupAppend(FLOW_ID, this.writerId, SEGMENT, ""), this.out);
+    }
+
+    @Benchmark
+    public int encodeAppend() throws Exception {
+        if (this.out.writerIndex() > MAX_OUTPUT_SIZE) {
+            this.out.clear();
+        }
+
+        this.eventNumber++;
+        this.encoder.encode(this.context, new Append(SEGMENT, this.writerId, this.eventNumber, 1, this.eventData, null, FLOW_ID), this.out);
+        return this.out.writerIndex();
+    }
+
+    private static class FixedBatchSizeTracker implements AppendBatchSizeTracker {
+        private final int blockSize;
+
+        FixedBatchSizeTracker(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public void recordAppend(long eventNumber, int size) {
+        }
+
+        @Override
+        public long recordAck(long eventNumber) {
+            return 0;
+        }
+
+        @Override
+        public int getAppendBlockSize() {
+            return this.blockSize;
+        }
+
+        @Override
+        public int getBatchTimeout() {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -20,10 +20,12 @@ import com.emc.object.s3.bean.Grant;
 import com.emc.object.s3.bean.ListObjectsResult;
 import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.Permission;
+import com.emc.object.s3.request.AbortMultipartUploadRequest;
 import com.emc.object.s3.request.CompleteMultipartUploadRequest;
 import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.pravega.common.Exceptions;
@@ -40,10 +42,18 @@ import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.storage.SegmentHandle;
 import io.pravega.segmentstore.storage.SyncStorage;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpStatus;
@@ -74,6 +84,10 @@ import org.apache.http.HttpStatus;
  * Multi part copy calls are idempotent too. Copying the same object at the same offset multiple times from different
  * hosts does not cause any form of inconsistency.
  *
+ * If an executor is provided, large writes are split into parts that are uploaded concurrently as a single multipart
+ * upload (which is completed atomically), and large reads are split into ranged reads that are executed concurrently.
+ * The calling thread always processes parts itself as well, so these operations make progress even if the executor
+ * is saturated (such as when it is the same executor that invoked them).
  */
 
 @Slf4j
@@ -85,6 +99,7 @@ public class ExtendedS3Storage implements SyncStorage {
 
     private final ExtendedS3StorageConfig config;
     private final S3Client client;
+    private final ExecutorService executor;
     private final AtomicBoolean closed;
 
     //endregion
@@ -92,10 +107,22 @@ public class ExtendedS3Storage implements SyncStorage {
     //region constructor
 
     public ExtendedS3Storage(S3Client client, ExtendedS3StorageConfig config) {
+        this(client, config, null);
+    }
+
+    /**
+     * Creates a new instance of the ExtendedS3Storage class.
+     *
+     * @param client   The S3Client to use.
+     * @param config   The configuration to use.
+     * @param executor An executor to upload or download parts of large writes or reads on. If null, all writes and
+     *                 reads will be executed as a single request.
+     */
+    public ExtendedS3Storage(S3Client client, ExtendedS3StorageConfig config, ExecutorService executor) {
         this.config = Preconditions.checkNotNull(config, "config");
         this.client = Preconditions.checkNotNull(client, "client");
+        this.executor = executor;
         this.closed = new AtomicBoolean(false);
-
     }
 
     //endregion
@@ -212,6 +239,62 @@ public class ExtendedS3Storage implements SyncStorage {
             throw new ArrayIndexOutOfBoundsException();
         }
 
+        int bytesRead;
+        if (isParallel(length, this.config.getReadPartSizeBytes())) {
+            bytesRead = doParallelRead(handle, offset, buffer, bufferOffset, length);
+        } else {
+            bytesRead = readRange(handle, offset, buffer, bufferOffset, length);
+        }
+
+        LoggerHelpers.traceLeave(log, "read", traceId, bytesRead);
+        return bytesRead;
+    }
+
+    /**
+     * Reads the given range by issuing ranged reads of at most {@link ExtendedS3StorageConfig#getReadPartSizeBytes()}
+     * concurrently. If any of them returns fewer bytes than requested (i.e., it reached the end of the object), the
+     * result only includes the bytes up to that point.
+     */
+    private int doParallelRead(SegmentHandle handle, long offset, byte[] buffer, int bufferOffset, int length) throws Exception {
+        int partSize = this.config.getReadPartSizeBytes();
+        int partCount = getPartCount(length, partSize);
+        int[] partBytesRead = new int[partCount];
+        AtomicInteger nextPart = new AtomicInteger();
+        runInParallel(() -> {
+            int part = nextPart.getAndIncrement();
+            if (part >= partCount) {
+                return false;
+            }
+
+            int partOffset = part * partSize;
+            int partLength = Math.min(partSize, length - partOffset);
+            try {
+                partBytesRead[part] = readRange(handle, offset + partOffset, buffer, bufferOffset + partOffset, partLength);
+            } catch (S3Exception ex) {
+                if (part == 0 || !isInvalidRange(ex)) {
+                    throw ex;
+                }
+
+                // A single request would have returned whatever is available up to the end of the object. Any part that
+                // begins after the end of the object would fail, so we need to treat it as empty instead.
+                partBytesRead[part] = 0;
+            }
+
+            return true;
+        });
+
+        int bytesRead = 0;
+        for (int part = 0; part < partCount; part++) {
+            bytesRead += partBytesRead[part];
+            if (partBytesRead[part] < Math.min(partSize, length - part * partSize)) {
+                break;
+            }
+        }
+
+        return bytesRead;
+    }
+
+    private int readRange(SegmentHandle handle, long offset, byte[] buffer, int bufferOffset, int length) throws Exception {
         try (InputStream reader = client.readObjectStream(config.getBucket(),
                 config.getRoot() + handle.getSegmentName(), Range.fromOffsetLength(offset, length))) {
             /*
@@ -226,10 +309,7 @@ public class ExtendedS3Storage implements SyncStorage {
                 throw new StreamSegmentNotExistsException(handle.getSegmentName());
             }
 
-            int bytesRead = StreamHelpers.readAll(reader, buffer, bufferOffset, length);
-
-            LoggerHelpers.traceLeave(log, "read", traceId, bytesRead);
-            return bytesRead;
+            return StreamHelpers.readAll(reader, buffer, bufferOffset, length);
         }
     }
 
@@ -314,7 +394,7 @@ public class ExtendedS3Storage implements SyncStorage {
         return ExtendedS3SegmentHandle.getWriteHandle(streamSegmentName);
     }
 
-    private Void doWrite(SegmentHandle handle, long offset, InputStream data, int length) throws StreamSegmentException {
+    private Void doWrite(SegmentHandle handle, long offset, InputStream data, int length) throws Exception {
         Preconditions.checkArgument(!handle.isReadOnly(), "handle must not be read-only.");
 
         long traceId = LoggerHelpers.traceEnter(log, "write", handle.getSegmentName(), offset, length);
@@ -329,12 +409,79 @@ public class ExtendedS3Storage implements SyncStorage {
             throw new BadOffsetException(handle.getSegmentName(), si.getLength(), offset);
         }
 
-        client.putObject(this.config.getBucket(), this.config.getRoot() + handle.getSegmentName(),
-                Range.fromOffsetLength(offset, length), data);
+        if (isParallel(length, this.config.getWritePartSizeBytes())) {
+            doParallelWrite(handle, offset, data, length);
+        } else {
+            client.putObject(this.config.getBucket(), this.config.getRoot() + handle.getSegmentName(),
+                    Range.fromOffsetLength(offset, length), data);
+        }
+
         LoggerHelpers.traceLeave(log, "write", traceId);
         return null;
     }
 
+    /**
+     * Writes the given data as a multipart upload: the first part is a server-side copy of the existing contents of the
+     * object (if any), followed by the new data split into parts of {@link ExtendedS3StorageConfig#getWritePartSizeBytes()},
+     * which are uploaded concurrently. The new data only becomes visible when the upload is completed, which is atomic.
+     * Just like regular writes, re-executing the same write at the same offset is idempotent.
+     */
+    private void doParallelWrite(SegmentHandle handle, long offset, InputStream data, int length) throws Exception {
+        String objectPath = this.config.getRoot() + handle.getSegmentName();
+        String uploadId = client.initiateMultipartUpload(this.config.getBucket(), objectPath);
+        try {
+            SortedSet<MultipartPartETag> partEtags = Collections.synchronizedSortedSet(new TreeSet<>());
+            int firstPartNumber = 1;
+            if (offset > 0) {
+                CopyPartResult copyResult = client.copyPart(new CopyPartRequest(this.config.getBucket(), objectPath,
+                        this.config.getBucket(), objectPath, uploadId, firstPartNumber).withSourceRange(Range.fromOffsetLength(0, offset)));
+                partEtags.add(new MultipartPartETag(copyResult.getPartNumber(), copyResult.getETag()));
+                firstPartNumber++;
+            }
+
+            // The InputStream can only be read sequentially, so each part is read (under a lock) when it is claimed and
+            // then uploaded outside of the lock. At most maxParallelParts parts are buffered at any given time.
+            int partSize = this.config.getWritePartSizeBytes();
+            int partCount = getPartCount(length, partSize);
+            AtomicInteger nextPart = new AtomicInteger();
+            int basePartNumber = firstPartNumber;
+            runInParallel(() -> {
+                int part;
+                byte[] partData;
+                synchronized (data) {
+                    part = nextPart.getAndIncrement();
+                    if (part >= partCount) {
+                        return false;
+                    }
+
+                    partData = new byte[Math.min(partSize, length - part * partSize)];
+                    int bytesRead = StreamHelpers.readAll(data, partData, 0, partData.length);
+                    if (bytesRead != partData.length) {
+                        throw new IllegalArgumentException(String.format("Not enough data in the input stream for Segment '%s'. Expected %d bytes, got %d.",
+                                handle.getSegmentName(), length, part * partSize + bytesRead));
+                    }
+                }
+
+                UploadPartRequest request = new UploadPartRequest(this.config.getBucket(), objectPath, uploadId,
+                        basePartNumber + part, partData);
+                partEtags.add(client.uploadPart(request));
+                return true;
+            });
+
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(this.config.getBucket(), objectPath, uploadId)
+                    .withParts(partEtags));
+        } catch (Exception ex) {
+            try {
+                client.abortMultipartUpload(new AbortMultipartUploadRequest(this.config.getBucket(), objectPath, uploadId));
+            } catch (Exception abortEx) {
+                log.warn("Unable to abort multipart upload '{}' for '{}'.", uploadId, objectPath, abortEx);
+                ex.addSuppressed(abortEx);
+            }
+
+            throw ex;
+        }
+    }
+
     private Void doSeal(SegmentHandle handle) {
         Preconditions.checkArgument(!handle.isReadOnly(), "handle must not be read-only.");
         long traceId = LoggerHelpers.traceEnter(log, "seal", handle.getSegmentName());
@@ -426,6 +573,83 @@ public class ExtendedS3Storage implements SyncStorage {
         return null;
     }
 
+    private boolean isParallel(int length, int partSize) {
+        return this.executor != null && this.config.getMaxParallelParts() > 1 && length > partSize;
+    }
+
+    private boolean isInvalidRange(S3Exception ex) {
+        return "InvalidRange".equals(ex.getErrorCode()) || ex.getHttpCode() == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+    }
+
+    private int getPartCount(int length, int partSize) {
+        return (int) (((long) length + partSize - 1) / partSize);
+    }
+
+    /**
+     * Invokes the given PartProcessor repeatedly, from up to {@link ExtendedS3StorageConfig#getMaxParallelParts()}
+     * threads concurrently, until it reports that there are no more parts or any invocation fails.
+     *
+     * The calling thread is one of these threads. Helper tasks that have not yet started by the time the calling thread
+     * runs out of parts are not waited for (and will do nothing if they eventually run), so this never blocks on the
+     * availability of executor threads.
+     *
+     * @param processor The PartProcessor to invoke.
+     * @throws Exception The first exception thrown by the PartProcessor, if any.
+     */
+    private void runInParallel(PartProcessor processor) throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            try {
+                boolean hasMore = true;
+                while (hasMore && failure.get() == null) {
+                    hasMore = processor.processNext();
+                }
+            } catch (Throwable ex) {
+                failure.compareAndSet(null, ex);
+            }
+        };
+
+        List<AtomicBoolean> helperStarted = new ArrayList<>();
+        List<CompletableFuture<Void>> helpers = new ArrayList<>();
+        for (int i = 1; i < this.config.getMaxParallelParts(); i++) {
+            AtomicBoolean started = new AtomicBoolean(false);
+            try {
+                helpers.add(CompletableFuture.runAsync(() -> {
+                    if (started.compareAndSet(false, true)) {
+                        worker.run();
+                    }
+                }, this.executor));
+                helperStarted.add(started);
+            } catch (RejectedExecutionException ex) {
+                // Not a problem; the parts will be processed by the remaining threads.
+                break;
+            }
+        }
+
+        worker.run();
+        for (int i = 0; i < helpers.size(); i++) {
+            if (!helperStarted.get(i).compareAndSet(false, true)) {
+                // This helper is running (or has run); wait for it to finish its current part.
+                helpers.get(i).join();
+            }
+        }
+
+        if (failure.get() != null) {
+            throw Exceptions.sneakyThrow(failure.get());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartProcessor {
+        /**
+         * Claims and processes the next part, if any.
+         *
+         * @return True if a part was processed, false if there are no more parts.
+         * @throws Exception If the part could not be processed.
+         */
+        boolean processNext() throws Exception;
+    }
+
     private <T> T throwException(String segmentName, Exception e) throws StreamSegmentException {
         if (e instanceof S3Exception) {
             S3Exception s3Exception = (S3Exception) e;
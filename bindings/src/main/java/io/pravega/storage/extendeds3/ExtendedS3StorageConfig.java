@@ -31,6 +31,9 @@ public class ExtendedS3StorageConfig {
     public static final Property<String> BUCKET = Property.named("bucket", "");
     public static final Property<String> NAMESPACE = Property.named("namespace", ""); // use default namespace
     public static final Property<Boolean> USENONEMATCH = Property.named("useNoneMatch", false);
+    public static final Property<Integer> WRITE_PART_SIZE_BYTES = Property.named("writePartSizeBytes", 5 * 1024 * 1024);
+    public static final Property<Integer> READ_PART_SIZE_BYTES = Property.named("readPartSizeBytes", 1024 * 1024);
+    public static final Property<Integer> MAX_PARALLEL_PARTS = Property.named("maxParallelParts", 4);
 
     private static final String COMPONENT_CODE = "extendeds3";
 
@@ -81,6 +84,25 @@ public class ExtendedS3StorageConfig {
     @Getter
     private final boolean useNoneMatch;
 
+    /**
+     * Writes larger than this are split into parts of this size, which are uploaded concurrently as a multipart upload.
+     */
+    @Getter
+    private final int writePartSizeBytes;
+
+    /**
+     * Reads larger than this are split into ranged reads of this size, which are executed concurrently.
+     */
+    @Getter
+    private final int readPartSizeBytes;
+
+    /**
+     * The maximum number of parts that a single write or read may transfer concurrently. If 1, all writes and reads
+     * are executed as a single request.
+     */
+    @Getter
+    private final int maxParallelParts;
+
     //endregion
 
     //region Constructor
@@ -98,6 +120,20 @@ public class ExtendedS3StorageConfig {
         this.bucket = properties.get(BUCKET);
         this.namespace = properties.get(NAMESPACE);
         this.useNoneMatch = properties.getBoolean(USENONEMATCH);
+        this.writePartSizeBytes = properties.getInt(WRITE_PART_SIZE_BYTES);
+        if (this.writePartSizeBytes <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", WRITE_PART_SIZE_BYTES));
+        }
+
+        this.readPartSizeBytes = properties.getInt(READ_PART_SIZE_BYTES);
+        if (this.readPartSizeBytes <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", READ_PART_SIZE_BYTES));
+        }
+
+        this.maxParallelParts = properties.getInt(MAX_PARALLEL_PARTS);
+        if (this.maxParallelParts <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAX_PARALLEL_PARTS));
+        }
     }
 
     /**
@@ -56,6 +56,6 @@ public class ExtendedS3StorageFactory implements StorageFactory {
                 .withNamespace(config.getNamespace());
 
         S3JerseyClient client = new S3JerseyClient(s3Config);
-        return new ExtendedS3Storage(client, this.config);
+        return new ExtendedS3Storage(client, this.config, this.executor);
     }
 }
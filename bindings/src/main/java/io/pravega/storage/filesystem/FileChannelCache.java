@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, LRU-evicting cache of open {@link FileChannel}s, keyed by Segment Name.
+ *
+ * Channels are handed out as {@link Lease}s. A channel that is evicted or invalidated while it is leased out is only
+ * closed once the last {@link Lease} on it has been closed, so that evictions never interfere with ongoing reads or writes.
+ *
+ * Every cached channel remembers the file key (see {@link java.nio.file.attribute.BasicFileAttributes#fileKey()}) of
+ * the file it was opened for. If the file has since been replaced (i.e., deleted and recreated, possibly by a different
+ * Segment Store instance), the stale channel is discarded and a new one is opened.
+ */
+@Slf4j
+@ThreadSafe
+class FileChannelCache implements AutoCloseable {
+    //region Members
+
+    private final int maxSize;
+    @GuardedBy("channels")
+    private final LinkedHashMap<String, CachedChannel> channels;
+    @GuardedBy("channels")
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileChannelCache class.
+     *
+     * @param maxSize The maximum number of channels to keep open. If 0, no channels will be cached (every {@link Lease}
+     *                will open a new channel and close it when it is itself closed).
+     */
+    FileChannelCache(int maxSize) {
+        Preconditions.checkArgument(maxSize >= 0, "maxSize must be a non-negative number.");
+        this.maxSize = maxSize;
+        this.channels = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public void close() {
+        List<CachedChannel> toClose;
+        synchronized (this.channels) {
+            this.closed = true;
+            toClose = evictAll();
+        }
+
+        closeAll(toClose);
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Gets a {@link Lease} on an open {@link FileChannel} for the given Segment, opening one if necessary.
+     *
+     * @param segmentName The name of the Segment.
+     * @param path        The path to the file backing the Segment.
+     * @param fileKey     The current file key of the file (may be null if the file system does not support it).
+     * @param writable    If true, the returned channel will be open for both reading and writing; otherwise it may be
+     *                    open for reading only.
+     * @return A {@link Lease}, which must be closed when the caller is done using the channel.
+     * @throws IOException If the channel could not be opened.
+     */
+    Lease get(String segmentName, Path path, Object fileKey, boolean writable) throws IOException {
+        List<CachedChannel> toClose = new ArrayList<>();
+        try {
+            synchronized (this.channels) {
+                Exceptions.checkNotClosed(this.closed, this);
+                CachedChannel existing = this.channels.get(segmentName);
+                if (existing != null) {
+                    if (existing.canBeUsedFor(fileKey, writable)) {
+                        return existing.lease();
+                    }
+
+                    // Stale or read-only; it cannot be used for this request.
+                    this.channels.remove(segmentName);
+                    evict(existing, toClose);
+                }
+            }
+
+            // Open the channel outside of the lock, as this may take a while on remote file systems.
+            FileChannel channel = writable
+                    ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.READ);
+            CachedChannel newChannel = new CachedChannel(channel, fileKey, writable);
+            synchronized (this.channels) {
+                if (this.closed || this.maxSize == 0) {
+                    // Not caching it: it will be closed as soon as the lease is closed.
+                    newChannel.evicted = true;
+                    return newChannel.lease();
+                }
+
+                CachedChannel existing = this.channels.get(segmentName);
+                if (existing != null && existing.canBeUsedFor(fileKey, writable)) {
+                    // Someone else opened a suitable channel concurrently. Use theirs and discard ours.
+                    toClose.add(newChannel);
+                    return existing.lease();
+                } else if (existing != null) {
+                    evict(existing, toClose);
+                }
+
+                this.channels.put(segmentName, newChannel);
+                Iterator<CachedChannel> lru = this.channels.values().iterator();
+                while (this.channels.size() > this.maxSize && lru.hasNext()) {
+                    CachedChannel eldest = lru.next();
+                    lru.remove();
+                    evict(eldest, toClose);
+                }
+
+                return newChannel.lease();
+            }
+        } finally {
+            closeAll(toClose);
+        }
+    }
+
+    /**
+     * Removes the channel for the given Segment from the cache. It will be closed once all outstanding {@link Lease}s
+     * on it have been closed. This should be invoked whenever the file backing the Segment is modified outside of a
+     * channel obtained from this cache (seal, unseal, concat, delete, etc.).
+     *
+     * @param segmentName The name of the Segment.
+     */
+    void invalidate(String segmentName) {
+        List<CachedChannel> toClose = new ArrayList<>();
+        synchronized (this.channels) {
+            CachedChannel existing = this.channels.remove(segmentName);
+            if (existing != null) {
+                evict(existing, toClose);
+            }
+        }
+
+        closeAll(toClose);
+    }
+
+    /**
+     * Removes all channels from the cache. Each of them will be closed once all outstanding {@link Lease}s on it have
+     * been closed.
+     */
+    void invalidateAll() {
+        List<CachedChannel> toClose;
+        synchronized (this.channels) {
+            toClose = evictAll();
+        }
+
+        closeAll(toClose);
+    }
+
+    /**
+     * Gets the number of channels currently in the cache.
+     */
+    int size() {
+        synchronized (this.channels) {
+            return this.channels.size();
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    @GuardedBy("channels")
+    private List<CachedChannel> evictAll() {
+        List<CachedChannel> toClose = new ArrayList<>();
+        this.channels.values().forEach(c -> evict(c, toClose));
+        this.channels.clear();
+        return toClose;
+    }
+
+    @GuardedBy("channels")
+    private void evict(CachedChannel channel, List<CachedChannel> toClose) {
+        channel.evicted = true;
+        if (channel.refCount == 0) {
+            toClose.add(channel);
+        }
+    }
+
+    private void closeAll(List<CachedChannel> toClose) {
+        for (CachedChannel c : toClose) {
+            try {
+                c.channel.close();
+            } catch (IOException ex) {
+                log.warn("Unable to close FileChannel.", ex);
+            }
+        }
+    }
+
+    private void release(CachedChannel channel) {
+        boolean close;
+        synchronized (this.channels) {
+            channel.refCount--;
+            assert channel.refCount >= 0 : "CachedChannel released more times than it was leased.";
+            close = channel.evicted && channel.refCount == 0;
+        }
+
+        if (close) {
+            closeAll(Collections.singletonList(channel));
+        }
+    }
+
+    //endregion
+
+    //region CachedChannel
+
+    private class CachedChannel {
+        final FileChannel channel;
+        final Object fileKey;
+        final boolean writable;
+        @GuardedBy("channels")
+        int refCount;
+        @GuardedBy("channels")
+        boolean evicted;
+
+        CachedChannel(FileChannel channel, Object fileKey, boolean writable) {
+            this.channel = channel;
+            this.fileKey = fileKey;
+            this.writable = writable;
+        }
+
+        @GuardedBy("channels")
+        boolean canBeUsedFor(Object fileKey, boolean writable) {
+            return Objects.equals(this.fileKey, fileKey) && (this.writable || !writable) && this.channel.isOpen();
+        }
+
+        @GuardedBy("channels")
+        Lease lease() {
+            this.refCount++;
+            return new Lease(this);
+        }
+    }
+
+    //endregion
+
+    //region Lease
+
+    /**
+     * A lease on a {@link FileChannel} obtained from a {@link FileChannelCache}. The channel must not be closed directly;
+     * close this lease instead.
+     */
+    class Lease implements AutoCloseable {
+        private final CachedChannel cachedChannel;
+        @Getter
+        private final FileChannel channel;
+        private boolean closed;
+
+        private Lease(CachedChannel cachedChannel) {
+            this.cachedChannel = cachedChannel;
+            this.channel = cachedChannel.channel;
+        }
+
+        @Override
+        public void close() {
+            if (!this.closed) {
+                this.closed = true;
+                release(this.cachedChannel);
+            }
+        }
+    }
+
+    //endregion
+
+    @Override
+    public String toString() {
+        return String.format("FileChannelCache[%d]", this.maxSize);
+    }
+}
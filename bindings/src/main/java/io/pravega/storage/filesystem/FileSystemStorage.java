@@ -89,6 +89,8 @@ public class FileSystemStorage implements SyncStorage {
             PosixFilePermission.OTHERS_READ);
 
     private final FileSystemStorageConfig config;
+    private final FileChannelCache channels;
+    private final MappedSegmentCache mappedSegments;
     private final AtomicBoolean closed;
 
     //endregion
@@ -102,8 +104,11 @@ public class FileSystemStorage implements SyncStorage {
      */
     public FileSystemStorage(FileSystemStorageConfig config) {
         this.config = Preconditions.checkNotNull(config, "config");
+        this.channels = new FileChannelCache(config.getOpenChannelCacheSize());
+        this.mappedSegments = config.getMappedReadBudgetBytes() > 0
+                ? new MappedSegmentCache(this.channels, config.getMappedReadBudgetBytes(), config.getMappedReadWindowSize())
+                : null;
         this.closed = new AtomicBoolean(false);
-
     }
 
     //endregion
@@ -111,12 +116,15 @@ public class FileSystemStorage implements SyncStorage {
     //region Storage implementation
 
     /**
-     * Initialize is a no op here as we do not need a locking mechanism in case of file system write.
+     * Initialize does not acquire any locks here as we do not need a locking mechanism in case of file system write.
+     * Since this indicates a change in ownership, any cached open channels are discarded.
      *
      * @param containerEpoch The Container Epoch to initialize with (ignored here).
      */
     @Override
     public void initialize(long containerEpoch) {
+        this.channels.invalidateAll();
+        invalidateMappings(null);
     }
 
     @Override
@@ -192,7 +200,9 @@ public class FileSystemStorage implements SyncStorage {
 
     @Override
     public void close() {
-        this.closed.set(true);
+        if (this.closed.compareAndSet(false, true)) {
+            this.channels.close();
+        }
     }
 
     //endregion
@@ -231,13 +241,25 @@ public class FileSystemStorage implements SyncStorage {
 
         Path path = Paths.get(config.getRoot(), handle.getSegmentName());
 
-        long fileSize = Files.size(path);
+        PosixFileAttributes attrs = Files.readAttributes(path, PosixFileAttributes.class);
+        long fileSize = attrs.size();
         if (fileSize < offset) {
             throw new IllegalArgumentException(String.format("Reading at offset (%d) which is beyond the " +
                     "current size of segment (%d).", offset, fileSize));
         }
 
-        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        if (this.mappedSegments != null && !attrs.permissions().contains(OWNER_WRITE)) {
+            // Sealed segments never change, so we can serve reads for them directly out of a memory mapping.
+            int totalBytesRead = this.mappedSegments.read(handle.getSegmentName(), path, attrs.fileKey(), fileSize,
+                    offset, buffer, bufferOffset, length);
+            FileSystemMetrics.READ_LATENCY.reportSuccessEvent(timer.getElapsed());
+            FileSystemMetrics.READ_BYTES.add(totalBytesRead);
+            LoggerHelpers.traceLeave(log, "read", traceId, totalBytesRead);
+            return totalBytesRead;
+        }
+
+        try (FileChannelCache.Lease lease = this.channels.get(handle.getSegmentName(), path, attrs.fileKey(), false)) {
+            FileChannel channel = lease.getChannel();
             int totalBytesRead = 0;
 
             do {
@@ -251,6 +273,10 @@ public class FileSystemStorage implements SyncStorage {
             FileSystemMetrics.READ_BYTES.add(totalBytesRead);
             LoggerHelpers.traceLeave(log, "read", traceId, totalBytesRead);
             return totalBytesRead;
+        } catch (IOException ex) {
+            // The channel may be in an unusable state; make sure we open a new one next time.
+            this.channels.invalidate(handle.getSegmentName());
+            throw ex;
         }
     }
 
@@ -299,12 +325,14 @@ public class FileSystemStorage implements SyncStorage {
 
         // Fix for the case where Pravega runs with super user privileges.
         // This means that writes to readonly files also succeed. We need to explicitly check permissions in this case.
-        if (!isWritableFile(path)) {
+        PosixFileAttributes attrs = Files.readAttributes(path, PosixFileAttributes.class);
+        if (!attrs.permissions().contains(OWNER_WRITE)) {
             throw new StreamSegmentSealedException(handle.getSegmentName());
         }
 
         long totalBytesWritten = 0;
-        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+        try (FileChannelCache.Lease lease = this.channels.get(handle.getSegmentName(), path, attrs.fileKey(), true)) {
+            FileChannel channel = lease.getChannel();
             long fileSize = channel.size();
             if (fileSize != offset) {
                 throw new BadOffsetException(handle.getSegmentName(), fileSize, offset);
@@ -321,6 +349,10 @@ public class FileSystemStorage implements SyncStorage {
                 length -= bytesWritten;
             }
             channel.force(false);
+        } catch (IOException ex) {
+            // The channel may be in an unusable state; make sure we open a new one next time.
+            this.channels.invalidate(handle.getSegmentName());
+            throw ex;
         }
         FileSystemMetrics.WRITE_LATENCY.reportSuccessEvent(timer.getElapsed());
         FileSystemMetrics.WRITE_BYTES.add(totalBytesWritten);
@@ -339,6 +371,7 @@ public class FileSystemStorage implements SyncStorage {
             throw new IllegalArgumentException(handle.getSegmentName());
         }
 
+        this.channels.invalidate(handle.getSegmentName());
         Files.setPosixFilePermissions(Paths.get(config.getRoot(), handle.getSegmentName()), READ_ONLY_PERMISSION);
         LoggerHelpers.traceLeave(log, "seal", traceId);
         return null;
@@ -346,6 +379,8 @@ public class FileSystemStorage implements SyncStorage {
 
     private Void doUnseal(SegmentHandle handle) throws IOException {
         long traceId = LoggerHelpers.traceEnter(log, "unseal", handle.getSegmentName());
+        this.channels.invalidate(handle.getSegmentName());
+        invalidateMappings(handle.getSegmentName());
         Files.setPosixFilePermissions(Paths.get(config.getRoot(), handle.getSegmentName()), READ_WRITE_PERMISSION);
         LoggerHelpers.traceLeave(log, "unseal", traceId);
         return null;
@@ -367,6 +402,9 @@ public class FileSystemStorage implements SyncStorage {
         Path sourcePath = Paths.get(config.getRoot(), sourceSegment);
         Path targetPath = Paths.get(config.getRoot(), targetHandle.getSegmentName());
 
+        this.channels.invalidate(targetHandle.getSegmentName());
+        this.channels.invalidate(sourceSegment);
+        invalidateMappings(sourceSegment);
         long length = Files.size(sourcePath);
         try (FileChannel targetChannel = FileChannel.open(targetPath, StandardOpenOption.WRITE);
              RandomAccessFile sourceFile = new RandomAccessFile(String.valueOf(sourcePath), "r")) {
@@ -386,10 +424,27 @@ public class FileSystemStorage implements SyncStorage {
     }
 
     private Void doDelete(SegmentHandle handle) throws IOException {
+        this.channels.invalidate(handle.getSegmentName());
+        invalidateMappings(handle.getSegmentName());
         Files.delete(Paths.get(config.getRoot(), handle.getSegmentName()));
         return null;
     }
 
+    /**
+     * Discards any memory mappings for the given segment, or for all segments if segmentName is null.
+     */
+    private void invalidateMappings(String segmentName) {
+        if (this.mappedSegments == null) {
+            return;
+        }
+
+        if (segmentName == null) {
+            this.mappedSegments.invalidateAll();
+        } else {
+            this.mappedSegments.invalidate(segmentName);
+        }
+    }
+
     /**
      * Executes the given Callable and returns its result, while translating any Exceptions bubbling out of it into
      * StreamSegmentExceptions.
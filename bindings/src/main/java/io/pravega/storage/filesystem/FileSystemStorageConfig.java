@@ -24,6 +24,9 @@ public class FileSystemStorageConfig {
     //region Config Names
 
     public static final Property<String> ROOT = Property.named("root", "/fs/");
+    public static final Property<Integer> OPEN_CHANNEL_CACHE_SIZE = Property.named("openChannelCacheSize", 128);
+    public static final Property<Long> MAPPED_READ_BUDGET_BYTES = Property.named("mappedReadBudgetBytes", 0L);
+    public static final Property<Integer> MAPPED_READ_WINDOW_SIZE = Property.named("mappedReadWindowSize", 16 * 1024 * 1024);
     public static final String COMPONENT_CODE = "filesystem";
 
     //endregion
@@ -37,6 +40,26 @@ public class FileSystemStorageConfig {
     @Getter
     private final String root;
 
+    /**
+     * The maximum number of open file channels to keep cached (per FileSystemStorage instance). If 0, a new channel
+     * will be opened (and closed) for every read or write.
+     */
+    @Getter
+    private final int openChannelCacheSize;
+
+    /**
+     * The maximum number of bytes of sealed segment files to keep memory-mapped (per FileSystemStorage instance) in
+     * order to serve reads from. If 0, memory-mapped reads are disabled.
+     */
+    @Getter
+    private final long mappedReadBudgetBytes;
+
+    /**
+     * The size of each memory-mapped window of a sealed segment file.
+     */
+    @Getter
+    private final int mappedReadWindowSize;
+
     //endregion
 
     //region Constructor
@@ -48,6 +71,20 @@ public class FileSystemStorageConfig {
      */
     private FileSystemStorageConfig(TypedProperties properties) throws ConfigurationException {
         this.root = properties.get(ROOT);
+        this.openChannelCacheSize = properties.getInt(OPEN_CHANNEL_CACHE_SIZE);
+        if (this.openChannelCacheSize < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", OPEN_CHANNEL_CACHE_SIZE));
+        }
+
+        this.mappedReadBudgetBytes = properties.getLong(MAPPED_READ_BUDGET_BYTES);
+        if (this.mappedReadBudgetBytes < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", MAPPED_READ_BUDGET_BYTES));
+        }
+
+        this.mappedReadWindowSize = properties.getInt(MAPPED_READ_WINDOW_SIZE);
+        if (this.mappedReadWindowSize <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAPPED_READ_WINDOW_SIZE));
+        }
     }
 
     /**
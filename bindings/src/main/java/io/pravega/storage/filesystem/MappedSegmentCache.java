@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Data;
+import lombok.Getter;
+
+/**
+ * Serves reads of sealed (immutable) Segment files from read-only memory mappings.
+ *
+ * Files are mapped in fixed-size windows, which are kept in an LRU list bounded by a total mapped-bytes budget. Each
+ * window records the file key of the file it maps, so that windows of a file that has been replaced are never used.
+ *
+ * The JVM does not provide a way to explicitly unmap a {@link MappedByteBuffer}; windows that are evicted from this
+ * cache are released by the garbage collector once no reads are using them anymore.
+ */
+@ThreadSafe
+class MappedSegmentCache {
+    //region Members
+
+    private final FileChannelCache channels;
+    @Getter
+    private final long maxMappedBytes;
+    private final int windowSize;
+    @GuardedBy("windows")
+    private final LinkedHashMap<WindowKey, Window> windows;
+    @GuardedBy("windows")
+    private long mappedBytes;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the MappedSegmentCache class.
+     *
+     * @param channels       A {@link FileChannelCache} to obtain channels from when mapping new windows.
+     * @param maxMappedBytes The maximum number of bytes to keep mapped at any given time.
+     * @param windowSize     The size of each mapped window.
+     */
+    MappedSegmentCache(FileChannelCache channels, long maxMappedBytes, int windowSize) {
+        this.channels = Preconditions.checkNotNull(channels, "channels");
+        Preconditions.checkArgument(maxMappedBytes > 0, "maxMappedBytes must be a positive number.");
+        Preconditions.checkArgument(windowSize > 0, "windowSize must be a positive number.");
+        this.maxMappedBytes = maxMappedBytes;
+        this.windowSize = windowSize;
+        this.windows = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Reads a range of bytes from the given sealed Segment file.
+     *
+     * @param segmentName  The name of the Segment.
+     * @param path         The path to the file backing the Segment.
+     * @param fileKey      The current file key of the file.
+     * @param fileLength   The current length of the file. The file must not be modified after it has been sealed.
+     * @param offset       The offset within the file to start reading at.
+     * @param buffer       The buffer to read into.
+     * @param bufferOffset The offset within the buffer to start writing at.
+     * @param length       The number of bytes to read.
+     * @return The number of bytes read. This may be less than length if the end of the file was reached.
+     * @throws IOException If a new window could not be mapped.
+     */
+    int read(String segmentName, Path path, Object fileKey, long fileLength, long offset, byte[] buffer, int bufferOffset,
+             int length) throws IOException {
+        Exceptions.checkArrayRange(bufferOffset, length, buffer.length, "bufferOffset", "length");
+        int totalBytesRead = 0;
+        while (length > 0 && offset < fileLength) {
+            long windowIndex = offset / this.windowSize;
+            ByteBuffer window = getWindow(segmentName, path, fileKey, fileLength, windowIndex);
+            int windowOffset = (int) (offset - windowIndex * this.windowSize);
+            int count = (int) Math.min(Math.min(length, window.limit() - windowOffset), fileLength - offset);
+            if (count <= 0) {
+                // getWindow() never returns a window that does not cover the requested offset, so this should never
+                // happen. Fail the read rather than spinning in place.
+                throw new IOException(String.format("Mapped window %d of '%s' (Length = %d) does not cover offset %d (FileLength = %d).",
+                        windowIndex, segmentName, window.limit(), offset, fileLength));
+            }
+
+            window.position(windowOffset);
+            window.get(buffer, bufferOffset, count);
+            offset += count;
+            bufferOffset += count;
+            length -= count;
+            totalBytesRead += count;
+        }
+
+        return totalBytesRead;
+    }
+
+    /**
+     * Removes all the windows for the given Segment.
+     *
+     * @param segmentName The name of the Segment.
+     */
+    void invalidate(String segmentName) {
+        synchronized (this.windows) {
+            Iterator<Window> iterator = this.windows.values().iterator();
+            while (iterator.hasNext()) {
+                Window w = iterator.next();
+                if (w.key.segmentName.equals(segmentName)) {
+                    iterator.remove();
+                    this.mappedBytes -= w.buffer.capacity();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the windows.
+     */
+    void invalidateAll() {
+        synchronized (this.windows) {
+            this.windows.clear();
+            this.mappedBytes = 0;
+        }
+    }
+
+    /**
+     * Gets the number of bytes currently mapped by this cache.
+     */
+    long getMappedBytes() {
+        synchronized (this.windows) {
+            return this.mappedBytes;
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private ByteBuffer getWindow(String segmentName, Path path, Object fileKey, long fileLength, long windowIndex) throws IOException {
+        WindowKey key = new WindowKey(segmentName, windowIndex);
+        long windowStart = windowIndex * this.windowSize;
+        long windowLength = Math.min(this.windowSize, fileLength - windowStart);
+        synchronized (this.windows) {
+            // A window may have been mapped while the file was shorter (i.e., by a read that raced with an unseal, append
+            // and re-seal), in which case it must be remapped so that it covers the whole range of the file.
+            Window existing = this.windows.get(key);
+            if (existing != null && Objects.equals(existing.fileKey, fileKey) && existing.buffer.capacity() >= windowLength) {
+                return existing.buffer.duplicate();
+            }
+        }
+
+        // Map the window outside of the lock; this may take a while.
+        MappedByteBuffer buffer;
+        try (FileChannelCache.Lease lease = this.channels.get(segmentName, path, fileKey, false)) {
+            buffer = lease.getChannel().map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+        }
+
+        Window window = new Window(key, fileKey, buffer);
+        if (windowLength <= this.maxMappedBytes) {
+            synchronized (this.windows) {
+                Window existing = this.windows.put(key, window);
+                if (existing != null) {
+                    this.mappedBytes -= existing.buffer.capacity();
+                }
+
+                this.mappedBytes += windowLength;
+                Iterator<Window> lru = this.windows.values().iterator();
+                while (this.mappedBytes > this.maxMappedBytes && lru.hasNext()) {
+                    Window eldest = lru.next();
+                    if (eldest != window) {
+                        lru.remove();
+                        this.mappedBytes -= eldest.buffer.capacity();
+                    }
+                }
+            }
+        }
+
+        return window.buffer.duplicate();
+    }
+
+    //endregion
+
+    //region Helper Classes
+
+    @Data
+    private static class WindowKey {
+        private final String segmentName;
+        private final long windowIndex;
+    }
+
+    private static class Window {
+        final WindowKey key;
+        final Object fileKey;
+        final ByteBuffer buffer;
+
+        Window(WindowKey key, Object fileKey, ByteBuffer buffer) {
+            this.key = key;
+            this.fileKey = fileKey;
+            this.buffer = buffer;
+        }
+    }
+
+    //endregion
+}
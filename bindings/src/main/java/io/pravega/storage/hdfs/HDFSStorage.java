@@ -9,9 +9,15 @@
  */
 package io.pravega.storage.hdfs;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListeners;
+import com.google.common.cache.RemovalNotification;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
+import io.pravega.common.ObjectClosedException;
 import io.pravega.common.Timer;
 import io.pravega.common.util.RetriesExhaustedException;
 import io.pravega.common.util.Retry;
@@ -28,9 +34,18 @@ import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -42,6 +57,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.permission.FsAction;
 import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.hdfs.DistributedFileSystem;
 import org.apache.hadoop.io.IOUtils;
 
 /**
@@ -77,6 +93,8 @@ class HDFSStorage implements SyncStorage {
     private static final FsPermission READONLY_PERMISSION = new FsPermission(FsAction.READ, FsAction.READ, FsAction.READ);
     private static final int MAX_ATTEMPT_COUNT = 3;
     private static final long MAX_EPOCH = Long.MAX_VALUE;
+    private static final int MAX_LEASE_RECOVERY_ATTEMPT_COUNT = 60;
+    private static final long LEASE_RECOVERY_DELAY_MILLIS = 500;
 
     private static final Retry.RetryAndThrowExceptionally<FileNotFoundException, IOException> HDFS_RETRY = Retry
             .withExpBackoff(1, 5, MAX_ATTEMPT_COUNT)
@@ -87,6 +105,10 @@ class HDFSStorage implements SyncStorage {
 
     private final HDFSStorageConfig config;
     private final AtomicBoolean closed;
+    private final ScheduledExecutorService executor;
+    private final Cache<String, AppendStream> appendStreams;
+    private final ScheduledFuture<?> appendStreamCleanup;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> leaseRecoveries;
     private long epoch;
     private FileSystem fileSystem;
 
@@ -98,11 +120,32 @@ class HDFSStorage implements SyncStorage {
      * Creates a new instance of the HDFSStorage class.
      *
      * @param config   The configuration to use.
+     * @param executor An executor to use for background operations (closing idle append streams and recovering leases).
      */
-    HDFSStorage(HDFSStorageConfig config) {
+    HDFSStorage(HDFSStorageConfig config, ScheduledExecutorService executor) {
         Preconditions.checkNotNull(config, "config");
         this.config = config;
+        this.executor = Preconditions.checkNotNull(executor, "executor");
         this.closed = new AtomicBoolean(false);
+        this.leaseRecoveries = new ConcurrentHashMap<>();
+
+        // Streams that are evicted (either because they are idle or because there are too many) are closed on the
+        // executor: closing may have to wait for an ongoing write on that stream, and Guava may run removal listeners
+        // on any thread that accesses the cache (which may be in the middle of a write on another stream).
+        this.appendStreams = CacheBuilder.newBuilder()
+                .maximumSize(this.config.getMaxOpenAppendStreams())
+                .expireAfterAccess(Math.max(1, this.config.getAppendStreamIdleTimeout().toMillis()), TimeUnit.MILLISECONDS)
+                .removalListener(RemovalListeners.asynchronous(this::onAppendStreamRemoved, this.executor))
+                .build();
+        if (isAppendStreamReuseEnabled()) {
+            // Guava only expires entries when the cache is accessed. Make sure idle streams are closed even if there
+            // are no more writes.
+            long cleanupMillis = Math.max(1, this.config.getAppendStreamIdleTimeout().toMillis() / 2);
+            this.appendStreamCleanup = this.executor.scheduleWithFixedDelay(this.appendStreams::cleanUp, cleanupMillis,
+                    cleanupMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.appendStreamCleanup = null;
+        }
     }
 
     //endregion
@@ -112,6 +155,12 @@ class HDFSStorage implements SyncStorage {
     @Override
     public void close() {
         if (!this.closed.getAndSet(true)) {
+            if (this.appendStreamCleanup != null) {
+                this.appendStreamCleanup.cancel(true);
+            }
+
+            new ArrayList<>(this.appendStreams.asMap().keySet()).forEach(segmentName -> closeAppendStream(segmentName, null));
+            this.leaseRecoveries.values().forEach(r -> r.completeExceptionally(new ObjectClosedException(this)));
             if (this.fileSystem != null) {
                 try {
                     this.fileSystem.close();
@@ -159,7 +208,8 @@ class HDFSStorage implements SyncStorage {
             return HDFS_RETRY.run(() -> {
                 FileStatus last = findStatusForSegment(streamSegmentName, true);
                 boolean isSealed = isSealed(last.getPath());
-                StreamSegmentInformation result = StreamSegmentInformation.builder().name(streamSegmentName).length(last.getLen()).sealed(isSealed).build();
+                StreamSegmentInformation result = StreamSegmentInformation.builder().name(streamSegmentName)
+                        .length(getLength(streamSegmentName, last)).sealed(isSealed).build();
                 LoggerHelpers.traceLeave(log, "getStreamSegmentInfo", traceId, streamSegmentName, result);
                 return result;
             });
@@ -241,6 +291,7 @@ class HDFSStorage implements SyncStorage {
         ensureInitializedAndNotClosed();
         long traceId = LoggerHelpers.traceEnter(log, "seal", handle);
         handle = asWritableHandle(handle);
+        closeAppendStream(handle.getSegmentName(), null);
         try {
             FileStatus status = findStatusForSegment(handle.getSegmentName(), true);
 
@@ -262,6 +313,7 @@ class HDFSStorage implements SyncStorage {
     public void unseal(SegmentHandle handle) throws StreamSegmentException {
         ensureInitializedAndNotClosed();
         long traceId = LoggerHelpers.traceEnter(log, "unseal", handle);
+        closeAppendStream(handle.getSegmentName(), null);
         try {
             FileStatus status = findStatusForSegment(handle.getSegmentName(), true);
             makeWrite(status);
@@ -278,6 +330,11 @@ class HDFSStorage implements SyncStorage {
         long traceId = LoggerHelpers.traceEnter(log, "concat", target, offset, sourceSegment);
 
         target = asWritableHandle(target);
+
+        // HDFS concat requires that neither the target nor the source be open for writing.
+        closeAppendStream(target.getSegmentName(), null);
+        closeAppendStream(sourceSegment, null);
+
         // Check for target offset and whether it is sealed.
         FileStatus fileStatus = null;
         try {
@@ -312,6 +369,7 @@ class HDFSStorage implements SyncStorage {
         ensureInitializedAndNotClosed();
         long traceId = LoggerHelpers.traceEnter(log, "delete", handle);
         handle = asWritableHandle(handle);
+        closeAppendStream(handle.getSegmentName(), null);
         try {
             FileStatus statusForSegment = findStatusForSegment(handle.getSegmentName(), true);
             if (getEpoch(statusForSegment) > this.epoch && !isSealed(statusForSegment.getPath())) {
@@ -357,38 +415,79 @@ class HDFSStorage implements SyncStorage {
         }
 
         Timer timer = new Timer();
-        try (FSDataOutputStream stream = this.fileSystem.append(status.getPath())) {
-            if (offset != status.getLen()) {
-                // Do the handle offset validation here, after we open the file. We want to throw FileNotFoundException
-                // before we throw BadOffsetException.
-                throw new BadOffsetException(handle.getSegmentName(), status.getLen(), offset);
-            } else if (stream.getPos() != offset) {
-                // Looks like the filesystem changed from underneath us. This could be our bug, but it could be something else.
-                log.warn("File changed detected for '{}'. Expected length = {}, actual length = {}.", status, status.getLen(), stream.getPos());
-                throw new BadOffsetException(handle.getSegmentName(), status.getLen(), offset);
+        AppendStream appendStream;
+        do {
+            try {
+                checkLeaseRecovered(handle.getSegmentName(), status.getPath());
+                appendStream = getAppendStream(handle.getSegmentName(), status);
+            } catch (IOException ex) {
+                throw HDFSExceptionHelpers.convertException(handle.getSegmentName(), ex);
             }
+        } while (!writeInternal(appendStream, handle, status, offset, data, length));
 
-            if (length == 0) {
-                // Exit here (vs at the beginning of the method), since we want to throw appropriate exceptions in case
-                // of Sealed or BadOffset
-                // Note: IOUtils.copyBytes with length == 0 will enter an infinite loop, hence the need for this check.
-                return;
+        HDFSMetrics.WRITE_LATENCY.reportSuccessEvent(timer.getElapsed());
+        HDFSMetrics.WRITE_BYTES.add(length);
+        LoggerHelpers.traceLeave(log, "write", traceId, handle, offset, length);
+    }
+
+    /**
+     * Writes the given data using the given AppendStream.
+     *
+     * @return True if the write was executed (successfully or not), or false if the AppendStream was closed concurrently
+     * (by the idle stream eviction) before it could be used, in which case the write should be retried with a new one.
+     */
+    private boolean writeInternal(AppendStream appendStream, SegmentHandle handle, FileStatus status, long offset,
+                                  InputStream data, int length) throws StreamSegmentException {
+        synchronized (appendStream) {
+            if (appendStream.isClosed()) {
+                return false;
             }
 
-            // We need to be very careful with IOUtils.copyBytes. There are many overloads with very similar signatures.
-            // There is a difference between (InputStream, OutputStream, int, boolean) and (InputStream, OutputStream, long, boolean),
-            // in that the one with "int" uses the third arg as a buffer size, and the one with "long" uses it as the number
-            // of bytes to copy.
-            IOUtils.copyBytes(data, stream, (long) length, false);
+            boolean success = false;
+            try {
+                FSDataOutputStream stream = appendStream.getStream();
+                if (appendStream.isReused()) {
+                    // The NameNode does not know about data that we have flushed (but not closed) in the last block, so
+                    // status.getLen() may be stale. The stream's position is the actual length of the file.
+                    if (offset != stream.getPos()) {
+                        throw new BadOffsetException(handle.getSegmentName(), stream.getPos(), offset);
+                    }
+                } else if (offset != status.getLen()) {
+                    // Do the handle offset validation here, after we open the file. We want to throw FileNotFoundException
+                    // before we throw BadOffsetException.
+                    throw new BadOffsetException(handle.getSegmentName(), status.getLen(), offset);
+                } else if (stream.getPos() != offset) {
+                    // Looks like the filesystem changed from underneath us. This could be our bug, but it could be something else.
+                    log.warn("File changed detected for '{}'. Expected length = {}, actual length = {}.", status, status.getLen(), stream.getPos());
+                    throw new BadOffsetException(handle.getSegmentName(), status.getLen(), offset);
+                }
 
-            stream.flush();
-        } catch (IOException ex) {
-            throw HDFSExceptionHelpers.convertException(handle.getSegmentName(), ex);
+                if (length > 0) {
+                    // Note: IOUtils.copyBytes with length == 0 will enter an infinite loop, hence the need for this check.
+                    // We need to be very careful with IOUtils.copyBytes. There are many overloads with very similar signatures.
+                    // There is a difference between (InputStream, OutputStream, int, boolean) and (InputStream, OutputStream, long, boolean),
+                    // in that the one with "int" uses the third arg as a buffer size, and the one with "long" uses it as the number
+                    // of bytes to copy.
+                    IOUtils.copyBytes(data, stream, (long) length, false);
+
+                    // Make the data durable and visible to readers, but keep the file open for subsequent writes.
+                    stream.hflush();
+                    appendStream.setLength(stream.getPos());
+                }
+
+                success = true;
+            } catch (IOException ex) {
+                checkFencedOut(handle.getSegmentName());
+                throw HDFSExceptionHelpers.convertException(handle.getSegmentName(), ex);
+            } finally {
+                if (!success || !isAppendStreamReuseEnabled()) {
+                    // Either we failed (and the stream may be in an inconsistent state) or we are not reusing streams.
+                    closeAppendStream(handle.getSegmentName(), appendStream);
+                }
+            }
         }
 
-        HDFSMetrics.WRITE_LATENCY.reportSuccessEvent(timer.getElapsed());
-        HDFSMetrics.WRITE_BYTES.add(length);
-        LoggerHelpers.traceLeave(log, "write", traceId, handle, offset, length);
+        return true;
     }
 
     @Override
@@ -406,6 +505,7 @@ class HDFSStorage implements SyncStorage {
                     }
 
                     Path targetPath = getFilePath(streamSegmentName, this.epoch);
+                    closeAppendStream(streamSegmentName, null);
                     if (!targetPath.equals(fileStatus.getPath())) {
                         try {
                             this.fileSystem.rename(fileStatus.getPath(), targetPath);
@@ -421,6 +521,9 @@ class HDFSStorage implements SyncStorage {
                             continue;
                         }
                     }
+
+                    // A previous owner may still have the file open for appending; take over its lease.
+                    recoverLease(streamSegmentName, targetPath);
                 }
                 //Ensure that file exists
                 findStatusForSegment(streamSegmentName, true);
@@ -514,6 +617,193 @@ class HDFSStorage implements SyncStorage {
 
     //endregion
 
+    //region Append Streams
+
+    private boolean isAppendStreamReuseEnabled() {
+        return !this.config.getAppendStreamIdleTimeout().isZero();
+    }
+
+    /**
+     * Gets an AppendStream for the given Segment. If there is an open one for the same file (i.e., we still own it),
+     * it will be reused; otherwise a new one is opened.
+     */
+    private AppendStream getAppendStream(String segmentName, FileStatus status) throws IOException {
+        AppendStream existing = this.appendStreams.getIfPresent(segmentName);
+        if (existing != null) {
+            if (existing.getPath().equals(status.getPath())) {
+                existing.setReused(true);
+                return existing;
+            }
+
+            // The file has been renamed (i.e., its ownership or state has changed). This stream is of no use anymore.
+            closeAppendStream(segmentName, existing);
+        }
+
+        AppendStream result = new AppendStream(status.getPath(), this.fileSystem.append(status.getPath()));
+        if (isAppendStreamReuseEnabled()) {
+            AppendStream previous = this.appendStreams.asMap().put(segmentName, result);
+            if (previous != null) {
+                closeAppendStream(previous);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Closes the AppendStream for the given Segment, if any.
+     *
+     * @param segmentName The name of the Segment.
+     * @param expected    If non-null, the stream will only be removed from the cache if it is this one. This stream
+     *                    will be closed regardless.
+     */
+    private void closeAppendStream(String segmentName, AppendStream expected) {
+        AppendStream toClose;
+        if (expected == null) {
+            toClose = this.appendStreams.asMap().remove(segmentName);
+        } else {
+            this.appendStreams.asMap().remove(segmentName, expected);
+            toClose = expected;
+        }
+
+        if (toClose != null) {
+            closeAppendStream(toClose);
+        }
+    }
+
+    private void closeAppendStream(AppendStream appendStream) {
+        synchronized (appendStream) {
+            if (!appendStream.isClosed()) {
+                appendStream.setClosed(true);
+                try {
+                    appendStream.getStream().close();
+                } catch (IOException ex) {
+                    // This can happen if we have been fenced out (and our lease was revoked).
+                    log.warn("Unable to close append stream for '{}'.", appendStream.getPath(), ex);
+                }
+            }
+        }
+    }
+
+    private void onAppendStreamRemoved(RemovalNotification<String, AppendStream> notification) {
+        // Streams that are explicitly removed (or replaced) are closed synchronously by whoever removed them, since the
+        // caller may need the file to be closed before proceeding (i.e., for concat or seal).
+        if (notification.wasEvicted() && notification.getValue() != null) {
+            log.debug("Closing append stream for '{}' ({}).", notification.getValue().getPath(), notification.getCause());
+            closeAppendStream(notification.getValue());
+        }
+    }
+
+    /**
+     * Gets the length of the given Segment file. If we have an open AppendStream for it, the length reported by the
+     * NameNode may not include the data we have written (and flushed) to its last block, so we use our own.
+     */
+    private long getLength(String segmentName, FileStatus status) {
+        AppendStream appendStream = this.appendStreams.asMap().get(segmentName);
+        if (appendStream != null && appendStream.getPath().equals(status.getPath())) {
+            return Math.max(status.getLen(), appendStream.getLength());
+        }
+
+        return status.getLen();
+    }
+
+    /**
+     * Begins recovering the lease on the given file, if it is still open for writing by someone else (such as a previous
+     * owner of the Segment that has not yet noticed it has been fenced out). Until this completes, we cannot append to
+     * it. The recovery itself is awaited in the background, and writes will fail (see {@link #checkLeaseRecovered}) until
+     * it is done.
+     */
+    private void recoverLease(String segmentName, Path path) throws IOException {
+        if (!(this.fileSystem instanceof DistributedFileSystem)) {
+            return;
+        }
+
+        DistributedFileSystem dfs = (DistributedFileSystem) this.fileSystem;
+        CompletableFuture<Void> previous = this.leaseRecoveries.remove(segmentName);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+
+        if (dfs.isFileClosed(path) || dfs.recoverLease(path)) {
+            return;
+        }
+
+        log.info("Lease recovery started for '{}'.", path);
+        CompletableFuture<Void> recovery = new CompletableFuture<>();
+        this.leaseRecoveries.put(segmentName, recovery);
+        scheduleLeaseRecoveryCheck(dfs, path, recovery, 1);
+    }
+
+    private void scheduleLeaseRecoveryCheck(DistributedFileSystem dfs, Path path, CompletableFuture<Void> recovery, int attempt) {
+        this.executor.schedule(() -> {
+            if (recovery.isDone()) {
+                // Cancelled, or we have been closed.
+                return;
+            }
+
+            try {
+                if (dfs.isFileClosed(path) || dfs.recoverLease(path)) {
+                    log.info("Lease recovered for '{}' (Attempt {}).", path, attempt);
+                    recovery.complete(null);
+                } else if (attempt >= MAX_LEASE_RECOVERY_ATTEMPT_COUNT) {
+                    recovery.completeExceptionally(new IOException(
+                            String.format("Unable to recover lease for '%s' after %d attempts.", path, attempt)));
+                } else {
+                    scheduleLeaseRecoveryCheck(dfs, path, recovery, attempt + 1);
+                }
+            } catch (Throwable ex) {
+                recovery.completeExceptionally(ex);
+            }
+        }, LEASE_RECOVERY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether any lease recovery for the given Segment (initiated by {@link #openWrite}) has completed.
+     *
+     * @param segmentName The name of the Segment.
+     * @param path        The path of the Segment's file.
+     * @throws IOException If the lease recovery is still in progress or if it failed. In the latter case, a new lease
+     *                     recovery is initiated, so the operation may be retried later.
+     */
+    private void checkLeaseRecovered(String segmentName, Path path) throws IOException {
+        CompletableFuture<Void> recovery = this.leaseRecoveries.get(segmentName);
+        if (recovery == null) {
+            return;
+        } else if (!recovery.isDone()) {
+            throw new IOException(String.format("Lease recovery for '%s' is still in progress.", path));
+        }
+
+        this.leaseRecoveries.remove(segmentName, recovery);
+        if (recovery.isCompletedExceptionally()) {
+            recoverLease(segmentName, path);
+            throw new IOException(String.format("Lease recovery for '%s' failed; retrying.", path));
+        }
+    }
+
+    @VisibleForTesting
+    CompletableFuture<Void> getLeaseRecovery(String segmentName) {
+        CompletableFuture<Void> recovery = this.leaseRecoveries.get(segmentName);
+        return recovery == null ? CompletableFuture.completedFuture(null) : recovery;
+    }
+
+    /**
+     * Checks whether the given Segment has been fenced out (i.e., it is now owned by a higher epoch).
+     *
+     * @throws StorageNotPrimaryException If it has been fenced out.
+     */
+    private void checkFencedOut(String segmentName) throws StorageNotPrimaryException {
+        try {
+            FileStatus status = findStatusForSegment(segmentName, false);
+            if (status != null && !isSealed(status.getPath()) && getEpoch(status) > this.epoch) {
+                throw new StorageNotPrimaryException(segmentName);
+            }
+        } catch (IOException ex) {
+            log.debug("Unable to determine if '{}' has been fenced out.", segmentName, ex);
+        }
+    }
+
+    //endregion
+
     //Region HDFS helper methods.
 
     /**
@@ -655,4 +945,29 @@ class HDFSStorage implements SyncStorage {
     }
 
     //endregion
+
+    //region AppendStream
+
+    /**
+     * An open {@link FSDataOutputStream} for a Segment file that is kept around between writes. All mutable state
+     * other than length and reused must only be accessed while holding this object's lock.
+     */
+    @RequiredArgsConstructor
+    private static class AppendStream {
+        @Getter
+        private final Path path;
+        @Getter
+        private final FSDataOutputStream stream;
+        @Getter
+        @Setter
+        private volatile long length = -1;
+        @Getter
+        @Setter
+        private volatile boolean reused;
+        @Getter
+        @Setter
+        private boolean closed;
+    }
+
+    //endregion
 }
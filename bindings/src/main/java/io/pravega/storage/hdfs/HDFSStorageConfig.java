@@ -13,6 +13,7 @@ import io.pravega.common.util.ConfigBuilder;
 import io.pravega.common.util.ConfigurationException;
 import io.pravega.common.util.Property;
 import io.pravega.common.util.TypedProperties;
+import java.time.Duration;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,6 +29,8 @@ public class HDFSStorageConfig {
     public static final Property<Integer> REPLICATION = Property.named("replication", 3);
     public static final Property<Integer> BLOCK_SIZE = Property.named("blockSize", 1024 * 1024);
     public static final Property<Boolean> REPLACE_DATANODES_ON_FAILURE = Property.named("replaceDataNodesOnFailure", true);
+    public static final Property<Integer> APPEND_STREAM_IDLE_TIMEOUT_MILLIS = Property.named("appendStreamIdleTimeoutMillis", 30000);
+    public static final Property<Integer> MAX_OPEN_APPEND_STREAMS = Property.named("maxOpenAppendStreams", 1000);
     private static final String COMPONENT_CODE = "hdfs";
 
     //endregion
@@ -67,6 +70,21 @@ public class HDFSStorageConfig {
     @Getter
     private final boolean replaceDataNodesOnFailure;
 
+    /**
+     * The amount of time an open append stream for a Segment may be unused before it is closed. Keeping append streams
+     * open between writes avoids a lease recovery round-trip and a new block pipeline for every write. If zero, every
+     * write will open and close its own stream.
+     */
+    @Getter
+    private final Duration appendStreamIdleTimeout;
+
+    /**
+     * The maximum number of append streams that may be kept open between writes. If exceeded, the least recently used
+     * ones will be closed.
+     */
+    @Getter
+    private final int maxOpenAppendStreams;
+
     //endregion
 
     //region Constructor
@@ -82,6 +100,15 @@ public class HDFSStorageConfig {
         this.replication = (short) properties.getInt(REPLICATION);
         this.blockSize = properties.getInt(BLOCK_SIZE);
         this.replaceDataNodesOnFailure = properties.getBoolean(REPLACE_DATANODES_ON_FAILURE);
+        int idleTimeoutMillis = properties.getInt(APPEND_STREAM_IDLE_TIMEOUT_MILLIS);
+        if (idleTimeoutMillis < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", APPEND_STREAM_IDLE_TIMEOUT_MILLIS));
+        }
+        this.appendStreamIdleTimeout = Duration.ofMillis(idleTimeoutMillis);
+        this.maxOpenAppendStreams = properties.getInt(MAX_OPEN_APPEND_STREAMS);
+        if (this.maxOpenAppendStreams <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAX_OPEN_APPEND_STREAMS));
+        }
     }
 
     /**
@@ -15,14 +15,14 @@ import io.pravega.segmentstore.storage.Storage;
 import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.SyncStorage;
 import io.pravega.segmentstore.storage.rolling.RollingStorage;
-import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Factory for HDFS Storage adapters.
  */
 public class HDFSStorageFactory implements StorageFactory {
     private final HDFSStorageConfig config;
-    private final Executor executor;
+    private final ScheduledExecutorService executor;
 
     /**
      * Creates a new instance of the HDFSStorageFactory class.
@@ -30,7 +30,7 @@ public class HDFSStorageFactory implements StorageFactory {
      * @param config   The Configuration to use.
      * @param executor An executor to use for background operations.
      */
-    public HDFSStorageFactory(HDFSStorageConfig config, Executor executor) {
+    public HDFSStorageFactory(HDFSStorageConfig config, ScheduledExecutorService executor) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(executor, "executor");
         this.config = config;
@@ -39,12 +39,12 @@ public class HDFSStorageFactory implements StorageFactory {
 
     @Override
     public Storage createStorageAdapter() {
-        HDFSStorage s = new HDFSStorage(this.config);
+        HDFSStorage s = new HDFSStorage(this.config, this.executor);
         return new AsyncStorageWrapper(new RollingStorage(s), this.executor);
     }
 
     @Override
     public SyncStorage createSyncStorage() {
-        return new HDFSStorage(this.config);
+        return new HDFSStorage(this.config, this.executor);
     }
 }
@@ -14,6 +14,7 @@ import com.emc.object.s3.S3Config;
 import com.emc.object.s3.bean.ObjectKey;
 import com.emc.object.s3.jersey.S3JerseyClient;
 import com.emc.object.s3.request.DeleteObjectsRequest;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.segmentstore.contracts.StreamSegmentExistsException;
 import io.pravega.segmentstore.storage.AsyncStorageWrapper;
 import io.pravega.segmentstore.storage.Storage;
@@ -24,6 +25,7 @@ import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -91,6 +93,53 @@ public class ExtendedS3StorageTest extends IdempotentStorageTestBase {
         return createStorage(setup.client, setup.adapterConfig, executorService());
     }
 
+    //region ParallelPartsTests
+
+    /**
+     * Tests the ExtendedS3Storage adapter with parallel multipart writes and parallel ranged reads. The part sizes are
+     * small enough that most writes and reads in these tests are split into multiple parts.
+     */
+    public static class ParallelPartsTests extends IdempotentStorageTestBase {
+        private static final int PART_SIZE = 7;
+        private static final int MAX_PARALLEL_PARTS = 3;
+        private TestContext setup;
+        private ScheduledExecutorService partExecutor;
+
+        @Before
+        public void setUp() throws Exception {
+            this.setup = new TestContext();
+            this.partExecutor = ExecutorServiceHelpers.newScheduledThreadPool(MAX_PARALLEL_PARTS, "s3-parts");
+        }
+
+        @After
+        public void tearDown() throws Exception {
+            if (this.setup != null) {
+                this.setup.close();
+            }
+
+            if (this.partExecutor != null) {
+                ExecutorServiceHelpers.shutdown(this.partExecutor);
+            }
+        }
+
+        @Override
+        protected Storage createStorage() {
+            val adapterConfig = ExtendedS3StorageConfig.builder()
+                    .with(ExtendedS3StorageConfig.BUCKET, setup.adapterConfig.getBucket())
+                    .with(ExtendedS3StorageConfig.ACCESS_KEY_ID, "x")
+                    .with(ExtendedS3StorageConfig.SECRET_KEY, "x")
+                    .with(ExtendedS3StorageConfig.ROOT, "test")
+                    .with(ExtendedS3StorageConfig.URI, setup.endpoint)
+                    .with(ExtendedS3StorageConfig.WRITE_PART_SIZE_BYTES, PART_SIZE)
+                    .with(ExtendedS3StorageConfig.READ_PART_SIZE_BYTES, PART_SIZE)
+                    .with(ExtendedS3StorageConfig.MAX_PARALLEL_PARTS, MAX_PARALLEL_PARTS)
+                    .build();
+            return new AsyncStorageWrapper(new ExtendedS3Storage(setup.client, adapterConfig, this.partExecutor), executorService());
+        }
+    }
+
+    //endregion
+
     //region RollingStorageTests
 
     /**
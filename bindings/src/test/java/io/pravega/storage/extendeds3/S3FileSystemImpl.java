@@ -18,14 +18,17 @@ import com.emc.object.s3.bean.CopyPartResult;
 import com.emc.object.s3.bean.DeleteObjectsResult;
 import com.emc.object.s3.bean.GetObjectResult;
 import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.ObjectKey;
 import com.emc.object.s3.bean.PutObjectResult;
 import com.emc.object.s3.bean.S3Object;
+import com.emc.object.s3.request.AbortMultipartUploadRequest;
 import com.emc.object.s3.request.CompleteMultipartUploadRequest;
 import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import io.pravega.common.io.StreamHelpers;
 import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
@@ -42,6 +45,7 @@ import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import lombok.Synchronized;
 import org.apache.commons.httpclient.HttpStatus;
 
@@ -50,7 +54,7 @@ import org.apache.commons.httpclient.HttpStatus;
  */
 public class S3FileSystemImpl extends S3ImplBase {
     private final String baseDir;
-    private final ConcurrentMap<String, ConcurrentMap<Integer, CopyPartRequest>> multipartUploads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Integer, Object>> multipartUploads = new ConcurrentHashMap<>();
 
     public S3FileSystemImpl(String baseDir) {
         this.baseDir = baseDir;
@@ -144,7 +148,7 @@ public class S3FileSystemImpl extends S3ImplBase {
 
     @Override
     public CopyPartResult copyPart(CopyPartRequest request) {
-        Map<Integer, CopyPartRequest> partMap = multipartUploads.get(request.getKey());
+        Map<Integer, Object> partMap = multipartUploads.get(request.getKey());
         if (partMap == null) {
             throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
         }
@@ -237,19 +241,44 @@ public class S3FileSystemImpl extends S3ImplBase {
 
     @Override
     public String initiateMultipartUpload(String bucketName, String key) {
-        multipartUploads.put(key, new ConcurrentHashMap<>());
+        multipartUploads.put(key, new ConcurrentSkipListMap<>());
         return Integer.toString(multipartUploads.size());
     }
 
+    @Override
+    public MultipartPartETag uploadPart(UploadPartRequest request) {
+        Map<Integer, Object> partMap = multipartUploads.get(request.getKey());
+        if (partMap == null) {
+            throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
+        }
+        partMap.put(request.getPartNumber(), request);
+        return new MultipartPartETag(request.getPartNumber(), request.getUploadId());
+    }
+
     @Synchronized
     @Override
     public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
-        Map<Integer, CopyPartRequest> partMap = multipartUploads.get(request.getKey());
+        Map<Integer, Object> partMap = multipartUploads.get(request.getKey());
         if (partMap == null) {
             throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
         }
         try {
-            partMap.forEach((index, copyPart) -> {
+            partMap.forEach((index, part) -> {
+                if (part instanceof UploadPartRequest) {
+                    UploadPartRequest uploadPart = (UploadPartRequest) part;
+                    Path targetPath = Paths.get(this.baseDir, uploadPart.getBucketName(), uploadPart.getKey());
+                    try (FileChannel targetChannel = FileChannel.open(targetPath, StandardOpenOption.WRITE)) {
+                        byte[] data = (byte[]) uploadPart.getObject();
+                        targetChannel.transferFrom(Channels.newChannel(new ByteArrayInputStream(data)), Files.size(targetPath), data.length);
+                        AclSize aclMap = this.aclMap.get(uploadPart.getKey());
+                        this.aclMap.put(uploadPart.getKey(), aclMap.withSize(Files.size(targetPath)));
+                    } catch (IOException e) {
+                        throw new S3Exception("NoSuchKey", 404, "NoSuchKey", "");
+                    }
+                    return;
+                }
+
+                CopyPartRequest copyPart = (CopyPartRequest) part;
                 if (!copyPart.getKey().equals(copyPart.getSourceKey())) {
                     Path sourcePath = Paths.get(this.baseDir, copyPart.getBucketName(), copyPart.getSourceKey());
                     Path targetPath = Paths.get(this.baseDir, copyPart.getBucketName(), copyPart.getKey());
@@ -272,6 +301,11 @@ public class S3FileSystemImpl extends S3ImplBase {
         return new CompleteMultipartUploadResult();
     }
 
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+        multipartUploads.remove(request.getKey());
+    }
+
     @Override
     public GetObjectResult<InputStream> getObject(String bucketName, String key) {
         if (aclMap.containsKey(key)) {
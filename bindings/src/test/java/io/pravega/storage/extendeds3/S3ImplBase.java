@@ -17,12 +17,15 @@ import com.emc.object.s3.bean.CopyPartResult;
 import com.emc.object.s3.bean.DeleteObjectsResult;
 import com.emc.object.s3.bean.GetObjectResult;
 import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.PutObjectResult;
+import com.emc.object.s3.request.AbortMultipartUploadRequest;
 import com.emc.object.s3.request.CompleteMultipartUploadRequest;
 import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import java.io.InputStream;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -61,7 +64,11 @@ public abstract class S3ImplBase {
 
     public abstract String initiateMultipartUpload(String bucketName, String key);
 
+    public abstract MultipartPartETag uploadPart(UploadPartRequest request);
+
     public abstract CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request);
 
+    public abstract void abortMultipartUpload(AbortMultipartUploadRequest request);
+
     public abstract GetObjectResult<InputStream> getObject(String bucketName, String key);
 }
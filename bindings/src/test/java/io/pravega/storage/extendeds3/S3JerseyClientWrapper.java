@@ -14,12 +14,14 @@ import com.emc.object.s3.S3Config;
 import com.emc.object.s3.bean.AccessControlList;
 import com.emc.object.s3.bean.CopyPartResult;
 import com.emc.object.s3.bean.DeleteObjectsResult;
+import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.PutObjectResult;
 import com.emc.object.s3.jersey.S3JerseyClient;
 import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import lombok.Synchronized;
 
 /**
@@ -68,6 +70,11 @@ public class S3JerseyClientWrapper extends S3JerseyClient {
         return proxy.copyPart(request);
     }
 
+    @Override
+    public MultipartPartETag uploadPart(UploadPartRequest request) {
+        return proxy.uploadPart(request);
+    }
+
     @Synchronized
     @Override
     public void deleteObject(String bucketName, String key) {
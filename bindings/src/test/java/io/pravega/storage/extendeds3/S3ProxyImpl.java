@@ -20,13 +20,16 @@ import com.emc.object.s3.bean.CopyPartResult;
 import com.emc.object.s3.bean.DeleteObjectsResult;
 import com.emc.object.s3.bean.GetObjectResult;
 import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.PutObjectResult;
 import com.emc.object.s3.jersey.S3JerseyClient;
+import com.emc.object.s3.request.AbortMultipartUploadRequest;
 import com.emc.object.s3.request.CompleteMultipartUploadRequest;
 import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Module;
 import java.io.ByteArrayInputStream;
@@ -199,11 +202,24 @@ public class S3ProxyImpl extends S3ImplBase {
         return client.initiateMultipartUpload(bucketName, key);
     }
 
+    @Override
+    public MultipartPartETag uploadPart(UploadPartRequest request) {
+        if (aclMap.get(request.getKey()) == null) {
+            throw new S3Exception("NoObject", HttpStatus.SC_NOT_FOUND, "NoSuchKey", request.getKey());
+        }
+        return client.uploadPart(request);
+    }
+
     @Override
     public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
         return client.completeMultipartUpload(request);
     }
 
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+        client.abortMultipartUpload(request);
+    }
+
     @Override
     public GetObjectResult<InputStream> getObject(String bucketName, String key) {
         return client.getObject(bucketName, key);
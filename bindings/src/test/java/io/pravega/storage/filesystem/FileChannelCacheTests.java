@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import io.pravega.common.io.FileHelpers;
+import io.pravega.test.common.AssertExtensions;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the FileChannelCache class.
+ */
+public class FileChannelCacheTests {
+    private static final int MAX_SIZE = 3;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private File baseDir;
+
+    @Before
+    public void setUp() throws Exception {
+        this.baseDir = Files.createTempDirectory("test_channel_cache").toFile().getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileHelpers.deleteFileOrDirectory(this.baseDir);
+    }
+
+    /**
+     * Tests that channels are reused, that the least recently used ones are evicted when the cache is full, and that
+     * read-only channels are upgraded when a writable one is requested.
+     */
+    @Test
+    public void testReuseAndEviction() throws Exception {
+        @Cleanup
+        val cache = new FileChannelCache(MAX_SIZE);
+        FileChannel[] channels = new FileChannel[MAX_SIZE + 1];
+        for (int i = 0; i < channels.length; i++) {
+            @Cleanup
+            val lease = cache.get(getName(i), createFile(i), null, false);
+            channels[i] = lease.getChannel();
+            AssertExtensions.assertThrows(
+                    "Read-only channel allowed writing.",
+                    () -> lease.getChannel().write(ByteBuffer.allocate(1), 0),
+                    ex -> ex instanceof NonWritableChannelException);
+        }
+
+        Assert.assertEquals("Unexpected size after exceeding capacity.", MAX_SIZE, cache.size());
+        Assert.assertFalse("Least recently used channel was not closed.", channels[0].isOpen());
+        for (int i = 1; i < channels.length; i++) {
+            @Cleanup
+            val lease = cache.get(getName(i), getPath(i), null, false);
+            Assert.assertSame("Channel was not reused.", channels[i], lease.getChannel());
+        }
+
+        // Upgrade to a writable channel.
+        @Cleanup
+        val writeLease = cache.get(getName(1), getPath(1), null, true);
+        Assert.assertNotSame("Read-only channel was reused for writing.", channels[1], writeLease.getChannel());
+        Assert.assertFalse("Replaced read-only channel was not closed.", channels[1].isOpen());
+        writeLease.getChannel().write(ByteBuffer.wrap(new byte[]{1}), 0);
+
+        // A writable channel may be used for reading.
+        @Cleanup
+        val readLease = cache.get(getName(1), getPath(1), null, false);
+        Assert.assertSame("Writable channel was not reused for reading.", writeLease.getChannel(), readLease.getChannel());
+    }
+
+    /**
+     * Tests that invalidated, evicted or stale channels are not closed while they are still leased out.
+     */
+    @Test
+    public void testInvalidate() throws Exception {
+        @Cleanup
+        val cache = new FileChannelCache(MAX_SIZE);
+        Path path = createFile(0);
+        val lease1 = cache.get(getName(0), path, "key1", false);
+        cache.invalidate(getName(0));
+        Assert.assertEquals("Unexpected size after invalidate().", 0, cache.size());
+        Assert.assertTrue("Leased channel closed after invalidate().", lease1.getChannel().isOpen());
+        lease1.close();
+        Assert.assertFalse("Invalidated channel not closed after its last lease was closed.", lease1.getChannel().isOpen());
+
+        // Different file key (i.e., file has been recreated).
+        val lease2 = cache.get(getName(0), path, "key1", false);
+        lease2.close();
+        Assert.assertTrue("Cached channel closed after its lease was closed.", lease2.getChannel().isOpen());
+        @Cleanup
+        val lease3 = cache.get(getName(0), path, "key2", false);
+        Assert.assertNotSame("Stale channel was reused.", lease2.getChannel(), lease3.getChannel());
+        Assert.assertFalse("Stale channel was not closed.", lease2.getChannel().isOpen());
+
+        // InvalidateAll and close.
+        cache.invalidateAll();
+        Assert.assertEquals("Unexpected size after invalidateAll().", 0, cache.size());
+        Assert.assertTrue("Leased channel closed after invalidateAll().", lease3.getChannel().isOpen());
+        lease3.close();
+        Assert.assertFalse("Channel not closed after its last lease was closed.", lease3.getChannel().isOpen());
+    }
+
+    /**
+     * Tests the behavior when caching is disabled.
+     */
+    @Test
+    public void testNoCaching() throws Exception {
+        @Cleanup
+        val cache = new FileChannelCache(0);
+        Path path = createFile(0);
+        val lease = cache.get(getName(0), path, null, true);
+        Assert.assertEquals("Not expecting any cached channels.", 0, cache.size());
+        lease.close();
+        Assert.assertFalse("Channel not closed after its lease was closed.", lease.getChannel().isOpen());
+    }
+
+    private String getName(int id) {
+        return "segment" + id;
+    }
+
+    private Path getPath(int id) {
+        return this.baseDir.toPath().resolve(getName(id));
+    }
+
+    private Path createFile(int id) throws Exception {
+        return Files.createFile(getPath(id));
+    }
+}
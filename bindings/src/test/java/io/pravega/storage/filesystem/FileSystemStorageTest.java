@@ -22,6 +22,8 @@ import io.pravega.storage.IdempotentStorageTestBase;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
 import lombok.val;
 import org.junit.After;
 import org.junit.Assert;
@@ -140,6 +142,69 @@ public class FileSystemStorageTest extends IdempotentStorageTestBase {
         return new AsyncStorageWrapper(new FileSystemStorage(this.adapterConfig), executorService());
     }
 
+    //region MappedReadTests
+
+    /**
+     * Tests the FileSystemStorage adapter with memory-mapped reads of sealed segments enabled. The window size and
+     * mapped-bytes budget are deliberately small so that reads span multiple windows and windows get evicted.
+     */
+    public static class MappedReadTests extends IdempotentStorageTestBase {
+        private static final int WINDOW_SIZE = 13;
+        @Rule
+        public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
+        private File baseDir = null;
+        private FileSystemStorageConfig adapterConfig;
+
+        @Before
+        public void setUp() throws Exception {
+            this.baseDir = Files.createTempDirectory("test_nfs").toFile().getAbsoluteFile();
+            this.adapterConfig = FileSystemStorageConfig
+                    .builder()
+                    .with(FileSystemStorageConfig.ROOT, this.baseDir.getAbsolutePath())
+                    .with(FileSystemStorageConfig.MAPPED_READ_BUDGET_BYTES, 5L * WINDOW_SIZE)
+                    .with(FileSystemStorageConfig.MAPPED_READ_WINDOW_SIZE, WINDOW_SIZE)
+                    .build();
+        }
+
+        @After
+        public void tearDown() {
+            FileHelpers.deleteFileOrDirectory(baseDir);
+        }
+
+        /**
+         * Tests reading arbitrary ranges from a sealed segment.
+         */
+        @Test
+        public void testReadSealed() throws Exception {
+            String segmentName = "foo_mapped";
+            byte[] data = new byte[WINDOW_SIZE * 20 + 3];
+            new Random(0).nextBytes(data);
+            try (Storage s = createStorage()) {
+                s.initialize(DEFAULT_EPOCH);
+                val handle = s.create(segmentName, TIMEOUT).join();
+                s.write(handle, 0, new ByteArrayInputStream(data), data.length, TIMEOUT).join();
+                s.seal(handle, TIMEOUT).join();
+
+                val readHandle = s.openRead(segmentName).join();
+                for (int offset = 0; offset < data.length; offset += WINDOW_SIZE / 2) {
+                    for (int length = 1; offset + length <= data.length; length += WINDOW_SIZE + 1) {
+                        byte[] readBuffer = new byte[length];
+                        int bytesRead = s.read(readHandle, offset, readBuffer, 0, length, TIMEOUT).join();
+                        Assert.assertEquals("Unexpected number of bytes read.", length, bytesRead);
+                        Assert.assertArrayEquals("Unexpected data read.", Arrays.copyOfRange(data, offset, offset + length), readBuffer);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected Storage createStorage() {
+            return new AsyncStorageWrapper(new FileSystemStorage(this.adapterConfig), executorService());
+        }
+    }
+
+    //endregion
+
     //region RollingStorageTests
 
     /**
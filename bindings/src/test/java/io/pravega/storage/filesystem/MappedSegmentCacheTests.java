@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.storage.filesystem;
+
+import io.pravega.common.io.FileHelpers;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the MappedSegmentCache class.
+ */
+public class MappedSegmentCacheTests {
+    private static final String SEGMENT_NAME = "segment";
+    private static final Object FILE_KEY = "key";
+    private static final int WINDOW_SIZE = 1024;
+    private static final int MAX_MAPPED_BYTES = 10 * WINDOW_SIZE;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private File baseDir;
+
+    @Before
+    public void setUp() throws Exception {
+        this.baseDir = Files.createTempDirectory("test_mapped_cache").toFile().getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileHelpers.deleteFileOrDirectory(this.baseDir);
+    }
+
+    /**
+     * Tests reading from a file that has grown after one of its windows has been mapped (which may happen if a read
+     * races with the segment being unsealed, appended to and sealed again). The stale window must be remapped.
+     */
+    @Test
+    public void testFileGrowthAfterMapping() throws Exception {
+        @Cleanup
+        val channels = new FileChannelCache(1);
+        val cache = new MappedSegmentCache(channels, MAX_MAPPED_BYTES, WINDOW_SIZE);
+        byte[] data = new byte[WINDOW_SIZE + WINDOW_SIZE / 2];
+        new Random(0).nextBytes(data);
+        Path path = new File(this.baseDir, SEGMENT_NAME).toPath();
+
+        // Map the first window while the file is shorter than it.
+        int initialLength = WINDOW_SIZE / 4;
+        Files.write(path, Arrays.copyOf(data, initialLength));
+        byte[] buffer = new byte[data.length];
+        int bytesRead = cache.read(SEGMENT_NAME, path, FILE_KEY, initialLength, 0, buffer, 0, buffer.length);
+        Assert.assertEquals("Unexpected number of bytes read before growth.", initialLength, bytesRead);
+        Assert.assertEquals("Unexpected mapped bytes before growth.", initialLength, cache.getMappedBytes());
+
+        // Grow the file (same file key) and read beyond the range of the window that was mapped before.
+        Files.write(path, Arrays.copyOfRange(data, initialLength, data.length), StandardOpenOption.APPEND);
+        int readOffset = WINDOW_SIZE / 2;
+        buffer = new byte[data.length - readOffset];
+        bytesRead = cache.read(SEGMENT_NAME, path, FILE_KEY, data.length, readOffset, buffer, 0, buffer.length);
+        Assert.assertEquals("Unexpected number of bytes read after growth.", buffer.length, bytesRead);
+        Assert.assertArrayEquals("Unexpected data read after growth.", Arrays.copyOfRange(data, readOffset, data.length), buffer);
+        Assert.assertEquals("Unexpected mapped bytes after growth.", data.length, cache.getMappedBytes());
+    }
+}
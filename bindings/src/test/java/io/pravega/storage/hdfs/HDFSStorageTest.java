@@ -13,7 +13,9 @@ import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.EnhancedByteArrayOutputStream;
 import io.pravega.common.io.FileHelpers;
+import io.pravega.segmentstore.contracts.BadOffsetException;
 import io.pravega.segmentstore.contracts.SegmentProperties;
+import io.pravega.segmentstore.contracts.StreamSegmentException;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.storage.AsyncStorageWrapper;
@@ -23,12 +25,14 @@ import io.pravega.segmentstore.storage.StorageNotPrimaryException;
 import io.pravega.segmentstore.storage.StorageTestBase;
 import io.pravega.segmentstore.storage.rolling.RollingStorageTestBase;
 import io.pravega.test.common.AssertExtensions;
+import io.pravega.test.common.TestUtils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.Cleanup;
@@ -214,7 +218,7 @@ public class HDFSStorageTest extends StorageTestBase {
 
     @Override
     protected Storage createStorage() {
-        return new AsyncStorageWrapper(new TestHDFSStorage(this.adapterConfig), executorService());
+        return new AsyncStorageWrapper(new TestHDFSStorage(this.adapterConfig, executorService()), executorService());
     }
 
     // region HDFS specific tests
@@ -255,6 +259,104 @@ public class HDFSStorageTest extends StorageTestBase {
         }
     }
 
+    /**
+     * Tests that append streams kept open between writes are handed over correctly when a new owner opens the Segment,
+     * and that writes with bad offsets do not leave reused streams in an inconsistent state.
+     */
+    @Test
+    public void testAppendStreamReuse() throws Exception {
+        String segmentName = "foo_reuse";
+        try (Storage s1 = createStorage();
+             Storage s2 = createStorage()) {
+            s1.initialize(DEFAULT_EPOCH);
+            createSegment(segmentName, s1);
+            SegmentHandle handle1 = s1.openWrite(segmentName).join();
+
+            long expectedLength = 0;
+            for (int i = 0; i < WRITE_COUNT; i++) {
+                byte[] data = new byte[i + 1];
+                s1.write(handle1, expectedLength, new ByteArrayInputStream(data), data.length, null).join();
+                expectedLength += data.length;
+            }
+
+            final long lengthBeforeBadWrite = expectedLength;
+            AssertExtensions.assertSuppliedFutureThrows(
+                    "write() accepted a bad offset.",
+                    () -> s1.write(handle1, lengthBeforeBadWrite + 1, new ByteArrayInputStream(new byte[1]), 1, null),
+                    ex -> ex instanceof BadOffsetException);
+            s1.write(handle1, expectedLength, new ByteArrayInputStream(new byte[1]), 1, null).join();
+            expectedLength++;
+            validateProperties("owner", segmentName, s1.getStreamSegmentInfo(segmentName, null).join(), expectedLength, false);
+
+            // A new owner must be able to take over the file even though the previous owner still has it open.
+            s2.initialize(DEFAULT_EPOCH + 1);
+            SegmentHandle handle2 = s2.openWrite(segmentName).join();
+            validateProperties("new owner", segmentName, s2.getStreamSegmentInfo(segmentName, null).join(), expectedLength, false);
+            s2.write(handle2, expectedLength, new ByteArrayInputStream(new byte[1]), 1, null).join();
+            expectedLength++;
+
+            final long lengthAfterFencing = expectedLength;
+            AssertExtensions.assertSuppliedFutureThrows(
+                    "write() succeeded after the Segment was fenced out.",
+                    () -> s1.write(handle1, lengthAfterFencing, new ByteArrayInputStream(new byte[1]), 1, null),
+                    ex -> ex instanceof StorageNotPrimaryException);
+            validateProperties("post-fencing", segmentName, s2.getStreamSegmentInfo(segmentName, null).join(), expectedLength, false);
+        }
+    }
+
+    /**
+     * Tests that append streams are closed when there are too many of them or when they have been idle for too long,
+     * even if there are no more writes.
+     */
+    @Test
+    public void testAppendStreamEviction() throws Exception {
+        val dfs = this.hdfsCluster.getFileSystem();
+        val sizeLimitedConfig = HDFSStorageConfig
+                .builder()
+                .with(HDFSStorageConfig.REPLICATION, 1)
+                .with(HDFSStorageConfig.URL, String.format("hdfs://localhost:%d/", hdfsCluster.getNameNodePort()))
+                .with(HDFSStorageConfig.MAX_OPEN_APPEND_STREAMS, 1)
+                .build();
+        try (Storage s = new AsyncStorageWrapper(new TestHDFSStorage(sizeLimitedConfig, executorService()), executorService())) {
+            s.initialize(DEFAULT_EPOCH);
+            writeOnce("foo_evict1", s);
+            Path path1 = new Path("/foo_evict1_" + DEFAULT_EPOCH);
+            Assert.assertFalse("Expected the append stream to be kept open.", dfs.isFileClosed(path1));
+
+            // Writing to another segment exceeds the limit, so the first stream should be closed.
+            writeOnce("foo_evict2", s);
+            TestUtils.await(() -> isFileClosed(dfs, path1), 10, TIMEOUT.toMillis());
+            Assert.assertFalse("Expected the most recent append stream to be kept open.",
+                    dfs.isFileClosed(new Path("/foo_evict2_" + DEFAULT_EPOCH)));
+        }
+
+        val idleConfig = HDFSStorageConfig
+                .builder()
+                .with(HDFSStorageConfig.REPLICATION, 1)
+                .with(HDFSStorageConfig.URL, String.format("hdfs://localhost:%d/", hdfsCluster.getNameNodePort()))
+                .with(HDFSStorageConfig.APPEND_STREAM_IDLE_TIMEOUT_MILLIS, 100)
+                .build();
+        try (Storage s = new AsyncStorageWrapper(new TestHDFSStorage(idleConfig, executorService()), executorService())) {
+            s.initialize(DEFAULT_EPOCH);
+            writeOnce("foo_idle", s);
+
+            // No more writes; the stream should still be closed once it has been idle for long enough.
+            Path path = new Path("/foo_idle_" + DEFAULT_EPOCH);
+            TestUtils.await(() -> isFileClosed(dfs, path), 10, TIMEOUT.toMillis());
+        }
+    }
+
+    private void writeOnce(String segmentName, Storage s) {
+        createSegment(segmentName, s);
+        SegmentHandle handle = s.openWrite(segmentName).join();
+        s.write(handle, 0, new ByteArrayInputStream(new byte[1]), 1, null).join();
+    }
+
+    @SneakyThrows(IOException.class)
+    private boolean isFileClosed(DistributedFileSystem dfs, Path path) {
+        return dfs.isFileClosed(path);
+    }
+
     private void validateProperties(String stage, String segmentName, SegmentProperties sp, long expectedLength, boolean expectedSealed) {
         Assert.assertNotNull("No result from GetInfoOperation (" + stage + ").", sp);
         Assert.assertEquals("Unexpected name (" + stage + ").", segmentName, sp.getName());
@@ -399,7 +501,7 @@ public class HDFSStorageTest extends StorageTestBase {
 
         @Override
         protected Storage createStorage() {
-            return wrap(new TestHDFSStorage(this.adapterConfig));
+            return wrap(new TestHDFSStorage(this.adapterConfig, executorService()));
         }
 
         @Override
@@ -416,10 +518,20 @@ public class HDFSStorageTest extends StorageTestBase {
     /**
      * Special HDFSStorage that uses a modified version of the MiniHDFSCluster DistributedFileSystem which fixes the
      * 'read-only' permission issues observed with that one.
+     *
+     * Lease recovery (initiated by openWrite) completes in the background, and writes fail until it does. Since the
+     * general Storage tests expect to be able to write as soon as openWrite completes, this waits for it in openWrite.
      **/
     private static class TestHDFSStorage extends HDFSStorage {
-        TestHDFSStorage(HDFSStorageConfig config) {
-            super(config);
+        TestHDFSStorage(HDFSStorageConfig config, ScheduledExecutorService executor) {
+            super(config, executor);
+        }
+
+        @Override
+        public SegmentHandle openWrite(String streamSegmentName) throws StreamSegmentException {
+            SegmentHandle handle = super.openWrite(streamSegmentName);
+            getLeaseRecovery(streamSegmentName).join();
+            return handle;
         }
 
         @Override
@@ -119,7 +119,7 @@ public class ConnectionPoolImpl implements ConnectionPool {
 
         final Connection connection;
         if (suggestedConnection.isPresent() && (prunedConnectionList.size() >= clientConfig.getMaxConnectionsPerSegmentStore() || isUnused(suggestedConnection.get()))) {
-            log.info("Reusing connection: {}", suggestedConnection.get());
+            log.debug("Reusing connection: {}", suggestedConnection.get());
             connection = suggestedConnection.get();
         } else {
             // create a new connection.
@@ -77,7 +77,7 @@ public class FlowHandler extends ChannelInboundHandlerAdapter implements AutoClo
         Exceptions.checkNotClosed(closed.get(), this);
         Preconditions.checkState(!disableFlow.get(), "Ensure flows are enabled.");
         final int flowID = flow.getFlowId();
-        log.info("Creating Flow {} for endpoint {}. The current Channel is {}.", flow.getFlowId(), connectionName, channel.get());
+        log.debug("Creating Flow {} for endpoint {}. The current Channel is {}.", flow.getFlowId(), connectionName, channel.get());
         if (flowIdReplyProcessorMap.put(flowID, rp) != null) {
             throw new IllegalArgumentException("Multiple flows cannot be created with the same Flow id " + flowID);
         }
@@ -107,7 +107,7 @@ public class FlowHandler extends ChannelInboundHandlerAdapter implements AutoClo
     public void closeFlow(ClientConnection clientConnection) {
         final ClientConnectionImpl clientConnectionImpl = (ClientConnectionImpl) clientConnection;
         int flow = clientConnectionImpl.getFlowId();
-        log.info("Closing Flow {} for endpoint {}", flow, clientConnectionImpl.getConnectionName());
+        log.debug("Closing Flow {} for endpoint {}", flow, clientConnectionImpl.getConnectionName());
         flowIdReplyProcessorMap.remove(flow);
         flowIDBatchSizeTrackerMap.remove(flow);
         if (flow == FLOW_DISABLED) {
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.segment.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+
+/**
+ * Limits the total number of bytes by which a group of {@link SegmentInputStreamImpl}s may grow their buffers beyond
+ * their minimum size. Every stream created by the same {@link SegmentInputStreamFactoryImpl} shares one budget, so a
+ * reader assigned many segments cannot grow all of their buffers to the maximum size at once.
+ */
+@ThreadSafe
+class BufferBudget {
+    @Getter
+    private final long capacity;
+    private final AtomicLong reserved = new AtomicLong();
+
+    /**
+     * Creates a new instance of the BufferBudget class.
+     *
+     * @param capacity The maximum number of bytes that may be reserved at any time.
+     */
+    BufferBudget(long capacity) {
+        Preconditions.checkArgument(capacity >= 0, "capacity must be a non-negative number.");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Attempts to reserve the given number of bytes.
+     *
+     * @param bytes The number of bytes to reserve.
+     * @return True if the bytes were reserved, false if doing so would exceed the capacity (nothing is reserved then).
+     */
+    boolean tryReserve(int bytes) {
+        Preconditions.checkArgument(bytes >= 0, "bytes must be a non-negative number.");
+        long current;
+        do {
+            current = this.reserved.get();
+            if (current + bytes > this.capacity) {
+                return false;
+            }
+        } while (!this.reserved.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    /**
+     * Releases the given number of bytes, previously reserved using {@link #tryReserve}.
+     *
+     * @param bytes The number of bytes to release.
+     */
+    void release(int bytes) {
+        Preconditions.checkArgument(bytes >= 0, "bytes must be a non-negative number.");
+        long result = this.reserved.addAndGet(-bytes);
+        assert result >= 0 : "released more bytes than were reserved";
+    }
+
+    /**
+     * Gets the number of bytes currently reserved.
+     *
+     * @return The number of bytes currently reserved.
+     */
+    long getReserved() {
+        return this.reserved.get();
+    }
+}
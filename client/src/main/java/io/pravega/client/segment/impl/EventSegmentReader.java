@@ -69,6 +69,16 @@ public interface EventSegmentReader extends AutoCloseable {
      * @throws SegmentTruncatedException If the segment has been truncated beyond the current offset and the data cannot be read.
      */
     public abstract ByteBuffer read(long firstByteTimeout) throws EndOfSegmentException, SegmentTruncatedException;
+
+    /**
+     * Sets whether {@link #read(long)} may return events in a buffer that is reused by this reader, instead of allocating
+     * a new buffer for every event. If so, the returned buffers are read-only and are only valid until the next call to
+     * {@link #read(long)}.
+     *
+     * @param reuseEventBuffers True if the buffers returned by {@link #read(long)} may be reused.
+     */
+    public default void setReuseEventBuffers(boolean reuseEventBuffers) {
+    }
     
     /**
      * Issues a request to asynchronously fill up the buffer. The goal is to prevent future {@link #read()} calls from blocking.
@@ -16,6 +16,8 @@ import io.pravega.shared.protocol.netty.WireCommandType;
 import io.pravega.shared.protocol.netty.WireCommands;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.Synchronized;
 import lombok.ToString;
@@ -28,9 +30,30 @@ import lombok.extern.slf4j.Slf4j;
 @ToString
 class EventSegmentReaderImpl implements EventSegmentReader {
 
+    /**
+     * Events larger than this are always read into a new buffer, so that a reader does not hold on to a large buffer
+     * because of a single large event.
+     */
+    private static final int MAX_REUSABLE_EVENT_SIZE = 64 * 1024;
+
     @GuardedBy("$lock")
     private final ByteBuffer headerReadingBuffer = ByteBuffer.allocate(WireCommands.TYPE_PLUS_LENGTH_SIZE);
     private final SegmentInputStream in;
+    @GuardedBy("$lock")
+    private boolean reuseEventBuffers = false;
+    @GuardedBy("$lock")
+    private ByteBuffer reusableEventBuffer = null;
+    /**
+     * Decompresses compressed events. Created when the first one is read, reset before each use and ended on close.
+     */
+    @GuardedBy("$lock")
+    private Inflater inflater = null;
+    /**
+     * Holds the compressed contents of an event while it is decompressed. It never escapes this class, so it is reused
+     * regardless of {@link #reuseEventBuffers} (as long as the event is no larger than {@link #MAX_REUSABLE_EVENT_SIZE}).
+     */
+    @GuardedBy("$lock")
+    private ByteBuffer reusableCompressedBuffer = null;
 
     EventSegmentReaderImpl(SegmentInputStream input) {
         Preconditions.checkNotNull(input);
@@ -49,6 +72,15 @@ class EventSegmentReaderImpl implements EventSegmentReader {
         return in.getOffset();
     }
 
+    @Override
+    @Synchronized
+    public void setReuseEventBuffers(boolean reuseEventBuffers) {
+        this.reuseEventBuffers = reuseEventBuffers;
+        if (!reuseEventBuffers) {
+            this.reusableEventBuffer = null;
+        }
+    }
+
     /**
      * @see EventSegmentReader#read()
      */
@@ -82,19 +114,83 @@ class EventSegmentReaderImpl implements EventSegmentReader {
         headerReadingBuffer.flip();
         int type = headerReadingBuffer.getInt();
         int length = headerReadingBuffer.getInt();
-        if (type != WireCommandType.EVENT.getCode()) {
+        boolean compressed = type == WireCommandType.COMPRESSED_EVENT.getCode();
+        if (type != WireCommandType.EVENT.getCode() && !compressed) {
             throw new InvalidMessageException("Event was of wrong type: " + type);
         }
         if (length < 0 || length > WireCommands.MAX_WIRECOMMAND_SIZE) {
             throw new InvalidMessageException("Event of invalid length: " + length);
         }
-        ByteBuffer result = ByteBuffer.allocate(length);
-        in.read(result, Long.MAX_VALUE);
-        while (result.hasRemaining()) {
-            in.read(result, Long.MAX_VALUE);
+        if (compressed) {
+            return readCompressedEvent(length);
         }
+        boolean reuse = reuseEventBuffers && length <= MAX_REUSABLE_EVENT_SIZE;
+        ByteBuffer result = reuse ? getReusableEventBuffer(length) : ByteBuffer.allocate(length);
+        readFully(result);
         result.flip();
-        return result;
+        return reuse ? result.asReadOnlyBuffer() : result;
+    }
+
+    private ByteBuffer readCompressedEvent(int length) throws EndOfSegmentException, SegmentTruncatedException {
+        if (length < Integer.BYTES) {
+            throw new InvalidMessageException("Compressed event of invalid length: " + length);
+        }
+        ByteBuffer compressed = length <= MAX_REUSABLE_EVENT_SIZE ? getReusableCompressedBuffer(length) : ByteBuffer.allocate(length);
+        readFully(compressed);
+        compressed.flip();
+        int uncompressedLength = compressed.getInt();
+        if (uncompressedLength < 0 || uncompressedLength > WireCommands.MAX_WIRECOMMAND_SIZE) {
+            throw new InvalidMessageException("Compressed event of invalid uncompressed length: " + uncompressedLength);
+        }
+        boolean reuse = reuseEventBuffers && uncompressedLength <= MAX_REUSABLE_EVENT_SIZE;
+        ByteBuffer result = reuse ? getReusableEventBuffer(uncompressedLength) : ByteBuffer.allocate(uncompressedLength);
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        inflater.reset();
+        try {
+            inflater.setInput(compressed.array(), compressed.arrayOffset() + compressed.position(), compressed.remaining());
+            int decompressed = 0;
+            while (!inflater.finished() && decompressed < uncompressedLength) {
+                int count = inflater.inflate(result.array(), result.arrayOffset() + decompressed, uncompressedLength - decompressed);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                decompressed += count;
+            }
+            if (!inflater.finished() || decompressed != uncompressedLength) {
+                throw new InvalidMessageException("Unable to decompress event. Expected " + uncompressedLength
+                        + " bytes, decompressed " + decompressed);
+            }
+        } catch (DataFormatException e) {
+            throw new InvalidMessageException(e);
+        }
+        return reuse ? result.asReadOnlyBuffer() : result;
+    }
+
+    private void readFully(ByteBuffer buffer) throws EndOfSegmentException, SegmentTruncatedException {
+        in.read(buffer, Long.MAX_VALUE);
+        while (buffer.hasRemaining()) {
+            in.read(buffer, Long.MAX_VALUE);
+        }
+    }
+
+    private ByteBuffer getReusableEventBuffer(int length) {
+        if (reusableEventBuffer == null || reusableEventBuffer.capacity() < length) {
+            reusableEventBuffer = ByteBuffer.allocate(length);
+        }
+        reusableEventBuffer.clear();
+        reusableEventBuffer.limit(length);
+        return reusableEventBuffer;
+    }
+
+    private ByteBuffer getReusableCompressedBuffer(int length) {
+        if (reusableCompressedBuffer == null || reusableCompressedBuffer.capacity() < length) {
+            reusableCompressedBuffer = ByteBuffer.allocate(length);
+        }
+        reusableCompressedBuffer.clear();
+        reusableCompressedBuffer.limit(length);
+        return reusableCompressedBuffer;
     }
 
     @Override
@@ -107,6 +203,11 @@ class EventSegmentReaderImpl implements EventSegmentReader {
     @Synchronized
     public void close() {
         in.close();
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        reusableCompressedBuffer = null;
     }    
 
     @Override
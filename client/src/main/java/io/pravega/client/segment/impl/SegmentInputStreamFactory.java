@@ -63,6 +63,8 @@ public interface SegmentInputStreamFactory {
      * used to allocate buffer space for the bytes this reader reads from the
      * segment. It is important to control the buffer size, e.g., when randomly
      * reading events with {@link EventStreamReader#fetchEvent(EventPointer)}
+     * Unlike the other methods, the buffer does not adapt to the rate at which
+     * events are read.
      *
      * @param segment  The segment to create an input for.
      * @param bufferSize Size of the read buffer.
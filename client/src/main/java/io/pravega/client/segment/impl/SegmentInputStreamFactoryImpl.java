@@ -24,23 +24,29 @@ public class SegmentInputStreamFactoryImpl implements SegmentInputStreamFactory
 
     private final Controller controller;
     private final ConnectionFactory cf;
+    /**
+     * Bounds how much the buffers of all the segment streams created by this factory may grow in total.
+     */
+    private final BufferBudget bufferBudget = new BufferBudget(SegmentInputStreamImpl.DEFAULT_BUFFER_BUDGET);
 
     @Override
     public EventSegmentReader createEventReaderForSegment(Segment segment) {
-        return createEventReaderForSegment(segment, SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE);
+        return getEventSegmentReader(segment, Long.MAX_VALUE, SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE,
+                SegmentInputStreamImpl.MAX_BUFFER_SIZE);
     }
 
     @Override
     public EventSegmentReader createEventReaderForSegment(Segment segment, long endOffset) {
-        return getEventSegmentReader(segment, endOffset, SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE);
+        return getEventSegmentReader(segment, endOffset, SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE,
+                SegmentInputStreamImpl.MAX_BUFFER_SIZE);
     }
 
     @Override
     public EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize) {
-        return getEventSegmentReader(segment, Long.MAX_VALUE, bufferSize);
+        return getEventSegmentReader(segment, Long.MAX_VALUE, bufferSize, bufferSize);
     }
 
-    private EventSegmentReader getEventSegmentReader(Segment segment, long endOffset, int bufferSize) {
+    private EventSegmentReader getEventSegmentReader(Segment segment, long endOffset, int minBufferSize, int maxBufferSize) {
         String delegationToken = Futures.getAndHandleExceptions(controller.getOrRefreshDelegationTokenFor(segment.getScope(),
                                                                                                           segment.getStream()
                                                                                                                  .getStreamName()),
@@ -48,8 +54,9 @@ public class SegmentInputStreamFactoryImpl implements SegmentInputStreamFactory
         AsyncSegmentInputStreamImpl async = new AsyncSegmentInputStreamImpl(controller, cf, segment,
                 DelegationTokenProviderFactory.create(delegationToken, controller, segment));
         async.getConnection();                      //Sanity enforcement
-        bufferSize = MathHelpers.minMax(bufferSize, SegmentInputStreamImpl.MIN_BUFFER_SIZE, SegmentInputStreamImpl.MAX_BUFFER_SIZE);
-        return getEventSegmentReader(async, 0, endOffset, bufferSize);
+        minBufferSize = MathHelpers.minMax(minBufferSize, SegmentInputStreamImpl.MIN_BUFFER_SIZE, SegmentInputStreamImpl.MAX_BUFFER_SIZE);
+        maxBufferSize = MathHelpers.minMax(maxBufferSize, minBufferSize, SegmentInputStreamImpl.MAX_BUFFER_SIZE);
+        return new EventSegmentReaderImpl(new SegmentInputStreamImpl(async, 0, endOffset, minBufferSize, maxBufferSize, bufferBudget));
     }
 
     @VisibleForTesting
@@ -67,6 +74,7 @@ public class SegmentInputStreamFactoryImpl implements SegmentInputStreamFactory
     public SegmentInputStream createInputStreamForSegment(Segment segment, DelegationTokenProvider tokenProvider) {
         AsyncSegmentInputStreamImpl async = new AsyncSegmentInputStreamImpl(controller, cf, segment, tokenProvider);
         async.getConnection();
-        return new SegmentInputStreamImpl(async, 0);
+        return new SegmentInputStreamImpl(async, 0, Long.MAX_VALUE, SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE,
+                SegmentInputStreamImpl.MAX_BUFFER_SIZE, bufferBudget);
     }
 }
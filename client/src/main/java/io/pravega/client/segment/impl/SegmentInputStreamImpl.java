@@ -10,6 +10,7 @@
 package io.pravega.client.segment.impl;
 
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.CircularBuffer;
@@ -27,6 +28,16 @@ import static io.pravega.client.segment.impl.EndOfSegmentException.ErrorType.END
 
 /**
  * Manages buffering and provides a synchronous to {@link AsyncSegmentInputStream}
+ *
+ * The size of the buffer (and hence of the reads issued to the server) may adapt to the rate at which data is consumed.
+ * If the buffer is drained while a read is still outstanding and the previous read was not at the tail of the segment,
+ * the buffer is grown so that subsequent reads fetch more data per round trip. Whenever a read comes back at the tail
+ * of the segment (the reader has caught up), the buffer is shrunk back towards its minimum size, so that idle segments
+ * do not hold on to large buffers. A read that returns less data than requested is not by itself a sign of having
+ * caught up, as the server may stop short of the requested length (for example at storage read boundaries).
+ *
+ * Growing the buffer beyond its minimum size requires reserving the difference from a {@link BufferBudget}, which is
+ * shared by all the streams created by the same factory and bounds the total memory their buffers may grow by.
  * 
  * @see SegmentInputStream
  */
@@ -36,13 +47,21 @@ class SegmentInputStreamImpl implements SegmentInputStream {
     static final int MIN_BUFFER_SIZE = 1024;
     static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
     static final int MAX_BUFFER_SIZE = 10 * 1024 * 1024;
+    static final long DEFAULT_BUFFER_BUDGET = 64 * 1024 * 1024;
     private static final int DEFAULT_READ_LENGTH = 256 * 1024;
     private static final long UNBOUNDED_END_OFFSET = Long.MAX_VALUE;
 
     private final AsyncSegmentInputStream asyncInput;
     private final int minReadLength;
+    private final int minBufferSize;
+    private final int maxBufferSize;
+    private final BufferBudget budget;
+    @GuardedBy("$lock")
+    private CircularBuffer buffer;
     @GuardedBy("$lock")
-    private final CircularBuffer buffer;
+    private int bufferSize;
+    @GuardedBy("$lock")
+    private int targetBufferSize;
     @GuardedBy("$lock")
     private long offset;
     @GuardedBy("$lock")
@@ -53,22 +72,39 @@ class SegmentInputStreamImpl implements SegmentInputStream {
     private boolean receivedTruncated = false;
     @GuardedBy("$lock")
     private CompletableFuture<SegmentRead> outstandingRequest = null;
+    @GuardedBy("$lock")
+    private boolean lastReadAtTail = true;
+    @GuardedBy("$lock")
+    private int reservedBytes = 0;
 
     SegmentInputStreamImpl(AsyncSegmentInputStream asyncInput, long startOffset) {
-        this(asyncInput, startOffset, UNBOUNDED_END_OFFSET, DEFAULT_BUFFER_SIZE);
+        this(asyncInput, startOffset, UNBOUNDED_END_OFFSET, DEFAULT_BUFFER_SIZE, MAX_BUFFER_SIZE,
+                new BufferBudget(MAX_BUFFER_SIZE - DEFAULT_BUFFER_SIZE));
     }
 
     SegmentInputStreamImpl(AsyncSegmentInputStream asyncInput, long startOffset, long endOffset, int bufferSize) {
+        this(asyncInput, startOffset, endOffset, bufferSize, bufferSize, new BufferBudget(0));
+    }
+
+    SegmentInputStreamImpl(AsyncSegmentInputStream asyncInput, long startOffset, long endOffset, int minBufferSize,
+                           int maxBufferSize, BufferBudget budget) {
         Preconditions.checkArgument(startOffset >= 0);
         Preconditions.checkNotNull(asyncInput);
+        Preconditions.checkNotNull(budget, "budget");
         Preconditions.checkNotNull(endOffset, "endOffset");
         Preconditions.checkArgument(endOffset >= startOffset, "Invalid end offset.");
+        Preconditions.checkArgument(maxBufferSize >= minBufferSize, "maxBufferSize must be at least minBufferSize.");
         this.asyncInput = asyncInput;
         this.offset = startOffset;
         this.endOffset = endOffset;
         // Reads should not be so large they cannot fit into the buffer.
-        this.minReadLength = Math.min(DEFAULT_READ_LENGTH, bufferSize);
-        this.buffer = new CircularBuffer(bufferSize);
+        this.minReadLength = Math.min(DEFAULT_READ_LENGTH, minBufferSize);
+        this.minBufferSize = minBufferSize;
+        this.maxBufferSize = maxBufferSize;
+        this.budget = budget;
+        this.bufferSize = minBufferSize;
+        this.targetBufferSize = minBufferSize;
+        this.buffer = new CircularBuffer(minBufferSize);
         issueRequestIfNeeded();
     }
 
@@ -116,6 +152,10 @@ class SegmentInputStreamImpl implements SegmentInputStream {
             if (receivedEndOfSegment) {
                 throw new EndOfSegmentException();
             }
+            if (!lastReadAtTail && !outstandingRequest.isDone()) {
+                // The buffer was drained before the next read came back, and there is more data to read.
+                targetBufferSize = Math.min(maxBufferSize, 2 * bufferSize);
+            }
             Futures.await(outstandingRequest, timeout);
             if (!outstandingRequest.isDone()) {
                 return 0;
@@ -145,20 +185,29 @@ class SegmentInputStreamImpl implements SegmentInputStream {
             throw e;
         }
         verifyIsAtCorrectOffset(segmentRead);
-        if (segmentRead.getData().hasRemaining()) {
-            buffer.fill(segmentRead.getData());
+        ByteBuf data = segmentRead.getData();
+        if (data.readerIndex() == 0) {
+            // First time we see this result.
+            lastReadAtTail = segmentRead.isAtTail() || segmentRead.isEndOfSegment();
+            if (lastReadAtTail) {
+                targetBufferSize = Math.max(minBufferSize, bufferSize / 2);
+            }
+        }
+        if (data.isReadable()) {
+            int filled = buffer.fill(data.nioBuffer());
+            data.skipBytes(filled);
         }
         if (segmentRead.isEndOfSegment()) {
             receivedEndOfSegment = true;
         }
-        if (!segmentRead.getData().hasRemaining()) {
+        if (!data.isReadable()) {
             outstandingRequest = null;
             issueRequestIfNeeded();
         }
     }
 
     private void verifyIsAtCorrectOffset(WireCommands.SegmentRead segmentRead) {
-        long offsetRead = segmentRead.getOffset() + segmentRead.getData().position();
+        long offsetRead = segmentRead.getOffset() + segmentRead.getData().readerIndex();
         long expectedOffset = offset + buffer.dataAvailable();
         checkState(offsetRead == expectedOffset, "ReadSegment returned data for the wrong offset %s vs %s", offsetRead,
                    expectedOffset);
@@ -170,6 +219,9 @@ class SegmentInputStreamImpl implements SegmentInputStream {
      *  - if we have not read up to the configured endOffset.
      */
     private void issueRequestIfNeeded() {
+        if (outstandingRequest == null) {
+            resizeBufferIfNeeded();
+        }
         //compute read length based on current offset up to which the events are read.
         int updatedReadLength = computeReadLength(offset + buffer.dataAvailable());
         if (!receivedEndOfSegment && !receivedTruncated && updatedReadLength > 0 && outstandingRequest == null) {
@@ -178,6 +230,35 @@ class SegmentInputStreamImpl implements SegmentInputStream {
         }
     }
 
+    /**
+     * Replaces the buffer with one of targetBufferSize, if different from the current one and if the data that is
+     * already buffered fits in it. Growing only happens if the budget has room for the additional bytes.
+     */
+    private void resizeBufferIfNeeded() {
+        if (targetBufferSize == bufferSize || buffer.dataAvailable() > targetBufferSize) {
+            return;
+        }
+        int delta = targetBufferSize - bufferSize;
+        if (delta > 0 && !budget.tryReserve(delta)) {
+            log.debug("Not growing buffer for segment {} beyond {} bytes; the buffer budget is exhausted.", getSegmentId(), bufferSize);
+            targetBufferSize = bufferSize;
+            return;
+        } else if (delta < 0) {
+            budget.release(-delta);
+        }
+        reservedBytes += delta;
+        CircularBuffer newBuffer = new CircularBuffer(targetBufferSize);
+        if (buffer.dataAvailable() > 0) {
+            ByteBuffer data = ByteBuffer.allocate(buffer.dataAvailable());
+            buffer.read(data);
+            data.flip();
+            newBuffer.fill(data);
+        }
+        log.debug("Resizing buffer for segment {} from {} to {} bytes", getSegmentId(), bufferSize, targetBufferSize);
+        buffer = newBuffer;
+        bufferSize = targetBufferSize;
+    }
+
     /**
      * Compute the read length based on the current fetch offset and the configured end offset.
      */
@@ -201,6 +282,8 @@ class SegmentInputStreamImpl implements SegmentInputStream {
             outstandingRequest.cancel(true);
             log.debug("Completed cancelling outstanding read request for segment {}", asyncInput.getSegmentId());
         }
+        budget.release(reservedBytes);
+        reservedBytes = 0;
         asyncInput.close();
     }
 
@@ -228,7 +311,7 @@ class SegmentInputStreamImpl implements SegmentInputStream {
         boolean atEnd = receivedEndOfSegment || receivedTruncated || (outstandingRequest != null && outstandingRequest.isCompletedExceptionally());
         if (outstandingRequest != null && Futures.isSuccessful(outstandingRequest)) {
             SegmentRead request = outstandingRequest.join();
-            result += request.getData().remaining();
+            result += request.getData().readableBytes();
             atEnd |= request.isEndOfSegment();
         }
         if (result <= 0 && atEnd) {
@@ -10,6 +10,7 @@
 package io.pravega.client.stream;
 
 import io.pravega.client.segment.impl.NoSuchEventException;
+import java.util.List;
 
 /**
  * A reader for a stream.
@@ -52,6 +53,29 @@ public interface EventStreamReader<T> extends AutoCloseable {
      */
     EventRead<T> readNextEvent(long timeout) throws ReinitializationRequiredException, TruncatedDataException;
 
+    /**
+     * Gets up to maxEvents of the next events in the stream. This behaves as if {@link #readNextEvent(long)} were
+     * called repeatedly, except that only the first event may block (for up to timeout) and the remaining ones are
+     * only returned if they are already available to the reader. This avoids the per-call overhead of
+     * {@link #readNextEvent(long)} for applications which read a large number of small events.
+     *
+     * Each returned {@link EventRead} has its own {@link EventRead#getPosition()}, exactly as if it had been returned
+     * by {@link #readNextEvent(long)}. If a checkpoint is pending, or if no events arrive before the timeout, the
+     * returned list contains a single EventRead, with null for {@link EventRead#getEvent()}.
+     *
+     * @param maxEvents The maximum number of events to return. Must be positive.
+     * @param timeout An upper bound on how long the call may block waiting for the first event.
+     * @return A non-empty list of at most maxEvents {@link EventRead} instances, in the order they were read.
+     * @throws ReinitializationRequiredException Is thrown in the event that
+     *             {@link ReaderGroup#resetReadersToCheckpoint(Checkpoint)} or
+     *             {@link ReaderGroup#resetReaderGroup(ReaderGroupConfig)} was called
+     *             which requires readers to be reinitialized.
+     * @throws TruncatedDataException if the data that would be read next has been truncated away
+     *             and can no longer be read. (If following this readNextEvents is called again it
+     *             will resume from the next available event.)
+     */
+    List<EventRead<T>> readNextEvents(int maxEvents, long timeout) throws ReinitializationRequiredException, TruncatedDataException;
+
     /**
      * Gets the configuration that this reader was created with.
      *
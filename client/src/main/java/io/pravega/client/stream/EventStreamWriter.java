@@ -110,6 +110,20 @@ public interface EventStreamWriter<Type> extends AutoCloseable {
      */
     void flush();
 
+    /**
+     * Returns a future that completes once all events that have been passed to writeEvent with the given routing key
+     * (before this method was called) have been durably written, or completes exceptionally if they could not be.
+     *
+     * Unlike {@link #flush()}, this does not block and does not prevent concurrent calls to writeEvent. It only waits on
+     * the segment that the routing key maps to, so it is not delayed by events with routing keys that map to other
+     * segments. (It may however wait for events with other routing keys that were written to the same segment before
+     * this was called, as the events in a segment are acknowledged in order.)
+     *
+     * @param routingKey The routing key whose events should be flushed.
+     * @return A future that completes when all of the events previously written with the routing key are durable.
+     */
+    CompletableFuture<Void> flush(String routingKey);
+
     /**
      * Calls flush and then closes the writer. (No further methods may be called)
      */
@@ -54,6 +54,12 @@ public class EventWriterConfig implements Serializable {
      */
     private final boolean automaticallyNoteTime;
 
+    /**
+     * Compress each event written, if doing so makes it smaller. Compressed events can only be read by readers which
+     * are at least as recent as this writer.
+     */
+    private final boolean enableCompression;
+
     public static final class EventWriterConfigBuilder {
         private static final long MIN_TRANSACTION_TIMEOUT_TIME_MILLIS = 10000;
         private int initalBackoffMillis = 1;
@@ -64,6 +70,7 @@ public class EventWriterConfig implements Serializable {
         private boolean automaticallyNoteTime = false; 
         // connection pooling for event writers is disabled by default.
         private boolean enableConnectionPooling = false;
+        private boolean enableCompression = false;
         
         public EventWriterConfig build() {
             Preconditions.checkArgument(transactionTimeoutTime >= MIN_TRANSACTION_TIMEOUT_TIME_MILLIS, "Transaction time must be at least 10 seconds.");
@@ -74,7 +81,8 @@ public class EventWriterConfig implements Serializable {
             return new EventWriterConfig(initalBackoffMillis, maxBackoffMillis, retryAttempts, backoffMultiple,
                                          enableConnectionPooling,
                                          transactionTimeoutTime,
-                                         automaticallyNoteTime);
+                                         automaticallyNoteTime,
+                                         enableCompression);
         }
     }
 }
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.client.stream;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Serializer} whose {@link #deserialize(ByteBuffer)} does not hold on to the ByteBuffer it is passed (or to
+ * any view of it) after it returns.
+ * <p>
+ * An {@link EventStreamReader} created with such a serializer passes it read-only views over a buffer which is reused
+ * for subsequent events, rather than allocating a new buffer for every event. As such, {@link #deserialize(ByteBuffer)}
+ * must not call {@link ByteBuffer#array()} on the buffer it is given.
+ *
+ * @param <T> The type of event that this serializes.
+ */
+public interface NonRetainingSerializer<T> extends Serializer<T> {
+}
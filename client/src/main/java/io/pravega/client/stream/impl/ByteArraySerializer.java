@@ -9,6 +9,7 @@
  */
 package io.pravega.client.stream.impl;
 
+import io.pravega.client.stream.NonRetainingSerializer;
 import io.pravega.client.stream.Serializer;
 
 import java.io.Serializable;
@@ -17,7 +18,7 @@ import java.nio.ByteBuffer;
 /**
  * An implementation of {@link Serializer} that converts byte arrays.
  */
-public class ByteArraySerializer implements Serializer<byte[]>, Serializable {
+public class ByteArraySerializer implements NonRetainingSerializer<byte[]>, Serializable {
     private static final long serialVersionUID = 1L;
     @Override
     public ByteBuffer serialize(byte[] value) {
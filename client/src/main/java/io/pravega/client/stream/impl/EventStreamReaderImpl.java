@@ -25,6 +25,7 @@ import io.pravega.client.segment.impl.SegmentTruncatedException;
 import io.pravega.client.stream.EventPointer;
 import io.pravega.client.stream.EventRead;
 import io.pravega.client.stream.EventStreamReader;
+import io.pravega.client.stream.NonRetainingSerializer;
 import io.pravega.client.stream.Position;
 import io.pravega.client.stream.ReaderConfig;
 import io.pravega.client.stream.ReaderNotInReaderGroupException;
@@ -37,7 +38,6 @@ import io.pravega.client.stream.TruncatedDataException;
 import io.pravega.client.stream.impl.SegmentWithRange.Range;
 import io.pravega.common.Exceptions;
 import io.pravega.common.Timer;
-import io.pravega.shared.protocol.netty.WireCommands;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -62,6 +62,8 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
     private static final long BASE_READER_WAITING_TIME_MS = 10;
 
     private final Serializer<Type> deserializer;
+    // Events are deserialized before the next read, so a deserializer which does not retain them allows buffer reuse.
+    private final boolean reuseEventBuffers;
     private final SegmentInputStreamFactory inputStreamFactory;
     private final SegmentMetadataClientFactory metadataClientFactory;
 
@@ -90,6 +92,7 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
             ReaderGroupStateManager groupState, Orderer orderer, Supplier<Long> clock, ReaderConfig config, 
             ImmutableMap<Stream, WatermarkReaderImpl> waterMarkReaders, Controller controller) {
         this.deserializer = deserializer;
+        this.reuseEventBuffers = deserializer instanceof NonRetainingSerializer;
         this.inputStreamFactory = inputStreamFactory;
         this.metadataClientFactory = metadataClientFactory;
         this.groupState = groupState;
@@ -114,26 +117,53 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
         }
     }
     
+    @Override
+    public List<EventRead<Type>> readNextEvents(int maxEvents, long timeout) throws ReinitializationRequiredException, TruncatedDataException {
+        Preconditions.checkArgument(maxEvents > 0, "maxEvents must be a positive number.");
+        synchronized (readers) {
+            Preconditions.checkState(!closed, "Reader is closed");
+            try {
+                EventRead<Type> first = readNextEventInternal(timeout);
+                if (first.getEvent() == null) {
+                    // Checkpoint, timeout or end of the stream: nothing else can be returned along with it.
+                    return Collections.singletonList(first);
+                }
+                List<EventRead<Type>> result = new ArrayList<>();
+                result.add(first);
+                readBufferedEvents(result, maxEvents);
+                return result;
+            } catch (ReaderNotInReaderGroupException e) {
+                close();
+                throw new ReinitializationRequiredException(e);
+            }
+        }
+    }
+
     private EventRead<Type> readNextEventInternal(long timeout) throws ReaderNotInReaderGroupException, TruncatedDataException {
         long waitTime = Math.min(timeout, BASE_READER_WAITING_TIME_MS);
         Timer timer = new Timer();
         Segment segment = null;
         long offset = -1;
+        long nextOffset = -1;
         ByteBuffer buffer;
         do { 
             String checkpoint = updateGroupStateIfNeeded();
             if (checkpoint != null) {
                 return createEmptyEvent(checkpoint);
             }
-            EventSegmentReader segmentReader = orderer.nextSegment(readers);
+            Timer selectionTimer = new Timer();
+            EventSegmentReader segmentReader = orderer.nextSegment(readers, waitTime);
             if (segmentReader == null) {
                 Exceptions.handleInterrupted(() -> Thread.sleep(waitTime));
                 buffer = null;
             } else {
                 segment = segmentReader.getSegmentId();
                 offset = segmentReader.getOffset();
+                // Time spent waiting for a segment to become ready counts towards the wait for reading from it.
+                long remainingWaitTime = Math.max(0, waitTime - selectionTimer.getElapsedMillis());
                 try {
-                    buffer = segmentReader.read(waitTime);
+                    buffer = segmentReader.read(remainingWaitTime);
+                    nextOffset = segmentReader.getOffset();
                 } catch (EndOfSegmentException e) {
                     boolean isSegmentSealed = e.getErrorType().equals(END_OF_SEGMENT_REACHED);
                     handleEndOfSegment(segmentReader, isSegmentSealed);
@@ -149,11 +179,50 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
             return createEmptyEvent(null);
         } 
         lastRead = Sequence.create(segment.getSegmentId(), offset);
-        int length = buffer.remaining() + WireCommands.TYPE_PLUS_LENGTH_SIZE;
+        // The event may have been compressed, so its length in the segment is not necessarily that of the buffer.
+        int length = (int) (nextOffset - offset);
         return new EventReadImpl<>(deserializer.deserialize(buffer), getPosition(),
                                    new EventPointerImpl(segment, offset, length), null);
     }
 
+    /**
+     * Adds to result events which can be read without blocking, until it contains maxEvents events. Unlike
+     * {@link #readNextEventInternal(long)}, this does not check for checkpoints or segment changes between events: this
+     * is done once for the whole batch, by the call that read its first event. Any truncation is left to be reported by
+     * the next call, so that the events already read are not lost.
+     */
+    @GuardedBy("readers")
+    private void readBufferedEvents(List<EventRead<Type>> result, int maxEvents) {
+        Sequence lastInBatch = null;
+        while (result.size() < maxEvents) {
+            EventSegmentReader segmentReader = orderer.nextSegment(readers);
+            if (segmentReader == null || !segmentReader.isSegmentReady()) {
+                break;
+            }
+            Segment segment = segmentReader.getSegmentId();
+            long offset = segmentReader.getOffset();
+            ByteBuffer buffer;
+            try {
+                buffer = segmentReader.read(0);
+            } catch (EndOfSegmentException e) {
+                handleEndOfSegment(segmentReader, e.getErrorType().equals(END_OF_SEGMENT_REACHED));
+                break;
+            } catch (SegmentTruncatedException e) {
+                break;
+            }
+            if (buffer == null) {
+                break;
+            }
+            lastInBatch = Sequence.create(segment.getSegmentId(), offset);
+            int length = (int) (segmentReader.getOffset() - offset);
+            result.add(new EventReadImpl<>(deserializer.deserialize(buffer), getPosition(),
+                                           new EventPointerImpl(segment, offset, length), null));
+        }
+        if (lastInBatch != null) {
+            lastRead = lastInBatch;
+        }
+    }
+
     private EventRead<Type> createEmptyEvent(String checkpoint) {
         return new EventReadImpl<>(null, getPosition(), null, checkpoint);
     }
@@ -264,6 +333,7 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
 
                     final EventSegmentReader in = inputStreamFactory.createEventReaderForSegment(segment, endOffset);
                     in.setOffset(newSegment.getValue());
+                    in.setReuseEventBuffers(reuseEventBuffers);
                     readers.add(in);
                     ranges.put(segment, newSegment.getKey().getRange());
                 }
@@ -26,6 +26,7 @@ import io.pravega.client.stream.TransactionalEventStreamWriter;
 import io.pravega.client.stream.TxnFailedException;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.ByteBufferUtils;
 import io.pravega.common.util.Retry;
 import java.nio.ByteBuffer;
@@ -35,13 +36,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -58,20 +63,32 @@ import static io.pravega.common.concurrent.Futures.getAndHandleExceptions;
 @ToString(of = { "stream", "closed" })
 public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, TransactionalEventStreamWriter<Type> {
 
+    /**
+     * The maximum number of idle Deflaters kept for reuse. Each holds native memory, so there is no point in keeping
+     * more of them than there are threads that could compress at the same time.
+     */
+    private static final int MAX_IDLE_DEFLATERS = Runtime.getRuntime().availableProcessors();
+
     /**
      * These two locks are used to enforce the following behavior:
      *
      * a. When a Write is happening, segmentSealedCallback cannot be executed concurrently, this is used to handle
      * missing event.
-     * b. When a Write is happening, a newer write cannot be executed concurrently.
+     * b. When a Write is happening, a newer write to the same segment cannot be executed concurrently. Writes to
+     * different segments may proceed concurrently.
      * c. When a Write is happening, flush cannot be executed concurrently.
      * d. When a Flush is being invoked, segmentSealedCallback can be executed concurrently.
      * e. When a Flush is being invoked, write cannot be executed concurrently.
      * f. When a Close is being invoked, write cannot be executed concurrently.
      * g. When a Close is being invoked, Flush and segmentSealedCallback can be executed concurrently.
+     *
+     * Writes only acquire the read side of both locks, so they do not exclude each other; (b) is enforced by
+     * synchronizing on the SegmentOutputStream being written to (i.e., the locks are striped per segment). Refreshing
+     * the segments (due to a missing writer or a sealed segment) requires the write side of writeSealLock, while
+     * flush and close require the write side of writeFlushLock.
      */
-    private final Object writeFlushLock = new Object();
-    private final Object writeSealLock = new Object();
+    private final ReadWriteLock writeFlushLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock writeSealLock = new ReentrantReadWriteLock();
 
     private final Stream stream;
     private final String writerId;
@@ -86,6 +103,18 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
     private final ExecutorService retransmitPool;
     private final Pinger pinger;
     private final DelegationTokenProvider tokenProvider;
+    /**
+     * The ack future of the most recent event written to each segment (by segment name). The events in a segment are
+     * acknowledged in order, so this completes once all the events written to that segment so far are durable.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> lastWrittenEvents = new ConcurrentHashMap<>();
+    /**
+     * Idle Deflaters used to compress events if compression is enabled (null otherwise). A write takes one out of the
+     * pool (or creates one if it is empty) for the duration of the compression, so writes to different segments can
+     * compress concurrently. At most {@link #MAX_IDLE_DEFLATERS} are kept; the rest are ended once used, and all of
+     * the pooled ones are ended on close.
+     */
+    private final ConcurrentLinkedQueue<Deflater> idleDeflaters;
     
     EventStreamWriterImpl(Stream stream, String writerId, Controller controller, SegmentOutputStreamFactory outputStreamFactory,
                           Serializer<Type> serializer, EventWriterConfig config, ExecutorService retransmitPool,
@@ -99,6 +128,7 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
         this.selector = new SegmentSelector(stream, controller, outputStreamFactory, config, tokenProvider);
         this.serializer = Preconditions.checkNotNull(serializer);
         this.config = config;
+        this.idleDeflaters = config.isEnableCompression() ? new ConcurrentLinkedQueue<>() : null;
         this.retransmitPool = Preconditions.checkNotNull(retransmitPool);
         this.pinger = new Pinger(config.getTransactionTimeoutTime(), stream, controller, internalExecutor);
         List<PendingEvent> failedEvents = selector.refreshSegmentEventWriters(segmentSealedCallBack);
@@ -125,19 +155,77 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
         Exceptions.checkNotClosed(closed.get(), this);
         ByteBuffer data = serializer.serialize(event);
         CompletableFuture<Void> ackFuture = new CompletableFuture<Void>();
-        synchronized (writeFlushLock) {
-            synchronized (writeSealLock) {                
-                SegmentOutputStream segmentWriter = selector.getSegmentOutputStreamForKey(routingKey);
-                while (segmentWriter == null) {
-                    log.info("Don't have a writer for segment: {}", selector.getSegmentForEvent(routingKey));
-                    handleMissingLog();
-                    segmentWriter = selector.getSegmentOutputStreamForKey(routingKey);
+        writeFlushLock.readLock().lock();
+        try {
+            PendingEvent pendingEvent = idleDeflaters != null
+                    ? compressEvent(routingKey, data, ackFuture)
+                    : PendingEvent.withHeader(routingKey, data, ackFuture);
+            while (!tryWrite(routingKey, pendingEvent)) {
+                writeSealLock.writeLock().lock();
+                try {
+                    if (selector.getSegmentOutputStreamForKey(routingKey) == null) {
+                        log.info("Don't have a writer for segment: {}", selector.getSegmentForEvent(routingKey));
+                        handleMissingLog();
+                    }
+                } finally {
+                    writeSealLock.writeLock().unlock();
                 }
-                segmentWriter.write(PendingEvent.withHeader(routingKey, data, ackFuture));
             }
+        } finally {
+            writeFlushLock.readLock().unlock();
         }
         return ackFuture;
     }
+
+    @GuardedBy("writeFlushLock")
+    private PendingEvent compressEvent(String routingKey, ByteBuffer data, CompletableFuture<Void> ackFuture) {
+        if (data.remaining() < PendingEvent.MIN_COMPRESSION_SIZE) {
+            return PendingEvent.withHeader(routingKey, data, ackFuture);
+        }
+
+        // Close ends the pooled Deflaters while holding the write side of writeFlushLock, and it is marked as closed
+        // before that. Checking here (under the read side) ensures no Deflater is returned to the pool after close.
+        Exceptions.checkNotClosed(closed.get(), this);
+        Deflater deflater = idleDeflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        try {
+            return PendingEvent.withCompressedHeader(routingKey, data, ackFuture, deflater);
+        } finally {
+            if (idleDeflaters.size() < MAX_IDLE_DEFLATERS) {
+                idleDeflaters.offer(deflater);
+            } else {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Attempts to write the given event to the segment that its routing key currently maps to.
+     *
+     * @param routingKey The routing key.
+     * @param event      The event to write.
+     * @return True if the event was written, false if there is no writer for the segment (in which case the segments
+     * need to be refreshed).
+     */
+    @GuardedBy("writeFlushLock")
+    private boolean tryWrite(String routingKey, PendingEvent event) {
+        writeSealLock.readLock().lock();
+        try {
+            SegmentOutputStream segmentWriter = selector.getSegmentOutputStreamForKey(routingKey);
+            if (segmentWriter == null) {
+                return false;
+            }
+            synchronized (segmentWriter) {
+                segmentWriter.write(event);
+                lastWrittenEvents.put(segmentWriter.getSegmentName(), event.getAckFuture());
+            }
+            return true;
+        } finally {
+            writeSealLock.readLock().unlock();
+        }
+    }
     
     @GuardedBy("writeSealLock")
     private void handleMissingLog() {
@@ -164,13 +252,15 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
                       * entries that will succeed in being written to a new segment are written and any
                       * segmentSealedCallbacks that will be called happen before the next write is invoked.
                       */
-                     synchronized (writeSealLock) {
+                     writeSealLock.writeLock().lock();
+                     try {
                          Segment toSeal = sealedSegmentQueue.poll();
                          log.info("Sealing segment {} ", toSeal);
                          while (toSeal != null) {
                              resend(selector.refreshSegmentEventWritersUponSealed(toSeal, segmentSealedCallBack));
                              // remove segment writer after resending inflight events of the sealed segment.
                              selector.removeSegmentWriter(toSeal);
+                             lastWrittenEvents.remove(toSeal.getScopedName());
                              /* In the case of segments merging Flush ensures there can't be anything left
                               * inflight that will need to be resent to the new segment when the write lock
                               * is released. (To preserve order)
@@ -188,6 +278,8 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
                              toSeal = sealedSegmentQueue.poll();
                              log.info("Sealing another segment {} ", toSeal);
                          }
+                     } finally {
+                         writeSealLock.writeLock().unlock();
                      }
                      return null;
                  });
@@ -211,6 +303,9 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
                         sendFailed = true;
                     } else {
                         segmentWriter.write(event);
+                        if (event.getAckFuture() != null) {
+                            lastWrittenEvents.put(segmentWriter.getSegmentName(), event.getAckFuture());
+                        }
                     }
                 }
             }
@@ -383,7 +478,8 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
     @Override
     public void flush() {
         Preconditions.checkState(!closed.get());
-        synchronized (writeFlushLock) {
+        writeFlushLock.writeLock().lock();
+        try {
             boolean success = false;
             while (!success) {
                 success = true;
@@ -399,6 +495,37 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
                     }
                 }
             }
+        } finally {
+            writeFlushLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> flush(String routingKey) {
+        Preconditions.checkNotNull(routingKey);
+        Exceptions.checkNotClosed(closed.get(), this);
+        while (true) {
+            writeSealLock.readLock().lock();
+            try {
+                // Events that were written to a segment that has since been sealed are resent to its successors before
+                // its writer is removed, so looking at the segment that the routing key currently maps to is sufficient.
+                SegmentOutputStream segmentWriter = selector.getSegmentOutputStreamForKey(routingKey);
+                if (segmentWriter != null) {
+                    CompletableFuture<Void> lastWritten = lastWrittenEvents.get(segmentWriter.getSegmentName());
+                    return lastWritten == null ? CompletableFuture.completedFuture(null) : Futures.toVoid(lastWritten);
+                }
+            } finally {
+                writeSealLock.readLock().unlock();
+            }
+            writeSealLock.writeLock().lock();
+            try {
+                if (selector.getSegmentOutputStreamForKey(routingKey) == null) {
+                    log.info("Don't have a writer for segment: {}", selector.getSegmentForEvent(routingKey));
+                    handleMissingLog();
+                }
+            } finally {
+                writeSealLock.writeLock().unlock();
+            }
         }
     }
 
@@ -408,7 +535,8 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
             return;
         }
         pinger.close();
-        synchronized (writeFlushLock) {
+        writeFlushLock.writeLock().lock();
+        try {
             boolean success = false;
             while (!success) {
                 success = true;
@@ -422,6 +550,14 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type>, Tra
                     }
                 }
             }
+            if (idleDeflaters != null) {
+                Deflater deflater;
+                while ((deflater = idleDeflaters.poll()) != null) {
+                    deflater.end();
+                }
+            }
+        } finally {
+            writeFlushLock.writeLock().unlock();
         }
         ExecutorServiceHelpers.shutdown(retransmitPool);
     }
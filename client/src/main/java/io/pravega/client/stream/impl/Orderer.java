@@ -13,7 +13,10 @@ import com.google.common.annotations.VisibleForTesting;
 import io.pravega.client.segment.impl.EndOfSegmentException;
 import io.pravega.client.segment.impl.EventSegmentReader;
 import io.pravega.common.MathHelpers;
+import io.pravega.common.concurrent.Futures;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,16 +51,45 @@ public class Orderer {
      */
     @VisibleForTesting
     public <T extends EventSegmentReader> T nextSegment(List<T> segments) {
+        return nextSegment(segments, 0);
+    }
+
+    /**
+     * Same as {@link #nextSegment(List)}, except that if none of the segments are ready, this waits up to the given
+     * timeout for any of them to become ready, instead of returning one that may turn out to be the slowest. Callers
+     * should deduct the time spent here from any further wait on the returned segment.
+     *
+     * The reads issued while waiting only fill each segment's existing buffer. How much those buffers may grow in
+     * total is bounded by the factory that created the segment readers.
+     * 
+     * @param <T> The type of the SegmentInputStream that is being selected from.
+     * @param segments The logs to get the next reader for.
+     * @param timeout The maximum number of milliseconds to wait for any of the segments to become ready.
+     * @return A segment that this reader should read from next.
+     */
+    public <T extends EventSegmentReader> T nextSegment(List<T> segments, long timeout) {
         if (segments.isEmpty()) {
             return null;
         }
+        List<CompletableFuture<?>> fills = new ArrayList<>(segments.size());
         for (int i = 0; i < segments.size(); i++) {
             T inputStream = segments.get(MathHelpers.abs(counter.incrementAndGet()) % segments.size());
             if (inputStream.isSegmentReady()) {
                 log.trace("Selecting segment: " + inputStream.getSegmentId());
                 return inputStream;
             } else {
-                inputStream.fillBuffer();
+                fills.add(inputStream.fillBuffer());
+            }
+        }
+        if (timeout > 0) {
+            // All segments have a read outstanding. Wait for whichever completes first.
+            Futures.await(CompletableFuture.anyOf(fills.toArray(new CompletableFuture<?>[0])), timeout);
+            for (int i = 0; i < segments.size(); i++) {
+                T inputStream = segments.get(MathHelpers.abs(counter.incrementAndGet()) % segments.size());
+                if (inputStream.isSegmentReady()) {
+                    log.trace("Selecting segment after waiting: " + inputStream.getSegmentId());
+                    return inputStream;
+                }
             }
         }
         return segments.get(MathHelpers.abs(counter.incrementAndGet()) % segments.size());
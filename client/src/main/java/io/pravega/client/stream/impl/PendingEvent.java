@@ -13,9 +13,11 @@ import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.pravega.client.stream.Serializer;
+import io.pravega.shared.protocol.netty.WireCommands.CompressedEvent;
 import io.pravega.shared.protocol.netty.WireCommands.Event;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.Deflater;
 import lombok.Data;
 
 /**
@@ -30,6 +32,10 @@ public class PendingEvent {
      * @see Event for the details.
      */
     public static final int MAX_WRITE_SIZE = Serializer.MAX_EVENT_SIZE + 8;
+    /**
+     * Events smaller than this are never compressed: the savings would be a few bytes at best, and not worth the CPU.
+     */
+    public static final int MIN_COMPRESSION_SIZE = 512;
     /**
      * The routing key that was provided to route the data.
      */
@@ -57,6 +63,47 @@ public class PendingEvent {
         
     }
     
+    /**
+     * Same as {@link #withHeader(String, ByteBuffer, CompletableFuture)}, except that the data is compressed, unless
+     * it is smaller than {@value #MIN_COMPRESSION_SIZE} bytes or compressing it would not make it any smaller.
+     *
+     * @param routingKey The routing key of the event.
+     * @param data The serialized event.
+     * @param ackFuture Callback to be invoked when the data is written.
+     * @param deflater The Deflater to compress with. It is reset before use. The caller must ensure it is not used
+     *                 concurrently, and is responsible for ending it.
+     * @return A PendingEvent containing either a {@link CompressedEvent} or an {@link Event}.
+     */
+    public static PendingEvent withCompressedHeader(String routingKey, ByteBuffer data, CompletableFuture<Void> ackFuture,
+                                                    Deflater deflater) {
+        ByteBuf compressed = data.remaining() < MIN_COMPRESSION_SIZE ? null : compress(data, deflater);
+        if (compressed == null) {
+            return withHeader(routingKey, data, ackFuture);
+        }
+        ByteBuf eventBuf = new CompressedEvent(data.remaining(), compressed).getAsByteBuf();
+        return new PendingEvent(routingKey, eventBuf, ackFuture);
+    }
+
+    private static ByteBuf compress(ByteBuffer data, Deflater deflater) {
+        // The compressed event has an extra field for its uncompressed length, which the compressed data needs to make up for.
+        int maxLength = data.remaining() - Integer.BYTES - 1;
+        deflater.reset();
+        if (data.hasArray()) {
+            deflater.setInput(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        } else {
+            byte[] input = new byte[data.remaining()];
+            data.duplicate().get(input);
+            deflater.setInput(input);
+        }
+        deflater.finish();
+        byte[] output = new byte[maxLength];
+        int length = 0;
+        while (!deflater.finished() && length < maxLength) {
+            length += deflater.deflate(output, length, maxLength - length);
+        }
+        return deflater.finished() ? Unpooled.wrappedBuffer(output, 0, length) : null;
+    }
+
     public static PendingEvent withoutHeader(String routingKey, ByteBuffer data, CompletableFuture<Void> ackFuture) {
         return new PendingEvent(routingKey, Unpooled.wrappedBuffer(data), ackFuture);
     }
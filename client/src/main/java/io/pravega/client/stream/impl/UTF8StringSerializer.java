@@ -9,6 +9,7 @@
  */
 package io.pravega.client.stream.impl;
 
+import io.pravega.client.stream.NonRetainingSerializer;
 import io.pravega.client.stream.Serializer;
 
 import java.io.Serializable;
@@ -19,7 +20,7 @@ import java.nio.charset.StandardCharsets;
  * An implementation of {@link Serializer} that converts UTF-8 strings.
  * Note that this is incompatible with {@link JavaSerializer} of String.
  */
-public class UTF8StringSerializer implements Serializer<String>, Serializable {
+public class UTF8StringSerializer implements NonRetainingSerializer<String>, Serializable {
     private static final long serialVersionUID = 1L;
     @Override
     public ByteBuffer serialize(String value) {
@@ -10,7 +10,10 @@
 package io.pravega.client.segment.impl;
 
 import com.google.common.collect.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.client.stream.impl.Orderer;
+import io.pravega.client.stream.impl.PendingEvent;
 import io.pravega.common.ObjectClosedException;
 import io.pravega.common.util.ByteBufferUtils;
 import io.pravega.shared.protocol.netty.ConnectionFailedException;
@@ -19,11 +22,13 @@ import io.pravega.shared.protocol.netty.WireCommands;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import io.pravega.test.common.AssertExtensions;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Vector;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
 import lombok.Cleanup;
 import org.junit.Test;
 
@@ -31,6 +36,7 @@ import static io.pravega.test.common.AssertExtensions.assertBlocks;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -47,6 +53,7 @@ public class SegmentInputStreamTest {
     private static class TestAsyncSegmentInputStream extends AsyncSegmentInputStream {
         AtomicBoolean closed = new AtomicBoolean(false);
         private final Vector<CompletableFuture<WireCommands.SegmentRead>> readResults;
+        private final Vector<Integer> readLengths = new Vector<>();
         private final AtomicInteger readIndex = new AtomicInteger(-1);
 
         TestAsyncSegmentInputStream(Segment segment, int expectedReads) {
@@ -60,6 +67,7 @@ public class SegmentInputStreamTest {
         @Override
         public CompletableFuture<SegmentRead> read(long offset, int length) {
             int i = readIndex.incrementAndGet();
+            readLengths.addElement(length);
             return readResults.get(i);
         }
 
@@ -99,14 +107,115 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         ByteBuffer read = assertBlocks(() -> stream.read(),
-                () -> fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+                () -> fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         assertEquals(ByteBuffer.wrap(data), read);
         read = assertBlocks(() -> stream
                 .read(), () -> fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false,
-                                                                                    false, wireData.slice(), requestId)));
+                                                                                    false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         assertEquals(ByteBuffer.wrap(data), read);
     }
 
+    @Test
+    public void testAdaptiveBufferSize() throws EndOfSegmentException, SegmentTruncatedException {
+        int minBufferSize = 100;
+        int maxBufferSize = 400;
+        TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 10);
+        @Cleanup
+        SegmentInputStreamImpl stream = new SegmentInputStreamImpl(fakeNetwork, 0, Long.MAX_VALUE, minBufferSize, maxBufferSize,
+                new BufferBudget(maxBufferSize));
+
+        // The reader drains the buffer before each read comes back, and each read returns all the data requested.
+        long offset = 0;
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+            int length = fakeNetwork.readLengths.get(i);
+            fakeNetwork.complete(i, new SegmentRead(segment.getScopedName(), offset, false, false, Unpooled.wrappedBuffer(new byte[length]), requestId));
+            assertEquals(length, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+            offset += length;
+        }
+
+        int maxReadLength = fakeNetwork.readLengths.stream().mapToInt(Integer::intValue).max().getAsInt();
+        AssertExtensions.assertGreaterThan("Expected reads to grow.", minBufferSize, maxReadLength);
+        AssertExtensions.assertLessThanOrEqual("Expected reads to be bounded by the max buffer size.", maxBufferSize, maxReadLength);
+
+        // A read at the tail of the segment means the reader has caught up, so reads should shrink.
+        assertEquals(0, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+        fakeNetwork.complete(4, new SegmentRead(segment.getScopedName(), offset, true, false, Unpooled.wrappedBuffer(new byte[10]), requestId));
+        assertEquals(10, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+        AssertExtensions.assertLessThan("Expected reads to shrink.", maxReadLength, fakeNetwork.readLengths.get(5));
+    }
+
+    @Test
+    public void testShortReadBeforeTail() throws EndOfSegmentException, SegmentTruncatedException {
+        int minBufferSize = 100;
+        int maxBufferSize = 800;
+        BufferBudget budget = new BufferBudget(maxBufferSize);
+        TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 6);
+        @Cleanup
+        SegmentInputStreamImpl stream = new SegmentInputStreamImpl(fakeNetwork, 0, Long.MAX_VALUE, minBufferSize, maxBufferSize, budget);
+
+        // The server returns less data than requested (as it may at a storage read boundary), but not at the tail.
+        // The reader has not caught up, so the buffer should keep growing rather than shrink.
+        long offset = 0;
+        long previousReserved = 0;
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+            int length = fakeNetwork.readLengths.get(i) / 2;
+            fakeNetwork.complete(i, new SegmentRead(segment.getScopedName(), offset, false, false, Unpooled.wrappedBuffer(new byte[length]), requestId));
+            assertEquals(length, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+            offset += length;
+            AssertExtensions.assertGreaterThanOrEqual("Expected the buffer not to shrink before reaching the tail.",
+                    previousReserved, budget.getReserved());
+            previousReserved = budget.getReserved();
+        }
+        AssertExtensions.assertGreaterThan("Expected the buffer to grow.", 0, previousReserved);
+
+        // Only a read at the tail shrinks the buffer.
+        assertEquals(0, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+        fakeNetwork.complete(4, new SegmentRead(segment.getScopedName(), offset, true, false, Unpooled.wrappedBuffer(new byte[10]), requestId));
+        assertEquals(10, stream.read(ByteBuffer.allocate(maxBufferSize), 0));
+        AssertExtensions.assertLessThan("Expected the buffer to shrink at the tail.", previousReserved, budget.getReserved());
+    }
+
+    @Test
+    public void testBufferBudget() throws EndOfSegmentException, SegmentTruncatedException {
+        int minBufferSize = 100;
+        int maxBufferSize = 800;
+        BufferBudget budget = new BufferBudget(minBufferSize);
+        TestAsyncSegmentInputStream fakeNetwork1 = new TestAsyncSegmentInputStream(segment, 10);
+        TestAsyncSegmentInputStream fakeNetwork2 = new TestAsyncSegmentInputStream(segment, 10);
+        @Cleanup
+        SegmentInputStreamImpl stream1 = new SegmentInputStreamImpl(fakeNetwork1, 0, Long.MAX_VALUE, minBufferSize, maxBufferSize, budget);
+        @Cleanup
+        SegmentInputStreamImpl stream2 = new SegmentInputStreamImpl(fakeNetwork2, 0, Long.MAX_VALUE, minBufferSize, maxBufferSize, budget);
+
+        // The first stream grows into the whole budget, after which it can grow no further.
+        long offset = 0;
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, stream1.read(ByteBuffer.allocate(maxBufferSize), 0));
+            int length = fakeNetwork1.readLengths.get(i);
+            fakeNetwork1.complete(i, new SegmentRead(segment.getScopedName(), offset, false, false, Unpooled.wrappedBuffer(new byte[length]), requestId));
+            assertEquals(length, stream1.read(ByteBuffer.allocate(maxBufferSize), 0));
+            offset += length;
+        }
+        int maxReadLength = fakeNetwork1.readLengths.stream().mapToInt(Integer::intValue).max().getAsInt();
+        AssertExtensions.assertLessThanOrEqual("Expected reads to be bounded by the budget.", 2 * minBufferSize, maxReadLength);
+        assertEquals(budget.getCapacity(), budget.getReserved());
+
+        // The second stream shares the (exhausted) budget, so it cannot grow either.
+        assertEquals(0, stream2.read(ByteBuffer.allocate(maxBufferSize), 0));
+        fakeNetwork2.complete(0, new SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(new byte[minBufferSize]), requestId));
+        assertEquals(minBufferSize, stream2.read(ByteBuffer.allocate(maxBufferSize), 0));
+        assertEquals(0, stream2.read(ByteBuffer.allocate(maxBufferSize), 0));
+        fakeNetwork2.complete(1, new SegmentRead(segment.getScopedName(), minBufferSize, false, false, Unpooled.wrappedBuffer(new byte[minBufferSize]), requestId));
+        assertEquals(minBufferSize, stream2.read(ByteBuffer.allocate(maxBufferSize), 0));
+        assertEquals(budget.getCapacity(), budget.getReserved());
+
+        // Closing the first stream returns what it reserved to the budget.
+        stream1.close();
+        assertEquals(0, budget.getReserved());
+    }
+
     @Test
     public void testSmallerThanNeededRead() throws EndOfSegmentException, SegmentTruncatedException {
         byte[] data = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
@@ -114,10 +223,10 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 5);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 7), requestId));
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, ByteBufferUtils.slice(wireData, 9, 2), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 7)), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 9, 2)), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11)), requestId));
         ByteBuffer read = stream.read();
         assertEquals(ByteBuffer.wrap(data), read);
     }
@@ -135,7 +244,7 @@ public class SegmentInputStreamTest {
         }
         wireData.flip();
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 3);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         for (int i = 0; i < numEntries; i++) {
@@ -143,11 +252,78 @@ public class SegmentInputStreamTest {
         }
         ByteBuffer read = assertBlocks(() -> stream.read(), () -> {
             fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false, false,
-                                                                 createEventFromData(data), requestId));
+                                                                 Unpooled.wrappedBuffer(createEventFromData(data)), requestId));
         });
         assertEquals(ByteBuffer.wrap(data), read);
     }
 
+    @Test
+    public void testCompressedEvent() throws EndOfSegmentException, SegmentTruncatedException {
+        byte[] compressible1 = new byte[1000];
+        Arrays.fill(compressible1, (byte) 7);
+        byte[] compressible2 = new byte[2000];
+        Arrays.fill(compressible2, (byte) 3);
+        byte[] small = new byte[PendingEvent.MIN_COMPRESSION_SIZE - 1];
+        Arrays.fill(small, (byte) 5);
+        byte[] incompressible = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        // The same Deflater is reused for every event.
+        @Cleanup("end")
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteBuf event1 = PendingEvent.withCompressedHeader(null, ByteBuffer.wrap(compressible1), null, deflater).getData();
+        ByteBuf event2 = PendingEvent.withCompressedHeader(null, ByteBuffer.wrap(incompressible), null, deflater).getData();
+        ByteBuf event3 = PendingEvent.withCompressedHeader(null, ByteBuffer.wrap(small), null, deflater).getData();
+        ByteBuf event4 = PendingEvent.withCompressedHeader(null, ByteBuffer.wrap(compressible2), null, deflater).getData();
+        assertEquals(WireCommandType.COMPRESSED_EVENT.getCode(), event1.getInt(event1.readerIndex()));
+        assertTrue(event1.readableBytes() < compressible1.length);
+        assertEquals(WireCommandType.EVENT.getCode(), event2.getInt(event2.readerIndex()));
+        assertEquals("Events below the minimum size should not be compressed.",
+                WireCommandType.EVENT.getCode(), event3.getInt(event3.readerIndex()));
+        assertEquals(WireCommandType.COMPRESSED_EVENT.getCode(), event4.getInt(event4.readerIndex()));
+        int event1Length = event1.readableBytes();
+
+        TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 2);
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false,
+                                                             Unpooled.wrappedBuffer(event1, event2, event3, event4), requestId));
+        @Cleanup
+        EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
+        assertEquals(ByteBuffer.wrap(compressible1), stream.read());
+        assertEquals(event1Length, stream.getOffset());
+        assertEquals(ByteBuffer.wrap(incompressible), stream.read());
+        assertEquals(ByteBuffer.wrap(small), stream.read());
+        // The reader's Inflater is reused for the second compressed event.
+        assertEquals(ByteBuffer.wrap(compressible2), stream.read());
+    }
+
+    @Test
+    public void testReuseEventBuffers() throws EndOfSegmentException, SegmentTruncatedException {
+        byte[] data1 = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        byte[] data2 = new byte[]{9, 8, 7, 6, 5};
+        ByteBuffer event1 = createEventFromData(data1);
+        ByteBuffer event2 = createEventFromData(data2);
+        ByteBuffer wireData = ByteBuffer.allocate(2 * event1.remaining() + event2.remaining());
+        wireData.put(event1.duplicate()).put(event2).put(event1).flip();
+        TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 2);
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData), requestId));
+        @Cleanup
+        EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
+        stream.setReuseEventBuffers(true);
+
+        ByteBuffer read1 = stream.read();
+        assertTrue(read1.isReadOnly());
+        assertEquals(ByteBuffer.wrap(data1), read1);
+        ByteBuffer read2 = stream.read();
+        assertTrue(read2.isReadOnly());
+        assertEquals(ByteBuffer.wrap(data2), read2);
+        // The same memory was used for both events, so the first buffer is no longer valid.
+        assertNotEquals(ByteBuffer.wrap(data1), read1.rewind());
+
+        stream.setReuseEventBuffers(false);
+        ByteBuffer read3 = stream.read();
+        assertFalse(read3.isReadOnly());
+        assertEquals(ByteBuffer.wrap(data1), read3);
+    }
+
     @Test(timeout = 10000)
     public void testTimeout() throws EndOfSegmentException, SegmentTruncatedException {
         byte[] data = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
@@ -158,7 +334,7 @@ public class SegmentInputStreamTest {
 
         assertBlocks(() -> stream.read(),
                      () -> fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false,
-                                                                                wireData.slice(), requestId)));
+                                                                                Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         ByteBuffer read = stream.read(10);
         assertNull(read);
         fakeNetwork.completeExceptionally(1, new ConnectionFailedException());
@@ -177,12 +353,12 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 7);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
         fakeNetwork.completeExceptionally(1, new ConnectionFailedException());
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 7), requestId));
-        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, ByteBufferUtils.slice(wireData, 9, 2), requestId));
-        fakeNetwork.complete(5, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 7)), requestId));
+        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 9, 2)), requestId));
+        fakeNetwork.complete(5, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11)), requestId));
         AssertExtensions.assertThrows(ConnectionFailedException.class, () -> stream.read());
         ByteBuffer read = stream.read();
         assertEquals(ByteBuffer.wrap(data), read);
@@ -195,11 +371,11 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 6);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
         fakeNetwork.completeExceptionally(1, new SegmentTruncatedException());
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 7), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, ByteBufferUtils.slice(wireData, 9, 2), requestId));
-        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 7)), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), 9, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 9, 2)), requestId));
+        fakeNetwork.complete(4, new WireCommands.SegmentRead(segment.getScopedName(), 11, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 11, wireData.capacity() - 11)), requestId));
         AssertExtensions.assertThrows(SegmentTruncatedException.class, () -> stream.read());
         AssertExtensions.assertThrows(SegmentTruncatedException.class, () -> stream.read());
     }
@@ -210,7 +386,7 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 1);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, trailingData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(trailingData.slice()), requestId));
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream.read());
     }
     
@@ -230,14 +406,14 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, true, false, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, true, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         for (int i = 0; i < numEntries; i++) {
             assertTrue(stream.isSegmentReady());
             assertEquals(ByteBuffer.wrap(data), stream.read());
         }
         assertFalse(stream.isSegmentReady());
         assertBlocks(() -> stream.read(), () -> {
-            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false, false, createEventFromData(data), requestId));
+            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.capacity(), false, false, Unpooled.wrappedBuffer(createEventFromData(data)), requestId));
         });
         assertFalse(stream.isSegmentReady());
     }
@@ -251,7 +427,7 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream1 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream1.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, ByteBufferUtils.slice(wireData, 0, 0), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
         assertTrue(stream1.isSegmentReady());
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream1.read());
         
@@ -259,7 +435,7 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream2 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream2.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         assertTrue(stream2.isSegmentReady());
         assertEquals(ByteBuffer.wrap(data), stream2.read());
         assertTrue(stream2.isSegmentReady());
@@ -269,8 +445,8 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream3 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream3.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.remaining(), false, true, ByteBufferUtils.slice(wireData, 0, 0), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), wireData.remaining(), false, true, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
         assertTrue(stream3.isSegmentReady());
         assertEquals(ByteBuffer.wrap(data), stream3.read());
         assertTrue(stream3.isSegmentReady());
@@ -280,8 +456,8 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream4 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream4.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 0), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         assertEquals(ByteBuffer.wrap(data), stream4.read());
         assertTrue(stream4.isSegmentReady());
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream4.read());
@@ -290,9 +466,9 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream5 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         assertFalse(stream5.isSegmentReady());
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId));
-        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, ByteBufferUtils.slice(wireData, 2, 2), requestId));
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 4, false, true, ByteBufferUtils.slice(wireData, 4,  wireData.capacity() - 4), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId));
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, 2)), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 4, false, true, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 4,  wireData.capacity() - 4)), requestId));
         assertEquals(ByteBuffer.wrap(data), stream5.read());
         assertTrue(stream5.isSegmentReady());
         AssertExtensions.assertThrows(EndOfSegmentException.class, () -> stream5.read());
@@ -309,8 +485,8 @@ public class SegmentInputStreamTest {
         assertBlocks(() -> {
             assertEquals(ByteBuffer.wrap(data), stream.read());
         }, () -> {
-            fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, 0), requestId));
-            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
+            fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 0)), requestId));
+            fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
         });
     }
 
@@ -323,11 +499,11 @@ public class SegmentInputStreamTest {
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 5);
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData1, 0, wireData1.remaining()), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData1, 0, wireData1.remaining())), requestId));
         ByteBuffer read = stream.read();
         assertEquals(ByteBuffer.wrap(data1), read);
-        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData1, 0, wireData1.remaining()), requestId));
-        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), wireData1.remaining(), false, false, ByteBufferUtils.slice(wireData2, 0, wireData2.remaining()), requestId));
+        fakeNetwork.complete(2, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData1, 0, wireData1.remaining())), requestId));
+        fakeNetwork.complete(3, new WireCommands.SegmentRead(segment.getScopedName(), wireData1.remaining(), false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData2, 0, wireData2.remaining())), requestId));
         stream.setOffset(0);
         read = stream.read();
         assertEquals(ByteBuffer.wrap(data1), read);
@@ -340,7 +516,7 @@ public class SegmentInputStreamTest {
         byte[] data = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
         ByteBuffer wireData = createEventFromData(data);
         TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 2);
-        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, ByteBufferUtils.slice(wireData, 0, wireData.remaining()), requestId));
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, wireData.remaining())), requestId));
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
         stream.close();
         AssertExtensions.assertThrows(ObjectClosedException.class, () -> stream.read());
@@ -355,7 +531,7 @@ public class SegmentInputStreamTest {
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, wireDataSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        0, false, false, wireData.slice(), requestId)));
+                        0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(mockAsyncInputStream, 0, wireDataSize,
                 SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE);
@@ -375,10 +551,10 @@ public class SegmentInputStreamTest {
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, wireDataSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        0, false, false, ByteBufferUtils.slice(wireData, 0, 2), requestId)));
+                        0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, 2)), requestId)));
         when(mockAsyncInputStream.read(2, 16))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        2, false, false, ByteBufferUtils.slice(wireData, 2, wireDataSize - 2), requestId)));
+                        2, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 2, wireDataSize - 2)), requestId)));
         @Cleanup
         EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(mockAsyncInputStream, 0, wireDataSize,
                 SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE);
@@ -399,10 +575,10 @@ public class SegmentInputStreamTest {
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, bufferSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        0, false, false, ByteBufferUtils.slice(wireData, 0, bufferSize), requestId)));
+                        0, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, 0, bufferSize)), requestId)));
         when(mockAsyncInputStream.read(bufferSize, wireDataSize - bufferSize))
                 .thenReturn(CompletableFuture.completedFuture(new WireCommands.SegmentRead(segment.getScopedName(),
-                        bufferSize, false, false, ByteBufferUtils.slice(wireData, bufferSize, wireDataSize - bufferSize), requestId)));
+                        bufferSize, false, false, Unpooled.wrappedBuffer(ByteBufferUtils.slice(wireData, bufferSize, wireDataSize - bufferSize)), requestId)));
 
         //Create a SegmentInputStream where the Buffer can hold only part of the data.
         @Cleanup
@@ -453,9 +629,9 @@ public class SegmentInputStreamTest {
         @Cleanup
         EventSegmentReaderImpl stream5 = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork5, 0);
 
-        fakeNetwork2.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId));
-        fakeNetwork3.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, wireData.slice(), requestId));
-        fakeNetwork4.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, ByteBufferUtils.EMPTY, requestId));
+        fakeNetwork2.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId));
+        fakeNetwork3.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.wrappedBuffer(wireData.slice()), requestId));
+        fakeNetwork4.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, true, Unpooled.EMPTY_BUFFER, requestId));
         fakeNetwork5.completeExceptionally(0, new SegmentTruncatedException());
         
         Orderer o = new Orderer();
@@ -489,12 +665,12 @@ public class SegmentInputStreamTest {
 
         AsyncSegmentInputStream mockAsyncInputStream = mock(AsyncSegmentInputStream.class);
         when(mockAsyncInputStream.read(0, bufferSize)).thenReturn(
-            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
 
         int expectedReadSize = bufferSize - wireDataSize;
 
         when(mockAsyncInputStream.read(wireDataSize, expectedReadSize)).thenReturn(
-            completedFuture(new SegmentRead(segment.getScopedName(), wireDataSize, false, false, wireData.slice(), requestId)));
+            completedFuture(new SegmentRead(segment.getScopedName(), wireDataSize, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
 
         // Verify that it requests enough data to fill the buffer.
         @Cleanup
@@ -506,7 +682,7 @@ public class SegmentInputStreamTest {
         verify(mockAsyncInputStream, times(1)).read(wireDataSize, expectedReadSize);
 
         when(mockAsyncInputStream.read(0, wireDataSize)).thenReturn(
-            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+            completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
 
         // Verify it won't read beyond it's limit.
         @Cleanup
@@ -518,7 +694,7 @@ public class SegmentInputStreamTest {
 
         // Verify it works with a small buffer.
         when(mockAsyncInputStream.read(0, 100)).thenReturn(
-                                                           completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, wireData.slice(), requestId)));
+                                                           completedFuture(new SegmentRead(segment.getScopedName(), 0, false, false, Unpooled.wrappedBuffer(wireData.slice()), requestId)));
         @Cleanup
         EventSegmentReaderImpl stream3 = SegmentInputStreamFactoryImpl.getEventSegmentReader(mockAsyncInputStream, 0, Long.MAX_VALUE, 100);
 
@@ -13,6 +13,7 @@ import static io.pravega.client.stream.impl.ReaderGroupImpl.getEndSegmentsForStr
 import static io.pravega.test.common.AssertExtensions.assertThrows;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -141,7 +142,7 @@ public class EventStreamReaderTest {
         Mockito.when(inputStreamFactory.createEventReaderForSegment(any(Segment.class), anyLong())).thenReturn(segmentInputStream1);
         //Mock Orderer
         Orderer orderer = Mockito.mock(Orderer.class);
-        Mockito.when(orderer.nextSegment(any(List.class))).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
+        Mockito.when(orderer.nextSegment(any(List.class), anyLong())).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
 
         @Cleanup
         EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(inputStreamFactory, segmentStreamFactory,
@@ -170,6 +171,38 @@ public class EventStreamReaderTest {
         
     }
 
+    @SuppressWarnings("unchecked")
+    @Test(timeout = 10000)
+    public void testReadDeductsSegmentSelectionWait() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        MockSegmentStreamFactory segmentStreamFactory = new MockSegmentStreamFactory();
+        ReaderGroupStateManager groupState = Mockito.mock(ReaderGroupStateManager.class);
+
+        Segment segment = Segment.fromScopedName("Foo/Bar/0");
+        EventSegmentReader segmentInputStream = Mockito.mock(EventSegmentReader.class);
+        Mockito.when(segmentInputStream.read(anyLong())).thenReturn(null);
+        Mockito.when(segmentInputStream.getSegmentId()).thenReturn(segment);
+        SegmentInputStreamFactory inputStreamFactory = Mockito.mock(SegmentInputStreamFactory.class);
+
+        // The orderer uses up the whole wait time before returning a segment.
+        Orderer orderer = Mockito.mock(Orderer.class);
+        Mockito.when(orderer.nextSegment(any(List.class), anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(invocation.getArgument(1));
+            return segmentInputStream;
+        });
+
+        @Cleanup
+        EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(inputStreamFactory, segmentStreamFactory,
+                new ByteArraySerializer(), groupState,
+                orderer, clock::get,
+                ReaderConfig.builder().build(), createWatermarkReaders(), Mockito.mock(Controller.class));
+        EventRead<byte[]> event = reader.readNextEvent(100L);
+        assertNull(event.getEvent());
+        // The segment read must not wait again for the time already spent waiting for the segment to become ready.
+        Mockito.verify(segmentInputStream, Mockito.atLeastOnce()).read(0L);
+        Mockito.verify(segmentInputStream, Mockito.never()).read(Mockito.longThat(timeout -> timeout > 0));
+    }
+
     @SuppressWarnings("unchecked")
     @Test(timeout = 10000)
     public void testReadWithSegmentTruncatedException() throws Exception {
@@ -197,7 +230,7 @@ public class EventStreamReaderTest {
         Mockito.when(inputStreamFactory.createEventReaderForSegment(any(Segment.class), anyLong())).thenReturn(segmentInputStream1);
         //Mock Orderer
         Orderer orderer = Mockito.mock(Orderer.class);
-        Mockito.when(orderer.nextSegment(any(List.class))).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
+        Mockito.when(orderer.nextSegment(any(List.class), anyLong())).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
 
         @Cleanup
         EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(inputStreamFactory, segmentStreamFactory,
@@ -235,6 +268,46 @@ public class EventStreamReaderTest {
         reader.close();
     }
 
+    @Test(timeout = 10000)
+    public void testReadBatch() throws SegmentSealedException, ReaderNotInReaderGroupException {
+        AtomicLong clock = new AtomicLong();
+        MockSegmentStreamFactory segmentStreamFactory = new MockSegmentStreamFactory();
+        Orderer orderer = new Orderer();
+        ReaderGroupStateManager groupState = Mockito.mock(ReaderGroupStateManager.class);
+        EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(segmentStreamFactory, segmentStreamFactory,
+                                                                           new ByteArraySerializer(), groupState,
+                                                                           orderer, clock::get,
+                                                                           ReaderConfig.builder().build(),
+                                                                           createWatermarkReaders(),
+                                                                           Mockito.mock(Controller.class));
+        SegmentWithRange segment = new SegmentWithRange(Segment.fromScopedName("Foo/Bar/0"), 0, 1);
+        Mockito.when(groupState.acquireNewSegmentsIfNeeded(eq(0L), any())).thenReturn(ImmutableMap.of(segment, 0L)).thenReturn(Collections.emptyMap());
+        Mockito.when(groupState.getEndOffsetForSegment(any(Segment.class))).thenReturn(Long.MAX_VALUE);
+        SegmentOutputStream stream = segmentStreamFactory.createOutputStreamForSegment(segment.getSegment(), segmentSealedCallback, writerConfig,
+                DelegationTokenProviderFactory.createWithEmptyToken());
+        ByteBuffer buffer1 = writeInt(stream, 1);
+        ByteBuffer buffer2 = writeInt(stream, 2);
+        ByteBuffer buffer3 = writeInt(stream, 3);
+
+        List<EventRead<byte[]>> batch = reader.readNextEvents(2, 0);
+        assertEquals(2, batch.size());
+        assertEquals(buffer1, ByteBuffer.wrap(batch.get(0).getEvent()));
+        assertEquals(buffer2, ByteBuffer.wrap(batch.get(1).getEvent()));
+        assertNotEquals(batch.get(0).getPosition(), batch.get(1).getPosition());
+        assertEquals(batch.get(1).getEventPointer().asImpl().getEventStartOffset(),
+                     batch.get(0).getEventPointer().asImpl().getEventStartOffset() + batch.get(0).getEventPointer().asImpl().getEventLength());
+
+        batch = reader.readNextEvents(10, 0);
+        assertEquals(1, batch.size());
+        assertEquals(buffer3, ByteBuffer.wrap(batch.get(0).getEvent()));
+
+        batch = reader.readNextEvents(10, 0);
+        assertEquals(1, batch.size());
+        assertNull(batch.get(0).getEvent());
+        assertThrows(IllegalArgumentException.class, () -> reader.readNextEvents(0, 0));
+        reader.close();
+    }
+
     @Test(timeout = 10000)
     public void testReleaseSegment() throws SegmentSealedException, ReaderNotInReaderGroupException {
         AtomicLong clock = new AtomicLong();
@@ -24,7 +24,10 @@ import io.pravega.client.stream.Transaction;
 import io.pravega.client.stream.TxnFailedException;
 import io.pravega.client.stream.mock.MockSegmentIoStreams;
 import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.ReusableLatch;
+import io.pravega.shared.protocol.netty.WireCommandType;
 import io.pravega.shared.protocol.netty.WireCommands;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.CollectingExecutor;
@@ -39,6 +42,7 @@ import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Cleanup;
@@ -50,6 +54,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -96,6 +101,42 @@ public class EventStreamWriterTest extends ThreadPooledTestSuite {
         }
     }
 
+    @Test
+    public void testWriteCompressed() {
+        String scope = "scope";
+        String streamName = "stream";
+        StreamImpl stream = new StreamImpl(scope, streamName);
+        Segment segment = new Segment(scope, streamName, 0);
+        EventWriterConfig config = EventWriterConfig.builder().enableCompression(true).build();
+        SegmentOutputStreamFactory streamFactory = Mockito.mock(SegmentOutputStreamFactory.class);
+        Controller controller = Mockito.mock(Controller.class);
+        Mockito.when(controller.getCurrentSegments(scope, streamName)).thenReturn(getSegmentsFuture(segment));
+        MockSegmentIoStreams outputStream = new MockSegmentIoStreams(segment);
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment), any(), any(), any())).thenReturn(outputStream);
+        EventStreamWriter<String> writer = new EventStreamWriterImpl<>(stream, "id", controller, streamFactory,
+                new JavaSerializer<>(), config, executorService(), executorService());
+
+        // Writes compress concurrently, each with its own Deflater.
+        String compressible = String.join("", Collections.nCopies(1000, "a"));
+        int eventCount = 20;
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            writes.add(CompletableFuture.supplyAsync(() -> writer.writeEvent(compressible), executorService())
+                                        .thenCompose(f -> f));
+        }
+        Futures.allOf(writes).join();
+        writer.writeEvent("Foo").join();
+        for (int i = 0; i < eventCount; i++) {
+            assertEquals(WireCommandType.COMPRESSED_EVENT.getCode(), outputStream.read().getInt(0));
+        }
+        assertEquals("Small events should not be compressed.", WireCommandType.EVENT.getCode(), outputStream.read().getInt(0));
+
+        writer.close();
+        AssertExtensions.assertThrows("Write was allowed after close.",
+                () -> writer.writeEvent(compressible),
+                ex -> ex instanceof IllegalStateException);
+    }
+
     private StreamSegments getSegments(Segment segment) {
         NavigableMap<Double, SegmentWithRange> segments = new TreeMap<>();
         segments.put(1.0, new SegmentWithRange(segment, 0.0, 1.0));
@@ -472,6 +513,167 @@ public class EventStreamWriterTest extends ThreadPooledTestSuite {
         writer.flush();
         assertTrue(outputStream.unacked.isEmpty());
     }
+
+    /**
+     * Verifies that a flush for a routing key only waits on the events written to the segment that the key maps to.
+     */
+    @Test
+    public void testFlushRoutingKey() {
+        String scope = "scope";
+        String streamName = "stream";
+        StreamImpl stream = new StreamImpl(scope, streamName);
+        Segment segment1 = new Segment(scope, streamName, 0);
+        Segment segment2 = new Segment(scope, streamName, 1);
+        NavigableMap<Double, SegmentWithRange> segmentMap = new TreeMap<>();
+        segmentMap.put(0.5, new SegmentWithRange(segment1, 0.0, 0.5));
+        segmentMap.put(1.0, new SegmentWithRange(segment2, 0.5, 1.0));
+        StreamSegments segments = new StreamSegments(segmentMap, "");
+        EventWriterConfig config = EventWriterConfig.builder().build();
+        SegmentOutputStreamFactory streamFactory = Mockito.mock(SegmentOutputStreamFactory.class);
+        Controller controller = Mockito.mock(Controller.class);
+        Mockito.when(controller.getCurrentSegments(scope, streamName)).thenReturn(CompletableFuture.completedFuture(segments));
+        FakeSegmentOutputStream outputStream1 = new FakeSegmentOutputStream(segment1);
+        FakeSegmentOutputStream outputStream2 = new FakeSegmentOutputStream(segment2);
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment1), any(), any(), any())).thenReturn(outputStream1);
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment2), any(), any(), any())).thenReturn(outputStream2);
+        @Cleanup
+        EventStreamWriter<String> writer = new EventStreamWriterImpl<>(stream, "id", controller, streamFactory,
+                new JavaSerializer<>(), config, executorService(), executorService());
+
+        String key1 = getRoutingKeyFor(segments, segment1);
+        String key2 = getRoutingKeyFor(segments, segment2);
+        assertTrue("Expected nothing to flush.", writer.flush(key1).isDone());
+        writer.writeEvent(key1, "Foo");
+        writer.writeEvent(key2, "Bar");
+        writer.writeEvent(key1, "Baz");
+        CompletableFuture<Void> flush1 = writer.flush(key1);
+        CompletableFuture<Void> flush2 = writer.flush(key2);
+        assertFalse(flush1.isDone());
+        assertFalse(flush2.isDone());
+
+        // The flush for a key should only complete once the last event written for it is acknowledged.
+        outputStream1.unacked.get(0).getAckFuture().complete(null);
+        assertFalse(flush1.isDone());
+        outputStream1.unacked.get(1).getAckFuture().complete(null);
+        assertTrue(flush1.isDone());
+
+        // Events for other segments should neither hold it up nor be affected by it.
+        assertFalse(flush2.isDone());
+        outputStream2.unacked.get(0).getAckFuture().complete(null);
+        assertTrue(flush2.isDone());
+    }
+
+    private String getRoutingKeyFor(StreamSegments segments, Segment segment) {
+        for (int i = 0; ; i++) {
+            String routingKey = "key" + i;
+            if (segments.getSegmentForKey(routingKey).equals(segment)) {
+                return routingKey;
+            }
+        }
+    }
+
+    /**
+     * Verifies that a flush for a routing key, issued before the segment the key maps to is sealed, only completes once
+     * the events resent to the successor segment are acknowledged.
+     */
+    @Test
+    public void testFlushRoutingKeyWithSeal() {
+        String scope = "scope";
+        String streamName = "stream";
+        StreamImpl stream = new StreamImpl(scope, streamName);
+        Segment segment1 = new Segment(scope, streamName, 0);
+        Segment segment2 = new Segment(scope, streamName, 1);
+        EventWriterConfig config = EventWriterConfig.builder().build();
+        SegmentOutputStreamFactory streamFactory = Mockito.mock(SegmentOutputStreamFactory.class);
+        Controller controller = Mockito.mock(Controller.class);
+        FakeSegmentOutputStream outputStream1 = new FakeSegmentOutputStream(segment1);
+        FakeSegmentOutputStream outputStream2 = new FakeSegmentOutputStream(segment2);
+        Mockito.when(controller.getCurrentSegments(scope, streamName)).thenReturn(getSegmentsFuture(segment1));
+        Mockito.when(controller.getSuccessors(segment1)).thenReturn(getReplacement(segment1, segment2));
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment1), any(), any(), any())).thenAnswer(i -> {
+            outputStream1.callBackForSealed = i.getArgument(1);
+            return outputStream1;
+        });
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment2), any(), any(), any())).thenAnswer(i -> {
+            outputStream2.callBackForSealed = i.getArgument(1);
+            return outputStream2;
+        });
+        @Cleanup
+        EventStreamWriter<String> writer = new EventStreamWriterImpl<>(stream, "id", controller, streamFactory,
+                new JavaSerializer<>(), config, executorService(), executorService());
+
+        String routingKey = "key";
+        writer.writeEvent(routingKey, "Foo");
+        CompletableFuture<Void> flush = writer.flush(routingKey);
+        assertFalse(flush.isDone());
+
+        // Seal the segment while the flush is outstanding. The event is resent to the successor, but not yet acked.
+        outputStream1.invokeSealedCallBack();
+        assertFalse(flush.isDone());
+        List<PendingEvent> resent = new ArrayList<>(outputStream2.acked);
+        resent.addAll(outputStream2.unacked);
+        PendingEvent resentEvent = resent.stream().filter(e -> e.getAckFuture() != null).findFirst().get();
+        assertEquals(routingKey, resentEvent.getRoutingKey());
+
+        // The flush completes once the resent event is acknowledged by the successor.
+        resentEvent.getAckFuture().complete(null);
+        assertTrue(flush.isDone());
+
+        // Further flushes for the key wait on the successor.
+        writer.writeEvent(routingKey, "Bar");
+        CompletableFuture<Void> flush2 = writer.flush(routingKey);
+        assertFalse(flush2.isDone());
+        outputStream2.unacked.get(outputStream2.unacked.size() - 1).getAckFuture().complete(null);
+        assertTrue(flush2.isDone());
+    }
+
+    /**
+     * Verifies that concurrent writes to different segments of the same writer are not lost. The FakeSegmentOutputStream
+     * is not thread safe, so this also verifies that writes to the same segment are serialized by the writer.
+     */
+    @Test(timeout = 10000)
+    public void testConcurrentWrites() throws Exception {
+        final int threadCount = 4;
+        final int eventsPerThread = 500;
+        String scope = "scope";
+        String streamName = "stream";
+        StreamImpl stream = new StreamImpl(scope, streamName);
+        Segment segment1 = new Segment(scope, streamName, 0);
+        Segment segment2 = new Segment(scope, streamName, 1);
+        EventWriterConfig config = EventWriterConfig.builder().build();
+        SegmentOutputStreamFactory streamFactory = Mockito.mock(SegmentOutputStreamFactory.class);
+        Controller controller = Mockito.mock(Controller.class);
+        FakeSegmentOutputStream outputStream1 = new FakeSegmentOutputStream(segment1);
+        FakeSegmentOutputStream outputStream2 = new FakeSegmentOutputStream(segment2);
+        NavigableMap<Double, SegmentWithRange> segments = new TreeMap<>();
+        segments.put(0.5, new SegmentWithRange(segment1, 0.0, 0.5));
+        segments.put(1.0, new SegmentWithRange(segment2, 0.5, 1.0));
+        Mockito.when(controller.getCurrentSegments(scope, streamName))
+               .thenReturn(CompletableFuture.completedFuture(new StreamSegments(segments, "")));
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment1), any(), any(), any())).thenReturn(outputStream1);
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment2), any(), any(), any())).thenReturn(outputStream2);
+
+        @Cleanup
+        EventStreamWriter<String> writer = new EventStreamWriterImpl<>(stream, "id", controller, streamFactory,
+                new JavaSerializer<>(), config, executorService(), executorService());
+        @Cleanup("shutdownNow")
+        ScheduledExecutorService producerPool = ExecutorServiceHelpers.newScheduledThreadPool(threadCount, "producers");
+        List<CompletableFuture<Void>> producers = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final String prefix = "Producer" + i;
+            producers.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < eventsPerThread; j++) {
+                    writer.writeEvent(prefix + j, "Foo");
+                }
+            }, producerPool));
+        }
+
+        CompletableFuture.allOf(producers.toArray(new CompletableFuture[0])).join();
+        writer.flush();
+        assertTrue(outputStream1.unacked.isEmpty());
+        assertTrue(outputStream2.unacked.isEmpty());
+        assertEquals(threadCount * eventsPerThread, outputStream1.acked.size() + outputStream2.acked.size());
+    }
     
     @Test
     public void testSealInvokesFlush() {
@@ -30,6 +30,7 @@ public class OrdererTest {
         final int number;
         boolean canReadWithoutBlocking = true;
         long offset = 0;
+        CompletableFuture<?> fillFuture = CompletableFuture.completedFuture(null);
 
         @Override
         public Segment getSegmentId() {
@@ -43,7 +44,7 @@ public class OrdererTest {
 
         @Override
         public CompletableFuture<?> fillBuffer() {
-            return CompletableFuture.completedFuture(null);
+            return fillFuture;
         }
 
         @Override
@@ -119,6 +120,30 @@ public class OrdererTest {
         }
     }
 
+    @Test(timeout = 10000)
+    public void testWaitsForFirstReady() {
+        List<StubEventSegmentReader> streams = createInputStreams(10);
+        for (StubEventSegmentReader stream : streams) {
+            stream.canReadWithoutBlocking = false;
+            stream.fillFuture = new CompletableFuture<>();
+        }
+        StubEventSegmentReader slow = streams.get(6);
+        CompletableFuture<Void> fill = new CompletableFuture<>();
+        slow.fillFuture = fill;
+        CompletableFuture.runAsync(() -> {
+            slow.canReadWithoutBlocking = true;
+            fill.complete(null);
+        });
+        Orderer o = new Orderer();
+        StubEventSegmentReader chosen = o.nextSegment(streams, 10000);
+        assertEquals(6, chosen.getNumber());
+
+        // Nothing ready and nothing completing: falls back to returning some segment after the timeout.
+        slow.canReadWithoutBlocking = false;
+        slow.fillFuture = new CompletableFuture<>();
+        assertNotNull(o.nextSegment(streams, 10));
+    }
+
     private List<StubEventSegmentReader> createInputStreams(int num) {
         Builder<StubEventSegmentReader> builder = ImmutableList.builder();
         for (int i = 0; i < num; i++) {
@@ -12,6 +12,9 @@ package io.pravega.common.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Defines a generic read-only view of a readable memory buffer with a known length.
@@ -56,6 +59,46 @@ public interface BufferView {
      */
     void copyTo(OutputStream target) throws IOException;
 
+    /**
+     * Creates a new {@link BufferView} that represents a sub-range of this {@link BufferView} instance. The new instance
+     * will share the same backing buffer as this one (if the implementation supports it), so a change to one will be
+     * reflected in the other. Just like Netty's ByteBuf#slice(), the returned instance does not have its own reference
+     * count: invoking {@link #retain()} or {@link #release()} on it has the same effect as invoking them on this instance.
+     *
+     * The default implementation makes a copy of the requested range; implementations that can do so should override
+     * it to avoid the copy.
+     *
+     * @param offset The starting offset to begin the slice at.
+     * @param length The sliced length.
+     * @return A new {@link BufferView}.
+     * @throws IndexOutOfBoundsException If offset or length are invalid.
+     */
+    default BufferView slice(int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > getLength()) {
+            throw new IndexOutOfBoundsException(String.format("Invalid slice range [%d, %d) for a buffer of length %d.",
+                    offset, offset + length, getLength()));
+        }
+
+        return new ByteArraySegment(getCopy(), offset, length);
+    }
+
+    /**
+     * Gets an ordered list of {@link ByteBuffer}s that make up the contents of this {@link BufferView}. Concatenating the
+     * remaining bytes of each of the returned buffers yields the same data as {@link #getCopy()}.
+     *
+     * The returned buffers share the same backing memory as this instance (if the implementation supports it) and are
+     * only valid for as long as this {@link BufferView} has not been released. Changing the position or limit of any of
+     * them has no effect on this instance.
+     *
+     * The default implementation wraps the result of {@link #getCopy()}; implementations that can do so should override
+     * it to avoid the copy.
+     *
+     * @return A List of {@link ByteBuffer}s.
+     */
+    default List<ByteBuffer> getContents() {
+        return Collections.singletonList(ByteBuffer.wrap(getCopy()));
+    }
+
     /**
      * When implemented in a derived class, notifies any wrapped buffer that this {@link BufferView} has a need for it.
      * Use {@link #release()} to do the opposite. See the main documentation on this interface for recommentations on how
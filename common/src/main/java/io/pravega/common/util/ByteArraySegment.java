@@ -17,6 +17,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -125,6 +127,16 @@ public class ByteArraySegment implements ArrayView {
         return new ByteArrayInputStream(this.array, this.startOffset + offset, length);
     }
 
+    @Override
+    public ByteArraySegment slice(int offset, int length) {
+        return subSegment(offset, length);
+    }
+
+    @Override
+    public List<ByteBuffer> getContents() {
+        return Collections.singletonList(ByteBuffer.wrap(this.array, this.startOffset, this.length));
+    }
+
     @Override
     public byte[] getCopy() {
         byte[] buffer = new byte[this.length];
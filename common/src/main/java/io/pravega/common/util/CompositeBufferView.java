@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import io.pravega.common.Exceptions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link BufferView} that is made up of an ordered sequence of other {@link BufferView}s. No data is copied when
+ * creating an instance of this class; the components are referenced as they are.
+ *
+ * Invoking {@link #retain()} or {@link #release()} on this instance will invoke the same method on all its components.
+ */
+public class CompositeBufferView implements BufferView {
+    //region Members
+
+    private final List<BufferView> components;
+    private final int length;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the CompositeBufferView class.
+     *
+     * @param components The components. This instance takes over the caller's reference to each of them.
+     */
+    public CompositeBufferView(List<BufferView> components) {
+        Preconditions.checkNotNull(components, "components");
+        this.components = ImmutableList.copyOf(components);
+        this.length = this.components.stream().mapToInt(BufferView::getLength).sum();
+    }
+
+    //endregion
+
+    //region BufferView Implementation
+
+    @Override
+    public int getLength() {
+        return this.length;
+    }
+
+    @Override
+    public InputStream getReader() {
+        return new SequenceInputStream(Iterators.asEnumeration(
+                this.components.stream().map(BufferView::getReader).iterator()));
+    }
+
+    @Override
+    public byte[] getCopy() {
+        byte[] result = new byte[this.length];
+        int offset = 0;
+        for (BufferView c : this.components) {
+            byte[] componentCopy = c.getCopy();
+            System.arraycopy(componentCopy, 0, result, offset, componentCopy.length);
+            offset += componentCopy.length;
+        }
+
+        return result;
+    }
+
+    @Override
+    public void copyTo(OutputStream target) throws IOException {
+        for (BufferView c : this.components) {
+            c.copyTo(target);
+        }
+    }
+
+    @Override
+    public BufferView slice(int offset, int length) {
+        Exceptions.checkArrayRange(offset, length, this.length, "offset", "length");
+        ArrayList<BufferView> result = new ArrayList<>();
+        int componentOffset = 0;
+        for (BufferView c : this.components) {
+            int componentEnd = componentOffset + c.getLength();
+            if (length > 0 && offset < componentEnd) {
+                int sliceOffset = offset - componentOffset;
+                int sliceLength = Math.min(length, c.getLength() - sliceOffset);
+                result.add(c.slice(sliceOffset, sliceLength));
+                offset += sliceLength;
+                length -= sliceLength;
+            }
+
+            componentOffset = componentEnd;
+        }
+
+        return result.size() == 1 ? result.get(0) : new CompositeBufferView(result);
+    }
+
+    @Override
+    public List<ByteBuffer> getContents() {
+        return this.components.stream()
+                .flatMap(c -> c.getContents().stream())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void retain() {
+        this.components.forEach(BufferView::retain);
+    }
+
+    @Override
+    public void release() {
+        this.components.forEach(BufferView::release);
+    }
+
+    /**
+     * Gets an unmodifiable List of the components of this {@link CompositeBufferView}.
+     *
+     * @return The components.
+     */
+    public List<BufferView> getComponents() {
+        return this.components;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: Components = %d, Length = %d", getClass().getSimpleName(), this.components.size(), this.length);
+    }
+
+    //endregion
+}
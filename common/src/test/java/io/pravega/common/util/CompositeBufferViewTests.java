@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util;
+
+import io.pravega.common.io.StreamHelpers;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the CompositeBufferView class.
+ */
+public class CompositeBufferViewTests {
+    private static final int COMPONENT_COUNT = 10;
+    private static final int COMPONENT_LENGTH = 17;
+
+    /**
+     * Tests getLength(), getReader(), getCopy() and copyTo().
+     */
+    @Test
+    public void testRead() throws Exception {
+        byte[] expected = createData();
+        CompositeBufferView view = new CompositeBufferView(split(expected, new AtomicInteger()));
+        Assert.assertEquals("Unexpected length.", expected.length, view.getLength());
+        Assert.assertArrayEquals("Unexpected getCopy().", expected, view.getCopy());
+        Assert.assertArrayEquals("Unexpected getReader().", expected, StreamHelpers.readAll(view.getReader(), view.getLength()));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        view.copyTo(os);
+        Assert.assertArrayEquals("Unexpected copyTo().", expected, os.toByteArray());
+    }
+
+    /**
+     * Tests slice() across all possible offset and length combinations.
+     */
+    @Test
+    public void testSlice() {
+        byte[] data = createData();
+        CompositeBufferView view = new CompositeBufferView(split(data, new AtomicInteger()));
+        for (int offset = 0; offset <= data.length; offset++) {
+            for (int length = 0; length <= data.length - offset; length++) {
+                byte[] expected = Arrays.copyOfRange(data, offset, offset + length);
+                BufferView slice = view.slice(offset, length);
+                Assert.assertEquals("Unexpected slice length.", length, slice.getLength());
+                Assert.assertArrayEquals("Unexpected slice contents.", expected, slice.getCopy());
+            }
+        }
+    }
+
+    /**
+     * Tests that retain() and release() are forwarded to all components.
+     */
+    @Test
+    public void testRetainRelease() {
+        AtomicInteger refCount = new AtomicInteger();
+        CompositeBufferView view = new CompositeBufferView(split(createData(), refCount));
+        view.retain();
+        Assert.assertEquals("Unexpected reference count after retain().", COMPONENT_COUNT, refCount.get());
+        view.release();
+        Assert.assertEquals("Unexpected reference count after release().", 0, refCount.get());
+    }
+
+    private byte[] createData() {
+        byte[] data = new byte[COMPONENT_COUNT * COMPONENT_LENGTH];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        return data;
+    }
+
+    private ArrayList<BufferView> split(byte[] data, AtomicInteger refCount) {
+        ArrayList<BufferView> result = new ArrayList<>();
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            result.add(new ByteArraySegment(data, i * COMPONENT_LENGTH, COMPONENT_LENGTH) {
+                @Override
+                public void retain() {
+                    refCount.incrementAndGet();
+                }
+
+                @Override
+                public void release() {
+                    refCount.decrementAndGet();
+                }
+            });
+        }
+
+        return result;
+    }
+}
@@ -17,6 +17,7 @@ import java.util.Set;
 import static io.pravega.shared.MetricsNames.CONTAINER_FAILOVERS;
 import static io.pravega.shared.MetricsNames.SEGMENT_STORE_HOST_CONTAINER_COUNT;
 import static io.pravega.shared.MetricsNames.SEGMENT_STORE_HOST_FAILURES;
+import static io.pravega.shared.MetricsNames.SEGMENT_STORE_HOST_INFLIGHT_REQUESTS;
 import static io.pravega.shared.MetricsNames.SEGMENT_STORE_HOST_NUMBER;
 import static io.pravega.shared.MetricsNames.globalMetricName;
 import static io.pravega.shared.MetricsTags.containerTag;
@@ -65,6 +66,17 @@ public final class HostContainerMetrics extends AbstractControllerMetrics {
         }
     }
 
+    /**
+     * This method reports the number of requests that the Controller has sent to a Segment Store host and for which it
+     * is still awaiting a reply.
+     *
+     * @param host          Segment Store host (endpoint and port).
+     * @param requestCount  Number of in-flight requests to that host.
+     */
+    public void reportInflightRequests(String host, int requestCount) {
+        DYNAMIC_LOGGER.reportGaugeValue(SEGMENT_STORE_HOST_INFLIGHT_REQUESTS, requestCount, hostTag(host));
+    }
+
     private void reportContainerCountPerHost(Host host, Set<Integer> containerIds) {
         DYNAMIC_LOGGER.reportGaugeValue(SEGMENT_STORE_HOST_CONTAINER_COUNT, containerIds.size(), hostTag(host.toString()));
     }
@@ -30,7 +30,9 @@ import io.pravega.client.tables.impl.TableKeyImpl;
 import io.pravega.client.tables.impl.TableSegment;
 import io.pravega.common.Exceptions;
 import io.pravega.common.cluster.Host;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.common.tracing.TagLogger;
+import io.pravega.controller.metrics.HostContainerMetrics;
 import io.pravega.controller.store.host.HostControllerStore;
 import io.pravega.controller.store.stream.records.RecordHelper;
 import io.pravega.controller.stream.api.grpc.v1.Controller;
@@ -49,6 +51,8 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -65,6 +69,11 @@ import static io.pravega.shared.segment.StreamSegmentNameUtils.getTransactionNam
 
 /**
  * Used by the Controller for interacting with Segment Store. Think of this class as a 'SegmentStoreHelper'. 
+ *
+ * Each request uses its own {@link RawClient}, which obtains a new {@link io.pravega.client.netty.impl.Flow} on one of the
+ * long-lived, multiplexed connections that the {@link ConnectionFactory}'s connection pool keeps for every Segment Store
+ * host; no new network connection is set up per request. Using a separate Flow per request isolates requests from each
+ * other's failures (i.e., a WrongHost or AuthTokenCheckFailed reply only fails the request that caused it).
  */
 public class SegmentHelper implements AutoCloseable {
 
@@ -83,12 +92,15 @@ public class SegmentHelper implements AutoCloseable {
             .put(WireCommands.UpdateSegmentPolicy.class, ImmutableSet.of(WireCommands.SegmentPolicyUpdated.class))
             .put(WireCommands.SealSegment.class, ImmutableSet.of(WireCommands.SegmentSealed.class,
                     WireCommands.SegmentIsSealed.class))
+            .put(WireCommands.SealSegmentsBatch.class, ImmutableSet.of(WireCommands.SegmentsBatchSealed.class))
             .put(WireCommands.TruncateSegment.class, ImmutableSet.of(WireCommands.SegmentTruncated.class,
                     WireCommands.SegmentIsTruncated.class))
             .put(WireCommands.GetStreamSegmentInfo.class, ImmutableSet.of(WireCommands.StreamSegmentInfo.class,
                     WireCommands.SegmentIsTruncated.class))
             .put(WireCommands.MergeSegments.class, ImmutableSet.of(WireCommands.SegmentsMerged.class,
                     WireCommands.NoSuchSegment.class))
+            .put(WireCommands.MergeSegmentsBatch.class, ImmutableSet.of(WireCommands.SegmentsBatchMerged.class,
+                    WireCommands.NoSuchSegment.class))
             .put(WireCommands.UpdateTableEntries.class, ImmutableSet.of(WireCommands.TableEntriesUpdated.class))
             .put(WireCommands.RemoveTableKeys.class, ImmutableSet.of(WireCommands.TableKeysRemoved.class,
                     WireCommands.TableKeyDoesNotExist.class))
@@ -110,6 +122,8 @@ public class SegmentHelper implements AutoCloseable {
 
     private final HostControllerStore hostStore;
     private final ConnectionFactory connectionFactory;
+    private final HostContainerMetrics hostMetrics = new HostContainerMetrics();
+    private final Map<String, AtomicInteger> inflightRequests = new ConcurrentHashMap<>();
 
     public SegmentHelper(final ConnectionFactory clientCF, HostControllerStore hostStore) {
         this.connectionFactory = clientCF;
@@ -142,7 +156,7 @@ public class SegmentHelper implements AutoCloseable {
         final long requestId = connection.getFlow().asLong();
         Pair<Byte, Integer> extracted = extractFromPolicy(policy);
 
-        return sendRequest(connection, requestId, new WireCommands.CreateSegment(requestId, qualifiedStreamSegmentName,
+        return sendRequest(connection, uri, requestId, new WireCommands.CreateSegment(requestId, qualifiedStreamSegmentName,
             extracted.getLeft(), extracted.getRight(), controllerToken))
             .thenAccept(r -> handleReply(clientRequestId, r, connection, qualifiedStreamSegmentName, WireCommands.CreateSegment.class, type));
     }
@@ -160,7 +174,7 @@ public class SegmentHelper implements AutoCloseable {
         RawClient connection = new RawClient(ModelHelper.encode(uri), connectionFactory);
         final long requestId = connection.getFlow().asLong();
 
-        return sendRequest(connection, requestId, new WireCommands.TruncateSegment(requestId, qualifiedStreamSegmentName, offset, delegationToken))
+        return sendRequest(connection, uri, requestId, new WireCommands.TruncateSegment(requestId, qualifiedStreamSegmentName, offset, delegationToken))
                 .thenAccept(r -> handleReply(clientRequestId, r, connection, qualifiedStreamSegmentName, WireCommands.TruncateSegment.class, type));
     }
 
@@ -175,7 +189,7 @@ public class SegmentHelper implements AutoCloseable {
         RawClient connection = new RawClient(ModelHelper.encode(uri), connectionFactory);
         final long requestId = connection.getFlow().asLong();
 
-        return sendRequest(connection, requestId, new WireCommands.DeleteSegment(requestId, qualifiedStreamSegmentName, delegationToken))
+        return sendRequest(connection, uri, requestId, new WireCommands.DeleteSegment(requestId, qualifiedStreamSegmentName, delegationToken))
                 .thenAccept(r -> handleReply(clientRequestId, r, connection, qualifiedStreamSegmentName, WireCommands.DeleteSegment.class, type));
     }
 
@@ -200,10 +214,44 @@ public class SegmentHelper implements AutoCloseable {
         RawClient connection = new RawClient(ModelHelper.encode(uri), connectionFactory);
         final long requestId = connection.getFlow().asLong();
 
-        return sendRequest(connection, requestId, new WireCommands.SealSegment(requestId, qualifiedName, delegationToken))
+        return sendRequest(connection, uri, requestId, new WireCommands.SealSegment(requestId, qualifiedName, delegationToken))
                 .thenAccept(r -> handleReply(clientRequestId, r, connection, qualifiedName, WireCommands.SealSegment.class, type));
     }
 
+    /**
+     * Seals the given segments of a stream. Segments that are owned by the same Segment Store are sealed using a single
+     * SealSegmentsBatch request, so all Segment Stores must support that request.
+     *
+     * @param scope               stream scope
+     * @param stream              stream name
+     * @param segmentIds          ids of the segments to be sealed
+     * @param delegationToken     the token to be presented to segmentstore.
+     * @param clientRequestId     client-generated id for end-to-end tracing
+     * @return void
+     */
+    public CompletableFuture<Void> sealSegments(final String scope,
+                                                final String stream,
+                                                final List<Long> segmentIds,
+                                                String delegationToken,
+                                                final long clientRequestId) {
+        final WireCommandType type = WireCommandType.SEAL_SEGMENTS_BATCH;
+        final Map<Controller.NodeUri, List<String>> segmentsByHost = segmentIds
+                .stream()
+                .collect(Collectors.groupingBy(segmentId -> getSegmentUri(scope, stream, segmentId),
+                        Collectors.mapping(segmentId -> getQualifiedStreamSegmentName(scope, stream, segmentId), Collectors.toList())));
+
+        return Futures.allOf(segmentsByHost.entrySet().stream().map(e -> {
+            final Controller.NodeUri uri = e.getKey();
+            final List<String> qualifiedNames = e.getValue();
+            RawClient connection = new RawClient(ModelHelper.encode(uri), connectionFactory);
+            final long requestId = connection.getFlow().asLong();
+
+            return sendRequest(connection, uri, requestId, new WireCommands.SealSegmentsBatch(requestId, qualifiedNames, delegationToken))
+                    .thenAccept(r -> handleReply(clientRequestId, r, connection, qualifiedNames.toString(),
+                            WireCommands.SealSegmentsBatch.class, type));
+        }).collect(Collectors.toList()));
+    }
+
     public CompletableFuture<Void> createTransaction(final String scope,
                                                      final String stream,
                                                      final long segmentId,
@@ -219,7 +267,7 @@ public class SegmentHelper implements AutoCloseable {
         WireCommands.CreateSegment request = new WireCommands.CreateSegment(requestId, transactionName,
                 WireCommands.CreateSegment.NO_SCALE, 0, delegationToken);
 
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenAccept(r -> handleReply(requestId, r, connection, transactionName, WireCommands.CreateSegment.class, type));
     }
 
@@ -250,7 +298,7 @@ public class SegmentHelper implements AutoCloseable {
         WireCommands.MergeSegments request = new WireCommands.MergeSegments(requestId,
                 qualifiedNameTarget, transactionName, delegationToken);
 
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenApply(r -> {
                     handleReply(requestId, r, connection, transactionName, WireCommands.MergeSegments.class, type);
                     if (r instanceof WireCommands.NoSuchSegment) {
@@ -268,6 +316,59 @@ public class SegmentHelper implements AutoCloseable {
 
     }
 
+    /**
+     * Commits a transaction by merging its transaction segments into the given segments. Transaction segments that are
+     * owned by the same Segment Store are merged using a single MergeSegmentsBatch request, so all Segment Stores must
+     * support that request.
+     *
+     * @param scope               stream scope
+     * @param stream              stream name
+     * @param segmentIds          ids of the segments to merge the transaction into
+     * @param txId                transaction id
+     * @param delegationToken     the token to be presented to segmentstore.
+     * @return The status of the commit.
+     */
+    public CompletableFuture<TxnStatus> commitTransactions(final String scope,
+                                                           final String stream,
+                                                           final List<Long> segmentIds,
+                                                           final UUID txId,
+                                                           String delegationToken) {
+        final WireCommandType type = WireCommandType.MERGE_SEGMENTS_BATCH;
+        final Map<Controller.NodeUri, List<Long>> segmentsByHost = segmentIds
+                .stream()
+                .collect(Collectors.groupingBy(segmentId -> getSegmentUri(scope, stream, segmentId)));
+
+        return Futures.allOfWithResults(segmentsByHost.entrySet().stream().map(e -> {
+            final Controller.NodeUri uri = e.getKey();
+            final List<String> targets = e.getValue().stream()
+                    .map(segmentId -> getQualifiedStreamSegmentName(scope, stream, segmentId))
+                    .collect(Collectors.toList());
+            final List<String> sources = e.getValue().stream()
+                    .map(segmentId -> getTransactionName(scope, stream, segmentId, txId))
+                    .collect(Collectors.toList());
+            RawClient connection = new RawClient(ModelHelper.encode(uri), connectionFactory);
+            final long requestId = connection.getFlow().asLong();
+
+            WireCommands.MergeSegmentsBatch request = new WireCommands.MergeSegmentsBatch(requestId, targets, sources, delegationToken);
+            return sendRequest(connection, uri, requestId, request)
+                    .thenApply(r -> {
+                        handleReply(requestId, r, connection, sources.toString(), WireCommands.MergeSegmentsBatch.class, type);
+                        if (r instanceof WireCommands.NoSuchSegment) {
+                            // Transaction segments that no longer exist are skipped by the Segment Store, so this must
+                            // be one of the target segments.
+                            log.error(requestId, "Commit Transaction: Segment {} not found.", ((WireCommands.NoSuchSegment) r).getSegment());
+                            return TxnStatus.Status.FAILURE;
+                        } else {
+                            return TxnStatus.Status.SUCCESS;
+                        }
+                    });
+        }).collect(Collectors.toList()))
+                      .thenApply(statuses -> TxnStatus.newBuilder()
+                                                      .setStatus(statuses.contains(TxnStatus.Status.FAILURE)
+                                                              ? TxnStatus.Status.FAILURE : TxnStatus.Status.SUCCESS)
+                                                      .build());
+    }
+
     public CompletableFuture<TxnStatus> abortTransaction(final String scope,
                                                          final String stream,
                                                          final long segmentId,
@@ -281,7 +382,7 @@ public class SegmentHelper implements AutoCloseable {
         final long requestId = connection.getFlow().asLong();
         WireCommands.DeleteSegment request = new WireCommands.DeleteSegment(requestId, transactionName, delegationToken);
 
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenAccept(r -> handleReply(requestId, r, connection, transactionName, WireCommands.DeleteSegment.class, type))
                 .thenApply(v -> TxnStatus.newBuilder().setStatus(TxnStatus.Status.SUCCESS).build());
     }
@@ -300,7 +401,7 @@ public class SegmentHelper implements AutoCloseable {
         WireCommands.UpdateSegmentPolicy request = new WireCommands.UpdateSegmentPolicy(requestId,
                 qualifiedName, extracted.getLeft(), extracted.getRight(), delegationToken);
 
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenAccept(r -> handleReply(clientRequestId, r, connection, qualifiedName, WireCommands.UpdateSegmentPolicy.class, type));
     }
 
@@ -316,7 +417,7 @@ public class SegmentHelper implements AutoCloseable {
         WireCommands.GetStreamSegmentInfo request = new WireCommands.GetStreamSegmentInfo(requestId,
                 qualifiedName, delegationToken);
         
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenApply(r -> {
                     handleReply(requestId, r, connection, qualifiedName, WireCommands.GetStreamSegmentInfo.class, type);
                     assert r instanceof WireCommands.StreamSegmentInfo;
@@ -344,7 +445,7 @@ public class SegmentHelper implements AutoCloseable {
         RawClient connection = new RawClient(ModelHelper.encode(uri), connectionFactory);
         final long requestId = connection.getFlow().asLong();
 
-        return sendRequest(connection, requestId, new WireCommands.CreateTableSegment(requestId, tableName, delegationToken))
+        return sendRequest(connection, uri, requestId, new WireCommands.CreateTableSegment(requestId, tableName, delegationToken))
                 .thenAccept(rpl -> handleReply(clientRequestId, rpl, connection, tableName, WireCommands.CreateTableSegment.class, type));
     }
 
@@ -369,7 +470,7 @@ public class SegmentHelper implements AutoCloseable {
         RawClient connection = new RawClient(ModelHelper.encode(uri), connectionFactory);
         final long requestId = connection.getFlow().asLong();
 
-        return sendRequest(connection, requestId, new WireCommands.DeleteTableSegment(requestId, tableName, mustBeEmpty, delegationToken))
+        return sendRequest(connection, uri, requestId, new WireCommands.DeleteTableSegment(requestId, tableName, mustBeEmpty, delegationToken))
                 .thenAccept(rpl -> handleReply(clientRequestId, rpl, connection, tableName, WireCommands.DeleteTableSegment.class, type));
     }
 
@@ -405,7 +506,7 @@ public class SegmentHelper implements AutoCloseable {
         WireCommands.UpdateTableEntries request = new WireCommands.UpdateTableEntries(requestId, tableName, delegationToken,
                 new WireCommands.TableEntries(wireCommandEntries));
 
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenApply(rpl -> {
                     handleReply(clientRequestId, rpl, connection, tableName, WireCommands.UpdateTableEntries.class, type);
                     List<KeyVersion> result = ((WireCommands.TableEntriesUpdated) rpl).getUpdatedVersions().stream()
@@ -446,7 +547,7 @@ public class SegmentHelper implements AutoCloseable {
 
         WireCommands.RemoveTableKeys request = new WireCommands.RemoveTableKeys(requestId, tableName, delegationToken, keyList);
 
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenAccept(rpl -> handleReply(clientRequestId, rpl, connection, tableName, WireCommands.RemoveTableKeys.class, type))
                 .whenComplete((r, e) -> release(buffersToRelease));
     }
@@ -481,7 +582,7 @@ public class SegmentHelper implements AutoCloseable {
         final long requestId = connection.getFlow().asLong();
 
         WireCommands.ReadTable request = new WireCommands.ReadTable(requestId, tableName, delegationToken, keyList);
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenApply(rpl -> {
                     handleReply(clientRequestId, rpl, connection, tableName, WireCommands.ReadTable.class, type);
                     List<TableEntry<byte[], byte[]>> tableEntries = ((WireCommands.TableRead) rpl)
@@ -517,7 +618,7 @@ public class SegmentHelper implements AutoCloseable {
         
         WireCommands.ReadTableKeys request = new WireCommands.ReadTableKeys(requestId, tableName, delegationToken, suggestedKeyCount,
                                                                         token.toBytes());
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenApply(rpl -> {
                     handleReply(clientRequestId, rpl, connection, tableName, WireCommands.ReadTableKeys.class, type);
                     WireCommands.TableKeysRead tableKeysRead = (WireCommands.TableKeysRead) rpl;
@@ -553,7 +654,7 @@ public class SegmentHelper implements AutoCloseable {
         
         WireCommands.ReadTableEntries request = new WireCommands.ReadTableEntries(requestId, tableName, delegationToken,
                                                                         suggestedEntryCount, token.toBytes());
-        return sendRequest(connection, requestId, request)
+        return sendRequest(connection, uri, requestId, request)
                 .thenApply(rpl -> {
                     handleReply(clientRequestId, rpl, connection, tableName, WireCommands.ReadTableEntries.class, type);
                     WireCommands.TableEntriesRead tableEntriesRead = (WireCommands.TableEntriesRead) rpl;
@@ -633,8 +734,13 @@ public class SegmentHelper implements AutoCloseable {
         }
     }
 
-    private <T extends Request & WireCommand> CompletableFuture<Reply> sendRequest(RawClient connection, long requestId, T request) {
+    private <T extends Request & WireCommand> CompletableFuture<Reply> sendRequest(RawClient connection, Controller.NodeUri uri,
+                                                                                  long requestId, T request) {
+        final String host = uri.getEndpoint() + ":" + uri.getPort();
+        final AtomicInteger hostInflightRequests = inflightRequests.computeIfAbsent(host, h -> new AtomicInteger());
+        hostMetrics.reportInflightRequests(host, hostInflightRequests.incrementAndGet());
         return connection.sendRequest(requestId, request)
+                .whenComplete((r, e) -> hostMetrics.reportInflightRequests(host, hostInflightRequests.decrementAndGet()))
                 .exceptionally(e -> {
                     Throwable unwrap = Exceptions.unwrap(e);
                     if (unwrap instanceof ConnectionFailedException || unwrap instanceof ConnectionClosedException) {
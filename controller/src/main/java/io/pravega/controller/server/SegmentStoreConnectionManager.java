@@ -328,11 +328,21 @@ class SegmentStoreConnectionManager implements AutoCloseable {
             execute(ReplyProcessor::segmentsMerged, segmentsMerged);
         }
 
+        @Override
+        public void segmentsBatchMerged(WireCommands.SegmentsBatchMerged segmentsBatchMerged) {
+            execute(ReplyProcessor::segmentsBatchMerged, segmentsBatchMerged);
+        }
+
         @Override
         public void segmentSealed(WireCommands.SegmentSealed segmentSealed) {
             execute(ReplyProcessor::segmentSealed, segmentSealed);
         }
 
+        @Override
+        public void segmentsBatchSealed(WireCommands.SegmentsBatchSealed segmentsBatchSealed) {
+            execute(ReplyProcessor::segmentsBatchSealed, segmentsBatchSealed);
+        }
+
         @Override
         public void segmentTruncated(WireCommands.SegmentTruncated segmentTruncated) {
             execute(ReplyProcessor::segmentTruncated, segmentTruncated);
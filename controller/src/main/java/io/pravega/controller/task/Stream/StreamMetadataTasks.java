@@ -922,6 +922,10 @@ public class StreamMetadataTasks extends TaskBase {
 
     public CompletableFuture<Void> notifySealedSegments(String scope, String stream, List<Long> sealedSegments,
                                                          String delegationToken, long requestId) {
+        if (Config.BATCH_SEGMENT_COMMANDS_ENABLED) {
+            return withRetries(() -> segmentHelper.sealSegments(scope, stream, sealedSegments, delegationToken, requestId), executor);
+        }
+
         return Futures.allOf(
                 sealedSegments
                         .stream()
@@ -995,6 +999,11 @@ public class StreamMetadataTasks extends TaskBase {
 
     public CompletableFuture<Void> notifyTxnCommit(final String scope, final String stream,
                                                    final List<Long> segments, final UUID txnId) {
+        if (Config.BATCH_SEGMENT_COMMANDS_ENABLED) {
+            return Futures.toVoid(TaskStepsRetryHelper.withRetries(() -> segmentHelper.commitTransactions(scope, stream,
+                    segments, txnId, this.retrieveDelegationToken()), executor));
+        }
+
         return Futures.allOf(segments.stream()
                 .parallel()
                 .map(segment -> notifyTxnCommit(scope, stream, segment, txnId))
@@ -121,6 +121,9 @@ public final class Config {
 
     // Print stack trace for all threads during shutdown
     public static final boolean DUMP_STACK_ON_SHUTDOWN;
+
+    // Segment Store batch commands. Only enable once all Segment Stores support them.
+    public static final boolean BATCH_SEGMENT_COMMANDS_ENABLED;
     
     public static final MetricsConfig METRICS_CONFIG;
     public static final GRPCServerConfig GRPC_SERVER_CONFIG;
@@ -139,6 +142,7 @@ public final class Config {
     private static final Property<Boolean> PROPERTY_REQUEST_TRACING_ENABLED = Property.named("requestTracingEnabled", true);
     private static final Property<Boolean> PROPERTY_DUMP_STACK_ON_SHUTDOWN = Property.named("dumpStackOnShutdown", false);
     private static final Property<Boolean> PROPERTY_USE_PRAVEGA_TABLES = Property.named("usePravegaTables", true);
+    private static final Property<Boolean> PROPERTY_BATCH_SEGMENT_COMMANDS_ENABLED = Property.named("segmentStore.batchCommandsEnabled", false);
     private static final Property<Integer> PROPERTY_SERVICE_PORT = Property.named("service.port", 9090);
     private static final Property<Integer> PROPERTY_TASK_POOL_SIZE = Property.named("service.asyncTaskPoolSize", 80);
     private static final Property<String> PROPERTY_SERVICE_HOST_IP = Property.named("service.hostIp", "localhost");
@@ -245,6 +249,7 @@ public final class Config {
         SCALE_READER_GROUP = p.get(PROPERTY_SCALE_READER_GROUP);
         DUMP_STACK_ON_SHUTDOWN = p.getBoolean(PROPERTY_DUMP_STACK_ON_SHUTDOWN);
         USE_PRAVEGA_TABLES = p.getBoolean(PROPERTY_USE_PRAVEGA_TABLES);
+        BATCH_SEGMENT_COMMANDS_ENABLED = p.getBoolean(PROPERTY_BATCH_SEGMENT_COMMANDS_ENABLED);
         GRPC_SERVER_CONFIG = createGrpcServerConfig();
         METRICS_CONFIG = createMetricsConfig(properties);
     }
@@ -61,6 +61,11 @@ public class ControllerEventStreamWriterMock implements EventStreamWriter<Contro
 
     }
 
+    @Override
+    public CompletableFuture<Void> flush(String routingKey) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public void close() {
 
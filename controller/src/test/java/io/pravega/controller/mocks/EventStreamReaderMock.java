@@ -19,6 +19,8 @@ import io.pravega.client.stream.ReinitializationRequiredException;
 import io.pravega.client.stream.Stream;
 import io.pravega.client.stream.TimeWindow;
 import io.pravega.client.stream.impl.EventReadImpl;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
@@ -40,6 +42,11 @@ public class EventStreamReaderMock<T> implements EventStreamReader<T> {
         return new EventReadImpl<>(event, null, null, null);
     }
 
+    @Override
+    public List<EventRead<T>> readNextEvents(int maxEvents, long timeout) throws ReinitializationRequiredException {
+        return Collections.singletonList(readNextEvent(timeout));
+    }
+
     @Override
     public ReaderConfig getConfig() {
         return null;
@@ -59,6 +59,11 @@ public class EventStreamWriterMock<T> implements EventStreamWriter<T> {
         throw new NotImplementedException("flush");
     }
 
+    @Override
+    public CompletableFuture<Void> flush(String routingKey) {
+        throw new NotImplementedException("flush");
+    }
+
     @Override
     public void close() {
 
@@ -27,6 +27,7 @@ import io.pravega.client.tables.impl.TableSegment;
 import io.pravega.common.Exceptions;
 import io.pravega.common.cluster.Host;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.controller.retryable.RetryableException;
 import io.pravega.controller.store.host.HostControllerStore;
 import io.pravega.controller.stream.api.grpc.v1.Controller;
 import io.pravega.shared.protocol.netty.Append;
@@ -44,6 +45,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
@@ -215,6 +217,82 @@ public class SegmentHelperTest {
         testConnectionFailure(factory, futureSupplier);
     }
 
+    @Test
+    public void sealSegments() {
+        MockConnectionFactory factory = new MockConnectionFactory();
+        SegmentHelper helper = new SegmentHelper(factory, new MockHostControllerStore());
+        CompletableFuture<Void> retVal = helper.sealSegments("", "", Arrays.asList(0L, 1L),
+                "", System.nanoTime());
+        long requestId = ((MockConnection) (factory.connection)).getRequestId();
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(requestId, "SomeException"));
+        AssertExtensions.assertThrows("",
+                () -> retVal.join(),
+                ex -> Exceptions.unwrap(ex) instanceof WireCommandFailedException
+                        && ((WireCommandFailedException) Exceptions.unwrap(ex)).getReason().equals(WireCommandFailedException.Reason.AuthFailed)
+        );
+
+        // Segments owned by the same host are sealed using a single request.
+        CompletableFuture<Void> result = helper.sealSegments("", "", Arrays.asList(0L, 1L),
+                "", System.nanoTime());
+        assertEquals(1, factory.connections.size());
+        val request = (WireCommands.SealSegmentsBatch) ((MockConnection) (factory.connection)).getRequest();
+        assertEquals(Arrays.asList(getQualifiedStreamSegmentName("", "", 0L), getQualifiedStreamSegmentName("", "", 1L)),
+                request.getSegments());
+        factory.rp.process(new WireCommands.SegmentsBatchSealed(request.getRequestId(), request.getSegments()));
+        result.join();
+
+        // NoSuchSegment is not an expected reply to a seal request.
+        result = helper.sealSegments("", "", Arrays.asList(0L, 1L),
+                "", System.nanoTime());
+        requestId = ((MockConnection) (factory.connection)).getRequestId();
+        factory.rp.process(new WireCommands.NoSuchSegment(requestId, getQualifiedStreamSegmentName("", "", 0L), "", 0L));
+        AssertExtensions.assertThrows("",
+                result::join,
+                ex -> Exceptions.unwrap(ex) instanceof ConnectionFailedException
+        );
+
+        Supplier<CompletableFuture<?>> futureSupplier = () -> helper.sealSegments("", "", Arrays.asList(0L, 1L),
+                "", System.nanoTime());
+        validateWrongHostRetryable(factory, futureSupplier);
+        validateProcessingFailureCFE(factory, futureSupplier);
+
+        testConnectionFailure(factory, futureSupplier);
+    }
+
+    @Test
+    public void sealSegmentsMultipleHosts() {
+        MockConnectionFactory factory = new MockConnectionFactory();
+        SegmentHelper helper = new SegmentHelper(factory, new MockMultiHostControllerStore());
+        CompletableFuture<Void> result = helper.sealSegments("", "", Arrays.asList(0L, 1L, 2L),
+                "", System.nanoTime());
+
+        // One request is sent to each host, containing only the segments owned by that host.
+        assertEquals(2, factory.connections.size());
+        val evenRequest = (WireCommands.SealSegmentsBatch) factory.getConnection(0).getRequest();
+        val oddRequest = (WireCommands.SealSegmentsBatch) factory.getConnection(1).getRequest();
+        assertEquals(Arrays.asList(getQualifiedStreamSegmentName("", "", 0L), getQualifiedStreamSegmentName("", "", 2L)),
+                evenRequest.getSegments());
+        assertEquals(Arrays.asList(getQualifiedStreamSegmentName("", "", 1L)), oddRequest.getSegments());
+
+        factory.getConnection(0).getRp().process(new WireCommands.SegmentsBatchSealed(evenRequest.getRequestId(), evenRequest.getSegments()));
+        assertFalse(result.isDone());
+        factory.getConnection(1).getRp().process(new WireCommands.SegmentsBatchSealed(oddRequest.getRequestId(), oddRequest.getSegments()));
+        result.join();
+
+        // A failure from a single host fails the whole call, so that it is retried.
+        CompletableFuture<Void> wrongHost = helper.sealSegments("", "", Arrays.asList(0L, 1L, 2L),
+                "", System.nanoTime());
+        factory.getConnection(0).getRp().process(new WireCommands.SegmentsBatchSealed(factory.getConnection(0).getRequestId(),
+                evenRequest.getSegments()));
+        factory.getConnection(1).getRp().process(new WireCommands.WrongHost(factory.getConnection(1).getRequestId(),
+                getQualifiedStreamSegmentName("", "", 1L), "correctHost", ""));
+        AssertExtensions.assertThrows("",
+                wrongHost::join,
+                ex -> Exceptions.unwrap(ex) instanceof WireCommandFailedException
+                        && ((WireCommandFailedException) Exceptions.unwrap(ex)).getReason().equals(WireCommandFailedException.Reason.UnknownHost)
+        );
+    }
+
     @Test
     public void createTransaction() {
         MockConnectionFactory factory = new MockConnectionFactory();
@@ -279,6 +357,76 @@ public class SegmentHelperTest {
         testConnectionFailure(factory, futureSupplier);
     }
 
+    @Test
+    public void commitTransactions() {
+        MockConnectionFactory factory = new MockConnectionFactory();
+        SegmentHelper helper = new SegmentHelper(factory, new MockHostControllerStore());
+        UUID txId = new UUID(0, 0L);
+        CompletableFuture<Controller.TxnStatus> retVal = helper.commitTransactions("", "", Arrays.asList(0L, 1L), txId,
+                "");
+        long requestId = ((MockConnection) (factory.connection)).getRequestId();
+        factory.rp.process(new WireCommands.AuthTokenCheckFailed(requestId, "SomeException"));
+        AssertExtensions.assertThrows("",
+                () -> retVal.join(),
+                ex -> Exceptions.unwrap(ex) instanceof WireCommandFailedException
+                        && Exceptions.unwrap(ex).getCause() instanceof AuthenticationException
+        );
+
+        // Transaction segments owned by the same host are merged using a single request.
+        CompletableFuture<Controller.TxnStatus> result = helper.commitTransactions("", "", Arrays.asList(0L, 1L), txId, "");
+        assertEquals(1, factory.connections.size());
+        val request = (WireCommands.MergeSegmentsBatch) ((MockConnection) (factory.connection)).getRequest();
+        assertEquals(Arrays.asList(getQualifiedStreamSegmentName("", "", 0L), getQualifiedStreamSegmentName("", "", 1L)),
+                request.getTargets());
+        assertEquals(2, request.getSources().size());
+        factory.rp.process(new WireCommands.SegmentsBatchMerged(request.getRequestId(), request.getTargets(), request.getSources()));
+        assertEquals(Controller.TxnStatus.Status.SUCCESS, result.join().getStatus());
+
+        // Missing transaction segments are skipped by the Segment Store, so NoSuchSegment means a target is missing.
+        result = helper.commitTransactions("", "", Arrays.asList(0L, 1L), txId, "");
+        requestId = ((MockConnection) (factory.connection)).getRequestId();
+        factory.rp.process(new WireCommands.NoSuchSegment(requestId, getQualifiedStreamSegmentName("", "", 0L), "", 0L));
+        assertEquals(Controller.TxnStatus.Status.FAILURE, result.join().getStatus());
+
+        Supplier<CompletableFuture<?>> futureSupplier = () -> helper.commitTransactions("", "", Arrays.asList(0L, 1L), txId,
+                "");
+        validateWrongHostRetryable(factory, futureSupplier);
+        validateProcessingFailureCFE(factory, futureSupplier);
+
+        testConnectionFailure(factory, futureSupplier);
+    }
+
+    @Test
+    public void commitTransactionsMultipleHosts() {
+        MockConnectionFactory factory = new MockConnectionFactory();
+        SegmentHelper helper = new SegmentHelper(factory, new MockMultiHostControllerStore());
+        UUID txId = new UUID(0, 0L);
+        CompletableFuture<Controller.TxnStatus> result = helper.commitTransactions("", "", Arrays.asList(0L, 1L, 2L), txId, "");
+
+        // One request is sent to each host, containing only the segments owned by that host.
+        assertEquals(2, factory.connections.size());
+        val evenRequest = (WireCommands.MergeSegmentsBatch) factory.getConnection(0).getRequest();
+        val oddRequest = (WireCommands.MergeSegmentsBatch) factory.getConnection(1).getRequest();
+        assertEquals(Arrays.asList(getQualifiedStreamSegmentName("", "", 0L), getQualifiedStreamSegmentName("", "", 2L)),
+                evenRequest.getTargets());
+        assertEquals(Arrays.asList(getQualifiedStreamSegmentName("", "", 1L)), oddRequest.getTargets());
+
+        factory.getConnection(0).getRp().process(new WireCommands.SegmentsBatchMerged(evenRequest.getRequestId(),
+                evenRequest.getTargets(), evenRequest.getSources()));
+        assertFalse(result.isDone());
+        factory.getConnection(1).getRp().process(new WireCommands.SegmentsBatchMerged(oddRequest.getRequestId(),
+                oddRequest.getTargets(), oddRequest.getSources()));
+        assertEquals(Controller.TxnStatus.Status.SUCCESS, result.join().getStatus());
+
+        // A missing target on a single host fails the commit, even if the other hosts succeed.
+        result = helper.commitTransactions("", "", Arrays.asList(0L, 1L, 2L), txId, "");
+        factory.getConnection(0).getRp().process(new WireCommands.SegmentsBatchMerged(factory.getConnection(0).getRequestId(),
+                evenRequest.getTargets(), evenRequest.getSources()));
+        factory.getConnection(1).getRp().process(new WireCommands.NoSuchSegment(factory.getConnection(1).getRequestId(),
+                getQualifiedStreamSegmentName("", "", 1L), "", 0L));
+        assertEquals(Controller.TxnStatus.Status.FAILURE, result.join().getStatus());
+    }
+
     @Test
     public void abortTransaction() {
         MockConnectionFactory factory = new MockConnectionFactory();
@@ -719,6 +867,18 @@ public class SegmentHelperTest {
                                       });
     }
 
+    private void validateWrongHostRetryable(MockConnectionFactory factory, Supplier<CompletableFuture<?>> futureSupplier) {
+        CompletableFuture<?> future = futureSupplier.get();
+        long requestId = ((MockConnection) (factory.connection)).getRequestId();
+        factory.rp.process(new WireCommands.WrongHost(requestId, "segment", "correctHost", "SomeException"));
+        AssertExtensions.assertThrows("", future::join,
+                                      t -> {
+                                          Throwable ex = unwrap(t);
+                                          return ex instanceof WireCommandFailedException && RetryableException.isRetryable(ex) &&
+                                                  ((WireCommandFailedException) ex).getReason().equals(WireCommandFailedException.Reason.UnknownHost);
+                                      });
+    }
+
     private void validateConnectionDropped(MockConnectionFactory factory, Supplier<CompletableFuture<?>> futureSupplier) {
         CompletableFuture<?> future = futureSupplier.get();
         factory.rp.connectionDropped();
@@ -783,11 +943,20 @@ public class SegmentHelperTest {
         }
     }
 
+    private static class MockMultiHostControllerStore extends MockHostControllerStore {
+        @Override
+        public Host getHostForSegment(String scope, String stream, long segmentId) {
+            // Even and odd segments are owned by different hosts.
+            return new Host("localhost", 1000 + (int) (segmentId % 2), "");
+        }
+    }
+
     private class MockConnectionFactory implements ConnectionFactory {
         private final AtomicBoolean failConnection = new AtomicBoolean(false);
         @Getter
         private ReplyProcessor rp;
         private ClientConnection connection;
+        private final Map<PravegaNodeUri, MockConnection> connections = new ConcurrentHashMap<>();
 
         @Override
         public CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, ReplyProcessor rp) {
@@ -804,9 +973,15 @@ public class SegmentHelperTest {
         public CompletableFuture<ClientConnection> establishConnection(Flow flow, PravegaNodeUri endpoint, ReplyProcessor rp) {
             this.rp = rp;
             this.connection = new MockConnection(rp, failConnection);
+            this.connections.put(endpoint, (MockConnection) connection);
             return CompletableFuture.completedFuture(connection);
         }
 
+        // Gets the last connection to the host that MockMultiHostControllerStore assigns segments of the given parity to.
+        private MockConnection getConnection(int parity) {
+            return connections.get(new PravegaNodeUri("localhost", 1000 + parity));
+        }
+
         @Override
         public ScheduledExecutorService getInternalExecutor() {
             return null;
@@ -826,6 +1001,8 @@ public class SegmentHelperTest {
         private final ReplyProcessor rp;
         @Getter
         private long requestId;
+        @Getter
+        private WireCommand request;
 
         public MockConnection(ReplyProcessor rp, AtomicBoolean toFail) {
             this.rp = rp;
@@ -845,6 +1022,7 @@ public class SegmentHelperTest {
         @Override
         public void sendAsync(WireCommand cmd, CompletedCallback callback) {
             this.requestId = ((Request) cmd).getRequestId();
+            this.request = cmd;
             if (toFail.get()) {
                 callback.complete(new ConnectionFailedException());
             }
@@ -266,11 +266,21 @@ public class SegmentStoreConnectionManagerTest {
 
             }
 
+            @Override
+            public void segmentsBatchMerged(WireCommands.SegmentsBatchMerged segmentsBatchMerged) {
+
+            }
+
             @Override
             public void segmentSealed(WireCommands.SegmentSealed segmentSealed) {
 
             }
 
+            @Override
+            public void segmentsBatchSealed(WireCommands.SegmentsBatchSealed segmentsBatchSealed) {
+
+            }
+
             @Override
             public void segmentTruncated(WireCommands.SegmentTruncated segmentTruncated) {
 
@@ -12,6 +12,7 @@ package io.pravega.controller.server;
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Bytes;
 import com.google.common.util.concurrent.Service;
+import io.netty.buffer.Unpooled;
 import io.pravega.client.netty.impl.ClientConnection;
 import io.pravega.client.netty.impl.ConnectionFactory;
 import io.pravega.client.netty.impl.Flow;
@@ -223,12 +224,12 @@ public abstract class ZKBackedControllerServiceStarterTest extends ControllerSer
                         if (array.length > offset) {
                             ByteBuffer buff = ByteBuffer.wrap(array, offset, array.length - offset);
                             rp.process(new WireCommands.SegmentRead(readSegment.getSegment(), offset, true,
-                                    false, buff, readSegment.getRequestId()));
+                                    false, Unpooled.wrappedBuffer(buff), readSegment.getRequestId()));
                         }
                     } else {
                         ByteBuffer buff = ByteBuffer.wrap(new byte[0]);
                         rp.process(new WireCommands.SegmentRead(readSegment.getSegment(), 0L, true,
-                                false, buff, readSegment.getRequestId()));
+                                false, Unpooled.wrappedBuffer(buff), readSegment.getRequestId()));
                     }
                     break;
                 case GET_SEGMENT_ATTRIBUTE:
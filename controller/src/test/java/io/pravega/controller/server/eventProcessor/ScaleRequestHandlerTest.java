@@ -878,6 +878,11 @@ public abstract class ScaleRequestHandlerTest {
 
         }
 
+        @Override
+        public CompletableFuture<Void> flush(String routingKey) {
+            return CompletableFuture.completedFuture(null);
+        }
+
         @Override
         public void close() {
 
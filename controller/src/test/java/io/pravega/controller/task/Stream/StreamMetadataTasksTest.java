@@ -1524,6 +1524,11 @@ public abstract class StreamMetadataTasksTest {
 
         }
 
+        @Override
+        public CompletableFuture<Void> flush(String routingKey) {
+            return CompletableFuture.completedFuture(null);
+        }
+
         @Override
         public void close() {
 
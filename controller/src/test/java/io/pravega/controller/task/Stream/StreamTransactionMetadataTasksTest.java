@@ -765,6 +765,11 @@ public class StreamTransactionMetadataTasksTest {
 
         }
 
+        @Override
+        public CompletableFuture<Void> flush(String routingKey) {
+            return CompletableFuture.completedFuture(null);
+        }
+
         @Override
         public void close() {
 
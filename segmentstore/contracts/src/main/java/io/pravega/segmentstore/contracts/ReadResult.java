@@ -11,6 +11,7 @@ package io.pravega.segmentstore.contracts;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.pravega.common.io.StreamHelpers;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
@@ -105,7 +106,12 @@ public interface ReadResult extends Iterator<ReadResultEntry>, AutoCloseable {
             }
 
             ReadResultEntryContents contents = entry.getContent().join();
-            StreamHelpers.readAll(contents.getData(), target, bytesRead, Math.min(contents.getLength(), target.length - bytesRead));
+            try {
+                StreamHelpers.readAll(contents.getData(), target, bytesRead, Math.min(contents.getLength(), target.length - bytesRead));
+            } finally {
+                contents.release();
+            }
+
             bytesRead += contents.getLength();
         }
 
@@ -120,6 +126,7 @@ public interface ReadResult extends Iterator<ReadResultEntry>, AutoCloseable {
      * @param fetchTimeout A timeout to use when needing to fetch the contents of an entry that is not in the Cache.
      * @return A List containing InputStreams with the data read.
      */
+    @SneakyThrows(IOException.class)
     default List<InputStream> readRemaining(int maxLength, Duration fetchTimeout) {
         int bytesRead = 0;
         ArrayList<InputStream> result = new ArrayList<>();
@@ -131,7 +138,14 @@ public interface ReadResult extends Iterator<ReadResultEntry>, AutoCloseable {
             } else if (!entry.getContent().isDone()) {
                 entry.requestContent(fetchTimeout);
             }
-            result.add(entry.getContent().join().getData());
+
+            // The returned InputStreams may be consumed much later, so we copy the data and release the contents now.
+            ReadResultEntryContents contents = entry.getContent().join();
+            try {
+                result.add(new ByteArrayInputStream(StreamHelpers.readAll(contents.getData(), contents.getLength())));
+            } finally {
+                contents.release();
+            }
         }
         return result;
     }
@@ -9,14 +9,28 @@
  */
 package io.pravega.segmentstore.contracts;
 
+import com.google.common.base.Preconditions;
+import io.pravega.common.util.BufferView;
 import java.io.InputStream;
+import javax.annotation.concurrent.GuardedBy;
 
 /**
  * Contents for a ReadResultEntry.
+ *
+ * If this instance wraps a {@link BufferView} (see {@link #getBuffer()}), that buffer may point directly into memory
+ * that is owned by the Cache. In that case, the consumer must invoke {@link #release()} once it is done with the data,
+ * otherwise that memory cannot be reclaimed. Once the data has been accessed (via {@link #getData()} or {@link #getBuffer()}),
+ * releasing it is the consumer's responsibility; contents that have never been accessed may be released by their producer
+ * (see {@link #releaseIfUnused()}).
  */
 public class ReadResultEntryContents {
     private final int length;
     private final InputStream data;
+    private final BufferView buffer;
+    @GuardedBy("this")
+    private boolean accessed;
+    @GuardedBy("this")
+    private boolean released;
 
     /**
      * Creates a new instance of the ReadResultEntryContents class.
@@ -27,6 +41,19 @@ public class ReadResultEntryContents {
     public ReadResultEntryContents(InputStream data, int length) {
         this.data = data;
         this.length = length;
+        this.buffer = null;
+    }
+
+    /**
+     * Creates a new instance of the ReadResultEntryContents class wrapping the given {@link BufferView}. This instance
+     * takes over the caller's reference to the buffer; it will be released when {@link #release()} is invoked.
+     *
+     * @param buffer The {@link BufferView} containing the data.
+     */
+    public ReadResultEntryContents(BufferView buffer) {
+        this.data = null;
+        this.length = buffer.getLength();
+        this.buffer = buffer;
     }
 
     /**
@@ -40,13 +67,71 @@ public class ReadResultEntryContents {
     }
 
     /**
-     * Gets an InputStream representing the Data that was retrieved.
+     * Gets an InputStream representing the Data that was retrieved. If this instance wraps a {@link BufferView}, a new
+     * InputStream will be returned with every invocation, and it is only valid until {@link #release()} is invoked.
      *
      * @return Stream representing retrieved data
-     *
+     * @throws IllegalStateException If this instance wraps a {@link BufferView} that has already been released.
      */
     public InputStream getData() {
-        return this.data;
+        return this.buffer == null ? this.data : access().getReader();
+    }
+
+    /**
+     * Gets the {@link BufferView} that this instance wraps, if any. The returned buffer is only valid until
+     * {@link #release()} is invoked.
+     *
+     * @return The {@link BufferView}, or null if this instance was created from an InputStream.
+     * @throws IllegalStateException If the {@link BufferView} has already been released.
+     */
+    public BufferView getBuffer() {
+        return this.buffer == null ? null : access();
+    }
+
+    /**
+     * Releases the {@link BufferView} that this instance wraps, if any. This has no effect if this instance was created
+     * from an InputStream or if it has already been released.
+     */
+    public void release() {
+        BufferView toRelease;
+        synchronized (this) {
+            toRelease = this.released ? null : this.buffer;
+            this.released = true;
+        }
+
+        if (toRelease != null) {
+            toRelease.release();
+        }
+    }
+
+    /**
+     * Releases the {@link BufferView} that this instance wraps, but only if its data has never been accessed (via
+     * {@link #getData()} or {@link #getBuffer()}). This is meant to be used by producers that need to dispose of contents
+     * that were handed out but never consumed.
+     *
+     * @return True if this instance has been released as a result of this call, false otherwise.
+     */
+    public boolean releaseIfUnused() {
+        BufferView toRelease;
+        synchronized (this) {
+            if (this.accessed || this.released) {
+                return false;
+            }
+
+            toRelease = this.buffer;
+            this.released = true;
+        }
+
+        if (toRelease != null) {
+            toRelease.release();
+        }
+        return true;
+    }
+
+    private synchronized BufferView access() {
+        Preconditions.checkState(!this.released, "ReadResultEntryContents has already been released.");
+        this.accessed = true;
+        return this.buffer;
     }
 
     @Override
@@ -169,6 +169,21 @@ public interface StreamSegmentStore {
      */
     CompletableFuture<MergeStreamSegmentResult> mergeStreamSegment(String targetSegmentName, String sourceSegmentName, Duration timeout);
 
+    /**
+     * Merges multiple StreamSegments into other StreamSegments. This is equivalent to invoking mergeStreamSegment() for
+     * each of them, except that StreamSegments which map to the same Segment Container are processed together and that
+     * source StreamSegments which have already been merged (and no longer exist) are not considered failures.
+     *
+     * @param sourceToTarget A Map of the names of the StreamSegments to merge to the names of the StreamSegments to
+     *                       merge them into.
+     * @param timeout        Timeout for the operation.
+     * @return A CompletableFuture that, when completed normally, will contain a Map of source StreamSegment names to
+     * MergeStreamSegmentResult instances, for those source StreamSegments that were merged as part of this call. If the
+     * operation failed for any of the StreamSegments, the future will be failed with the causing exception.
+     * @throws IllegalArgumentException If any of the arguments are invalid.
+     */
+    CompletableFuture<Map<String, MergeStreamSegmentResult>> mergeStreamSegments(Map<String, String> sourceToTarget, Duration timeout);
+
     /**
      * Seals a StreamSegment for modifications.
      *
@@ -180,6 +195,19 @@ public interface StreamSegmentStore {
      */
     CompletableFuture<Long> sealStreamSegment(String streamSegmentName, Duration timeout);
 
+    /**
+     * Seals multiple StreamSegments for modifications. This is equivalent to invoking sealStreamSegment() for each of
+     * them, except that StreamSegments which map to the same Segment Container are processed together and that
+     * StreamSegments which are already sealed are not considered failures.
+     *
+     * @param streamSegmentNames The names of the StreamSegments to seal.
+     * @param timeout            Timeout for the operation.
+     * @return A CompletableFuture that, when completed normally, will indicate that all the StreamSegments are sealed.
+     * If the operation failed for any of the StreamSegments, the future will be failed with the causing exception.
+     * @throws IllegalArgumentException If any of the arguments are invalid.
+     */
+    CompletableFuture<Void> sealStreamSegments(Collection<String> streamSegmentNames, Duration timeout);
+
     /**
      * Deletes a StreamSegment.
      *
@@ -17,12 +17,14 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslContext;
@@ -64,6 +66,19 @@ import static io.pravega.shared.protocol.netty.WireCommands.MAX_WIRECOMMAND_SIZE
 public final class PravegaConnectionListener implements AutoCloseable {
     //region Members
 
+    /**
+     * The maximum number of replies whose flushes may be consolidated into a single one.
+     */
+    @VisibleForTesting
+    static final int MAX_CONSOLIDATED_FLUSHES = 64;
+    /**
+     * Once this many bytes are waiting to be written to a connection, we stop reading from it (see
+     * {@link ServerConnectionInboundHandler#channelWritabilityChanged}), until there are fewer than
+     * {@link #WRITE_BUFFER_LOW_WATERMARK} bytes left.
+     */
+    private static final int WRITE_BUFFER_HIGH_WATERMARK = 4 * 1024 * 1024;
+    private static final int WRITE_BUFFER_LOW_WATERMARK = WRITE_BUFFER_HIGH_WATERMARK / 2;
+
     private final String host;
     private final int port;
     private final StreamSegmentStore store;
@@ -176,6 +191,7 @@ public final class PravegaConnectionListener implements AutoCloseable {
         b.group(bossGroup, workerGroup)
          .channel(nio ? NioServerSocketChannel.class : EpollServerSocketChannel.class)
          .option(ChannelOption.SO_BACKLOG, 100)
+         .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(WRITE_BUFFER_LOW_WATERMARK, WRITE_BUFFER_HIGH_WATERMARK))
          .handler(new LoggingHandler(LogLevel.INFO))
          .childHandler(new ChannelInitializer<SocketChannel>() {
              @Override
@@ -192,7 +208,10 @@ public final class PravegaConnectionListener implements AutoCloseable {
                  }
 
                  ServerConnectionInboundHandler lsh = new ServerConnectionInboundHandler();
-                 p.addLast(new ExceptionLoggingHandler(ch.remoteAddress().toString()),
+                 // Replies are sent from whichever thread completed the request, each with its own flush. Consolidate
+                 // those flushes, so that replies completed close together go out in the same write to the socket.
+                 p.addLast(new FlushConsolidationHandler(MAX_CONSOLIDATED_FLUSHES, true),
+                         new ExceptionLoggingHandler(ch.remoteAddress().toString()),
                          new CommandEncoder(null, NO_OP_METRIC_NOTIFIER),
                          new LengthFieldBasedFrameDecoder(MAX_WIRECOMMAND_SIZE, 4, 4),
                          new CommandDecoder(),
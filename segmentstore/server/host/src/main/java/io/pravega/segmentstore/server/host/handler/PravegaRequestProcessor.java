@@ -13,6 +13,9 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.pravega.auth.TokenException;
 import io.pravega.auth.TokenExpiredException;
 import io.pravega.common.Exceptions;
@@ -32,6 +35,7 @@ import io.pravega.segmentstore.contracts.MergeStreamSegmentResult;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
+import io.pravega.segmentstore.contracts.StreamSegmentException;
 import io.pravega.segmentstore.contracts.StreamSegmentExistsException;
 import io.pravega.segmentstore.contracts.StreamSegmentMergedException;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
@@ -83,13 +87,13 @@ import io.pravega.shared.protocol.netty.WireCommands.UpdateSegmentAttribute;
 import io.pravega.shared.protocol.netty.WireCommands.UpdateSegmentPolicy;
 import io.pravega.shared.protocol.netty.WireCommands.WrongHost;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -130,7 +134,6 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     static final Duration TIMEOUT = Duration.ofMinutes(1);
     private static final TagLogger log = new TagLogger(LoggerFactory.getLogger(PravegaRequestProcessor.class));
     private static final int MAX_READ_SIZE = 2 * 1024 * 1024;
-    private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.wrap(new byte[0]);
     private static final String EMPTY_STACK_TRACE = "";
     private final StreamSegmentStore segmentStore;
     private final TableStore tableStore;
@@ -235,10 +238,11 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
 
         if (!cachedEntries.isEmpty() || endOfSegment) {
             // We managed to collect some data. Send it.
-            ByteBuffer data = copyData(cachedEntries);
+            ByteBuf data = toByteBuf(cachedEntries);
+            int dataLength = data.readableBytes();
             SegmentRead reply = new SegmentRead(segment, request.getOffset(), atTail, endOfSegment, data, request.getRequestId());
             connection.send(reply);
-            this.statsRecorder.read(segment, reply.getData().array().length);
+            this.statsRecorder.read(segment, dataLength);
         } else if (truncated) {
             // We didn't collect any data, instead we determined that the current read offset was truncated.
             // Determine the current Start Offset and send that back.
@@ -253,12 +257,13 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
             nonCachedEntry.requestContent(TIMEOUT);
             nonCachedEntry.getContent()
                     .thenAccept(contents -> {
-                        ByteBuffer data = copyData(Collections.singletonList(contents));
+                        ByteBuf data = toByteBuf(Collections.singletonList(contents));
+                        int dataLength = data.readableBytes();
                         SegmentRead reply = new SegmentRead(segment, nonCachedEntry.getStreamSegmentOffset(),
                                                             false, endOfSegment,
                                                             data, request.getRequestId());
                         connection.send(reply);
-                        this.statsRecorder.read(segment, reply.getData().array().length);
+                        this.statsRecorder.read(segment, dataLength);
                     })
                     .exceptionally(e -> {
                         if (Exceptions.unwrap(e) instanceof StreamSegmentTruncatedException) {
@@ -295,41 +300,77 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
 
     /**
      * Reads all of the cachedEntries from the ReadResult and puts their content into the cachedEntries list.
-     * Upon encountering a non-cached entry, it stops iterating and returns it.
+     * Upon encountering a non-cached entry, it stops iterating and returns it. If this fails, all the contents collected
+     * so far are released and the ReadResult is closed (which releases the last entry's contents, if not collected).
      */
     private ReadResultEntry collectCachedEntries(long initialOffset, ReadResult readResult,
                                                  ArrayList<ReadResultEntryContents> cachedEntries) {
         long expectedOffset = initialOffset;
-        while (readResult.hasNext()) {
-            ReadResultEntry entry = readResult.next();
-            if (entry.getType() == Cache) {
-                Preconditions.checkState(entry.getStreamSegmentOffset() == expectedOffset,
-                        "Data returned from read was not contiguous.");
-                ReadResultEntryContents content = entry.getContent().getNow(null);
-                expectedOffset += content.getLength();
-                cachedEntries.add(content);
-            } else {
-                return entry;
+        try {
+            while (readResult.hasNext()) {
+                ReadResultEntry entry = readResult.next();
+                if (entry.getType() == Cache) {
+                    Preconditions.checkState(entry.getStreamSegmentOffset() == expectedOffset,
+                            "Data returned from read was not contiguous.");
+                    ReadResultEntryContents content = entry.getContent().getNow(null);
+                    expectedOffset += content.getLength();
+                    cachedEntries.add(content);
+                } else {
+                    return entry;
+                }
             }
+        } catch (Throwable ex) {
+            cachedEntries.forEach(ReadResultEntryContents::release);
+            cachedEntries.clear();
+            readResult.close();
+            throw ex;
         }
         return null;
     }
 
     /**
-     * Copy all of the contents provided into a byteBuffer and return it.
+     * Wraps all of the contents provided into a single {@link ByteBuf}, without copying any of the data (except for
+     * InputStream-backed contents, which need to be read in). The contents are released when the returned buffer is
+     * released, which happens after it has been written out to the connection.
      */
     @SneakyThrows(IOException.class)
-    private ByteBuffer copyData(List<ReadResultEntryContents> contents) {
-        int totalSize = contents.stream().mapToInt(ReadResultEntryContents::getLength).sum();
+    private ByteBuf toByteBuf(List<ReadResultEntryContents> contents) {
+        ArrayList<ByteBuf> components = new ArrayList<>();
+        try {
+            for (ReadResultEntryContents content : contents) {
+                if (content.getBuffer() != null) {
+                    content.getBuffer().getContents().forEach(bb -> components.add(Unpooled.wrappedBuffer(bb)));
+                } else {
+                    byte[] data = StreamHelpers.readAll(content.getData(), content.getLength());
+                    Preconditions.checkState(data.length == content.getLength(), "Read fewer bytes than available.");
+                    components.add(Unpooled.wrappedBuffer(data));
+                }
+            }
+        } catch (Throwable ex) {
+            contents.forEach(ReadResultEntryContents::release);
+            throw ex;
+        }
+
+        return new ReadResultByteBuf(contents, components);
+    }
+
+    /**
+     * A {@link CompositeByteBuf} over the data of a set of {@link ReadResultEntryContents}, which releases them once its
+     * own reference count reaches zero.
+     */
+    private static class ReadResultByteBuf extends CompositeByteBuf {
+        private final List<ReadResultEntryContents> contents;
+
+        ReadResultByteBuf(List<ReadResultEntryContents> contents, List<ByteBuf> components) {
+            super(UnpooledByteBufAllocator.DEFAULT, true, Math.max(1, components.size()), components);
+            this.contents = contents;
+        }
 
-        ByteBuffer data = ByteBuffer.allocate(totalSize);
-        int bytesCopied = 0;
-        for (ReadResultEntryContents content : contents) {
-            int copied = StreamHelpers.readAll(content.getData(), data.array(), bytesCopied, totalSize - bytesCopied);
-            Preconditions.checkState(copied == content.getLength(), "Read fewer bytes than available.");
-            bytesCopied += copied;
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            this.contents.forEach(ReadResultEntryContents::release);
         }
-        return data;
     }
 
     @Override
@@ -484,6 +525,36 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
                     });
     }
 
+    @Override
+    public void mergeSegmentsBatch(WireCommands.MergeSegmentsBatch mergeSegmentsBatch) {
+        final String operation = "mergeSegmentsBatch";
+        final long requestId = mergeSegmentsBatch.getRequestId();
+        final List<String> targets = mergeSegmentsBatch.getTargets();
+        final List<String> sources = mergeSegmentsBatch.getSources();
+        if (targets.size() != sources.size()) {
+            handleException(requestId, "", operation, new IllegalArgumentException(String.format(
+                    "Mismatched number of targets (%d) and sources (%d).", targets.size(), sources.size())));
+            return;
+        }
+
+        Map<String, String> sourceToTarget = new HashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            if (!verifyToken(sources.get(i), requestId, mergeSegmentsBatch.getDelegationToken(), operation)) {
+                return;
+            }
+
+            sourceToTarget.put(sources.get(i), targets.get(i));
+        }
+
+        log.info(requestId, "Merging {} Segments {}.", sourceToTarget.size(), mergeSegmentsBatch);
+        segmentStore.mergeStreamSegments(sourceToTarget, TIMEOUT)
+                    .thenAccept(mergeResults -> {
+                        mergeResults.forEach((source, mergeResult) -> recordStatForTransaction(mergeResult, sourceToTarget.get(source)));
+                        connection.send(new WireCommands.SegmentsBatchMerged(requestId, targets, sources));
+                    })
+                    .exceptionally(e -> handleException(requestId, getFailedSegment(e, sources), operation, e));
+    }
+
     @Override
     public void sealSegment(SealSegment sealSegment) {
         String segment = sealSegment.getSegment();
@@ -505,6 +576,29 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
                 });
     }
 
+    @Override
+    public void sealSegmentsBatch(WireCommands.SealSegmentsBatch sealSegmentsBatch) {
+        final String operation = "sealSegmentsBatch";
+        final long requestId = sealSegmentsBatch.getRequestId();
+        final List<String> segments = sealSegmentsBatch.getSegments();
+        for (String segment : segments) {
+            if (!verifyToken(segment, requestId, sealSegmentsBatch.getDelegationToken(), operation)) {
+                return;
+            }
+        }
+
+        log.info(requestId, "Sealing {} segments {}.", segments.size(), sealSegmentsBatch);
+        segmentStore.sealStreamSegments(segments, TIMEOUT)
+                .thenAccept(v -> connection.send(new WireCommands.SegmentsBatchSealed(requestId, segments)))
+                .whenComplete((r, e) -> {
+                    if (e != null) {
+                        handleException(requestId, getFailedSegment(e, segments), operation, e);
+                    } else {
+                        segments.forEach(statsRecorder::sealSegment);
+                    }
+                });
+    }
+
     @Override
     public void truncateSegment(TruncateSegment truncateSegment) {
         String segment = truncateSegment.getSegment();
@@ -905,6 +999,18 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
 
     //endregion
 
+    /**
+     * Gets the name of the Segment that caused a batch operation to fail, so that it may be included in the reply.
+     */
+    private String getFailedSegment(Throwable u, List<String> segments) {
+        u = Exceptions.unwrap(u);
+        if (u instanceof StreamSegmentException) {
+            return ((StreamSegmentException) u).getStreamSegmentName();
+        }
+
+        return segments.isEmpty() ? "" : segments.get(0);
+    }
+
     private Void handleException(long requestId, String segment, String operation, Throwable u) {
         // use offset as -1L to handle exceptions when offset data is not available.
         return handleException(requestId, segment, -1L, operation, u);
@@ -945,7 +1051,7 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
         } else if (u instanceof ReadCancellationException) {
             log.info(requestId, "Closing connection {} while reading segment {} due to CancellationException.",
                      connection, segment);
-            invokeSafely(connection::send, new SegmentRead(segment, offset, true, false, EMPTY_BYTE_BUFFER, requestId), failureHandler);
+            invokeSafely(connection::send, new SegmentRead(segment, offset, true, false, EMPTY_BUFFER, requestId), failureHandler);
         } else if (u instanceof CancellationException) {
             log.info(requestId, "Closing connection {} while performing {} due to {}.",
                     connection, operation, u.toString());
@@ -20,6 +20,9 @@ public interface ServerConnection extends AutoCloseable {
     /**
      * Sends the provided command asynchronously. This operation is non-blocking.
      *
+     * If the command is {@link io.netty.util.ReferenceCounted} (such as a SegmentRead), this takes over the caller's
+     * reference to it: it will be released once it has been written out, or if it could not be sent at all.
+     *
      * @param cmd The command to send.
      */
     void send(WireCommand cmd);
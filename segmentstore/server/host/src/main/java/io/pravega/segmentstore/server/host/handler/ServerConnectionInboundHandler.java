@@ -15,21 +15,28 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.EventLoop;
+import io.netty.util.ReferenceCountUtil;
 import io.pravega.common.Exceptions;
 import io.pravega.segmentstore.server.IllegalContainerStateException;
 import io.pravega.shared.protocol.netty.Request;
 import io.pravega.shared.protocol.netty.RequestProcessor;
 import io.pravega.shared.protocol.netty.WireCommand;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.concurrent.GuardedBy;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Acts as a bridge between Netty and the RequestProcessor on the server.
+ *
+ * Reading from the connection is paused whenever the RequestProcessor asks for it ({@link #pauseReading()}) or when the
+ * channel is not writable (the client is not keeping up with the replies), and is only resumed once neither is the case.
  */
 @Slf4j
 public class ServerConnectionInboundHandler extends ChannelInboundHandlerAdapter implements ServerConnection {
     private final AtomicReference<RequestProcessor> processor = new AtomicReference<>();
     private final AtomicReference<Channel> channel = new AtomicReference<>();
+    @GuardedBy("this")
+    private boolean readingPaused = false;
 
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
@@ -53,6 +60,12 @@ public class ServerConnectionInboundHandler extends ChannelInboundHandlerAdapter
         cmd.process(requestProcessor);
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        updateAutoRead(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         // Close the connection when an exception is raised.
@@ -62,13 +75,20 @@ public class ServerConnectionInboundHandler extends ChannelInboundHandlerAdapter
 
     @Override
     public void send(WireCommand cmd) {
-        Channel c = getChannel();
-        // Work around for https://github.com/netty/netty/issues/3246
-        EventLoop eventLoop = c.eventLoop();
-        if (eventLoop.inEventLoop()) {
-            eventLoop.execute(() -> writeAndFlush(c, cmd));
-        } else {
-            writeAndFlush(c, cmd);
+        try {
+            Channel c = getChannel();
+            // Work around for https://github.com/netty/netty/issues/3246
+            EventLoop eventLoop = c.eventLoop();
+            if (eventLoop.inEventLoop()) {
+                eventLoop.execute(() -> writeAndFlush(c, cmd));
+            } else {
+                writeAndFlush(c, cmd);
+            }
+        } catch (Throwable ex) {
+            // Netty did not get to take ownership of the command (i.e., the event loop is shutting down). Release it
+            // ourselves if it holds on to any resources (such as a SegmentRead).
+            ReferenceCountUtil.release(cmd);
+            throw ex;
         }
     }
 
@@ -93,13 +113,29 @@ public class ServerConnectionInboundHandler extends ChannelInboundHandlerAdapter
     @Override
     public void pauseReading() {
         log.debug("Pausing reading from connection {}", this);
-        getChannel().config().setAutoRead(false);
+        synchronized (this) {
+            readingPaused = true;
+        }
+        updateAutoRead(getChannel());
     }
 
     @Override
     public void resumeReading() {
         log.trace("Resuming reading from connection {}", this);
-        getChannel().config().setAutoRead(true);
+        synchronized (this) {
+            readingPaused = false;
+        }
+        updateAutoRead(getChannel());
+    }
+
+    private synchronized void updateAutoRead(Channel ch) {
+        boolean autoRead = !readingPaused && ch.isWritable();
+        if (ch.config().isAutoRead() != autoRead) {
+            if (!autoRead && !readingPaused) {
+                log.debug("Pausing reading from connection {} until it becomes writable.", this);
+            }
+            ch.config().setAutoRead(autoRead);
+        }
     }
 
     private Channel getChannel() {
@@ -18,13 +18,16 @@ import com.emc.object.s3.bean.CopyPartResult;
 import com.emc.object.s3.bean.DeleteObjectsResult;
 import com.emc.object.s3.bean.GetObjectResult;
 import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.PutObjectResult;
 import com.emc.object.s3.jersey.S3JerseyClient;
+import com.emc.object.s3.request.AbortMultipartUploadRequest;
 import com.emc.object.s3.request.CompleteMultipartUploadRequest;
 import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import io.pravega.storage.extendeds3.S3ImplBase;
 import java.io.InputStream;
 import lombok.Synchronized;
@@ -107,12 +110,22 @@ class S3ClientWrapper extends S3JerseyClient {
        return s3Impl.copyPart(request);
     }
 
+    @Override
+    public MultipartPartETag uploadPart(UploadPartRequest request) {
+        return s3Impl.uploadPart(request);
+    }
+
     @Synchronized
     @Override
     public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
         return s3Impl.completeMultipartUpload(request);
     }
 
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+        s3Impl.abortMultipartUpload(request);
+    }
+
     @Override
     public GetObjectResult<InputStream> getObject(String bucketName, String key) {
         return s3Impl.getObject(bucketName, key);
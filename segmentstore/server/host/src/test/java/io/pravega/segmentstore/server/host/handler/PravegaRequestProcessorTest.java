@@ -12,7 +12,9 @@ package io.pravega.segmentstore.server.host.handler;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.common.util.HashedArray;
 import io.pravega.segmentstore.contracts.Attributes;
 import io.pravega.segmentstore.contracts.MergeStreamSegmentResult;
@@ -37,6 +39,9 @@ import io.pravega.segmentstore.server.store.ServiceBuilder;
 import io.pravega.segmentstore.server.store.ServiceBuilderConfig;
 import io.pravega.segmentstore.server.store.ServiceConfig;
 import io.pravega.segmentstore.server.store.StreamSegmentService;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheConfig;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheFactory;
 import io.pravega.shared.metrics.MetricsConfig;
 import io.pravega.shared.metrics.MetricsProvider;
 import io.pravega.shared.protocol.netty.ByteBufWrapper;
@@ -47,10 +52,10 @@ import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.InlineExecutor;
 import io.pravega.test.common.TestUtils;
 import java.io.ByteArrayInputStream;
-import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,9 +64,12 @@ import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import lombok.Cleanup;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.junit.Test;
@@ -155,6 +163,17 @@ public class PravegaRequestProcessorTest {
         }
     }
 
+    @RequiredArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    private static class TestCacheKey extends Cache.Key {
+        private final int id;
+
+        @Override
+        public byte[] serialize() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     @Test(timeout = 20000)
     public void testReadSegment() {
         // Set up PravegaRequestProcessor instance to execute read segment request against
@@ -180,7 +199,7 @@ public class PravegaRequestProcessorTest {
         // Execute and Verify readSegment calling stack in connection and store is executed as design.
         processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, "", requestId));
         verify(store).read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT);
-        verify(connection).send(new WireCommands.SegmentRead(streamSegmentName, 0, true, false, ByteBuffer.wrap(data), requestId));
+        verify(connection).send(new WireCommands.SegmentRead(streamSegmentName, 0, true, false, Unpooled.wrappedBuffer(data), requestId));
         verifyNoMoreInteractions(connection);
         verifyNoMoreInteractions(store);
         entry2.complete(new ReadResultEntryContents(new ByteArrayInputStream(data), data.length));
@@ -188,6 +207,99 @@ public class PravegaRequestProcessorTest {
         verifyNoMoreInteractions(store);
     }
 
+    /**
+     * Verifies that cached contents are sent without being copied, and that they are only released once the reply
+     * itself is released (which happens after it has been written to the wire).
+     */
+    @Test(timeout = 20000)
+    public void testReadSegmentReleasesContents() {
+        String streamSegmentName = "scope/stream/testReadSegment";
+        byte[] data = new byte[]{1, 2, 3, 4, 6, 7, 8, 9};
+        int readLength = 1000;
+
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        ServerConnection connection = mock(ServerConnection.class);
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store, mock(TableStore.class), connection);
+
+        AtomicInteger releaseCount = new AtomicInteger();
+        TestReadResultEntry entry1 = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        entry1.complete(new ReadResultEntryContents(new ByteArraySegment(data, 0, data.length / 2) {
+            @Override
+            public void release() {
+                releaseCount.incrementAndGet();
+            }
+        }));
+        TestReadResultEntry entry2 = new TestReadResultEntry(ReadResultEntryType.Cache, data.length / 2, readLength);
+        entry2.complete(new ReadResultEntryContents(new ByteArraySegment(data, data.length / 2, data.length - data.length / 2) {
+            @Override
+            public void release() {
+                releaseCount.incrementAndGet();
+            }
+        }));
+        TestReadResultEntry entry3 = new TestReadResultEntry(ReadResultEntryType.Future, data.length, readLength);
+
+        CompletableFuture<ReadResult> readResult = new CompletableFuture<>();
+        readResult.complete(new TestReadResult(0, readLength, new ArrayList<>(asList(entry1, entry2, entry3))));
+        when(store.read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT)).thenReturn(readResult);
+
+        processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, "", requestId));
+        ArgumentCaptor<WireCommands.SegmentRead> replyCaptor = ArgumentCaptor.forClass(WireCommands.SegmentRead.class);
+        verify(connection).send(replyCaptor.capture());
+        WireCommands.SegmentRead reply = replyCaptor.getValue();
+        assertEquals(new WireCommands.SegmentRead(streamSegmentName, 0, true, false, wrappedBuffer(data), requestId), reply);
+        assertEquals("Contents released before the reply was.", 0, releaseCount.get());
+
+        reply.release();
+        assertEquals("Contents not released after the reply was.", 2, releaseCount.get());
+    }
+
+    /**
+     * Verifies that the Cache memory backing a SegmentRead reply is freed even if the reply is never written out because
+     * the channel has been closed.
+     */
+    @Test(timeout = 20000)
+    public void testReadSegmentReleasedOnClosedChannel() {
+        String streamSegmentName = "scope/stream/testReadSegment";
+        byte[] data = new byte[10000];
+        new Random(0).nextBytes(data);
+        int readLength = data.length;
+
+        @Cleanup
+        val cacheFactory = new DirectMemoryCacheFactory(DirectMemoryCacheConfig.builder()
+                .with(DirectMemoryCacheConfig.BLOCK_SIZE_BYTES, 1024)
+                .with(DirectMemoryCacheConfig.SLAB_SIZE_BYTES, 64 * 1024)
+                .with(DirectMemoryCacheConfig.MAX_SIZE_BYTES, 64 * 1024L)
+                .build());
+        @Cleanup
+        val cache = cacheFactory.getCache("test");
+        val cacheKey = new TestCacheKey(0);
+        cache.insert(cacheKey, data);
+
+        // The entry is served directly out of the Cache, as the ReadIndex would. Remove it from the Cache (as if evicted)
+        // so that the only thing holding on to its memory is the read.
+        TestReadResultEntry entry = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        entry.complete(new ReadResultEntryContents(cache.getView(cacheKey)));
+        cache.remove(cacheKey);
+        assertTrue("Expected the view to hold on to the Cache memory.", cacheFactory.getUsedBytes() > 0);
+
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        CompletableFuture<ReadResult> readResult = new CompletableFuture<>();
+        readResult.complete(new TestReadResult(0, readLength, new ArrayList<>(singletonList(entry))));
+        when(store.read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT)).thenReturn(readResult);
+
+        // Close the channel before the reply is sent: Netty will fail the write before it reaches any encoder.
+        ServerConnectionInboundHandler connection = new ServerConnectionInboundHandler();
+        @Cleanup("finishAndReleaseAll")
+        EmbeddedChannel channel = new EmbeddedChannel(connection);
+        channel.close();
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store, mock(TableStore.class), connection);
+        processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, "", requestId));
+        channel.runPendingTasks();
+
+        assertEquals("Nothing expected to be written to a closed channel.", 0, channel.outboundMessages().size());
+        assertEquals("Cache memory not freed after the reply could not be written.", 0, cacheFactory.getUsedBytes());
+    }
+
     @Test(timeout = 20000)
     public void testReadSegmentEmptySealed() {
         // Set up PravegaRequestProcessor instance to execute read segment request against
@@ -209,7 +321,7 @@ public class PravegaRequestProcessorTest {
         // Execute and Verify readSegment calling stack in connection and store is executed as design.
         processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, "", requestId));
         verify(store).read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT);
-        verify(connection).send(new WireCommands.SegmentRead(streamSegmentName, 0, false, true, ByteBuffer.wrap(new byte[0]), requestId));
+        verify(connection).send(new WireCommands.SegmentRead(streamSegmentName, 0, false, true, Unpooled.EMPTY_BUFFER, requestId));
         verifyNoMoreInteractions(connection);
         verifyNoMoreInteractions(store);
     }
@@ -233,7 +345,7 @@ public class PravegaRequestProcessorTest {
         processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, "", requestId));
         verify(store).read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT);
         // Since the underlying store cancels the read request verify if an empty SegmentRead Wirecommand is sent as a response.
-        verify(connection).send(new WireCommands.SegmentRead(streamSegmentName, 0, true, false, ByteBuffer.wrap(new byte[0]), requestId));
+        verify(connection).send(new WireCommands.SegmentRead(streamSegmentName, 0, true, false, Unpooled.EMPTY_BUFFER, requestId));
         verifyNoMoreInteractions(connection);
         verifyNoMoreInteractions(store);
     }
@@ -371,6 +483,55 @@ public class PravegaRequestProcessorTest {
         order.verifyNoMoreInteractions();
     }
 
+    @Test(timeout = 20000)
+    public void testBatchMergeAndSeal() throws Exception {
+        String segment1 = "scope/stream/testBatch1";
+        String segment2 = "scope/stream/testBatch2";
+        UUID txnid = UUID.randomUUID();
+        String transaction1 = StreamSegmentNameUtils.getTransactionNameFromId(segment1, txnid);
+        String transaction2 = StreamSegmentNameUtils.getTransactionNameFromId(segment2, txnid);
+        @Cleanup
+        ServiceBuilder serviceBuilder = newInlineExecutionInMemoryBuilder(getBuilderConfig());
+        serviceBuilder.initialize();
+        StreamSegmentStore store = serviceBuilder.createStreamSegmentService();
+        ServerConnection connection = mock(ServerConnection.class);
+        InOrder order = inOrder(connection);
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store,  mock(TableStore.class), connection);
+
+        for (String segment : Arrays.asList(segment1, segment2, transaction1, transaction2)) {
+            processor.createSegment(new WireCommands.CreateSegment(requestId, segment, WireCommands.CreateSegment.NO_SCALE, 0, ""));
+            order.verify(connection).send(new WireCommands.SegmentCreated(requestId, segment));
+        }
+
+        assertTrue(append(transaction1, 1, store));
+        assertTrue(append(transaction2, 1, store));
+        assertTrue(append(transaction2, 2, store));
+
+        // Merge both transactions. Merging them again should have no effect, but it should not fail either.
+        List<String> targets = Arrays.asList(segment1, segment2);
+        List<String> sources = Arrays.asList(transaction1, transaction2);
+        processor.mergeSegmentsBatch(new WireCommands.MergeSegmentsBatch(requestId, targets, sources, ""));
+        order.verify(connection).send(new WireCommands.SegmentsBatchMerged(requestId, targets, sources));
+        processor.mergeSegmentsBatch(new WireCommands.MergeSegmentsBatch(requestId, targets, sources, ""));
+        order.verify(connection).send(new WireCommands.SegmentsBatchMerged(requestId, targets, sources));
+        assertEquals(1, store.getStreamSegmentInfo(segment1, PravegaRequestProcessor.TIMEOUT).join().getLength());
+        assertEquals(2, store.getStreamSegmentInfo(segment2, PravegaRequestProcessor.TIMEOUT).join().getLength());
+
+        // Seal both segments. Sealing them again should not fail.
+        processor.sealSegmentsBatch(new WireCommands.SealSegmentsBatch(requestId, targets, ""));
+        order.verify(connection).send(new WireCommands.SegmentsBatchSealed(requestId, targets));
+        processor.sealSegmentsBatch(new WireCommands.SealSegmentsBatch(requestId, targets, ""));
+        order.verify(connection).send(new WireCommands.SegmentsBatchSealed(requestId, targets));
+        assertFalse(append(segment1, 3, store));
+        assertFalse(append(segment2, 3, store));
+
+        // A batch containing a missing segment should fail with that segment.
+        String missingSegment = "scope/stream/testBatchMissing";
+        processor.sealSegmentsBatch(new WireCommands.SealSegmentsBatch(requestId, Arrays.asList(segment1, missingSegment), ""));
+        order.verify(connection).send(new WireCommands.NoSuchSegment(requestId, missingSegment, "", -1L));
+        order.verifyNoMoreInteractions();
+    }
+
     @Test(timeout = 20000)
     public void testMergedTransaction() throws Exception {
         String streamSegmentName = "scope/stream/testMergedTxn";
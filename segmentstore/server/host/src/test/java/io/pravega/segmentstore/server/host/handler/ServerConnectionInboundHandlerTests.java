@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.host.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.pravega.shared.protocol.netty.WireCommands;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Cleanup;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link ServerConnectionInboundHandler} class.
+ */
+public class ServerConnectionInboundHandlerTests {
+
+    /**
+     * Verifies that replies sent close together are flushed together, when using the same pipeline configuration as
+     * {@link PravegaConnectionListener}.
+     */
+    @Test
+    public void testFlushConsolidation() {
+        FlushCounter flushCounter = new FlushCounter();
+        ServerConnectionInboundHandler handler = new ServerConnectionInboundHandler();
+        @Cleanup("finishAndReleaseAll")
+        EmbeddedChannel channel = new EmbeddedChannel(flushCounter,
+                new FlushConsolidationHandler(PravegaConnectionListener.MAX_CONSOLIDATED_FLUSHES, true), handler);
+
+        int replyCount = PravegaConnectionListener.MAX_CONSOLIDATED_FLUSHES / 2;
+        for (int i = 0; i < replyCount; i++) {
+            handler.send(new WireCommands.KeepAlive());
+        }
+
+        channel.runPendingTasks();
+        Assert.assertEquals("Unexpected number of replies sent.", replyCount, channel.outboundMessages().size());
+        Assert.assertEquals("Expected all replies to be flushed at once.", 1, flushCounter.flushes.get());
+    }
+
+    /**
+     * Verifies that reading is paused while the channel is not writable, or while the RequestProcessor wants it paused,
+     * and only resumed when neither is the case.
+     */
+    @Test
+    public void testPauseReadingWhenNotWritable() {
+        ServerConnectionInboundHandler handler = new ServerConnectionInboundHandler();
+        @Cleanup("finishAndReleaseAll")
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(10, 20));
+        Assert.assertTrue(channel.config().isAutoRead());
+
+        handler.pauseReading();
+        Assert.assertFalse("Expected reading to be paused.", channel.config().isAutoRead());
+        handler.resumeReading();
+        Assert.assertTrue("Expected reading to be resumed.", channel.config().isAutoRead());
+
+        // Not writable: pause until it becomes writable again, regardless of resumeReading().
+        channel.write(Unpooled.wrappedBuffer(new byte[100]));
+        Assert.assertFalse(channel.isWritable());
+        Assert.assertFalse("Expected reading to be paused while not writable.", channel.config().isAutoRead());
+        handler.resumeReading();
+        Assert.assertFalse("Not expecting reading to be resumed while not writable.", channel.config().isAutoRead());
+        channel.flush();
+        Assert.assertTrue(channel.isWritable());
+        Assert.assertTrue("Expected reading to be resumed once writable.", channel.config().isAutoRead());
+
+        // Becoming writable should not resume reading if it was paused by the RequestProcessor.
+        handler.pauseReading();
+        channel.write(Unpooled.wrappedBuffer(new byte[100]));
+        channel.flush();
+        Assert.assertFalse("Not expecting reading to be resumed while paused.", channel.config().isAutoRead());
+        handler.resumeReading();
+        Assert.assertTrue("Expected reading to be resumed.", channel.config().isAutoRead());
+    }
+
+    private static class FlushCounter extends ChannelOutboundHandlerAdapter {
+        private final AtomicInteger flushes = new AtomicInteger();
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            this.flushes.incrementAndGet();
+            super.flush(ctx);
+        }
+    }
+}
@@ -244,6 +244,11 @@ public class AutoScaleProcessorTest extends ThreadPooledTestSuite {
 
             }
 
+            @Override
+            public CompletableFuture<Void> flush(String routingKey) {
+                return CompletableFuture.completedFuture(null);
+            }
+
             @Override
             public void close() {
 
@@ -18,16 +18,22 @@ import io.pravega.common.concurrent.Services;
 import io.pravega.segmentstore.storage.ThrottleSourceListener;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
+import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -41,6 +47,10 @@ import lombok.extern.slf4j.Slf4j;
  * (in the clients) that is generated or updated gets assigned the current generation. As the CacheManager determines that
  * there are too many Cache Entries or that the maximum size has been exceeded, it will increment the oldest generation.
  * The CacheManager Clients can use this information to evict those Cache Entries that have a generation below the oldest generation number.
+ *
+ * If the {@link CachePolicy} defines quotas (per Segment Container or per {@link ClientType}), the Clients that are grouped
+ * under a quota that is exceeded will be trimmed first (by being given a higher oldest generation than everyone else),
+ * before the oldest generation is adjusted for all the Clients.
  */
 @Slf4j
 @ThreadSafe
@@ -49,7 +59,7 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
 
     private static final String TRACE_OBJECT_ID = "CacheManager";
     @GuardedBy("clients")
-    private final Collection<Client> clients;
+    private final Map<Client, Registration> clients;
     private final ScheduledExecutorService executorService;
     private final AtomicInteger currentGeneration;
     private final AtomicInteger oldestGeneration;
@@ -59,6 +69,8 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
     private final SegmentStoreMetrics.CacheManager metrics;
     @GuardedBy("cleanupListeners")
     private final HashSet<ThrottleSourceListener> cleanupListeners;
+    @GuardedBy("reportedClientSizes")
+    private final HashSet<Registration> reportedClientSizes;
 
     //endregion
 
@@ -75,7 +87,7 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         Preconditions.checkNotNull(executorService, "executorService");
 
         this.policy = policy;
-        this.clients = new HashSet<>();
+        this.clients = new HashMap<>();
         this.oldestGeneration = new AtomicInteger();
         this.currentGeneration = new AtomicInteger();
         this.cacheSize = new AtomicLong();
@@ -83,6 +95,7 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         this.closed = new AtomicBoolean();
         this.metrics = new SegmentStoreMetrics.CacheManager();
         this.cleanupListeners = new HashSet<>();
+        this.reportedClientSizes = new HashSet<>();
     }
 
     //endregion
@@ -100,6 +113,11 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
                 this.clients.clear();
             }
 
+            synchronized (this.reportedClientSizes) {
+                this.reportedClientSizes.forEach(r -> this.metrics.closeClientSize(r.getContainerId(), r.getClientType().name()));
+                this.reportedClientSizes.clear();
+            }
+
             this.metrics.close();
             log.info("{} Closed.", TRACE_OBJECT_ID);
         }
@@ -179,21 +197,38 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
     //region Client Registration
 
     /**
-     * Registers the given client to this CacheManager.
+     * Registers the given client to this CacheManager. This client will not be subject to any quotas.
      *
      * @param client The client to register.
      */
     public void register(Client client) {
+        register(client, Registration.NO_QUOTA);
+    }
+
+    /**
+     * Registers the given client to this CacheManager. This client will be subject to the quotas defined in the
+     * {@link CachePolicy} for the given {@link ClientType} and Segment Container.
+     *
+     * @param client      The client to register.
+     * @param clientType  The type of the client.
+     * @param containerId The Id of the Segment Container that the client belongs to.
+     */
+    public void register(Client client, @NonNull ClientType clientType, int containerId) {
+        Preconditions.checkArgument(containerId >= 0, "containerId must be a non-negative number.");
+        register(client, new Registration(clientType, containerId));
+    }
+
+    private void register(Client client, Registration registration) {
         Exceptions.checkNotClosed(this.closed.get(), this);
         Preconditions.checkNotNull(client, "client");
         synchronized (this.clients) {
-            if (!this.clients.contains(client)) {
-                this.clients.add(client);
+            if (!this.clients.containsKey(client)) {
+                this.clients.put(client, registration);
                 client.updateGenerations(this.currentGeneration.get(), this.oldestGeneration.get());
             }
         }
 
-        log.info("{} Registered {}.", TRACE_OBJECT_ID, client);
+        log.info("{} Registered {} ({}).", TRACE_OBJECT_ID, client, registration);
     }
 
     /**
@@ -221,7 +256,16 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
 
     protected boolean applyCachePolicy() {
         // Run through all the active clients and gather status.
-        CacheStatus currentStatus = collectStatus();
+        Map<Client, CacheStatus> clientStatuses = new HashMap<>();
+        boolean reduced = applyCachePolicy(clientStatuses);
+
+        // Report the client sizes on every iteration, whether or not anything changed, so they do not go stale.
+        reportClientSizes(clientStatuses);
+        return reduced;
+    }
+
+    private boolean applyCachePolicy(Map<Client, CacheStatus> clientStatuses) {
+        CacheStatus currentStatus = collectStatus(clientStatuses);
         if (currentStatus == null || currentStatus.getSize() == 0) {
             // This indicates we have no clients or those clients have no data.
             this.cacheSize.set(0);
@@ -231,33 +275,42 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         // Increment current generation (if needed).
         boolean currentChanged = adjustCurrentGeneration(currentStatus);
 
+        // Trim those clients that exceed their quotas (if any). This must be done before we figure out whether we need
+        // to adjust the oldest generation for everyone, as it may bring us back within the policy limits.
+        long quotaReduction = applyQuotas(clientStatuses);
+        boolean reducedOverall = quotaReduction > 0;
+        if (reducedOverall) {
+            currentStatus = currentStatus.withUpdatedSize(-quotaReduction);
+            logCurrentStatus(currentStatus);
+        }
+
         // Increment oldest generation (if needed and if possible).
         boolean oldestChanged = adjustOldestGeneration(currentStatus);
 
-        if (!currentChanged && !oldestChanged) {
+        if (currentChanged || oldestChanged) {
+            // Notify clients that something changed (if any of the above got changed). Run in a loop, until either we
+            // can't adjust the oldest anymore or we are unable to trigger any changes to the clients.
+            long sizeReduction;
+            do {
+                sizeReduction = updateClients(clientStatuses);
+                if (sizeReduction > 0) {
+                    currentStatus = currentStatus.withUpdatedSize(-sizeReduction);
+                    logCurrentStatus(currentStatus);
+                    oldestChanged = adjustOldestGeneration(currentStatus);
+                    reducedOverall = true;
+                }
+            } while (sizeReduction > 0 && oldestChanged);
+        } else if (!reducedOverall) {
             // Nothing changed, nothing to do.
             return false;
         }
 
-        // Notify clients that something changed (if any of the above got changed). Run in a loop, until either we can't
-        // adjust the oldest anymore or we are unable to trigger any changes to the clients.
-        long sizeReduction;
-        boolean reducedOverall = false;
-        do {
-            sizeReduction = updateClients();
-            if (sizeReduction > 0) {
-                currentStatus = currentStatus.withUpdatedSize(-sizeReduction);
-                logCurrentStatus(currentStatus);
-                oldestChanged = adjustOldestGeneration(currentStatus);
-                reducedOverall = true;
-            }
-        } while (sizeReduction > 0 && oldestChanged);
         this.cacheSize.set(currentStatus.getSize());
         this.metrics.report(currentStatus.getSize(), currentStatus.getNewestGeneration() - currentStatus.getOldestGeneration());
         return reducedOverall;
     }
 
-    private CacheStatus collectStatus() {
+    private CacheStatus collectStatus(Map<Client, CacheStatus> clientStatuses) {
         int cg = this.currentGeneration.get();
         int minGeneration = cg;
         int maxGeneration = 0;
@@ -274,6 +327,7 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
                 continue;
             }
 
+            clientStatuses.put(c, clientStatus);
             if (clientStatus.getSize() == 0) {
                 // Nothing interesting in this client.
                 continue;
@@ -297,29 +351,131 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         return new CacheStatus(totalSize, minGeneration, maxGeneration);
     }
 
-    private long updateClients() {
+    private long updateClients(Map<Client, CacheStatus> clientStatuses) {
         long sizeReduction = 0;
         int cg = this.currentGeneration.get();
         int og = this.oldestGeneration.get();
         for (Client c : getCurrentClients()) {
-            try {
-                sizeReduction += Math.max(0, c.updateGenerations(cg, og));
-            } catch (ObjectClosedException ex) {
-                // This object was closed but it was not unregistered. Do it now.
-                log.warn("{} Detected closed client {}.", TRACE_OBJECT_ID, c);
-                unregister(c);
-            } catch (Throwable ex) {
-                if (Exceptions.mustRethrow(ex)) {
-                    throw ex;
-                }
+            sizeReduction += updateClient(c, cg, og, clientStatuses);
+        }
+
+        return sizeReduction;
+    }
+
+    private long updateClient(Client c, int currentGeneration, int oldestGeneration, Map<Client, CacheStatus> clientStatuses) {
+        long sizeReduction = 0;
+        try {
+            sizeReduction = Math.max(0, c.updateGenerations(currentGeneration, oldestGeneration));
+        } catch (ObjectClosedException ex) {
+            // This object was closed but it was not unregistered. Do it now.
+            log.warn("{} Detected closed client {}.", TRACE_OBJECT_ID, c);
+            unregister(c);
+        } catch (Throwable ex) {
+            if (Exceptions.mustRethrow(ex)) {
+                throw ex;
+            }
+
+            log.warn("{} Unable to update client {}. {}", TRACE_OBJECT_ID, c, ex);
+        }
+
+        if (sizeReduction > 0) {
+            final long delta = -sizeReduction;
+            clientStatuses.computeIfPresent(c, (client, status) -> status.withUpdatedSize(delta));
+        }
+
+        return sizeReduction;
+    }
+
+    private long applyQuotas(Map<Client, CacheStatus> clientStatuses) {
+        if (!this.policy.hasQuotas()) {
+            return 0;
+        }
+
+        Map<Client, Registration> registrations = getCurrentRegistrations();
+        registrations.keySet().retainAll(clientStatuses.keySet());
+        registrations.values().removeIf(r -> r.getClientType() == null);
+        long sizeReduction = 0;
+
+        // Client Type quotas apply to all Clients of that type, across all Segment Containers.
+        Map<ClientType, List<Client>> byType = registrations.keySet().stream()
+                .collect(Collectors.groupingBy(c -> registrations.get(c).getClientType(), Collectors.toList()));
+        for (val e : byType.entrySet()) {
+            sizeReduction += trimToQuota(e.getValue(), this.policy.getClientTypeQuotaBytes(e.getKey()), clientStatuses, e.getKey());
+        }
+
+        // Container quotas apply to all Clients within a Segment Container, regardless of their type.
+        Map<Integer, List<Client>> byContainer = registrations.keySet().stream()
+                .collect(Collectors.groupingBy(c -> registrations.get(c).getContainerId(), Collectors.toList()));
+        for (val e : byContainer.entrySet()) {
+            sizeReduction += trimToQuota(e.getValue(), this.policy.getContainerQuotaBytes(), clientStatuses, "Container " + e.getKey());
+        }
+
+        return sizeReduction;
+    }
 
-                log.warn("{} Unable to update client {}. {}", TRACE_OBJECT_ID, c, ex);
+    private long trimToQuota(Collection<Client> clients, long quota, Map<Client, CacheStatus> clientStatuses, Object quotaName) {
+        long size = 0;
+        int groupOldestGeneration = this.currentGeneration.get();
+        for (Client c : clients) {
+            CacheStatus status = clientStatuses.get(c);
+            if (status.getSize() > 0) {
+                size += status.getSize();
+                groupOldestGeneration = Math.min(groupOldestGeneration, status.getOldestGeneration());
             }
         }
 
+        if (size <= quota) {
+            return 0;
+        }
+
+        // Raise the oldest generation for this group only. Similarly to adjustOldestGeneration, we never go beyond the
+        // current generation. We pick the lowest generation that is estimated to bring the group within its quota, and
+        // only then update the clients (once each). If the estimate falls short, the next iteration will trim further.
+        int cg = this.currentGeneration.get();
+        int og = Math.max(groupOldestGeneration, this.oldestGeneration.get());
+        if (og >= cg) {
+            log.info("{} {} exceeded its quota ({} > {}), but it cannot be trimmed any further.", TRACE_OBJECT_ID, quotaName, size, quota);
+            return 0;
+        }
+
+        long excess = size - quota;
+        do {
+            og++;
+        } while (og < cg && estimateEviction(clients, og, clientStatuses) < excess);
+
+        long sizeReduction = 0;
+        final int newOldestGeneration = og;
+        for (Client c : clients) {
+            sizeReduction += updateClient(c, cg, newOldestGeneration, clientStatuses);
+
+            // Nothing older than the new oldest generation is left in this client. Record that in case the client also
+            // belongs to another group that needs trimming.
+            clientStatuses.computeIfPresent(c, (client, status) -> status.withOldestGeneration(newOldestGeneration));
+        }
+
+        log.info("{} {} exceeded its quota ({} > {}). Trimmed {} bytes up to generation {}.",
+                TRACE_OBJECT_ID, quotaName, size, quota, sizeReduction, og);
         return sizeReduction;
     }
 
+    /**
+     * Estimates how many bytes the given clients would evict if their oldest generation were raised to the given value,
+     * assuming the data in each client is evenly spread across the generations it reported.
+     */
+    private long estimateEviction(Collection<Client> clients, int oldestGeneration, Map<Client, CacheStatus> clientStatuses) {
+        long result = 0;
+        for (Client c : clients) {
+            CacheStatus status = clientStatuses.get(c);
+            if (status.getSize() > 0 && status.getOldestGeneration() < oldestGeneration) {
+                int generationCount = status.getNewestGeneration() - status.getOldestGeneration() + 1;
+                int evictedCount = Math.min(generationCount, oldestGeneration - status.getOldestGeneration());
+                result += status.getSize() * evictedCount / generationCount;
+            }
+        }
+
+        return result;
+    }
+
     private boolean adjustCurrentGeneration(CacheStatus currentStatus) {
         // We only need to increment if we had any activity in the current generation. This can be determined by comparing
         // the current generation with the newest generation from the retrieved status.
@@ -367,7 +523,42 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
 
     private Collection<Client> getCurrentClients() {
         synchronized (this.clients) {
-            return new ArrayList<>(this.clients);
+            return new ArrayList<>(this.clients.keySet());
+        }
+    }
+
+    private Map<Client, Registration> getCurrentRegistrations() {
+        synchronized (this.clients) {
+            return new HashMap<>(this.clients);
+        }
+    }
+
+    private void reportClientSizes(Map<Client, CacheStatus> clientStatuses) {
+        Map<Client, Registration> registrations = getCurrentRegistrations();
+        Map<Registration, Long> sizes = new HashMap<>();
+        clientStatuses.forEach((c, status) -> {
+            Registration r = registrations.get(c);
+            if (r != null && r.getClientType() != null) {
+                sizes.merge(r, status.getSize(), Long::sum);
+            }
+        });
+
+        synchronized (this.reportedClientSizes) {
+            // Close the gauges of those Client Types and Segment Containers that no longer have any registered clients
+            // (i.e., the Segment Container has been shut down).
+            this.reportedClientSizes.removeIf(r -> {
+                if (sizes.containsKey(r)) {
+                    return false;
+                }
+
+                this.metrics.closeClientSize(r.getContainerId(), r.getClientType().name());
+                return true;
+            });
+
+            sizes.forEach((r, size) -> {
+                this.metrics.reportClientSize(r.getContainerId(), r.getClientType().name(), size);
+                this.reportedClientSizes.add(r);
+            });
         }
     }
 
@@ -438,6 +629,34 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         long updateGenerations(int currentGeneration, int oldestGeneration);
     }
 
+    /**
+     * Defines the types of Clients that can subscribe to the CacheManager. Each type may have its own quota.
+     */
+    public enum ClientType {
+        /**
+         * The Read Index of a Segment.
+         */
+        ReadIndex,
+        /**
+         * The Extended Attribute Index of a Segment.
+         */
+        AttributeIndex,
+        /**
+         * The Key Index of a Table Segment.
+         */
+        TableKeyIndex
+    }
+
+    /**
+     * Groups a registered Client with its type and the Segment Container it belongs to.
+     */
+    @Data
+    private static class Registration {
+        private static final Registration NO_QUOTA = new Registration(null, -1);
+        private final ClientType clientType;
+        private final int containerId;
+    }
+
     //endregion
 
     //region CacheStatus
@@ -483,6 +702,11 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
             return new CacheStatus(newSize, this.oldestGeneration, this.newestGeneration);
         }
 
+        private CacheStatus withOldestGeneration(int oldestGeneration) {
+            int newOldestGeneration = Math.max(this.oldestGeneration, oldestGeneration);
+            return new CacheStatus(this.size, newOldestGeneration, Math.max(this.newestGeneration, newOldestGeneration));
+        }
+
         @Override
         public String toString() {
             return String.format("Size = %d, OG-NG = %d-%d", this.size, this.oldestGeneration, this.newestGeneration);
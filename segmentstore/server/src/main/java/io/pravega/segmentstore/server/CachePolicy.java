@@ -11,6 +11,9 @@ package io.pravega.segmentstore.server;
 
 import com.google.common.base.Preconditions;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import lombok.Getter;
 
 /**
@@ -61,6 +64,18 @@ public class CachePolicy {
      */
     @Getter
     private final Duration generationDuration;
+    /**
+     * The maximum share of {@link #getEvictionThreshold()} that the CacheManager Clients of a single Segment Container
+     * may use, expressed as a number between 0.0 and 1.0. The CacheManager will evict from a Container that exceeds this
+     * before applying the policy to all the Clients.
+     */
+    @Getter
+    private final double containerQuota;
+    /**
+     * The maximum share of {@link #getEvictionThreshold()} that all the CacheManager Clients of a particular type may
+     * use, expressed as a number between 0.0 and 1.0. Types that are not included here are not limited.
+     */
+    private final Map<CacheManager.ClientType, Double> clientTypeQuotas;
 
     //endregion
 
@@ -88,6 +103,26 @@ public class CachePolicy {
      * @param generationDuration The amount of time one Cache generation spans.
      */
     public CachePolicy(long maxSize, double targetUtilization, double maxUtilization, Duration maxTime, Duration generationDuration) {
+        this(maxSize, targetUtilization, maxUtilization, maxTime, generationDuration, 1.0, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a new instance of the CachePolicy class.
+     *
+     * @param maxSize            The maximum size of the cache.
+     * @param targetUtilization  The target cache utilization to set. See {@link #getTargetUtilization()} ()}.
+     * @param maxUtilization     The maximum cache utilization to set. See {@link #getMaxUtilization()}.
+     * @param maxTime            The maximum amount of time a cache entry can live in the cache.
+     * @param generationDuration The amount of time one Cache generation spans.
+     * @param containerQuota     The quota for each Segment Container. See {@link #getContainerQuota()}.
+     * @param clientTypeQuotas   The quotas for each type of CacheManager Client. See {@link #getClientTypeQuota}.
+     */
+    public CachePolicy(long maxSize, double targetUtilization, double maxUtilization, Duration maxTime, Duration generationDuration,
+                       double containerQuota, Map<CacheManager.ClientType, Double> clientTypeQuotas) {
+        Preconditions.checkArgument(containerQuota > 0 && containerQuota <= 1.0,
+                "containerQuota must be a number in the range (0.0, 1.0].");
+        clientTypeQuotas.values().forEach(q -> Preconditions.checkArgument(q > 0 && q <= 1.0,
+                "clientTypeQuotas must contain numbers in the range (0.0, 1.0]."));
         Preconditions.checkArgument(maxSize > 0, "maxSize must be a positive integer");
         Preconditions.checkArgument(targetUtilization > 0 && targetUtilization <= 1.0,
                 "maxUtilization must be a number in the range (0.0, 1.0].");
@@ -99,13 +134,59 @@ public class CachePolicy {
         this.evictionThreshold = (long) Math.floor(this.maxSize * this.targetUtilization);
         this.generationDuration = generationDuration;
         this.maxGenerations = Math.max(1, (int) ((double) maxTime.toMillis() / generationDuration.toMillis()));
+        this.containerQuota = containerQuota;
+        this.clientTypeQuotas = clientTypeQuotas.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new EnumMap<>(clientTypeQuotas));
+    }
+
+    //endregion
+
+    //region Quotas
+
+    /**
+     * Gets a value indicating whether this policy defines any quotas.
+     *
+     * @return True if there is a Container quota or any Client Type quota, false otherwise.
+     */
+    public boolean hasQuotas() {
+        return this.containerQuota < 1.0 || !this.clientTypeQuotas.isEmpty();
+    }
+
+    /**
+     * Gets the maximum number of bytes that the CacheManager Clients of a single Segment Container may use.
+     *
+     * @return The quota, in bytes.
+     */
+    public long getContainerQuotaBytes() {
+        return (long) Math.floor(this.evictionThreshold * this.containerQuota);
+    }
+
+    /**
+     * Gets the maximum share of {@link #getEvictionThreshold()} that all the CacheManager Clients of the given type may use.
+     *
+     * @param clientType The type of Client.
+     * @return A number between 0.0 and 1.0 (1.0 if the type is not limited).
+     */
+    public double getClientTypeQuota(CacheManager.ClientType clientType) {
+        return this.clientTypeQuotas.getOrDefault(clientType, 1.0);
+    }
+
+    /**
+     * Gets the maximum number of bytes that all the CacheManager Clients of the given type may use.
+     *
+     * @param clientType The type of Client.
+     * @return The quota, in bytes.
+     */
+    public long getClientTypeQuotaBytes(CacheManager.ClientType clientType) {
+        return (long) Math.floor(this.evictionThreshold * getClientTypeQuota(clientType));
     }
 
     //endregion
 
     @Override
     public String toString() {
-        return String.format("MaxSize = %d, UsableSize = %d, MaxGen = %d, Generation = %s",
-                this.maxSize, this.evictionThreshold, this.maxGenerations, this.generationDuration);
+        return String.format("MaxSize = %d, UsableSize = %d, MaxGen = %d, Generation = %s, ContainerQuota = %s, ClientTypeQuotas = %s",
+                this.maxSize, this.evictionThreshold, this.maxGenerations, this.generationDuration, this.containerQuota, this.clientTypeQuotas);
     }
 }
@@ -13,6 +13,7 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.segmentstore.server.logs.operations.CompletableOperation;
 import io.pravega.shared.MetricsNames;
+import io.pravega.shared.MetricsTags;
 import io.pravega.shared.metrics.DynamicLogger;
 import io.pravega.shared.metrics.MetricsProvider;
 import io.pravega.shared.metrics.OpStatsLogger;
@@ -52,6 +53,18 @@ public final class SegmentStoreMetrics {
             this.generationSpread.reportSuccessValue(generationSpread);
         }
 
+        public void reportClientSize(int containerId, String clientType, long bytes) {
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_CLIENT_SIZE_BYTES, bytes, clientSizeTags(containerId, clientType));
+        }
+
+        public void closeClientSize(int containerId, String clientType) {
+            DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.CACHE_CLIENT_SIZE_BYTES, clientSizeTags(containerId, clientType));
+        }
+
+        private String[] clientSizeTags(int containerId, String clientType) {
+            return new String[]{MetricsTags.TAG_CONTAINER, String.valueOf(containerId), MetricsTags.TAG_CACHE_CLIENT, clientType};
+        }
+
         @Override
         public void close()  {
             this.generationSpread.close();
@@ -121,7 +121,8 @@ class ContainerAttributeIndexImpl implements ContainerAttributeIndex {
                 // If this fails, we must fail the Future that we previously registered and unregister any pointers to
                 // this index.
                 toInitialize.get().initialize(timeout)
-                            .thenRun(() -> this.cacheManager.register(toInitialize.get()))
+                            .thenRun(() -> this.cacheManager.register(toInitialize.get(), CacheManager.ClientType.AttributeIndex,
+                                    this.containerMetadata.getContainerId()))
                             .whenComplete((r, ex) -> {
                                 if (ex == null) {
                                     result.complete(toInitialize.get());
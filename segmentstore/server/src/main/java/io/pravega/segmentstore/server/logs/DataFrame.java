@@ -14,11 +14,13 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.io.BoundedInputStream;
 import io.pravega.common.io.SerializationException;
+import io.pravega.common.io.StreamHelpers;
 import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.BitConverter;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -121,6 +123,47 @@ public class DataFrame {
         }
     }
 
+    /**
+     * Returns an ArrayView representing the serialized form of this frame, with its contents encoded using the given
+     * codec. If encoding would not make the frame any smaller, this returns the same result as {@link #getData()}.
+     *
+     * Encoded frames have the same Frame Header as regular frames (with the codec recorded in its flags), followed by the
+     * decoded length of the contents and then by the encoded contents. The contents are encoded into the Context's
+     * scratch buffer and then copied over this frame's own buffer, after which this frame represents the encoded frame
+     * (i.e., {@link #getLength()} and {@link #getData()} reflect the encoded form). As such, no new buffers are allocated.
+     *
+     * @param codec   The DataFrameCodec to encode the contents with.
+     * @param context The {@link DataFrameCodec.Context} to use for encoding.
+     * @return An ArrayView representing the serialized form of this frame.
+     * @throws IllegalStateException If the frame is not sealed.
+     */
+    ArrayView getData(DataFrameCodec codec, DataFrameCodec.Context context) {
+        Preconditions.checkState(isSealed(), "Cannot encode a DataFrame that is not sealed.");
+        int contentLength = this.header.getContentLength();
+        if (codec == DataFrameCodec.NONE || this.header.getCodec() != DataFrameCodec.NONE || this.data.isReadOnly()
+                || contentLength <= Integer.BYTES) {
+            // Nothing to encode, or already encoded.
+            return getData();
+        }
+
+        // The encoded contents (with their decoded length) must fit where the original contents are.
+        int maxEncodedLength = contentLength - Integer.BYTES;
+        byte[] buffer = context.getBuffer(maxEncodedLength);
+        int encodedLength = codec.encode(this.contents.subSegment(0, contentLength), buffer, 0, maxEncodedLength, context);
+        if (encodedLength < 0) {
+            // Encoding would not have saved any space.
+            return getData();
+        }
+
+        // We no longer need the original contents. Overwrite them with the encoded ones and update the header.
+        BitConverter.writeInt(this.contents, 0, contentLength);
+        System.arraycopy(buffer, 0, this.contents.array(), this.contents.arrayOffset() + Integer.BYTES, encodedLength);
+        this.header.setCodec(codec);
+        this.header.setContentLength(Integer.BYTES + encodedLength);
+        this.header.commit();
+        return getData();
+    }
+
     /**
      * Gets a value indicating whether the DataFrame is empty (if it has no entries).
      */
@@ -287,6 +330,24 @@ public class DataFrame {
      * @throws IOException If unable to parse the DataFrame's header from the InputStream.
      */
     public static DataFrameEntryIterator read(InputStream source, int length, LogAddress address) throws IOException {
+        try (DataFrameCodec.Context context = new DataFrameCodec.Context()) {
+            return read(source, length, address, context);
+        }
+    }
+
+    /**
+     * Interprets the given InputStream as a DataFrame and returns a DataFrameEntryIterator for the entries serialized
+     * in it.
+     *
+     * @param source  The InputStream to read from.
+     * @param length  The size of the inputStream.
+     * @param address The DataFrame's address.
+     * @param context The {@link DataFrameCodec.Context} to use if the DataFrame is encoded. The returned iterator does
+     *                not depend on it, so it may be reused for the next DataFrame right away.
+     * @return A new DataFrameEntryIterator.
+     * @throws IOException If unable to parse the DataFrame's header from the InputStream.
+     */
+    static DataFrameEntryIterator read(InputStream source, int length, LogAddress address, DataFrameCodec.Context context) throws IOException {
         // Check to see that we have enough bytes in the InputStream.
         ReadFrameHeader header = new ReadFrameHeader(source);
         if (length < ReadFrameHeader.SERIALIZATION_LENGTH + header.getContentLength()) {
@@ -295,9 +356,48 @@ public class DataFrame {
         }
 
         BoundedInputStream contents = new BoundedInputStream(source, header.getContentLength());
+        if (header.getCodec() != DataFrameCodec.NONE) {
+            contents = decode(contents, header.getCodec(), context);
+        }
+
         return new DataFrameEntryIterator(contents, address, ReadFrameHeader.SERIALIZATION_LENGTH);
     }
 
+    /**
+     * Decodes the contents of an encoded DataFrame (see {@link #getData(DataFrameCodec, DataFrameCodec.Context)}).
+     *
+     * @param encoded The encoded contents, including the decoded length. This stream will be fully consumed and closed.
+     * @param codec   The DataFrameCodec that was used to encode the contents.
+     * @param context The {@link DataFrameCodec.Context} to use.
+     * @return A BoundedInputStream containing the decoded contents.
+     * @throws IOException If unable to decode the contents.
+     */
+    private static BoundedInputStream decode(BoundedInputStream encoded, DataFrameCodec codec, DataFrameCodec.Context context) throws IOException {
+        try (BoundedInputStream input = encoded) {
+            if (input.getBound() < Integer.BYTES) {
+                throw new SerializationException(String.format("Encoded Data Frame is corrupt. Content length %d is too small.", input.getBound()));
+            }
+
+            int decodedLength = BitConverter.readInt(input);
+            if (decodedLength < 0) {
+                throw new SerializationException(String.format("Encoded Data Frame is corrupt. Invalid decoded length %d.", decodedLength));
+            }
+
+            // The encoded contents are only needed while decoding, so they can go in the Context's scratch buffer. The
+            // decoded contents back the returned stream, so they need their own buffer.
+            int encodedLength = input.getRemaining();
+            byte[] encodedContents = context.getBuffer(encodedLength);
+            int bytesRead = StreamHelpers.readAll(input, encodedContents, 0, encodedLength);
+            if (bytesRead != encodedLength) {
+                throw new EOFException(String.format("Encoded Data Frame is truncated. Expected %d bytes, read %d.", encodedLength, bytesRead));
+            }
+
+            byte[] decodedContents = new byte[decodedLength];
+            codec.decode(encodedContents, 0, encodedLength, decodedContents, context);
+            return new BoundedInputStream(new ByteArrayInputStream(decodedContents), decodedLength);
+        }
+    }
+
     //endregion
 
     //region EntryHeader
@@ -378,6 +478,7 @@ public class DataFrame {
      */
     private static abstract class FrameHeader {
         static final int SERIALIZATION_LENGTH = Byte.BYTES + Integer.BYTES + Byte.BYTES;
+        private static final byte CODEC_MASK = 0x0F;
         /**
          * The serialization Version for the frame.
          */
@@ -386,24 +487,30 @@ public class DataFrame {
         private byte version;
 
         /**
-         * The length of the Frame's payload (contents), in bytes.
+         * The length of the Frame's payload (contents), in bytes. For encoded frames, this is the encoded length.
          */
         @Getter
         @Setter
         private int contentLength;
 
+        /**
+         * The codec used to encode the Frame's payload (contents).
+         */
+        @Getter
+        @Setter
+        private DataFrameCodec codec = DataFrameCodec.NONE;
+
         byte encodeFlags() {
-            // Placeholder method. Nothing to do yet.
-            return 0;
+            return (byte) (this.codec.getId() & CODEC_MASK);
         }
 
-        void decodeFlags(byte flags, byte version) {
-            // Placeholder method. Nothing to do yet.
+        void decodeFlags(byte flags, byte version) throws SerializationException {
+            this.codec = DataFrameCodec.fromId((byte) (flags & CODEC_MASK));
         }
 
         @Override
         public String toString() {
-            return String.format("Version = %d, ContentLength = %d", getVersion(), getContentLength());
+            return String.format("Version = %d, ContentLength = %d, Codec = %s", getVersion(), getContentLength(), getCodec());
         }
     }
 
@@ -12,6 +12,7 @@ package io.pravega.segmentstore.server.logs;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
+import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.SequencedItemList;
 import io.pravega.segmentstore.server.logs.operations.CompletableOperation;
 import io.pravega.segmentstore.storage.DurableDataLog;
@@ -44,6 +45,7 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
     private final DurableDataLog targetLog;
     private final Serializer<T> serializer;
     private final Args args;
+    private final DataFrameCodec.Context codecContext;
     private final AtomicBoolean closed;
     private long lastSerializedSequenceNumber;
     private long lastStartedSequenceNumber;
@@ -68,7 +70,9 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
         this.args = Preconditions.checkNotNull(args, "args");
         Preconditions.checkNotNull(args.commitSuccess, "args.commitSuccess");
         Preconditions.checkNotNull(args.commitFailure, "args.commitFailure");
+        Preconditions.checkNotNull(args.codec, "args.codec");
         this.outputStream = new DataFrameOutputStream(targetLog.getWriteSettings().getMaxWriteLength(), this::handleDataFrameComplete);
+        this.codecContext = new DataFrameCodec.Context();
         this.lastSerializedSequenceNumber = -1;
         this.lastStartedSequenceNumber = -1;
         this.failureCause = new AtomicReference<>();
@@ -85,6 +89,11 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
             // Close the underlying stream (which destroys whatever we have in flight).
             this.outputStream.close();
         }
+
+        // This may be invoked from a commit callback while a DataFrame is being encoded; do not pull the codec from under it.
+        synchronized (this.codecContext) {
+            this.codecContext.close();
+        }
     }
 
     //endregion
@@ -183,7 +192,12 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
 
         try {
             this.args.beforeCommit.accept(commitArgs);
-            this.targetLog.append(dataFrame.getData(), this.args.writeTimeout)
+            ArrayView frameData;
+            synchronized (this.codecContext) {
+                frameData = dataFrame.getData(this.args.codec, this.codecContext);
+            }
+
+            this.targetLog.append(frameData, this.args.writeTimeout)
                     .thenAcceptAsync(logAddress -> {
                         commitArgs.setLogAddress(logAddress);
                         this.args.commitSuccess.accept(commitArgs);
@@ -320,7 +334,17 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
          */
         final BiConsumer<Throwable, CommitArgs> commitFailure;
         final Executor executor;
+
+        /**
+         * The codec to encode DataFrames with before writing them to the DurableDataLog.
+         */
+        final DataFrameCodec codec;
         final Duration writeTimeout = Duration.ofSeconds(30); // TODO: actual timeout.
+
+        Args(Consumer<CommitArgs> beforeCommit, Consumer<CommitArgs> commitSuccess, BiConsumer<Throwable, CommitArgs> commitFailure,
+             Executor executor) {
+            this(beforeCommit, commitSuccess, commitFailure, executor, DataFrameCodec.NONE);
+        }
     }
 
     //endregion
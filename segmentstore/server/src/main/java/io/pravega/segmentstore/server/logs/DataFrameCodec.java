@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.Exceptions;
+import io.pravega.common.io.SerializationException;
+import io.pravega.common.util.ArrayView;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Codecs that can be used to encode (compress) the contents of DataFrames before they are written to the DurableDataLog.
+ *
+ * The id of each codec is persisted in the header of every DataFrame that it encoded, so that DataFrames can always be
+ * decoded regardless of the codec currently configured. As such, ids must never be changed or reused.
+ */
+@RequiredArgsConstructor
+public enum DataFrameCodec {
+    /**
+     * DataFrame contents are not encoded.
+     */
+    NONE((byte) 0) {
+        @Override
+        int encode(ArrayView source, byte[] target, int targetOffset, int maxLength, Context context) {
+            // Not encoding the data never saves any space.
+            return -1;
+        }
+
+        @Override
+        void decode(byte[] source, int sourceOffset, int sourceLength, byte[] target, Context context) throws SerializationException {
+            if (sourceLength != target.length) {
+                throw new SerializationException(String.format("Unable to decode DataFrame contents. Expected %d bytes, found %d.",
+                        target.length, sourceLength));
+            }
+
+            System.arraycopy(source, sourceOffset, target, 0, sourceLength);
+        }
+    },
+
+    /**
+     * DataFrame contents are compressed using DEFLATE (zlib format, which includes a checksum) at its fastest level.
+     */
+    DEFLATE((byte) 1) {
+        @Override
+        int encode(ArrayView source, byte[] target, int targetOffset, int maxLength, Context context) {
+            Deflater deflater = context.getDeflater();
+            deflater.setInput(source.array(), source.arrayOffset(), source.getLength());
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished() && length < maxLength) {
+                length += deflater.deflate(target, targetOffset + length, maxLength - length);
+            }
+
+            return deflater.finished() ? length : -1;
+        }
+
+        @Override
+        void decode(byte[] source, int sourceOffset, int sourceLength, byte[] target, Context context) throws SerializationException {
+            Inflater inflater = context.getInflater();
+            try {
+                inflater.setInput(source, sourceOffset, sourceLength);
+                int length = 0;
+                while (!inflater.finished() && length < target.length) {
+                    int count = inflater.inflate(target, length, target.length - length);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+
+                    length += count;
+                }
+
+                if (!inflater.finished() || length != target.length) {
+                    throw new SerializationException(String.format("Unable to decode DataFrame contents. Expected %d bytes, decoded %d.",
+                            target.length, length));
+                }
+            } catch (DataFormatException ex) {
+                throw new SerializationException("Unable to decode DataFrame contents.", ex);
+            }
+        }
+    };
+
+    /**
+     * The persisted id of this codec.
+     */
+    @Getter
+    private final byte id;
+
+    /**
+     * Encodes the given data into the given array.
+     *
+     * @param source       The data to encode.
+     * @param target       The array to encode into.
+     * @param targetOffset The offset within target to begin encoding at.
+     * @param maxLength    The maximum number of bytes to write into target.
+     * @param context      The {@link Context} to use.
+     * @return The number of bytes written into target, or -1 if the encoded data does not fit in maxLength bytes (in
+     * which case it is not worth encoding this data at all).
+     */
+    abstract int encode(ArrayView source, byte[] target, int targetOffset, int maxLength, Context context);
+
+    /**
+     * Decodes the given data into the given array.
+     *
+     * @param source       An array containing the data to decode.
+     * @param sourceOffset The offset within source where the data to decode begins.
+     * @param sourceLength The length of the data to decode.
+     * @param target       The array to decode into. This must have the exact length of the decoded data.
+     * @param context      The {@link Context} to use.
+     * @throws SerializationException If the data could not be decoded or if its decoded length does not match the
+     *                                length of target.
+     */
+    abstract void decode(byte[] source, int sourceOffset, int sourceLength, byte[] target, Context context) throws SerializationException;
+
+    /**
+     * Gets the DataFrameCodec with the given id.
+     *
+     * @param id The id of the codec.
+     * @return The DataFrameCodec.
+     * @throws SerializationException If there is no codec with the given id.
+     */
+    static DataFrameCodec fromId(byte id) throws SerializationException {
+        for (DataFrameCodec c : values()) {
+            if (c.id == id) {
+                return c;
+            }
+        }
+
+        throw new SerializationException(String.format("Unsupported DataFrame codec id %d.", id));
+    }
+
+    //region Context
+
+    /**
+     * Reusable state for encoding or decoding DataFrames: the (de)compressors and a scratch buffer. Creating these for
+     * every DataFrame is expensive (each Deflater and Inflater allocates native memory), so every DataFrameBuilder and
+     * DataFrameInputStream keeps one Context for its whole lifetime and closes it when done.
+     */
+    @NotThreadSafe
+    static class Context implements AutoCloseable {
+        private Deflater deflater;
+        private Inflater inflater;
+        private byte[] buffer;
+        private boolean closed;
+
+        @Override
+        public void close() {
+            if (!this.closed) {
+                this.closed = true;
+                if (this.deflater != null) {
+                    this.deflater.end();
+                    this.deflater = null;
+                }
+
+                if (this.inflater != null) {
+                    this.inflater.end();
+                    this.inflater = null;
+                }
+
+                this.buffer = null;
+            }
+        }
+
+        /**
+         * Gets a Deflater that is ready to be used for a new input.
+         */
+        Deflater getDeflater() {
+            Exceptions.checkNotClosed(this.closed, this);
+            if (this.deflater == null) {
+                this.deflater = new Deflater(Deflater.BEST_SPEED);
+            } else {
+                this.deflater.reset();
+            }
+
+            return this.deflater;
+        }
+
+        /**
+         * Gets an Inflater that is ready to be used for a new input.
+         */
+        Inflater getInflater() {
+            Exceptions.checkNotClosed(this.closed, this);
+            if (this.inflater == null) {
+                this.inflater = new Inflater();
+            } else {
+                this.inflater.reset();
+            }
+
+            return this.inflater;
+        }
+
+        /**
+         * Gets a scratch buffer of at least the given length. The same buffer is returned for as long as it is large
+         * enough, so its contents are only valid until the next call to this method.
+         *
+         * @param minLength The minimum length of the buffer.
+         * @return The buffer.
+         */
+        byte[] getBuffer(int minLength) {
+            Exceptions.checkNotClosed(this.closed, this);
+            if (this.buffer == null || this.buffer.length < minLength) {
+                this.buffer = new byte[minLength];
+            }
+
+            return this.buffer;
+        }
+    }
+
+    //endregion
+}
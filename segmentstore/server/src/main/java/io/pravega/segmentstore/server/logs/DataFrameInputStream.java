@@ -34,6 +34,7 @@ public class DataFrameInputStream extends InputStream {
 
     private final String traceObjectId;
     private final CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> reader;
+    private final DataFrameCodec.Context codecContext;
     private DataFrame.DataFrameEntryIterator currentFrameContents;
     private DataFrame.DataFrameEntry currentEntry;
     private long lastReadFrameSequence;
@@ -75,6 +76,7 @@ public class DataFrameInputStream extends InputStream {
         this.traceObjectId = Exceptions.checkNotNullOrEmpty(traceObjectId, "traceObjectId");
         this.lastReadFrameSequence = -1;
         this.currentRecordBuilder = DataFrameRecord.RecordInfo.builder();
+        this.codecContext = new DataFrameCodec.Context();
     }
 
     //endregion
@@ -86,6 +88,7 @@ public class DataFrameInputStream extends InputStream {
         if (!this.closed) {
             this.currentEntry = null;
             this.reader.close();
+            this.codecContext.close();
             this.closed = true;
         }
     }
@@ -315,7 +318,7 @@ public class DataFrameInputStream extends InputStream {
 
         DataFrame.DataFrameEntryIterator frameContents;
         try {
-            frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress());
+            frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress(), this.codecContext);
         } catch (SerializationException ex) {
             throw new SerializationException(String.format("Unable to deserialize DataFrame. LastReadFrameSequence =  %d.",
                     this.lastReadFrameSequence), ex);
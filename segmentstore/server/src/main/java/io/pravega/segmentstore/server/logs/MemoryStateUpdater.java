@@ -18,6 +18,7 @@ import io.pravega.segmentstore.server.CacheUtilizationProvider;
 import io.pravega.segmentstore.server.ContainerMetadata;
 import io.pravega.segmentstore.server.DataCorruptionException;
 import io.pravega.segmentstore.server.ReadIndex;
+import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.server.SegmentOperation;
 import io.pravega.segmentstore.server.logs.operations.CachedStreamSegmentAppendOperation;
 import io.pravega.segmentstore.server.logs.operations.MergeSegmentOperation;
@@ -27,7 +28,11 @@ import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperati
 import io.pravega.segmentstore.storage.ThrottleSourceListener;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,6 +48,9 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
     private final SequencedItemList<Operation> inMemoryOperationLog;
     private final Runnable commitSuccess;
     private final AtomicBoolean recoveryMode;
+    private final AtomicReference<ContainerMetadata> recoveryMetadata;
+    private final Set<Long> recoveryIndexedSegmentIds;
+    private final AtomicLong recoverySkippedBytes;
 
     //endregion
 
@@ -61,6 +69,9 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
         this.readIndex = Preconditions.checkNotNull(readIndex, "readIndex");
         this.commitSuccess = commitSuccess;
         this.recoveryMode = new AtomicBoolean();
+        this.recoveryMetadata = new AtomicReference<>();
+        this.recoveryIndexedSegmentIds = ConcurrentHashMap.newKeySet();
+        this.recoverySkippedBytes = new AtomicLong();
     }
 
     //endregion
@@ -94,6 +105,9 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
      */
     void enterRecoveryMode(ContainerMetadata recoveryMetadataSource) {
         this.readIndex.enterRecoveryMode(recoveryMetadataSource);
+        this.recoveryMetadata.set(recoveryMetadataSource);
+        this.recoveryIndexedSegmentIds.clear();
+        this.recoverySkippedBytes.set(0);
         this.recoveryMode.set(true);
     }
 
@@ -106,6 +120,10 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
     void exitRecoveryMode(boolean successfulRecovery) throws DataCorruptionException {
         this.readIndex.exitRecoveryMode(successfulRecovery);
         this.recoveryMode.set(false);
+        this.recoveryMetadata.set(null);
+        this.recoveryIndexedSegmentIds.clear();
+        log.info("Recovery did not add {} bytes of appends to the ReadIndex since they were already in Storage.",
+                this.recoverySkippedBytes.getAndSet(0));
     }
 
     /**
@@ -194,6 +212,13 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
      * @param operation The operation to register.
      */
     private void addToReadIndex(StorageOperation operation) {
+        if (isRecoveredFromStorage(operation)) {
+            // This data is already in Storage and can be fetched from there when needed; there is no point in
+            // copying it into the Cache while recovering.
+            this.recoverySkippedBytes.addAndGet(operation.getLength());
+            return;
+        }
+
         try {
             if (operation instanceof StreamSegmentAppendOperation) {
                 // Record a StreamSegmentAppendOperation. Just in case, we also support this type of operation, but we need to
@@ -220,5 +245,34 @@ class MemoryStateUpdater implements CacheUtilizationProvider {
         }
     }
 
+    /**
+     * Determines whether the given operation is a StreamSegmentAppendOperation that is being recovered and whose data
+     * is entirely below its Segment's StorageLength (as known to the recovery metadata at this time).
+     *
+     * Each Segment's ReadIndex requires appended entries to be contiguous, so data may only be skipped until the first
+     * entry is added for that Segment; after that, all subsequent operations for it must be added to the ReadIndex
+     * (even if the StorageLength catches up with them later in the recovery).
+     *
+     * @param operation The operation to test.
+     * @return True if the operation's data need not be added to the ReadIndex, false otherwise.
+     */
+    private boolean isRecoveredFromStorage(StorageOperation operation) {
+        ContainerMetadata metadata = this.recoveryMetadata.get();
+        if (metadata == null || !this.recoveryMode.get()) {
+            return false;
+        }
+
+        long segmentId = operation.getStreamSegmentId();
+        if (operation instanceof StreamSegmentAppendOperation && !this.recoveryIndexedSegmentIds.contains(segmentId)) {
+            SegmentMetadata segmentMetadata = metadata.getStreamSegmentMetadata(segmentId);
+            if (segmentMetadata != null && operation.getLastStreamSegmentOffset() <= segmentMetadata.getStorageLength()) {
+                return true;
+            }
+        }
+
+        this.recoveryIndexedSegmentIds.add(segmentId);
+        return false;
+    }
+
     //endregion
 }
\ No newline at end of file
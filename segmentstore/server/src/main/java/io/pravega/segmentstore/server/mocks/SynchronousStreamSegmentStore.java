@@ -91,6 +91,13 @@ public class SynchronousStreamSegmentStore implements StreamSegmentStore {
         return result;
     }
 
+    @Override
+    public CompletableFuture<Map<String, MergeStreamSegmentResult>> mergeStreamSegments(Map<String, String> sourceToTarget, Duration timeout) {
+        CompletableFuture<Map<String, MergeStreamSegmentResult>> result = impl.mergeStreamSegments(sourceToTarget, timeout);
+        Futures.await(result);
+        return result;
+    }
+
     @Override
     public CompletableFuture<Long> sealStreamSegment(String streamSegmentName, Duration timeout) {
         CompletableFuture<Long> result = impl.sealStreamSegment(streamSegmentName, timeout);
@@ -98,6 +105,13 @@ public class SynchronousStreamSegmentStore implements StreamSegmentStore {
         return result;
     }
 
+    @Override
+    public CompletableFuture<Void> sealStreamSegments(Collection<String> streamSegmentNames, Duration timeout) {
+        CompletableFuture<Void> result = impl.sealStreamSegments(streamSegmentNames, timeout);
+        Futures.await(result);
+        return result;
+    }
+
     @Override
     public CompletableFuture<Void> deleteStreamSegment(String streamSegmentName, Duration timeout) {
         CompletableFuture<Void> result = impl.deleteStreamSegment(streamSegmentName, timeout);
@@ -13,10 +13,13 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.common.io.StreamHelpers;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
 import java.time.Duration;
@@ -28,6 +31,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 
 /**
  * An Asynchronous processor for ReadResult objects. Attaches to a ReadResult and executes a callback using an Executor
@@ -185,8 +189,16 @@ public class AsyncReadResultProcessor implements AutoCloseable {
         }
 
         @Override
+        @SneakyThrows(IOException.class)
         public boolean processEntry(ReadResultEntry entry) {
-            this.parts.add(entry.getContent().join().getData());
+            // The result may be consumed much later, so we copy the data and release the contents now.
+            ReadResultEntryContents contents = entry.getContent().join();
+            try {
+                this.parts.add(new ByteArrayInputStream(StreamHelpers.readAll(contents.getData(), contents.getLength())));
+            } finally {
+                contents.release();
+            }
+
             return true;
         }
 
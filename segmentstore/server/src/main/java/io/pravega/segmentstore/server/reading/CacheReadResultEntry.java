@@ -10,12 +10,11 @@
 package io.pravega.segmentstore.server.reading;
 
 import io.pravega.common.Exceptions;
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-
 /**
  * Read Result Entry for data that is readily available for reading (in memory).
  */
@@ -33,18 +32,19 @@ class CacheReadResultEntry extends ReadResultEntryBase {
     CacheReadResultEntry(long streamSegmentOffset, byte[] data, int dataOffset, int dataLength) {
         super(ReadResultEntryType.Cache, streamSegmentOffset + dataOffset, dataLength);
         Exceptions.checkArrayRange(dataOffset, dataLength, data.length, "dataOffset", "dataLength");
-        complete(new ReadResultEntryContents(new ByteArrayInputStream(data, dataOffset, dataLength), dataLength));
+        complete(new ReadResultEntryContents(new ByteArraySegment(data, dataOffset, dataLength)));
     }
 
     /**
      * Creates a new instance of the CacheReadResultEntry class.
      *
      * @param streamSegmentOffset The offset within the StreamSegment where this ReadResultEntry starts at.
-     * @param data                An InputStream representing the data to be read.
-     * @param dataLength          The length of the data that this ReadResultEntry has (length of the given InputStream).
+     * @param data                A {@link BufferView} representing the data to be read. This may point directly into
+     *                            Cache memory; this ReadResultEntry's contents take over the caller's reference to it
+     *                            and the consumer is responsible for releasing it (see {@link ReadResultEntryContents#release()}).
      */
-    CacheReadResultEntry(long streamSegmentOffset, InputStream data, int dataLength) {
-        super(ReadResultEntryType.Cache, streamSegmentOffset, dataLength);
-        complete(new ReadResultEntryContents(data, dataLength));
+    CacheReadResultEntry(long streamSegmentOffset, BufferView data) {
+        super(ReadResultEntryType.Cache, streamSegmentOffset, data.getLength());
+        complete(new ReadResultEntryContents(data));
     }
 }
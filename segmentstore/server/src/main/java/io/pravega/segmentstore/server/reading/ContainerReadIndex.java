@@ -396,8 +396,8 @@ public class ContainerReadIndex implements ReadIndex {
                     throw new StreamSegmentNotExistsException(segmentMetadata.getName());
                 }
 
-                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.storage, this.executor, isRecoveryMode());
-                this.cacheManager.register(index);
+                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.storage, this.cacheManager, this.executor, isRecoveryMode());
+                this.cacheManager.register(index, CacheManager.ClientType.ReadIndex, this.metadata.getContainerId());
                 this.readIndices.put(streamSegmentId, index);
             }
         }
@@ -24,6 +24,7 @@ public class ReadIndexConfig {
     public static final Property<Integer> STORAGE_READ_ALIGNMENT = Property.named("storageReadAlignment", 1024 * 1024);
     public static final Property<Integer> MEMORY_READ_MIN_LENGTH = Property.named("memoryReadMinLength", 4 * 1024);
     public static final Property<Integer> STORAGE_READ_DEFAULT_TIMEOUT = Property.named("storageReadDefaultTimeoutMillis", 30 * 1000);
+    public static final Property<Integer> STORAGE_READ_PREFETCH_COUNT = Property.named("storageReadPrefetchCount", 2);
     private static final String COMPONENT_CODE = "readindex";
 
     //endregion
@@ -57,6 +58,16 @@ public class ReadIndexConfig {
     @Getter
     private final Duration storageReadDefaultTimeout;
 
+    /**
+     * The number of Storage Reads (each of up to storageReadAlignment bytes) to issue ahead of a Segment's reader, once
+     * it has been determined that the Segment is being read sequentially. Such reads are only issued if the Cache is
+     * below its target utilization.
+     * <p>
+     * Setting this to 0 will effectively disable this feature.
+     */
+    @Getter
+    private final int storageReadPrefetchCount;
+
     //endregion
 
     //region Constructor
@@ -70,6 +81,10 @@ public class ReadIndexConfig {
         this.storageReadAlignment = properties.getInt(STORAGE_READ_ALIGNMENT);
         this.memoryReadMinLength = properties.getInt(MEMORY_READ_MIN_LENGTH);
         this.storageReadDefaultTimeout = Duration.ofMillis(properties.getInt(STORAGE_READ_DEFAULT_TIMEOUT));
+        this.storageReadPrefetchCount = properties.getInt(STORAGE_READ_PREFETCH_COUNT);
+        if (this.storageReadPrefetchCount < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", STORAGE_READ_PREFETCH_COUNT));
+        }
     }
 
     /**
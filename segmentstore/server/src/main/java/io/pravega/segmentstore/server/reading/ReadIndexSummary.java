@@ -109,6 +109,21 @@ class ReadIndexSummary {
         return this.currentGeneration;
     }
 
+    /**
+     * Records that an element pertaining to the given generation is to be moved to another generation.
+     *
+     * @param generation    The original generation of the element to move.
+     * @param newGeneration The generation to move the element to.
+     * @return The value of newGeneration.
+     */
+    synchronized int moveOne(int generation, int newGeneration) {
+        Preconditions.checkArgument(newGeneration >= 0, "newGeneration must be a non-negative number");
+        removeFromGeneration(generation);
+        int newCount = this.generations.getOrDefault(newGeneration, 0) + 1;
+        this.generations.put(newGeneration, newCount);
+        return newGeneration;
+    }
+
     /**
      * Generates a CacheManager.CacheStatus object with the information in this ReadIndexSummary object.
      */
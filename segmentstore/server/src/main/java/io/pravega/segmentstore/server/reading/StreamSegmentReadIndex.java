@@ -18,6 +18,7 @@ import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.AvlTreeIndex;
 import io.pravega.common.util.BufferView;
 import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.CompositeBufferView;
 import io.pravega.common.util.SortedIndex;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
@@ -25,6 +26,7 @@ import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CacheUtilizationProvider;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
@@ -62,6 +64,11 @@ import lombok.val;
 class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     //region Members
 
+    /**
+     * The number of consecutive, ascending reads (including the first one) after which we consider the Segment to be
+     * read sequentially and begin prefetching from Storage.
+     */
+    private static final int PREFETCH_MIN_SEQUENTIAL_READS = 2;
     private final String traceObjectId;
     @GuardedBy("lock")
     private final SortedIndex<ReadIndexEntry> indexEntries;
@@ -72,11 +79,19 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     @GuardedBy("lock")
     private final HashMap<Long, PendingMerge> pendingMergers; //Key = Source Segment Id, Value = Pending Merge Info.
     private final StorageReadManager storageReadManager;
+    private final CacheUtilizationProvider cacheUtilizationProvider;
     private final ReadIndexSummary summary;
     private final ScheduledExecutorService executor;
     private SegmentMetadata metadata;
     @GuardedBy("lock")
     private long lastAppendedOffset;
+    private volatile int oldestGeneration;
+    @GuardedBy("lock")
+    private long lastReadOffset;
+    @GuardedBy("lock")
+    private int sequentialReadCount;
+    @GuardedBy("lock")
+    private long prefetchEndOffset;
     private boolean recoveryMode;
     private boolean closed;
     private boolean merged;
@@ -93,15 +108,19 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * @param metadata     The StreamSegmentMetadata to use.
      * @param cache        The Cache to use to store, read and manage data entries.
      * @param storage      A ReadOnlyStorage to fetch data if not in Cache.
+     * @param cacheUtilizationProvider A CacheUtilizationProvider to determine whether there is room in the Cache for
+     *                                 prefetched data.
      * @param executor     An executor to run async operations.
      * @param recoveryMode Whether we are in recovery mode at the time of creation (this can change later on).
      * @throws NullPointerException If any of the arguments are null.
      */
-    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, ReadOnlyStorage storage, ScheduledExecutorService executor, boolean recoveryMode) {
+    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, ReadOnlyStorage storage,
+                           CacheUtilizationProvider cacheUtilizationProvider, ScheduledExecutorService executor, boolean recoveryMode) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(metadata, "metadata");
         Preconditions.checkNotNull(cache, "cache");
         Preconditions.checkNotNull(storage, "storage");
+        Preconditions.checkNotNull(cacheUtilizationProvider, "cacheUtilizationProvider");
         Preconditions.checkNotNull(executor, "executor");
 
         this.traceObjectId = String.format("ReadIndex[%d-%d]", metadata.getContainerId(), metadata.getId());
@@ -113,7 +132,9 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         this.futureReads = new FutureReadResultEntryCollection();
         this.pendingMergers = new HashMap<>();
         this.lastAppendedOffset = -1;
+        this.lastReadOffset = -1;
         this.storageReadManager = new StorageReadManager(metadata, storage, executor);
+        this.cacheUtilizationProvider = cacheUtilizationProvider;
         this.executor = executor;
         this.summary = new ReadIndexSummary();
     }
@@ -213,6 +234,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         // Update the current generation with the provided info.
         this.summary.setCurrentGeneration(currentGeneration);
+        this.oldestGeneration = oldestGeneration;
 
         // Identify & collect those entries that can be removed, then remove them from the index.
         AtomicLong sizeRemoved = new AtomicLong();
@@ -517,10 +539,18 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         Exceptions.checkArgument(lastOffset < this.metadata.getStorageLength(), "entry",
                 "The given range of bytes (%d-%d) does not correspond to the StreamSegment range that is in Storage (%d).",
                 entry.getStreamSegmentOffset(), lastOffset, this.metadata.getStorageLength());
+        // If the Cache is under pressure, only admit this entry on probation, by placing it in the oldest generation
+        // instead of the current one. Unless it is read again (which moves it to the current generation), it will be
+        // among the first entries to be evicted. This prevents large scans of historical data from evicting data that
+        // is actively being read (such as the tail of the Segment).
+        boolean onProbation = this.cacheUtilizationProvider.getCacheUtilization() >= this.cacheUtilizationProvider.getCacheTargetUtilization();
         ReadIndexEntry oldEntry;
         synchronized (this.lock) {
             this.cache.insert(getCacheKey(entry), data);
             oldEntry = addToIndex(entry);
+            if (onProbation) {
+                entry.setGeneration(this.summary.moveOne(entry.getGeneration(), this.oldestGeneration));
+            }
         }
 
         if (oldEntry != null) {
@@ -651,26 +681,29 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 "startOffset is before the Segment's StartOffset.");
 
         // Get the first entry. This one is trickier because the requested start offset may not fall on an entry boundary.
-        CompletableReadResultEntry nextEntry;
+        ReadIndexEntry indexEntry;
         synchronized (this.lock) {
-            ReadIndexEntry indexEntry = this.indexEntries.getFloor(startOffset);
+            indexEntry = this.indexEntries.getFloor(startOffset);
             if (indexEntry == null || startOffset > indexEntry.getLastStreamSegmentOffset() || !indexEntry.isDataEntry()) {
                 // Data not available or data exist in a partially merged transaction.
                 return null;
-            } else {
-                // Fetch data from the cache for the first entry, but do not update the cache hit stats.
-                nextEntry = createMemoryRead(indexEntry, startOffset, length, false);
             }
         }
 
-        // Collect the contents of congruent Index Entries into a list, as long as we still encounter data in the cache.
-        // Since we know all entries should be in the cache and are contiguous, there is no need
-        assert Futures.isSuccessful(nextEntry.getContent()) : "Found CacheReadResultEntry that is not completed yet: " + nextEntry;
-        val entryContents = nextEntry.getContent().join();
+        // The returned InputStream may be consumed at a much later time, so we cannot hold on to the Cache's memory
+        // until then. Fetch a copy of the first entry's data (without updating the cache hit stats); Cache.get() already
+        // returns a copy, so there is no need to make another one.
+        byte[] firstEntryData = this.cache.get(getCacheKey(indexEntry));
+        if (firstEntryData == null) {
+            // The entry has just been evicted.
+            return null;
+        }
 
+        int firstEntryOffset = (int) (startOffset - indexEntry.getStreamSegmentOffset());
+        int readLength = Math.min(firstEntryData.length - firstEntryOffset, length);
+        assert readLength > 0 : String.format("readLength{%d} <= 0. startOffset = %d, length = %d, entry = %s", readLength, startOffset, length, indexEntry);
         ArrayList<InputStream> contents = new ArrayList<>();
-        contents.add(entryContents.getData());
-        int readLength = entryContents.getLength();
+        contents.add(new ByteArrayInputStream(firstEntryData, firstEntryOffset, readLength));
         while (readLength < length) {
             // No need to search the index; from now on, we know each offset we are looking for is at the beginning of a cache entry.
             // Also, no need to acquire the lock there. The cache itself is thread safe, and if the entry we are about to fetch
@@ -714,6 +747,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 "startOffset", "StreamSegment is sealed and startOffset is beyond the last offset of the StreamSegment.");
 
         log.debug("{}: Read (Offset = {}, MaxLength = {}).", this.traceObjectId, startOffset, maxLength);
+        prefetchIfSequential(startOffset);
         return new StreamSegmentReadResult(startOffset, maxLength, this::getMultiReadResultEntry, this.traceObjectId);
     }
 
@@ -828,11 +862,11 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         }
 
         // Collect the contents of congruent Index Entries into a list, as long as we still encounter data in the cache.
-        ArrayList<InputStream> contents = new ArrayList<>();
+        ArrayList<BufferView> contents = new ArrayList<>();
         do {
             assert Futures.isSuccessful(nextEntry.getContent()) : "Found CacheReadResultEntry that is not completed yet: " + nextEntry;
             val entryContents = nextEntry.getContent().join();
-            contents.add(entryContents.getData());
+            contents.add(entryContents.getBuffer());
             readLength += entryContents.getLength();
             if (readLength >= this.config.getMemoryReadMinLength() || readLength >= maxLength) {
                 break;
@@ -841,8 +875,9 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             nextEntry = getSingleMemoryReadResultEntry(resultStartOffset + readLength, maxLength - readLength);
         } while (nextEntry != null);
 
-        // Coalesce the results into a single InputStream and return the result.
-        return new CacheReadResultEntry(resultStartOffset, new SequenceInputStream(Iterators.asEnumeration(contents.iterator())), readLength);
+        // Coalesce the results into a single BufferView and return the result. No data is copied at this point.
+        assert readLength == contents.stream().mapToInt(BufferView::getLength).sum();
+        return new CacheReadResultEntry(resultStartOffset, contents.size() == 1 ? contents.get(0) : new CompositeBufferView(contents));
     }
 
     /**
@@ -979,7 +1014,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         int length = (int) Math.min(maxLength, entry.getLength() - entryOffset);
         assert length > 0 : String.format("length{%d} <= 0. streamSegmentOffset = %d, maxLength = %d, entry.offset = %d, entry.length = %d", length, streamSegmentOffset, maxLength, entry.getStreamSegmentOffset(), entry.getLength());
-        byte[] data = this.cache.get(getCacheKey(entry));
+        BufferView data = this.cache.getView(getCacheKey(entry));
         assert data != null : String.format("No Cache Entry could be retrieved for entry %s", entry);
 
         if (updateStats) {
@@ -988,7 +1023,8 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             entry.setGeneration(generation);
         }
 
-        return new CacheReadResultEntry(entry.getStreamSegmentOffset(), data, entryOffset, length);
+        // This does not copy any data; the Cache's memory for this entry is retained until the consumer releases it.
+        return new CacheReadResultEntry(entry.getStreamSegmentOffset() + entryOffset, data.slice(entryOffset, length));
     }
 
     /**
@@ -1007,7 +1043,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             ByteArraySegment data = result.getData();
 
             // Make sure we invoke our callback first, before any chance of exceptions from insert() may block it.
-            successCallback.accept(new ReadResultEntryContents(data.getReader(), data.getLength()));
+            successCallback.accept(new ReadResultEntryContents(data));
             if (!result.isDerived()) {
                 // Only insert primary results into the cache. Derived results are always sub-portions of primaries
                 // and there is no need to insert them too, as they are already contained within.
@@ -1020,6 +1056,76 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         this.storageReadManager.execute(new StorageReadManager.Request(offset, length, doneCallback, failureCallback, timeout));
     }
 
+    /**
+     * Determines whether the Segment is being read sequentially (i.e., each read starts at or shortly after the previous
+     * one) and, if so, issues Storage Reads for up to {@link ReadIndexConfig#getStorageReadPrefetchCount()} aligned blocks
+     * after the given offset, so that they may be in the Cache by the time the reader gets to them. No more prefetching
+     * is done once the reads stop being sequential, or while the Cache is at or above its target utilization.
+     *
+     * @param startOffset The offset of the current read.
+     */
+    private void prefetchIfSequential(long startOffset) {
+        int prefetchCount = this.config.getStorageReadPrefetchCount();
+        if (prefetchCount <= 0) {
+            // Prefetching is disabled.
+            return;
+        }
+
+        int alignment = this.config.getStorageReadAlignment();
+        ArrayList<StorageReadManager.Request> toPrefetch = new ArrayList<>();
+        synchronized (this.lock) {
+            if (this.lastReadOffset >= 0 && startOffset >= this.lastReadOffset && startOffset - this.lastReadOffset <= alignment) {
+                this.sequentialReadCount++;
+            } else {
+                this.sequentialReadCount = 1;
+                this.prefetchEndOffset = startOffset;
+            }
+
+            this.lastReadOffset = startOffset;
+            if (this.sequentialReadCount < PREFETCH_MIN_SEQUENTIAL_READS
+                    || this.cacheUtilizationProvider.getCacheUtilization() >= this.cacheUtilizationProvider.getCacheTargetUtilization()) {
+                return;
+            }
+
+            // Prefetch whole aligned blocks, beginning with the one after the block containing startOffset, but do not
+            // go beyond what is in Storage.
+            long blockOffset = startOffset - startOffset % alignment;
+            long offset = Math.max(this.prefetchEndOffset, blockOffset + alignment);
+            long maxOffset = Math.min(this.metadata.getStorageLength(), blockOffset + (long) (prefetchCount + 1) * alignment);
+            while (offset < maxOffset) {
+                ReadIndexEntry existingEntry = this.indexEntries.getFloor(offset);
+                if (existingEntry != null && offset <= existingEntry.getLastStreamSegmentOffset()) {
+                    // Already in the index; skip over it.
+                    offset = existingEntry.getLastStreamSegmentOffset() + 1;
+                    continue;
+                }
+
+                int length = getLengthUntilNextEntry(offset, getReadAlignedLength(offset, (int) Math.min(alignment, maxOffset - offset)));
+                toPrefetch.add(createPrefetchRequest(offset, length));
+                offset += length;
+            }
+
+            this.prefetchEndOffset = Math.max(this.prefetchEndOffset, offset);
+        }
+
+        // Issue the reads outside of the lock. Any that overlap reads already in progress will be merged with them by
+        // the StorageReadManager. Pending reads are cancelled when this index is closed.
+        toPrefetch.forEach(this.storageReadManager::execute);
+    }
+
+    private StorageReadManager.Request createPrefetchRequest(long offset, int length) {
+        log.debug("{}: Prefetch (Offset = {}, Length = {}).", this.traceObjectId, offset, length);
+        Consumer<StorageReadManager.Result> doneCallback = result -> {
+            if (!result.isDerived()) {
+                // Derived results are part of reads that were already in progress, which will insert their own data.
+                insert(offset, result.getData());
+            }
+        };
+        Consumer<Throwable> failureCallback = ex -> log.debug("{}: Prefetch (Offset = {}, Length = {}) failed. {}",
+                this.traceObjectId, offset, length, ex.toString());
+        return new StorageReadManager.Request(offset, length, doneCallback, failureCallback, this.config.getStorageReadDefaultTimeout());
+    }
+
     /**
      * Returns the length from the given offset until the beginning of the next index entry. If no such entry exists, or
      * if the length is greater than maxLength, then maxLength is returned.
@@ -11,6 +11,7 @@ package io.pravega.segmentstore.server.reading;
 
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
 import java.util.concurrent.CancellationException;
@@ -116,6 +117,11 @@ class StreamSegmentReadResult implements ReadResult {
         if (lastEntry != null && !lastEntry.isDone()) {
             lastEntry.fail(new CancellationException(String.format("ReadResult[%s] closed.", this.traceObjectId)));
             log.trace("{}.ReadResult[{}]: Cancelled last entry '{}'.", this.traceObjectId, this.streamSegmentStartOffset, lastEntry);
+        } else if (lastEntry != null && Futures.isSuccessful(lastEntry.getContent())
+                && lastEntry.getContent().join().releaseIfUnused()) {
+            // The last entry's contents are available (i.e., from the Cache), but nobody has touched them. They may be
+            // holding on to Cache memory, so release them now; nobody else will.
+            log.trace("{}.ReadResult[{}]: Released unconsumed last entry '{}'.", this.traceObjectId, this.streamSegmentStartOffset, lastEntry);
         }
     }
 
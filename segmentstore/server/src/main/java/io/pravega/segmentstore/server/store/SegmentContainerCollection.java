@@ -16,8 +16,14 @@ import io.pravega.segmentstore.contracts.ContainerNotFoundException;
 import io.pravega.segmentstore.server.SegmentContainer;
 import io.pravega.segmentstore.server.SegmentContainerRegistry;
 import io.pravega.shared.segment.SegmentToContainerMapper;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -76,4 +82,46 @@ public abstract class SegmentContainerCollection {
 
         return resultFuture;
     }
+
+    /**
+     * Executes the given Function for each of the given Segments, on the SegmentContainer that Segment maps to. Segments
+     * are grouped by SegmentContainer and all invocations for a SegmentContainer are made back-to-back, without waiting
+     * for any of them to complete, so that the resulting operations are queued up and processed together by that
+     * SegmentContainer's OperationLog.
+     *
+     * @param streamSegmentNames The names of the StreamSegments to invoke the Function for.
+     * @param toInvoke           A BiFunction that will be invoked with each StreamSegment's Container and name.
+     * @param methodName         The name of the calling method (for logging purposes).
+     * @param <T>                Resulting type.
+     * @return A Map of StreamSegment names to the results of toInvoke for them. StreamSegments that map to a
+     * SegmentContainer that does not exist in this collection will have a result completed exceptionally with a
+     * ContainerNotFoundException.
+     */
+    protected <T> Map<String, CompletableFuture<T>> invokeAll(Collection<String> streamSegmentNames,
+                                                              BiFunction<SegmentContainer, String, CompletableFuture<T>> toInvoke,
+                                                              String methodName) {
+        long traceId = LoggerHelpers.traceEnter(log, methodName, streamSegmentNames.size());
+        Map<Integer, List<String>> segmentsByContainer = streamSegmentNames
+                .stream()
+                .distinct()
+                .collect(Collectors.groupingBy(this.segmentToContainerMapper::getContainerId));
+        Map<String, CompletableFuture<T>> result = new HashMap<>();
+        segmentsByContainer.forEach((containerId, segmentNames) -> {
+            SegmentContainer container;
+            try {
+                container = this.segmentContainerRegistry.getContainer(containerId);
+            } catch (ContainerNotFoundException ex) {
+                segmentNames.forEach(segmentName -> result.put(segmentName, Futures.failedFuture(ex)));
+                return;
+            }
+
+            segmentNames.forEach(segmentName -> result.put(segmentName, toInvoke.apply(container, segmentName)));
+        });
+
+        if (log.isTraceEnabled()) {
+            Futures.allOf(result.values()).thenRun(() -> LoggerHelpers.traceLeave(log, methodName, traceId, result.size()));
+        }
+
+        return result;
+    }
 }
@@ -14,10 +14,13 @@ import io.pravega.common.util.ConfigBuilder;
 import io.pravega.common.util.ConfigurationException;
 import io.pravega.common.util.Property;
 import io.pravega.common.util.TypedProperties;
+import io.pravega.segmentstore.server.CacheManager;
 import io.pravega.segmentstore.server.CachePolicy;
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import lombok.Getter;
 import lombok.SneakyThrows;
 
@@ -44,12 +47,17 @@ public class ServiceConfig {
     public static final Property<String> CLUSTER_NAME = Property.named("clusterName", "pravega-cluster");
     public static final Property<DataLogType> DATALOG_IMPLEMENTATION = Property.named("dataLogImplementation", DataLogType.INMEMORY);
     public static final Property<StorageType> STORAGE_IMPLEMENTATION = Property.named("storageImplementation", StorageType.HDFS);
+    public static final Property<CacheType> CACHE_IMPLEMENTATION = Property.named("cacheImplementation", CacheType.ROCKSDB);
     public static final Property<Boolean> READONLY_SEGMENT_STORE = Property.named("readOnlySegmentStore", false);
     public static final Property<Long> CACHE_POLICY_MAX_SIZE = Property.named("cacheMaxSize", 16L * 1024 * 1024 * 1024);
     public static final Property<Integer> CACHE_POLICY_TARGET_UTILIZATION = Property.named("cacheTargetUtilizationPercent", (int) (100 * CachePolicy.DEFAULT_TARGET_UTILIZATION));
     public static final Property<Integer> CACHE_POLICY_MAX_UTILIZATION = Property.named("cacheMaxUtilizationPercent", (int) (100 * CachePolicy.DEFAULT_MAX_UTILIZATION));
     public static final Property<Integer> CACHE_POLICY_MAX_TIME = Property.named("cacheMaxTimeSeconds", 30 * 60);
     public static final Property<Integer> CACHE_POLICY_GENERATION_TIME = Property.named("cacheGenerationTimeSeconds", 1);
+    public static final Property<Integer> CACHE_POLICY_CONTAINER_QUOTA = Property.named("cacheContainerQuotaPercent", 100);
+    public static final Property<Integer> CACHE_POLICY_READ_INDEX_QUOTA = Property.named("cacheReadIndexQuotaPercent", 100);
+    public static final Property<Integer> CACHE_POLICY_ATTRIBUTE_INDEX_QUOTA = Property.named("cacheAttributeIndexQuotaPercent", 100);
+    public static final Property<Integer> CACHE_POLICY_TABLE_KEY_INDEX_QUOTA = Property.named("cacheTableKeyIndexQuotaPercent", 100);
     public static final Property<Boolean> REPLY_WITH_STACK_TRACE_ON_ERROR = Property.named("replyWithStackTraceOnError", false);
     public static final Property<String> INSTANCE_ID = Property.named("instanceId", "");
 
@@ -100,6 +108,18 @@ public class ServiceConfig {
         INMEMORY
     }
 
+    public enum CacheType {
+        /**
+         * Cache is implemented by a RocksDB database (memory with disk spillover).
+         */
+        ROCKSDB,
+
+        /**
+         * Cache is implemented by fixed-size blocks in pre-allocated, off-heap (direct) memory slabs.
+         */
+        DIRECTMEMORY
+    }
+
     //endregion
 
     //region Members
@@ -213,6 +233,12 @@ public class ServiceConfig {
     @Getter
     private final StorageType storageImplementation;
 
+    /**
+     * The Type of Cache Implementation to use.
+     */
+    @Getter
+    private final CacheType cacheImplementation;
+
     /**
      * Whether this SegmentStore instance is Read-Only (i.e., it can only process reads from Storage and nothing else).
      * Note that if this is set to 'true', then many other settings will not apply. The most important other one to set
@@ -309,6 +335,7 @@ public class ServiceConfig {
         this.clusterName = properties.get(CLUSTER_NAME);
         this.dataLogTypeImplementation = properties.getEnum(DATALOG_IMPLEMENTATION, DataLogType.class);
         this.storageImplementation = properties.getEnum(STORAGE_IMPLEMENTATION, StorageType.class);
+        this.cacheImplementation = properties.getEnum(CACHE_IMPLEMENTATION, CacheType.class);
         this.readOnlySegmentStore = properties.getBoolean(READONLY_SEGMENT_STORE);
         this.secureZK = properties.getBoolean(SECURE_ZK);
         this.zkTrustStore = properties.get(ZK_TRUSTSTORE_LOCATION);
@@ -322,12 +349,25 @@ public class ServiceConfig {
         double cachePolicyMaxUtilization = properties.getInt(CACHE_POLICY_MAX_UTILIZATION) / 100.0;
         int cachePolicyMaxTime = properties.getInt(CACHE_POLICY_MAX_TIME);
         int cachePolicyGenerationTime = properties.getInt(CACHE_POLICY_GENERATION_TIME);
+        double cachePolicyContainerQuota = properties.getInt(CACHE_POLICY_CONTAINER_QUOTA) / 100.0;
+        Map<CacheManager.ClientType, Double> cachePolicyClientTypeQuotas = new EnumMap<>(CacheManager.ClientType.class);
+        addClientTypeQuota(cachePolicyClientTypeQuotas, CacheManager.ClientType.ReadIndex, properties.getInt(CACHE_POLICY_READ_INDEX_QUOTA));
+        addClientTypeQuota(cachePolicyClientTypeQuotas, CacheManager.ClientType.AttributeIndex, properties.getInt(CACHE_POLICY_ATTRIBUTE_INDEX_QUOTA));
+        addClientTypeQuota(cachePolicyClientTypeQuotas, CacheManager.ClientType.TableKeyIndex, properties.getInt(CACHE_POLICY_TABLE_KEY_INDEX_QUOTA));
         this.cachePolicy = new CachePolicy(cachePolicyMaxSize, cachePolicyTargetUtilization, cachePolicyMaxUtilization,
-                Duration.ofSeconds(cachePolicyMaxTime), Duration.ofSeconds(cachePolicyGenerationTime));
+                Duration.ofSeconds(cachePolicyMaxTime), Duration.ofSeconds(cachePolicyGenerationTime),
+                cachePolicyContainerQuota, cachePolicyClientTypeQuotas);
         this.replyWithStackTraceOnError = properties.getBoolean(REPLY_WITH_STACK_TRACE_ON_ERROR);
         this.instanceId = properties.get(INSTANCE_ID);
     }
 
+    private static void addClientTypeQuota(Map<CacheManager.ClientType, Double> quotas, CacheManager.ClientType clientType, int quotaPercent) {
+        if (quotaPercent < 100) {
+            // 100% means no quota, so there's no need to record it.
+            quotas.put(clientType, quotaPercent / 100.0);
+        }
+    }
+
     /**
      * Creates a new ConfigBuilder that can be used to create instances of this class.
      *
@@ -364,6 +404,7 @@ public class ServiceConfig {
                 .append(String.format("clusterName: %s, ", clusterName))
                 .append(String.format("dataLogTypeImplementation: %s, ", dataLogTypeImplementation.name()))
                 .append(String.format("storageImplementation: %s, ", storageImplementation.name()))
+                .append(String.format("cacheImplementation: %s, ", cacheImplementation.name()))
                 .append(String.format("readOnlySegmentStore: %b, ", readOnlySegmentStore))
                 .append(String.format("enableTls: %b, ", enableTls))
                 .append(String.format("certFile is %s, ",
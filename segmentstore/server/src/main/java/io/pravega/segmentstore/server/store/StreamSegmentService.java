@@ -9,16 +9,21 @@
  */
 package io.pravega.segmentstore.server.store;
 
+import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.BufferView;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.MergeStreamSegmentResult;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.SegmentProperties;
+import io.pravega.segmentstore.contracts.StreamSegmentMergedException;
+import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
+import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.contracts.StreamSegmentStore;
 import io.pravega.segmentstore.server.SegmentContainerRegistry;
 import io.pravega.shared.segment.SegmentToContainerMapper;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -110,6 +115,27 @@ public class StreamSegmentService extends SegmentContainerCollection implements
                 "mergeTransaction", targetStreamSegment, sourceStreamSegment);
     }
 
+    @Override
+    public CompletableFuture<Map<String, MergeStreamSegmentResult>> mergeStreamSegments(Map<String, String> sourceToTarget, Duration timeout) {
+        Map<String, CompletableFuture<MergeStreamSegmentResult>> results = invokeAll(
+                sourceToTarget.keySet(),
+                (container, source) -> Futures.exceptionallyExpecting(
+                        container.mergeStreamSegment(sourceToTarget.get(source), source, timeout),
+                        ex -> isAlreadyMerged(ex, source),
+                        null),
+                "mergeStreamSegments");
+        return Futures.allOf(results.values())
+                      .thenApply(v -> {
+                          Map<String, MergeStreamSegmentResult> merged = new HashMap<>();
+                          results.forEach((source, result) -> {
+                              if (result.join() != null) {
+                                  merged.put(source, result.join());
+                              }
+                          });
+                          return merged;
+                      });
+    }
+
     @Override
     public CompletableFuture<Long> sealStreamSegment(String streamSegmentName, Duration timeout) {
         return invoke(
@@ -118,6 +144,18 @@ public class StreamSegmentService extends SegmentContainerCollection implements
                 "sealStreamSegment", streamSegmentName);
     }
 
+    @Override
+    public CompletableFuture<Void> sealStreamSegments(Collection<String> streamSegmentNames, Duration timeout) {
+        Map<String, CompletableFuture<Long>> results = invokeAll(
+                streamSegmentNames,
+                (container, segmentName) -> Futures.exceptionallyExpecting(
+                        container.sealStreamSegment(segmentName, timeout),
+                        ex -> ex instanceof StreamSegmentSealedException,
+                        null),
+                "sealStreamSegments");
+        return Futures.allOf(results.values());
+    }
+
     @Override
     public CompletableFuture<Void> deleteStreamSegment(String streamSegmentName, Duration timeout) {
         return invoke(
@@ -135,4 +173,14 @@ public class StreamSegmentService extends SegmentContainerCollection implements
     }
 
     //endregion
+
+    //region Helpers
+
+    private boolean isAlreadyMerged(Throwable ex, String sourceStreamSegment) {
+        return ex instanceof StreamSegmentMergedException
+                || (ex instanceof StreamSegmentNotExistsException
+                && sourceStreamSegment.equals(((StreamSegmentNotExistsException) ex).getStreamSegmentName()));
+    }
+
+    //endregion
 }
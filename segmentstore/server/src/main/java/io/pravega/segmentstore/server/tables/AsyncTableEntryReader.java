@@ -178,7 +178,12 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
 
             // TODO: most of these transfers are from memory to memory. It's a pity that we need an extra buffer to do the copy.
             // TODO: https://github.com/pravega/pravega/issues/2924
-            this.readData.write(StreamHelpers.readAll(contents.getData(), contents.getLength()));
+            try {
+                this.readData.write(StreamHelpers.readAll(contents.getData(), contents.getLength()));
+            } finally {
+                contents.release();
+            }
+
             if (this.header == null && this.readData.size() >= EntrySerializer.HEADER_LENGTH) {
                 // We now have enough to read the header.
                 this.header = this.serializer.readHeader(this.readData.getData());
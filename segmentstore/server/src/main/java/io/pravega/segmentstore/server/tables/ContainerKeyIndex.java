@@ -106,7 +106,7 @@ class ContainerKeyIndex implements AutoCloseable {
                       @NonNull KeyHasher keyHasher, @NonNull ScheduledExecutorService executor) {
         this.cache = new ContainerKeyCache(containerId, cacheFactory);
         this.cacheManager = cacheManager;
-        this.cacheManager.register(this.cache);
+        this.cacheManager.register(this.cache, CacheManager.ClientType.TableKeyIndex, containerId);
         this.executor = executor;
         this.indexReader = new IndexReader(executor);
         this.conditionalUpdateProcessor = new MultiKeySequentialProcessor<>(this.executor);
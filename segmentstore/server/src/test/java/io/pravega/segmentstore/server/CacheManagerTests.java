@@ -16,13 +16,17 @@ import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Random;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import lombok.Cleanup;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.val;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -181,6 +185,83 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability to trim those clients that exceed their quotas (per Client Type or per Segment Container), without
+     * affecting the other clients, even if the cache as a whole does not exceed the policy limits.
+     */
+    @Test
+    public void testQuotas() {
+        final int cycleCount = 10; // Enough for both quotas to be exceeded, but not for the cache as a whole.
+        final CachePolicy policy = new CachePolicy(1000, 1.0, 1.0, Duration.ofHours(1000), Duration.ofHours(1),
+                0.5, Collections.singletonMap(CacheManager.ClientType.AttributeIndex, 0.2));
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+
+        // Container 0 has a single Read Index, which will never exceed any quota. Container 1 has an Attribute Index,
+        // which will exceed its type's quota, and a Read Index, which will eventually push the container over its quota.
+        val readIndex0 = new GenerationTestClient(40);
+        val attributeIndex1 = new GenerationTestClient(60);
+        val readIndex1 = new GenerationTestClient(50);
+        cm.register(readIndex0, CacheManager.ClientType.ReadIndex, 0);
+        cm.register(attributeIndex1, CacheManager.ClientType.AttributeIndex, 1);
+        cm.register(readIndex1, CacheManager.ClientType.ReadIndex, 1);
+        val allClients = Arrays.asList(readIndex0, attributeIndex1, readIndex1);
+        for (int cycleId = 0; cycleId < cycleCount; cycleId++) {
+            allClients.forEach(GenerationTestClient::insert);
+            cm.applyCachePolicy();
+
+            long totalSize = allClients.stream().mapToLong(c -> c.getCacheStatus().getSize()).sum();
+            AssertExtensions.assertLessThanOrEqual("Not expecting the cache to exceed the policy limits.",
+                    policy.getEvictionThreshold(), totalSize);
+            AssertExtensions.assertLessThanOrEqual("Client Type quota exceeded.",
+                    policy.getClientTypeQuotaBytes(CacheManager.ClientType.AttributeIndex), attributeIndex1.getCacheStatus().getSize());
+            AssertExtensions.assertLessThanOrEqual("Container quota exceeded.", policy.getContainerQuotaBytes(),
+                    attributeIndex1.getCacheStatus().getSize() + readIndex1.getCacheStatus().getSize());
+            Assert.assertEquals("Not expecting a client within its quotas to be trimmed.",
+                    (cycleId + 1) * readIndex0.getInsertSize(), readIndex0.getCacheStatus().getSize());
+        }
+    }
+
+    /**
+     * Tests that a group of clients exceeding its quota by more than one generation's worth of data is trimmed in a single
+     * pass, updating each client only once.
+     */
+    @Test
+    public void testQuotaSinglePassTrim() {
+        final int cycleCount = 15;
+        final CachePolicy policy = new CachePolicy(1000, 1.0, 1.0, Duration.ofHours(1000), Duration.ofHours(1),
+                0.5, Collections.singletonMap(CacheManager.ClientType.AttributeIndex, 0.2));
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+
+        // The first client builds up a history of (evenly sized) generations, without exceeding the quota.
+        val client1 = new GenerationTestClient(10);
+        cm.register(client1, CacheManager.ClientType.AttributeIndex, 0);
+        for (int cycleId = 0; cycleId < cycleCount; cycleId++) {
+            client1.insert();
+            cm.applyCachePolicy();
+        }
+
+        Assert.assertEquals(cycleCount * client1.getInsertSize(), client1.getCacheStatus().getSize());
+
+        // The second client pushes the group over its quota by several of the first client's generations.
+        val client2 = new GenerationTestClient(100);
+        cm.register(client2, CacheManager.ClientType.AttributeIndex, 0);
+        client2.insert();
+        int updateCount1 = client1.getUpdateCount();
+        int updateCount2 = client2.getUpdateCount();
+        cm.applyCachePolicy();
+
+        long quota = policy.getClientTypeQuotaBytes(CacheManager.ClientType.AttributeIndex);
+        long groupSize = client1.getCacheStatus().getSize() + client2.getCacheStatus().getSize();
+        Assert.assertEquals("Expected the group to be trimmed down to its quota.", quota, groupSize);
+        Assert.assertEquals("Not expecting the newest data to be trimmed.", client2.getInsertSize(), client2.getCacheStatus().getSize());
+
+        // Each client is updated once when trimmed, and once more when notified of the generation change.
+        Assert.assertEquals("Unexpected number of updates for the first client.", 2, client1.getUpdateCount() - updateCount1);
+        Assert.assertEquals("Unexpected number of updates for the second client.", 2, client2.getUpdateCount() - updateCount2);
+    }
+
     /**
      * Tests the ability of the CacheManager to auto-unregister a client that was detected as having been closed.
      */
@@ -279,6 +360,46 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * A Client that inserts a fixed amount of data in each generation and evicts it by generation.
+     */
+    private static class GenerationTestClient implements CacheManager.Client {
+        @Getter
+        private final long insertSize;
+        private final TreeMap<Integer, Long> sizesByGeneration = new TreeMap<>();
+        private int currentGeneration;
+        @Getter
+        private int updateCount;
+
+        GenerationTestClient(long insertSize) {
+            this.insertSize = insertSize;
+        }
+
+        void insert() {
+            this.sizesByGeneration.merge(this.currentGeneration, this.insertSize, Long::sum);
+        }
+
+        @Override
+        public CacheManager.CacheStatus getCacheStatus() {
+            if (this.sizesByGeneration.isEmpty()) {
+                return new CacheManager.CacheStatus(0, this.currentGeneration, this.currentGeneration);
+            }
+
+            long size = this.sizesByGeneration.values().stream().mapToLong(Long::longValue).sum();
+            return new CacheManager.CacheStatus(size, this.sizesByGeneration.firstKey(), this.sizesByGeneration.lastKey());
+        }
+
+        @Override
+        public long updateGenerations(int currentGeneration, int oldestGeneration) {
+            this.updateCount++;
+            this.currentGeneration = currentGeneration;
+            val toRemove = this.sizesByGeneration.headMap(oldestGeneration);
+            long removed = toRemove.values().stream().mapToLong(Long::longValue).sum();
+            toRemove.clear();
+            return removed;
+        }
+    }
+
     private static class TestClient implements CacheManager.Client {
         private CacheManager.CacheStatus currentStatus;
         private BiFunction<Integer, Integer, Long> updateGenerationsImpl = (current, oldest) -> -1L;
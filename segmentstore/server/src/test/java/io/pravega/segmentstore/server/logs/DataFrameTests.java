@@ -9,10 +9,16 @@
  */
 package io.pravega.segmentstore.server.logs;
 
+import io.pravega.common.io.SerializationException;
+import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.LogAddress;
 import io.pravega.test.common.AssertExtensions;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import lombok.Cleanup;
 import lombok.val;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -53,6 +59,99 @@ public class DataFrameTests {
         DataFrameTestHelpers.checkReadRecords(contents, allRecords, b -> b);
     }
 
+    /**
+     * Tests the ability to encode a DataFrame using a {@link DataFrameCodec}, deserialize it, and then read its records
+     * back. Frames that would not become smaller when encoded should be serialized as-is. The same
+     * {@link DataFrameCodec.Context} is used for all frames, as the DataFrameBuilder and DataFrameInputStream do.
+     */
+    @Test
+    public void testSerializationWithCodec() throws Exception {
+        int maxFrameSize = 1024 * 1024;
+        int maxRecordCount = 1000;
+        int minRecordSize = 0;
+        int maxRecordSize = 1024;
+        @Cleanup
+        val encodeContext = new DataFrameCodec.Context();
+        @Cleanup
+        val decodeContext = new DataFrameCodec.Context();
+
+        // Records with repeating contents (compressible). Encode a few frames, each with different contents.
+        ArrayList<ArrayView> encodedFrames = new ArrayList<>();
+        ArrayList<List<ByteArraySegment>> encodedRecords = new ArrayList<>();
+        for (int frameId = 0; frameId < 3; frameId++) {
+            final int period = 16 + frameId;
+            List<ByteArraySegment> compressibleRecords = DataFrameTestHelpers.generateRecords(maxRecordCount, minRecordSize, maxRecordSize, data -> {
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = (byte) (i % period);
+                }
+
+                return new ByteArraySegment(data);
+            });
+            DataFrame compressibleFrame = DataFrame.ofSize(maxFrameSize);
+            appendRecords(compressibleRecords, compressibleFrame);
+            compressibleFrame.seal();
+            int unencodedLength = compressibleFrame.getLength();
+            val encodedData = compressibleFrame.getData(DataFrameCodec.DEFLATE, encodeContext);
+            AssertExtensions.assertLessThan("Expected the encoded frame to be smaller.", unencodedLength, encodedData.getLength());
+            Assert.assertEquals("Expected the frame to reflect its encoded form.", encodedData.getLength(), compressibleFrame.getLength());
+            Assert.assertSame("Not expecting a frame to be encoded twice.", encodedData.array(),
+                    compressibleFrame.getData(DataFrameCodec.DEFLATE, encodeContext).array());
+            encodedFrames.add(encodedData);
+            encodedRecords.add(compressibleRecords);
+        }
+
+        for (int frameId = 0; frameId < encodedFrames.size(); frameId++) {
+            val encodedData = encodedFrames.get(frameId);
+            val encodedContents = DataFrame.read(encodedData.getReader(), encodedData.getLength(), null, decodeContext);
+            DataFrameTestHelpers.checkReadRecords(encodedContents, encodedRecords.get(frameId), b -> b);
+        }
+
+        // Random records (not compressible).
+        List<ByteArraySegment> randomRecords = DataFrameTestHelpers.generateRecords(maxRecordCount, minRecordSize, maxRecordSize, ByteArraySegment::new);
+        DataFrame randomFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(randomRecords, randomFrame);
+        randomFrame.seal();
+        int randomFrameLength = randomFrame.getLength();
+        val unencodedData = randomFrame.getData(DataFrameCodec.DEFLATE, encodeContext);
+        Assert.assertEquals("Not expecting an incompressible frame to be encoded.", randomFrameLength, unencodedData.getLength());
+        val unencodedContents = DataFrame.read(unencodedData.getReader(), unencodedData.getLength(), randomFrame.getAddress(), decodeContext);
+        DataFrameTestHelpers.checkReadRecords(unencodedContents, randomRecords, b -> b);
+
+        // A corrupted encoded frame should not be readable.
+        byte[] corruptedData = encodedFrames.get(0).getCopy();
+        corruptedData[corruptedData.length / 2] ^= 0xFF;
+        AssertExtensions.assertThrows(
+                "Expected a corrupted encoded frame to be rejected.",
+                () -> DataFrame.read(new ByteArraySegment(corruptedData).getReader(), corruptedData.length, null, decodeContext),
+                ex -> ex instanceof SerializationException);
+
+        // The Context should still be usable after a failed decode.
+        val encodedData = encodedFrames.get(1);
+        val encodedContents = DataFrame.read(encodedData.getReader(), encodedData.getLength(), null, decodeContext);
+        DataFrameTestHelpers.checkReadRecords(encodedContents, encodedRecords.get(1), b -> b);
+    }
+
+    /**
+     * Tests {@link DataFrameCodec#NONE}, which does not encode anything and decodes by copying.
+     */
+    @Test
+    public void testNoneCodec() throws Exception {
+        @Cleanup
+        val context = new DataFrameCodec.Context();
+        byte[] source = new byte[100];
+        new Random(0).nextBytes(source);
+        Assert.assertEquals("Not expecting NONE to encode anything.", -1,
+                DataFrameCodec.NONE.encode(new ByteArraySegment(source), new byte[source.length], 0, source.length, context));
+
+        byte[] target = new byte[source.length - 10];
+        DataFrameCodec.NONE.decode(source, 10, target.length, target, context);
+        Assert.assertArrayEquals("Unexpected decoded contents.", Arrays.copyOfRange(source, 10, source.length), target);
+        AssertExtensions.assertThrows(
+                "Expected a length mismatch to be rejected.",
+                () -> DataFrameCodec.NONE.decode(source, 0, source.length, target, context),
+                ex -> ex instanceof SerializationException);
+    }
+
     /**
      * Tests the ability to Start/End/Discard an entry.
      */
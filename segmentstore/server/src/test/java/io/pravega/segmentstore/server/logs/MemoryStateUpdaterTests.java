@@ -35,6 +35,7 @@ import java.io.InputStream;
 import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -152,6 +153,57 @@ public class MemoryStateUpdaterTests extends ThreadPooledTestSuite {
         Assert.assertEquals("ReadIndex.exitRecoveryMode was called with the wrong arguments.", true, exitRecovery.args.get("successfulRecovery"));
     }
 
+    /**
+     * Tests the ability of the MemoryStateUpdater to not add appends to the ReadIndex while in recovery mode, if their
+     * data is already in Storage.
+     */
+    @Test
+    public void testRecoveryModeAppendsInStorage() throws Exception {
+        final long segmentId = 1;
+        final int appendLength = 100;
+        SequencedItemList<Operation> opLog = new SequencedItemList<>();
+        ArrayList<TestReadIndex.MethodInvocation> methodInvocations = new ArrayList<>();
+        TestReadIndex readIndex = new TestReadIndex(methodInvocations::add);
+        MemoryStateUpdater updater = new MemoryStateUpdater(opLog, readIndex, Runnables.doNothing());
+
+        UpdateableContainerMetadata metadata = new MetadataBuilder(1).build();
+        val segmentMetadata = metadata.mapStreamSegmentId("a", segmentId);
+        segmentMetadata.setLength(4 * appendLength);
+        segmentMetadata.setStorageLength(2 * appendLength);
+        updater.enterRecoveryMode(metadata);
+
+        // The first two appends are in Storage. The last two are not, however the StorageLength catches up with the
+        // third one before we process the fourth one; we should still add the fourth one to the ReadIndex.
+        for (int i = 0; i < 4; i++) {
+            if (i == 3) {
+                segmentMetadata.setStorageLength(4 * appendLength);
+            }
+
+            StreamSegmentAppendOperation appendOp = new StreamSegmentAppendOperation(segmentId, new ByteArraySegment(new byte[appendLength]), null);
+            appendOp.setStreamSegmentOffset(i * appendLength);
+            appendOp.setSequenceNumber(i);
+            updater.process(appendOp);
+        }
+
+        updater.exitRecoveryMode(true);
+
+        val appendOffsets = methodInvocations.stream()
+                .filter(mi -> mi.methodName.equals(TestReadIndex.APPEND))
+                .map(mi -> (Long) mi.args.get("offset"))
+                .collect(Collectors.toList());
+        AssertExtensions.assertListEquals("Unexpected appends added to the ReadIndex.",
+                Arrays.asList(2L * appendLength, 3L * appendLength), appendOffsets, Object::equals);
+
+        Iterator<Operation> logIterator = opLog.read(-1, 10);
+        int count = 0;
+        while (logIterator.hasNext()) {
+            Assert.assertTrue("Expected all appends to be added to the Memory Log.", logIterator.next() instanceof CachedStreamSegmentAppendOperation);
+            count++;
+        }
+
+        Assert.assertEquals("Unexpected number of operations added to the Memory Log.", 4, count);
+    }
+
     private ArrayList<Operation> populate(MemoryStateUpdater updater, int segmentCount, int operationCountPerType) throws DataCorruptionException {
         ArrayList<Operation> operations = new ArrayList<>();
         long offset = 0;
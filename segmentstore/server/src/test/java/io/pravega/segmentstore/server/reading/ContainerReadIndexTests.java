@@ -51,6 +51,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -81,6 +82,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
             .builder()
             .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0) // Default: Off (we have a special test for this).
             .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, 1024)
+            .with(ReadIndexConfig.STORAGE_READ_PREFETCH_COUNT, 0) // Default: Off (we have a special test for this).
             .build();
     private static final Duration TIMEOUT = Duration.ofSeconds(20);
 
@@ -723,6 +725,129 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         checkReadIndex("CacheReads", segmentContents, context);
     }
 
+    /**
+     * Tests the ability to prefetch data from Storage when a Segment is read sequentially.
+     */
+    @Test
+    public void testStoragePrefetch() throws Exception {
+        final int alignment = 1024;
+        final int prefetchCount = 2;
+        ReadIndexConfig config = ReadIndexConfig.builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, alignment)
+                .with(ReadIndexConfig.STORAGE_READ_PREFETCH_COUNT, prefetchCount)
+                .build();
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+        long segmentId = createSegment(0, context);
+        createSegmentsInStorage(context);
+
+        // Write some data in Storage.
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+        byte[] segmentData = new byte[alignment * 10];
+        new Random(0).nextBytes(segmentData);
+        val handle = context.storage.openWrite(sm.getName()).join();
+        context.storage.write(handle, 0, new ByteArrayInputStream(segmentData), segmentData.length, TIMEOUT).join();
+        sm.setStorageLength(segmentData.length);
+        sm.setLength(segmentData.length);
+
+        Set<Long> cachedOffsets = Collections.synchronizedSet(new HashSet<>());
+        context.cacheFactory.cache.insertCallback = key -> cachedOffsets.add(key.getOffset());
+
+        // The first read is not sequential, so it should not prefetch anything.
+        readBlock(segmentId, 0, alignment, ReadResultEntryType.Storage, segmentData, context);
+        TestUtils.await(() -> cachedOffsets.contains(0L), 5, TIMEOUT.toMillis());
+        Assert.assertEquals("Not expecting anything to be prefetched after the first read.", 1, cachedOffsets.size());
+
+        // The second read is sequential, so the blocks after it should be prefetched.
+        readBlock(segmentId, alignment, alignment, ReadResultEntryType.Storage, segmentData, context);
+        TestUtils.await(() -> cachedOffsets.size() == 2 + prefetchCount, 5, TIMEOUT.toMillis());
+        for (int i = 0; i < prefetchCount; i++) {
+            long offset = (long) (i + 2) * alignment;
+            Assert.assertTrue("Expected block to be prefetched: " + offset, cachedOffsets.contains(offset));
+            readBlock(segmentId, offset, alignment, ReadResultEntryType.Cache, segmentData, context);
+        }
+    }
+
+    /**
+     * Tests that data read from Storage while the Cache is under pressure is only admitted on probation, so that it is
+     * evicted before data that is actively being read.
+     */
+    @Test
+    public void testStorageReadProbation() throws Exception {
+        final int blockSize = 100;
+        final int hotBlockCount = 5;
+        final int coldBlockCount = 5;
+        ReadIndexConfig config = ReadIndexConfig.builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, blockSize)
+                .with(ReadIndexConfig.STORAGE_READ_PREFETCH_COUNT, 0)
+                .build();
+
+        // The hot segment's data alone brings the cache to its target utilization.
+        CachePolicy cachePolicy = new CachePolicy(2 * hotBlockCount * blockSize, 0.5, 1.0, Duration.ofHours(1), Duration.ofSeconds(1));
+        @Cleanup
+        TestContext context = new TestContext(config, cachePolicy);
+        long hotSegmentId = createSegment(0, context);
+        long coldSegmentId = createSegment(1, context);
+        createSegmentsInStorage(context);
+        ArrayList<CacheKey> removedKeys = new ArrayList<>();
+        context.cacheFactory.cache.removeCallback = removedKeys::add;
+
+        // Append the hot data and mark it as being in Storage, so that it may be evicted.
+        byte[] hotData = new byte[hotBlockCount * blockSize];
+        new Random(0).nextBytes(hotData);
+        UpdateableSegmentMetadata hotMetadata = context.metadata.getStreamSegmentMetadata(hotSegmentId);
+        for (int i = 0; i < hotBlockCount; i++) {
+            appendSingleWrite(hotSegmentId, new ByteArraySegment(hotData, i * blockSize, blockSize), context);
+        }
+        hotMetadata.setStorageLength(hotMetadata.getLength());
+        context.cacheManager.applyCachePolicy();
+
+        // Write the cold data directly into Storage.
+        byte[] coldData = new byte[coldBlockCount * blockSize];
+        new Random(1).nextBytes(coldData);
+        UpdateableSegmentMetadata coldMetadata = context.metadata.getStreamSegmentMetadata(coldSegmentId);
+        val handle = context.storage.openWrite(coldMetadata.getName()).join();
+        context.storage.write(handle, 0, new ByteArrayInputStream(coldData), coldData.length, TIMEOUT).join();
+        coldMetadata.setStorageLength(coldData.length);
+        coldMetadata.setLength(coldData.length);
+
+        // Simulate a scan of the cold segment while the hot segment is being actively read. Each block of cold data
+        // should be evicted as soon as the cache exceeds its target, without evicting any hot data.
+        for (int i = 0; i < coldBlockCount; i++) {
+            for (int j = 0; j < hotBlockCount; j++) {
+                readBlock(hotSegmentId, j * blockSize, blockSize, ReadResultEntryType.Cache, hotData, context);
+            }
+
+            // Wait for the cold data to be inserted into the cache, which should be in an older generation than the hot data.
+            readBlock(coldSegmentId, i * blockSize, blockSize, ReadResultEntryType.Storage, coldData, context);
+            val hotIndex = context.readIndex.getIndex(hotSegmentId);
+            val coldIndex = context.readIndex.getIndex(coldSegmentId);
+            TestUtils.await(() -> coldIndex.getCacheStatus().getSize() > 0
+                            && coldIndex.getCacheStatus().getNewestGeneration() < hotIndex.getCacheStatus().getNewestGeneration(),
+                    5, TIMEOUT.toMillis());
+            context.cacheManager.applyCachePolicy();
+
+            Assert.assertEquals("Unexpected number of evicted entries.", i + 1, removedKeys.size());
+            Assert.assertTrue("Not expecting any hot data to be evicted.",
+                    removedKeys.stream().allMatch(key -> key.getStreamSegmentId() == coldSegmentId));
+        }
+    }
+
+    private void readBlock(long segmentId, long offset, int length, ReadResultEntryType expectedType, byte[] expectedData, TestContext context) throws Exception {
+        @Cleanup
+        ReadResult result = context.readIndex.read(segmentId, offset, length, TIMEOUT);
+        ReadResultEntry entry = result.next();
+        Assert.assertEquals("Unexpected ReadResultEntryType at offset " + offset, expectedType, entry.getType());
+        entry.requestContent(TIMEOUT);
+        ReadResultEntryContents contents = entry.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Assert.assertEquals("Unexpected read length at offset " + offset, length, contents.getLength());
+        byte[] readData = new byte[length];
+        StreamHelpers.readAll(contents.getData(), readData, 0, readData.length);
+        AssertExtensions.assertArrayEquals("Unexpected data read at offset " + offset, expectedData, (int) offset, readData, 0, length);
+    }
+
     /**
      * Tests the ability to handle Storage read failures.
      */
@@ -840,7 +965,10 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         CachePolicy cachePolicy = new CachePolicy(cacheMaxSize, 1.0, 1.0, Duration.ofMillis(1000 * 2 * entriesPerSegment), Duration.ofMillis(1000));
 
         // To properly test this, we want predictable storage reads.
-        ReadIndexConfig config = ReadIndexConfig.builder().with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, appendSize).build();
+        ReadIndexConfig config = ReadIndexConfig.builder()
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, appendSize)
+                .with(ReadIndexConfig.STORAGE_READ_PREFETCH_COUNT, 0)
+                .build();
 
         ArrayList<CacheKey> removedKeys = new ArrayList<>();
         @Cleanup
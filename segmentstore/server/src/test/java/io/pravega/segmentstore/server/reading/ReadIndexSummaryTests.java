@@ -119,6 +119,25 @@ public class ReadIndexSummaryTests {
         }
     }
 
+    /**
+     * Tests the functionality of moveOne - moving an item from one generation to another (older) generation.
+     */
+    @Test
+    public void testMoveOne() {
+        ReadIndexSummary s = new ReadIndexSummary();
+        s.setCurrentGeneration(GENERATION_COUNT);
+        s.add(1, 0);
+        int generation = s.add(MAX_ITEM_SIZE);
+        Assert.assertEquals(GENERATION_COUNT, s.toCacheStatus().getNewestGeneration());
+
+        int newGeneration = s.moveOne(generation, 1);
+        Assert.assertEquals("Unexpected return value from moveOne().", 1, newGeneration);
+        CacheManager.CacheStatus currentStatus = s.toCacheStatus();
+        Assert.assertEquals("Not expecting the total size to change.", MAX_ITEM_SIZE + 1, currentStatus.getSize());
+        Assert.assertEquals("Unexpected oldest generation.", 0, currentStatus.getOldestGeneration());
+        Assert.assertEquals("Unexpected newest generation.", 1, currentStatus.getNewestGeneration());
+    }
+
     /**
      * Tests the functionality of touchOne - moving an item from one generation to the newest generation.
      */
@@ -10,13 +10,16 @@
 package io.pravega.segmentstore.server.reading;
 
 import io.pravega.common.ObjectClosedException;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
 import io.pravega.test.common.AssertExtensions;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import lombok.Cleanup;
+import lombok.val;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -144,6 +147,47 @@ public class StreamSegmentReadResultTests {
                 ex -> ex instanceof ObjectClosedException);
     }
 
+    /**
+     * Tests the ability to release the contents of an already completed entry that was never consumed when closing the result.
+     */
+    @Test
+    public void testCloseReleasesUnconsumedEntry() {
+        AtomicReference<TestReadResultEntry> nextEntry = new AtomicReference<>();
+        StreamSegmentReadResult.NextEntrySupplier nes = (offset, length) -> nextEntry.get();
+        AtomicInteger releaseCount = new AtomicInteger();
+        val data = new ByteArraySegment(new byte[READ_ITEM_LENGTH]) {
+            @Override
+            public void release() {
+                releaseCount.incrementAndGet();
+            }
+        };
+
+        // An entry that is complete when returned and whose contents are never touched.
+        StreamSegmentReadResult r1 = new StreamSegmentReadResult(START_OFFSET, MAX_RESULT_LENGTH, nes, "");
+        nextEntry.set(TestReadResultEntry.cache(START_OFFSET, MAX_RESULT_LENGTH));
+        nextEntry.get().complete(new ReadResultEntryContents(data));
+        ReadResultEntry resultEntry = r1.next();
+        r1.close();
+        Assert.assertEquals("Unconsumed contents were not released when closing the ReadResult.", 1, releaseCount.get());
+        AssertExtensions.assertThrows(
+                "Contents could be accessed after they were released.",
+                () -> resultEntry.getContent().join().getBuffer(),
+                ex -> ex instanceof IllegalStateException);
+
+        // An entry whose contents have been accessed: releasing them is the consumer's job.
+        releaseCount.set(0);
+        StreamSegmentReadResult r2 = new StreamSegmentReadResult(START_OFFSET, MAX_RESULT_LENGTH, nes, "");
+        nextEntry.set(TestReadResultEntry.cache(START_OFFSET, MAX_RESULT_LENGTH));
+        nextEntry.get().complete(new ReadResultEntryContents(data));
+        ReadResultEntryContents contents = r2.next().getContent().join();
+        Assert.assertNotNull(contents.getBuffer());
+        r2.close();
+        Assert.assertEquals("Consumed contents were released when closing the ReadResult.", 0, releaseCount.get());
+        contents.release();
+        contents.release();
+        Assert.assertEquals("Unexpected number of releases after releasing the contents twice.", 1, releaseCount.get());
+    }
+
     /**
      * Tests the ability to only return a next item if the previous returned item hasn't been consumed yet.
      */
@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.Timer;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.BufferView;
+import io.pravega.segmentstore.storage.Cache;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache backed by direct (off-heap) memory, managed by a {@link SlabAllocator}.
+ *
+ * Each entry is stored as a chain of fixed-size blocks and is addressed by a long handle which encodes the first
+ * Block Id and the length of the entry. Entries are reference-counted so that a concurrent {@link #remove} or
+ * {@link #insert} (overwrite) does not free the blocks while a {@link #get} is still copying out of them.
+ */
+@Slf4j
+@ThreadSafe
+class DirectMemoryCache implements Cache {
+    //region Members
+
+    @Getter
+    private final String id;
+    private final String logId;
+    private final SlabAllocator allocator;
+    private final ConcurrentHashMap<Key, Entry> entries;
+    private final Consumer<String> closeCallback;
+    private final AtomicBoolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCache class.
+     *
+     * @param id            The Cache Id.
+     * @param allocator     The {@link SlabAllocator} to allocate memory from. This may be shared with other caches.
+     * @param closeCallback A callback to invoke when the cache is closed.
+     */
+    DirectMemoryCache(String id, SlabAllocator allocator, Consumer<String> closeCallback) {
+        Exceptions.checkNotNullOrEmpty(id, "id");
+        this.id = id;
+        this.logId = String.format("DirectMemoryCache[%s]", id);
+        this.allocator = Preconditions.checkNotNull(allocator, "allocator");
+        this.closeCallback = closeCallback;
+        this.entries = new ConcurrentHashMap<>();
+        this.closed = new AtomicBoolean();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            ArrayList<Key> keys = new ArrayList<>(this.entries.keySet());
+            keys.forEach(this::removeInternal);
+            log.info("{}: Closed.", this.logId);
+
+            Consumer<String> callback = this.closeCallback;
+            if (callback != null) {
+                Callbacks.invokeSafely(callback, this.id, null);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Cache Implementation
+
+    @Override
+    public void insert(Key key, byte[] data) {
+        insert(key, data, 0, data.length);
+    }
+
+    @Override
+    public void insert(Key key, BufferView data) {
+        if (data instanceof ArrayView) {
+            ArrayView av = (ArrayView) data;
+            insert(key, av.array(), av.arrayOffset(), av.getLength());
+        } else {
+            insert(key, data.getCopy());
+        }
+    }
+
+    private void insert(Key key, byte[] data, int offset, int length) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Timer timer = new Timer();
+        int firstBlockId = this.allocator.allocate(length);
+        try {
+            this.allocator.write(firstBlockId, data, offset, length);
+        } catch (Throwable ex) {
+            this.allocator.free(firstBlockId);
+            throw ex;
+        }
+
+        Entry existing = this.entries.put(key, new Entry(firstBlockId, length));
+        if (existing != null) {
+            existing.release();
+        }
+
+        DirectMemoryMetrics.insert(timer.getElapsedMillis(), length);
+        DirectMemoryMetrics.reportUtilization(this.allocator);
+    }
+
+    @Override
+    public byte[] get(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Timer timer = new Timer();
+        Entry entry = acquire(key);
+        if (entry == null) {
+            DirectMemoryMetrics.get(timer.getElapsedMillis(), 0);
+            return null;
+        }
+
+        byte[] result;
+        try {
+            result = new byte[entry.getLength()];
+            this.allocator.read(entry.getFirstBlockId(), result, 0, result.length);
+        } finally {
+            entry.release();
+        }
+
+        DirectMemoryMetrics.get(timer.getElapsedMillis(), result.length);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned {@link BufferView} points directly into the direct memory backing this entry and no data is copied.
+     * The entry's blocks will not be reused until the returned view is released.
+     */
+    @Override
+    public BufferView getView(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Timer timer = new Timer();
+        Entry entry = acquire(key);
+        DirectMemoryMetrics.get(timer.getElapsedMillis(), entry == null ? 0 : entry.getLength());
+        return entry == null ? null : new EntryView(entry, 0, entry.getLength());
+    }
+
+    @Override
+    public void remove(Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Timer timer = new Timer();
+        removeInternal(key);
+        DirectMemoryMetrics.delete(timer.getElapsedMillis());
+        DirectMemoryMetrics.reportUtilization(this.allocator);
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Looks up the entry with given key and retains it, guaranteeing that its blocks will not be freed until it is
+     * released. If the entry is concurrently removed before it could be retained, the lookup is retried.
+     *
+     * @param key The key to look up.
+     * @return The retained entry, or null if no such entry exists.
+     */
+    private Entry acquire(Key key) {
+        while (true) {
+            Entry entry = this.entries.get(key);
+            if (entry == null || entry.tryRetain()) {
+                return entry;
+            }
+        }
+    }
+
+    private void removeInternal(Key key) {
+        Entry entry = this.entries.remove(key);
+        if (entry != null) {
+            entry.release();
+        }
+    }
+
+    //endregion
+
+    //region Entry
+
+    /**
+     * A reference-counted Cache Entry. The entry's blocks are returned to the allocator when its reference count
+     * reaches zero. The Cache itself holds one reference for as long as the entry is in the map.
+     */
+    private class Entry {
+        /**
+         * The entry handle. The upper 32 bits are the first Block Id and the lower 32 bits are the length.
+         */
+        private final long handle;
+        private final AtomicInteger refCount;
+
+        Entry(int firstBlockId, int length) {
+            this.handle = ((long) firstBlockId << 32) | (length & 0xFFFF_FFFFL);
+            this.refCount = new AtomicInteger(1);
+        }
+
+        int getFirstBlockId() {
+            return (int) (this.handle >>> 32);
+        }
+
+        int getLength() {
+            return (int) this.handle;
+        }
+
+        void retain() {
+            int count = this.refCount.getAndIncrement();
+            assert count > 0 : "retain() invoked on an already released entry.";
+        }
+
+        boolean tryRetain() {
+            int count;
+            do {
+                count = this.refCount.get();
+                if (count <= 0) {
+                    // Already released; its blocks may have been reused.
+                    return false;
+                }
+            } while (!this.refCount.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        void release() {
+            if (this.refCount.decrementAndGet() == 0) {
+                DirectMemoryCache.this.allocator.free(getFirstBlockId());
+            }
+        }
+    }
+
+    //endregion
+
+    //region EntryView
+
+    /**
+     * A {@link BufferView} over a range of a retained {@link Entry}. This does not hold any reference of its own: slices
+     * of it share the reference that was acquired when it was created.
+     */
+    private class EntryView implements BufferView {
+        private final Entry entry;
+        private final int offset;
+        private final int length;
+
+        EntryView(Entry entry, int offset, int length) {
+            this.entry = entry;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int getLength() {
+            return this.length;
+        }
+
+        @Override
+        public InputStream getReader() {
+            return new ByteBufferListInputStream(getBuffers());
+        }
+
+        @Override
+        public byte[] getCopy() {
+            byte[] result = new byte[this.length];
+            int offset = 0;
+            for (ByteBuffer bb : getBuffers()) {
+                int count = bb.remaining();
+                bb.get(result, offset, count);
+                offset += count;
+            }
+
+            return result;
+        }
+
+        @Override
+        public void copyTo(OutputStream target) throws IOException {
+            WritableByteChannel channel = Channels.newChannel(target);
+            for (ByteBuffer bb : getBuffers()) {
+                while (bb.hasRemaining()) {
+                    channel.write(bb);
+                }
+            }
+        }
+
+        @Override
+        public BufferView slice(int offset, int length) {
+            Exceptions.checkArrayRange(offset, length, this.length, "offset", "length");
+            return new EntryView(this.entry, this.offset + offset, length);
+        }
+
+        @Override
+        public List<ByteBuffer> getContents() {
+            return getBuffers();
+        }
+
+        @Override
+        public void retain() {
+            this.entry.retain();
+        }
+
+        @Override
+        public void release() {
+            this.entry.release();
+        }
+
+        private List<ByteBuffer> getBuffers() {
+            return DirectMemoryCache.this.allocator.getBuffers(this.entry.getFirstBlockId(), this.offset, this.length);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("EntryView[%s]: Offset = %d, Length = %d", DirectMemoryCache.this.id, this.offset, this.length);
+        }
+    }
+
+    /**
+     * InputStream over an ordered list of {@link ByteBuffer}s.
+     */
+    private static class ByteBufferListInputStream extends InputStream {
+        private final Iterator<ByteBuffer> buffers;
+        private ByteBuffer current;
+
+        ByteBufferListInputStream(List<ByteBuffer> buffers) {
+            this.buffers = buffers.iterator();
+            this.current = null;
+        }
+
+        @Override
+        public int read() {
+            if (!advance()) {
+                return -1;
+            }
+
+            return this.current.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            } else if (!advance()) {
+                return -1;
+            }
+
+            int count = Math.min(len, this.current.remaining());
+            this.current.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.current == null ? 0 : this.current.remaining();
+        }
+
+        private boolean advance() {
+            while (this.current == null || !this.current.hasRemaining()) {
+                if (!this.buffers.hasNext()) {
+                    return false;
+                }
+
+                this.current = this.buffers.next();
+            }
+
+            return true;
+        }
+    }
+
+    //endregion
+}
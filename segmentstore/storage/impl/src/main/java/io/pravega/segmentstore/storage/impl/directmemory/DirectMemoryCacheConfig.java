@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.InvalidPropertyValueException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the Direct Memory (off-heap slab) Cache.
+ */
+public class DirectMemoryCacheConfig {
+    //region Config Names
+
+    public static final Property<Integer> BLOCK_SIZE_BYTES = Property.named("blockSizeBytes", 4 * 1024);
+    public static final Property<Integer> SLAB_SIZE_BYTES = Property.named("slabSizeBytes", 16 * 1024 * 1024);
+    public static final Property<Long> MAX_SIZE_BYTES = Property.named("maxSizeBytes", 16L * 1024 * 1024 * 1024);
+    private static final String COMPONENT_CODE = "directmemory";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The size of a Cache Block, in bytes. This is the allocation unit for cache entries: every entry will use up a
+     * whole number of blocks. Smaller values reduce internal fragmentation for small entries at the expense of more
+     * per-block bookkeeping.
+     */
+    @Getter
+    private final int blockSizeBytes;
+
+    /**
+     * The size of a Slab, in bytes. Slabs are the unit by which direct memory is allocated from the OS. Must be a multiple
+     * of the Block size.
+     */
+    @Getter
+    private final int slabSizeBytes;
+
+    /**
+     * The maximum amount of direct memory, in bytes, that the Cache may allocate. This is rounded down to a multiple
+     * of the Slab size.
+     */
+    @Getter
+    private final long maxSizeBytes;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCacheConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private DirectMemoryCacheConfig(TypedProperties properties) throws ConfigurationException {
+        this.blockSizeBytes = properties.getInt(BLOCK_SIZE_BYTES);
+        if (this.blockSizeBytes <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    BLOCK_SIZE_BYTES, this.blockSizeBytes));
+        }
+
+        this.slabSizeBytes = properties.getInt(SLAB_SIZE_BYTES);
+        if (this.slabSizeBytes < this.blockSizeBytes || this.slabSizeBytes % this.blockSizeBytes != 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a multiple of %s (%d).",
+                    SLAB_SIZE_BYTES, this.slabSizeBytes, BLOCK_SIZE_BYTES, this.blockSizeBytes));
+        }
+
+        this.maxSizeBytes = properties.getLong(MAX_SIZE_BYTES);
+        if (this.maxSizeBytes < this.slabSizeBytes) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be greater than or equal to %s (%d).",
+                    MAX_SIZE_BYTES, this.maxSizeBytes, SLAB_SIZE_BYTES, this.slabSizeBytes));
+        }
+
+        if (this.maxSizeBytes / this.blockSizeBytes >= Integer.MAX_VALUE) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) divided by %s (%d) must be less than %d.",
+                    MAX_SIZE_BYTES, this.maxSizeBytes, BLOCK_SIZE_BYTES, this.blockSizeBytes, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<DirectMemoryCacheConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, DirectMemoryCacheConfig::new);
+    }
+
+    //endregion
+}
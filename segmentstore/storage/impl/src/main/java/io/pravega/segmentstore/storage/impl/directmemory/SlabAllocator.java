@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.ObjectClosedException;
+import io.pravega.segmentstore.storage.CacheException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fixed-size block allocator over a set of direct-memory {@link ByteBuffer} Slabs.
+ *
+ * Every block is identified by an int Block Id (SlabIndex * BlocksPerSlab + BlockIndexInSlab). Allocations are made
+ * in terms of chains of blocks: each block has a successor pointer (kept on-heap, per Slab), and a chain is terminated
+ * by {@link #NO_BLOCK}. Free blocks are kept in a singly-linked free list which reuses the same successor pointers.
+ *
+ * Slabs are allocated lazily (when the free list is exhausted), up to the configured maximum, and are never released
+ * back to the OS until this instance is closed.
+ *
+ * Reading from or writing to a block chain is not synchronized: callers must ensure that a chain is not freed while
+ * it is being accessed.
+ *
+ * Closing this instance does not require callers to be quiesced first. Any access to a block chain that begins after
+ * {@link #close()} fails with {@link ObjectClosedException}, while {@link ByteBuffer}s that have already been handed out
+ * remain valid (they keep their Slab's memory reachable until they are garbage-collected).
+ */
+@Slf4j
+@ThreadSafe
+class SlabAllocator implements AutoCloseable {
+    //region Members
+
+    static final int NO_BLOCK = -1;
+    @Getter
+    private final int blockSize;
+    private final int slabSize;
+    private final int blocksPerSlab;
+    private final int maxSlabCount;
+    private final ByteBuffer[] slabs;
+    private final int[][] successors;
+    private final Object lock = new Object();
+    // slabCount and usedBlockCount are only updated while holding the lock, but they can be read without it so that
+    // reporting stats does not contend with allocations.
+    @GuardedBy("lock")
+    private volatile int slabCount;
+    private final AtomicInteger usedBlockCount = new AtomicInteger();
+    @GuardedBy("lock")
+    private int freeListHead;
+    @GuardedBy("lock")
+    private int freeBlockCount;
+    @GuardedBy("lock")
+    private volatile boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SlabAllocator class.
+     *
+     * @param config The configuration to use.
+     */
+    SlabAllocator(DirectMemoryCacheConfig config) {
+        Preconditions.checkNotNull(config, "config");
+        this.blockSize = config.getBlockSizeBytes();
+        this.slabSize = config.getSlabSizeBytes();
+        this.blocksPerSlab = this.slabSize / this.blockSize;
+        this.maxSlabCount = (int) (config.getMaxSizeBytes() / this.slabSize);
+        this.slabs = new ByteBuffer[this.maxSlabCount];
+        this.successors = new int[this.maxSlabCount][];
+        this.freeListHead = NO_BLOCK;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.lock) {
+            if (!this.closed) {
+                this.closed = true;
+                for (int i = 0; i < this.slabCount; i++) {
+                    this.slabs[i] = null;
+                    this.successors[i] = null;
+                }
+
+                this.slabCount = 0;
+                this.usedBlockCount.set(0);
+                this.freeListHead = NO_BLOCK;
+                this.freeBlockCount = 0;
+            }
+        }
+    }
+
+    //endregion
+
+    //region Allocation
+
+    /**
+     * Allocates a chain of blocks that can hold the given number of bytes.
+     *
+     * @param length The number of bytes to allocate for.
+     * @return The Block Id of the first block in the chain, or {@link #NO_BLOCK} if length is 0.
+     * @throws CacheException If there is insufficient capacity to make this allocation.
+     */
+    int allocate(int length) {
+        Preconditions.checkArgument(length >= 0, "length must be a non-negative number.");
+        int blockCount = getBlockCount(length);
+        if (blockCount == 0) {
+            return NO_BLOCK;
+        }
+
+        synchronized (this.lock) {
+            Exceptions.checkNotClosed(this.closed, this);
+            while (this.freeBlockCount < blockCount) {
+                if (!allocateSlab()) {
+                    throw new CacheException(String.format("Unable to allocate %d blocks; capacity exceeded (Free=%d, Slabs=%d/%d).",
+                            blockCount, this.freeBlockCount, this.slabCount, this.maxSlabCount));
+                }
+            }
+
+            // Detach the first blockCount blocks from the free list; they are already chained together.
+            int first = this.freeListHead;
+            int last = first;
+            for (int i = 1; i < blockCount; i++) {
+                last = getSuccessor(last);
+            }
+
+            this.freeListHead = getSuccessor(last);
+            setSuccessor(last, NO_BLOCK);
+            this.freeBlockCount -= blockCount;
+            this.usedBlockCount.addAndGet(blockCount);
+            return first;
+        }
+    }
+
+    /**
+     * Returns all the blocks in the given chain to the free list.
+     *
+     * @param firstBlockId The Block Id of the first block in the chain. If {@link #NO_BLOCK}, nothing will happen.
+     * @return The number of blocks freed.
+     */
+    int free(int firstBlockId) {
+        if (firstBlockId == NO_BLOCK) {
+            return 0;
+        }
+
+        synchronized (this.lock) {
+            if (this.closed) {
+                // All memory has already been released.
+                return 0;
+            }
+
+            int count = 1;
+            int last = firstBlockId;
+            int next = getSuccessor(last);
+            while (next != NO_BLOCK) {
+                last = next;
+                next = getSuccessor(last);
+                count++;
+            }
+
+            setSuccessor(last, this.freeListHead);
+            this.freeListHead = firstBlockId;
+            this.freeBlockCount += count;
+            this.usedBlockCount.addAndGet(-count);
+            return count;
+        }
+    }
+
+    /**
+     * Calculates the number of blocks required to hold the given number of bytes.
+     *
+     * @param length The number of bytes.
+     * @return The number of blocks.
+     */
+    int getBlockCount(int length) {
+        return length / this.blockSize + (length % this.blockSize == 0 ? 0 : 1);
+    }
+
+    @GuardedBy("lock")
+    private boolean allocateSlab() {
+        if (this.slabCount >= this.maxSlabCount) {
+            return false;
+        }
+
+        int slabIndex = this.slabCount;
+        int[] slabSuccessors = new int[this.blocksPerSlab];
+        int firstBlockId = slabIndex * this.blocksPerSlab;
+        for (int i = 0; i < slabSuccessors.length - 1; i++) {
+            slabSuccessors[i] = firstBlockId + i + 1;
+        }
+
+        // Link the new blocks in front of whatever is left in the free list.
+        slabSuccessors[slabSuccessors.length - 1] = this.freeListHead;
+        this.slabs[slabIndex] = ByteBuffer.allocateDirect(this.slabSize);
+        this.successors[slabIndex] = slabSuccessors;
+        this.freeListHead = firstBlockId;
+        this.freeBlockCount += this.blocksPerSlab;
+        this.slabCount = slabIndex + 1;
+        log.info("{}: Allocated Slab {} ({} bytes).", this, slabIndex, this.slabSize);
+        return true;
+    }
+
+    //endregion
+
+    //region Data Access
+
+    /**
+     * Copies the given data into the given block chain.
+     *
+     * @param firstBlockId The Block Id of the first block in the chain, as returned by {@link #allocate}.
+     * @param data         The array containing the data to write.
+     * @param offset       The offset within data to start copying at.
+     * @param length       The number of bytes to copy.
+     */
+    void write(int firstBlockId, byte[] data, int offset, int length) {
+        int blockId = firstBlockId;
+        while (length > 0) {
+            Preconditions.checkArgument(blockId != NO_BLOCK, "Block chain is too short for the given data.");
+            int count = Math.min(length, this.blockSize);
+            ByteBuffer bb = getBlockBuffer(blockId);
+            bb.put(data, offset, count);
+            offset += count;
+            length -= count;
+            blockId = getSuccessor(blockId);
+        }
+    }
+
+    /**
+     * Copies data from the given block chain into the given array.
+     *
+     * @param firstBlockId The Block Id of the first block in the chain, as returned by {@link #allocate}.
+     * @param target       The array to copy into.
+     * @param offset       The offset within target to start copying at.
+     * @param length       The number of bytes to copy.
+     */
+    void read(int firstBlockId, byte[] target, int offset, int length) {
+        int blockId = firstBlockId;
+        while (length > 0) {
+            Preconditions.checkArgument(blockId != NO_BLOCK, "Block chain is too short for the requested length.");
+            int count = Math.min(length, this.blockSize);
+            ByteBuffer bb = getBlockBuffer(blockId);
+            bb.get(target, offset, count);
+            offset += count;
+            length -= count;
+            blockId = getSuccessor(blockId);
+        }
+    }
+
+    /**
+     * Gets an ordered list of read-only {@link ByteBuffer}s that wrap the given range of the given block chain. No data
+     * is copied; the returned buffers point directly into the Slabs and are only valid for as long as the block chain
+     * has not been freed.
+     *
+     * @param firstBlockId The Block Id of the first block in the chain, as returned by {@link #allocate}.
+     * @param offset       The offset, relative to the beginning of the chain, where the range begins.
+     * @param length       The length of the range.
+     * @return A List of {@link ByteBuffer}s, each with position 0 and limit equal to its length.
+     */
+    List<ByteBuffer> getBuffers(int firstBlockId, int offset, int length) {
+        ArrayList<ByteBuffer> result = new ArrayList<>(getBlockCount(offset % this.blockSize + length));
+        int blockId = firstBlockId;
+        for (int i = 0; i < offset / this.blockSize; i++) {
+            blockId = getSuccessor(blockId);
+        }
+
+        int blockOffset = offset % this.blockSize;
+        while (length > 0) {
+            Preconditions.checkArgument(blockId != NO_BLOCK, "Block chain is too short for the requested range.");
+            int count = Math.min(length, this.blockSize - blockOffset);
+            ByteBuffer bb = getBlockBuffer(blockId);
+            bb.position(blockOffset);
+            bb.limit(blockOffset + count);
+            result.add(bb.slice().asReadOnlyBuffer());
+            length -= count;
+            blockOffset = 0;
+            blockId = getSuccessor(blockId);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets a {@link ByteBuffer} that wraps exactly the given block. The returned buffer shares its content with the
+     * Slab but has its own position and limit, so it is safe for concurrent use.
+     *
+     * @param blockId The Block Id.
+     * @return A {@link ByteBuffer} with position 0 and limit equal to the block size.
+     */
+    ByteBuffer getBlockBuffer(int blockId) {
+        ByteBuffer slab = this.slabs[blockId / this.blocksPerSlab];
+        checkNotClosed(slab);
+        ByteBuffer bb = slab.duplicate();
+        int position = (blockId % this.blocksPerSlab) * this.blockSize;
+        bb.position(position);
+        bb.limit(position + this.blockSize);
+        return bb.slice();
+    }
+
+    /**
+     * Gets the Block Id that follows the given block in its chain.
+     *
+     * @param blockId The Block Id.
+     * @return The successor's Block Id, or {@link #NO_BLOCK} if this is the last block in the chain.
+     */
+    int getSuccessor(int blockId) {
+        int[] slabSuccessors = this.successors[blockId / this.blocksPerSlab];
+        checkNotClosed(slabSuccessors);
+        return slabSuccessors[blockId % this.blocksPerSlab];
+    }
+
+    private void checkNotClosed(Object slabData) {
+        // Slab data is only ever cleared by close(), so a missing Slab means we have been closed.
+        if (slabData == null || this.closed) {
+            throw new ObjectClosedException(this);
+        }
+    }
+
+    private void setSuccessor(int blockId, int successorId) {
+        this.successors[blockId / this.blocksPerSlab][blockId % this.blocksPerSlab] = successorId;
+    }
+
+    //endregion
+
+    //region Stats
+
+    /**
+     * Gets the number of bytes of direct memory that have been allocated from the OS.
+     */
+    long getAllocatedBytes() {
+        return (long) this.slabCount * this.slabSize;
+    }
+
+    /**
+     * Gets the number of bytes that are currently used by allocated blocks.
+     */
+    long getUsedBytes() {
+        return (long) this.usedBlockCount.get() * this.blockSize;
+    }
+
+    //endregion
+}
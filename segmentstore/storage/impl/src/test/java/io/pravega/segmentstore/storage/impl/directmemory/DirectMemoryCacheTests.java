@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.io.StreamHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheException;
+import io.pravega.segmentstore.storage.CacheTestBase;
+import io.pravega.test.common.AssertExtensions;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the DirectMemoryCache and SlabAllocator classes.
+ */
+public class DirectMemoryCacheTests extends CacheTestBase {
+    private static final int BLOCK_SIZE = 8;
+    private static final int SLAB_SIZE = 64 * 1024;
+    private static final long MAX_SIZE = 4 * 1024 * 1024;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private final AtomicReference<DirectMemoryCacheFactory> factory = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        this.factory.set(new DirectMemoryCacheFactory(createConfig()));
+    }
+
+    @After
+    public void tearDown() {
+        this.factory.getAndSet(null).close();
+    }
+
+    @Override
+    protected Cache createCache(String cacheId) {
+        return this.factory.get().getCache(cacheId);
+    }
+
+    /**
+     * Tests inserting, overwriting and removing entries of various sizes (including empty ones and ones that span
+     * multiple blocks), and verifies that all memory is returned to the allocator at the end.
+     */
+    @Test
+    public void testMultiBlockEntries() {
+        @Cleanup
+        val allocator = new SlabAllocator(createConfig());
+        @Cleanup
+        val cache = new DirectMemoryCache("test", allocator, null);
+        val rnd = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            val key = new TestKey(i);
+            byte[] data = new byte[i * 3];
+            rnd.nextBytes(data);
+            if (i % 2 == 0) {
+                cache.insert(key, data);
+            } else {
+                cache.insert(key, new ByteArraySegment(data));
+            }
+
+            Assert.assertArrayEquals("Unexpected data after insert.", data, cache.get(key));
+
+            // Overwrite with something else.
+            data = new byte[i * 5 + 1];
+            rnd.nextBytes(data);
+            cache.insert(key, data);
+            Assert.assertArrayEquals("Unexpected data after overwrite.", data, cache.get(key));
+        }
+
+        Assert.assertTrue("Expected some memory to be in use.", allocator.getUsedBytes() > 0);
+        for (int i = 0; i < 100; i++) {
+            cache.remove(new TestKey(i));
+            Assert.assertNull("Entry not removed.", cache.get(new TestKey(i)));
+        }
+
+        Assert.assertEquals("Not all memory has been freed.", 0, allocator.getUsedBytes());
+    }
+
+    /**
+     * Tests the getView() method, and verifies that an entry's memory is not reclaimed (even if the entry is removed or
+     * overwritten) while a view of it is still being used.
+     */
+    @Test
+    public void testGetView() throws Exception {
+        @Cleanup
+        val allocator = new SlabAllocator(createConfig());
+        @Cleanup
+        val cache = new DirectMemoryCache("test", allocator, null);
+        val key = new TestKey(0);
+        byte[] data = new byte[BLOCK_SIZE * 10 + 3];
+        new Random(0).nextBytes(data);
+        cache.insert(key, data);
+        Assert.assertNull("Unexpected view for inexistent key.", cache.getView(new TestKey(1)));
+
+        val view = cache.getView(key);
+        Assert.assertEquals("Unexpected view length.", data.length, view.getLength());
+        Assert.assertArrayEquals("Unexpected view contents.", data, view.getCopy());
+        Assert.assertArrayEquals("Unexpected view reader contents.", data, StreamHelpers.readAll(view.getReader(), data.length));
+        val slice = view.slice(BLOCK_SIZE / 2, BLOCK_SIZE * 3);
+        Assert.assertArrayEquals("Unexpected slice contents.",
+                Arrays.copyOfRange(data, BLOCK_SIZE / 2, BLOCK_SIZE / 2 + BLOCK_SIZE * 3), slice.getCopy());
+
+        // Remove the entry and overwrite the memory it used to have with something else. The view should not change.
+        cache.remove(key);
+        Assert.assertNull("Entry not removed.", cache.getView(key));
+        cache.insert(key, new byte[data.length]);
+        Assert.assertArrayEquals("View contents changed after removal.", data, view.getCopy());
+        long usedBytes = allocator.getUsedBytes();
+
+        // Release the view; only now the original entry's memory should be freed.
+        view.release();
+        Assert.assertEquals("Unexpected used bytes after releasing view.",
+                usedBytes - allocator.getBlockCount(data.length) * BLOCK_SIZE, allocator.getUsedBytes());
+    }
+
+    /**
+     * Tests that accessing entries after the allocator has been closed fails with {@link ObjectClosedException}, without
+     * requiring the callers to be quiesced first.
+     */
+    @Test
+    public void testAllocatorClosed() {
+        val allocator = new SlabAllocator(createConfig());
+        @Cleanup
+        val cache = new DirectMemoryCache("test", allocator, null);
+        val key = new TestKey(0);
+        cache.insert(key, new byte[BLOCK_SIZE * 3]);
+        val view = cache.getView(key);
+        allocator.close();
+        Assert.assertEquals("Unexpected used bytes after close.", 0, allocator.getUsedBytes());
+        AssertExtensions.assertThrows(
+                "get() worked after the allocator was closed.",
+                () -> cache.get(key),
+                ex -> ex instanceof ObjectClosedException);
+        AssertExtensions.assertThrows(
+                "A view could be read after the allocator was closed.",
+                view::getCopy,
+                ex -> ex instanceof ObjectClosedException);
+        view.release();
+    }
+
+    /**
+     * Tests the behavior of the cache when it runs out of capacity.
+     */
+    @Test
+    public void testCapacityExceeded() {
+        @Cleanup
+        val allocator = new SlabAllocator(createConfig());
+        @Cleanup
+        val cache = new DirectMemoryCache("test", allocator, null);
+        byte[] data = new byte[SLAB_SIZE];
+        int entryCount = (int) (MAX_SIZE / SLAB_SIZE);
+        for (int i = 0; i < entryCount; i++) {
+            cache.insert(new TestKey(i), data);
+        }
+
+        Assert.assertEquals("Unexpected allocated bytes.", MAX_SIZE, allocator.getAllocatedBytes());
+        Assert.assertEquals("Unexpected used bytes.", MAX_SIZE, allocator.getUsedBytes());
+        AssertExtensions.assertThrows(
+                "Insert succeeded even though there was no capacity left.",
+                () -> cache.insert(new TestKey(entryCount), new byte[1]),
+                ex -> ex instanceof CacheException);
+
+        // Freeing up an entry should make room for more.
+        cache.remove(new TestKey(0));
+        cache.insert(new TestKey(entryCount), data);
+        Assert.assertArrayEquals("Unexpected data.", data, cache.get(new TestKey(entryCount)));
+    }
+
+    private DirectMemoryCacheConfig createConfig() {
+        return DirectMemoryCacheConfig.builder()
+                .with(DirectMemoryCacheConfig.BLOCK_SIZE_BYTES, BLOCK_SIZE)
+                .with(DirectMemoryCacheConfig.SLAB_SIZE_BYTES, SLAB_SIZE)
+                .with(DirectMemoryCacheConfig.MAX_SIZE_BYTES, MAX_SIZE)
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    private static class TestKey extends Cache.Key {
+        private final int id;
+
+        @Override
+        public byte[] serialize() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -10,6 +10,7 @@
 package io.pravega.segmentstore.storage;
 
 import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
 
 /**
  * Defines a Cache that can be used by the ReadIndex.
@@ -44,6 +45,24 @@ public interface Cache extends AutoCloseable {
      */
     byte[] get(Key key);
 
+    /**
+     * Retrieves a cache entry with given key, as a {@link BufferView}.
+     *
+     * Implementations may return a view that points directly to the memory backing the entry, in which case the entry's
+     * memory is guaranteed not to be reclaimed or reused (even if the entry is removed or replaced) until the returned
+     * {@link BufferView} is released. The caller must therefore invoke {@link BufferView#release()} exactly once when it
+     * no longer needs the result. Slices of the result (see {@link BufferView#slice}) share the same retention.
+     *
+     * The default implementation wraps the result of {@link #get(Key)}, for which {@link BufferView#release()} is a no-op.
+     *
+     * @param key The key to search by.
+     * @return A {@link BufferView} representing the payload associated with the key, or null if no such entry exists.
+     */
+    default BufferView getView(Key key) {
+        byte[] data = get(key);
+        return data == null ? null : new ByteArraySegment(data);
+    }
+
     /**
      * Removes any cache entry that is associated with the given key.
      *
@@ -98,7 +98,7 @@ public final class MetricsNames {
     public static final String STORAGE_WRITE_BYTES = PREFIX + "segmentstore.storage.write_bytes";        // Counter
     public static final String STORAGE_CREATE_COUNT = PREFIX + "segmentstore.storage.create_count";      // Counter
 
-    // Cache (RocksDB) stats
+    // Cache (RocksDB and Direct Memory) stats
     public static final String CACHE_INSERT_LATENCY = PREFIX + "segmentstore.cache.insert_latency_ms";   // Histogram
     public static final String CACHE_INSERT_SIZE = PREFIX + "segmentstore.cache.insert_size";            // Histogram
     public static final String CACHE_INSERT_COUNT = PREFIX + "segmentstore.cache.insert_count";          // Counter
@@ -110,7 +110,10 @@ public final class MetricsNames {
     public static final String CACHE_DELETE_LATENCY = PREFIX + "segmentstore.cache.delete_latency_ms";   // Histogram
     public static final String CACHE_DELETE_COUNT = PREFIX + "segmentstore.cache.delete_count";          // Counter
     public static final String CACHE_TOTAL_SIZE_BYTES = PREFIX + "segmentstore.cache.size_bytes";        // Gauge
+    public static final String CACHE_CLIENT_SIZE_BYTES = PREFIX + "segmentstore.cache.client_size_bytes"; // Gauge
     public static final String CACHE_GENERATION_SPREAD = PREFIX + "segmentstore.cache.gen";              // Histogram
+    public static final String CACHE_DIRECT_MEMORY_ALLOCATED_BYTES = PREFIX + "segmentstore.cache.direct_memory_allocated_bytes"; // Gauge
+    public static final String CACHE_DIRECT_MEMORY_USED_BYTES = PREFIX + "segmentstore.cache.direct_memory_used_bytes";           // Gauge
 
     // DurableDataLog (Tier1) stats
     public static final String BK_TOTAL_WRITE_LATENCY = PREFIX + "segmentstore.bookkeeper.total_write_latency_ms";   // Including Queue. Per-container Histogram
@@ -188,6 +191,7 @@ public final class MetricsNames {
     public static final String SEGMENT_STORE_HOST_NUMBER = PREFIX + "controller.hosts.count";                    // Gauge
     public static final String SEGMENT_STORE_HOST_FAILURES = PREFIX + "controller.hosts.failures";               // Counter and Per-host counter
     public static final String SEGMENT_STORE_HOST_CONTAINER_COUNT = PREFIX + "controller.hosts.container_count"; // Per-host Gauge
+    public static final String SEGMENT_STORE_HOST_INFLIGHT_REQUESTS = PREFIX + "controller.hosts.inflight_requests"; // Per-host Gauge
 
     // Container lifecycle metrics
     public static final String CONTAINER_FAILOVERS = PREFIX + "controller.container.failovers";    // Counter and Per-container Counter
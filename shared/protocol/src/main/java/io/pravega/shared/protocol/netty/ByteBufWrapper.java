@@ -16,6 +16,9 @@ import io.pravega.common.util.BufferView;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.NonNull;
 
@@ -90,6 +93,18 @@ public class ByteBufWrapper implements BufferView {
         return bytes;
     }
 
+    @Override
+    public BufferView slice(int offset, int length) {
+        Exceptions.checkNotClosed(this.buf.refCnt() == 0, this);
+        return new ByteBufWrapper(this.buf.slice(this.buf.readerIndex() + offset, length));
+    }
+
+    @Override
+    public List<ByteBuffer> getContents() {
+        Exceptions.checkNotClosed(this.buf.refCnt() == 0, this);
+        return Arrays.asList(this.buf.nioBuffers());
+    }
+
     @Override
     public void copyTo(OutputStream target) throws IOException {
         Exceptions.checkNotClosed(this.buf.refCnt() == 0, this);
@@ -87,6 +87,8 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
     private int currentBlockSize;
     private int bytesLeftInBlock;
     private final Map<UUID, Session> pendingWrites = new HashMap<>();
+    // The Session of the last append, so that consecutive appends from the same writer do not need a map lookup key each.
+    private Session lastSession;
 
     public CommandEncoder(Function<Long, AppendBatchSizeTracker> appendTracker) {
         this(appendTracker, MetricNotifier.NO_OP_METRIC_NOTIFIER);
@@ -97,6 +99,7 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
         private static final int MAX_EVENTS = 500;
         private static final int MAX_DATA_SIZE = 1024 * 1024; // 1MB
         private final UUID id;
+        private final String segment;
         private final long requestId;
         private final List<ByteBuf> pendingList = new ArrayList<>();
         private int  pendingBytes = 0;
@@ -156,7 +159,7 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
                 pendingWrites.remove(id);
                 writeMessage(new AppendBlock(id), pendingBytes, out);
                 if (pendingBytes > 0) {
-                    pendingList.forEach(out::writeBytes);
+                    pendingList.forEach(data -> writeBytes(data, out));
                     pendingList.clear();
                 }
                 flush(pendingBytes, null, out);
@@ -194,9 +197,10 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
         log.trace("Encoding message to send over the wire {}", msg);
         if (msg instanceof Append) {
             Append append = (Append) msg;
-            Session session = setupSegments.get(new SimpleImmutableEntry<>(append.segment, append.getWriterId()));
+            Session session = getSession(append.getSegment(), append.getWriterId());
             validateAppend(append, session);
-            final ByteBuf data = append.getData().slice();
+            // This data is never modified (or read from using its reader index), as it belongs to the Append.
+            final ByteBuf data = append.getData();
             final AppendBatchSizeTracker blockSizeSupplier = (appendTracker == null) ? null :
                     appendTracker.apply(append.getFlowId());
 
@@ -223,8 +227,9 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
                     if (bytesLeftInBlock > data.readableBytes()) {
                         continueAppend(data, out);
                     } else {
-                        ByteBuf dataInsideBlock = data.readSlice(bytesLeftInBlock);
-                        completeAppend(dataInsideBlock, data, out);
+                        ByteBuf dataInsideBlock = data.slice(data.readerIndex(), bytesLeftInBlock);
+                        ByteBuf dataAfterBlock = data.slice(data.readerIndex() + bytesLeftInBlock, data.readableBytes() - bytesLeftInBlock);
+                        completeAppend(dataInsideBlock, dataAfterBlock, out);
                         flushAll(out);
                     }
                 } else {
@@ -237,7 +242,8 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
             writeMessage((SetupAppend) msg, out);
             SetupAppend setup = (SetupAppend) msg;
             setupSegments.put(new SimpleImmutableEntry<>(setup.getSegment(), setup.getWriterId()),
-                              new Session(setup.getWriterId(), setup.getRequestId()));
+                              new Session(setup.getWriterId(), setup.getSegment(), setup.getRequestId()));
+            lastSession = null;
         } else if (msg instanceof BlockTimeout) {
             BlockTimeout timeoutMsg = (BlockTimeout) msg;
             if (tokenCounter.get() == timeoutMsg.token) {
@@ -253,6 +259,15 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
         }
     }
 
+    private Session getSession(String segment, UUID writerId) {
+        Session session = lastSession;
+        if (session == null || !session.id.equals(writerId) || !session.segment.equals(segment)) {
+            session = setupSegments.get(new SimpleImmutableEntry<>(segment, writerId));
+            lastSession = session;
+        }
+        return session;
+    }
+
     private void validateAppend(Append append, Session session) {
         if (append.getEventCount() <= 0) {
             throw new InvalidMessageException("Invalid eventCount : " + append.getEventCount() +
@@ -334,7 +349,14 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
      */
     private void continueAppend(ByteBuf data, ByteBuf out) {
         bytesLeftInBlock -= data.readableBytes();
-        out.writeBytes(data);
+        writeBytes(data, out);
+    }
+
+    /**
+     * Copies the readable bytes of data into out, without changing the reader index of data.
+     */
+    private static void writeBytes(ByteBuf data, ByteBuf out) {
+        out.writeBytes(data, data.readerIndex(), data.readableBytes());
     }
 
     /**
@@ -345,7 +367,7 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
      * @param out           channel Buffer.
      */
     private void completeAppend(ByteBuf pendingData, ByteBuf out) {
-        Session session = setupSegments.get(new SimpleImmutableEntry<>(segmentBeingAppendedTo, writerIdPerformingAppends));
+        Session session = getSession(segmentBeingAppendedTo, writerIdPerformingAppends);
         session.flush(currentBlockSize - bytesLeftInBlock, pendingData, out);
         tokenCounter.incrementAndGet();
         bytesLeftInBlock = 0;
@@ -89,11 +89,21 @@ public abstract class DelegatingReplyProcessor implements ReplyProcessor {
         getNextReplyProcessor().segmentsMerged(segmentsMerged);
     }
 
+    @Override
+    public void segmentsBatchMerged(WireCommands.SegmentsBatchMerged segmentsBatchMerged) {
+        getNextReplyProcessor().segmentsBatchMerged(segmentsBatchMerged);
+    }
+
     @Override
     public void segmentSealed(WireCommands.SegmentSealed segmentSealed) {
         getNextReplyProcessor().segmentSealed(segmentSealed);
     }
 
+    @Override
+    public void segmentsBatchSealed(WireCommands.SegmentsBatchSealed segmentsBatchSealed) {
+        getNextReplyProcessor().segmentsBatchSealed(segmentsBatchSealed);
+    }
+
     @Override
     public void segmentDeleted(WireCommands.SegmentDeleted segmentDeleted) {
         getNextReplyProcessor().segmentDeleted(segmentDeleted);
@@ -75,11 +75,21 @@ public abstract class DelegatingRequestProcessor implements RequestProcessor {
         getNextRequestProcessor().mergeSegments(mergeSegments);
     }
 
+    @Override
+    public void mergeSegmentsBatch(WireCommands.MergeSegmentsBatch mergeSegmentsBatch) {
+        getNextRequestProcessor().mergeSegmentsBatch(mergeSegmentsBatch);
+    }
+
     @Override
     public void sealSegment(SealSegment sealSegment) {
         getNextRequestProcessor().sealSegment(sealSegment);
     }
 
+    @Override
+    public void sealSegmentsBatch(WireCommands.SealSegmentsBatch sealSegmentsBatch) {
+        getNextRequestProcessor().sealSegmentsBatch(sealSegmentsBatch);
+    }
+
     @Override
     public void truncateSegment(TruncateSegment truncateSegment) {
         getNextRequestProcessor().truncateSegment(truncateSegment);
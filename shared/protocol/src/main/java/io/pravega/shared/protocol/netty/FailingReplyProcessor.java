@@ -130,11 +130,21 @@ public abstract class FailingReplyProcessor implements ReplyProcessor {
         throw new IllegalStateException("Unexpected operation: " + segmentsMerged);
     }
 
+    @Override
+    public void segmentsBatchMerged(WireCommands.SegmentsBatchMerged segmentsBatchMerged) {
+        throw new IllegalStateException("Unexpected operation: " + segmentsBatchMerged);
+    }
+
     @Override
     public void segmentSealed(SegmentSealed segmentSealed) {
         throw new IllegalStateException("Unexpected operation: " + segmentSealed);
     }
 
+    @Override
+    public void segmentsBatchSealed(WireCommands.SegmentsBatchSealed segmentsBatchSealed) {
+        throw new IllegalStateException("Unexpected operation: " + segmentsBatchSealed);
+    }
+
     @Override
     public void segmentTruncated(SegmentTruncated segmentTruncated) {
         throw new IllegalStateException("Unexpected operation: " + segmentTruncated);
@@ -114,6 +114,11 @@ public class FailingRequestProcessor implements RequestProcessor {
         throw new IllegalStateException("Unexpected operation");
     }
 
+    @Override
+    public void mergeSegmentsBatch(WireCommands.MergeSegmentsBatch mergeSegmentsBatch) {
+        throw new IllegalStateException("Unexpected operation");
+    }
+
     @Override
     public void mergeTableSegments(WireCommands.MergeTableSegments mergeSegments) {
         throw new IllegalStateException("Unexpected operation");
@@ -124,6 +129,11 @@ public class FailingRequestProcessor implements RequestProcessor {
         throw new IllegalStateException("Unexpected operation");
     }
 
+    @Override
+    public void sealSegmentsBatch(WireCommands.SealSegmentsBatch sealSegmentsBatch) {
+        throw new IllegalStateException("Unexpected operation");
+    }
+
     @Override
     public void sealTableSegment(WireCommands.SealTableSegment sealTableSegment) {
         throw new IllegalStateException("Unexpected operation");
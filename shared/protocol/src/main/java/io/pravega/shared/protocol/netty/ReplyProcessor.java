@@ -54,8 +54,12 @@ public interface ReplyProcessor {
 
     void segmentsMerged(WireCommands.SegmentsMerged segmentsMerged);
 
+    void segmentsBatchMerged(WireCommands.SegmentsBatchMerged segmentsBatchMerged);
+
     void segmentSealed(WireCommands.SegmentSealed segmentSealed);
 
+    void segmentsBatchSealed(WireCommands.SegmentsBatchSealed segmentsBatchSealed);
+
     void segmentTruncated(WireCommands.SegmentTruncated segmentTruncated);
 
     void segmentDeleted(WireCommands.SegmentDeleted segmentDeleted);
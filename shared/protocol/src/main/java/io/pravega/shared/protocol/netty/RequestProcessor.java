@@ -51,10 +51,14 @@ public interface RequestProcessor {
 
     void mergeSegments(MergeSegments mergeSegments);
 
+    void mergeSegmentsBatch(WireCommands.MergeSegmentsBatch mergeSegmentsBatch);
+
     void mergeTableSegments(MergeTableSegments mergeSegments);
 
     void sealSegment(SealSegment sealSegment);
 
+    void sealSegmentsBatch(WireCommands.SealSegmentsBatch sealSegmentsBatch);
+
     void sealTableSegment(SealTableSegment sealTableSegment);
 
     void truncateSegment(TruncateSegment truncateSegment);
@@ -28,6 +28,7 @@ public enum WireCommandType {
     PARTIAL_EVENT(-2, WireCommands.PartialEvent::readFrom),
 
     EVENT(0, null), // Is read manually.
+    COMPRESSED_EVENT(-3, null), // Is read manually.
 
     SETUP_APPEND(1, WireCommands.SetupAppend::readFrom),
     APPEND_SETUP(2, WireCommands.AppendSetup::readFrom),
@@ -66,6 +67,12 @@ public enum WireCommandType {
     TRUNCATE_SEGMENT(38, WireCommands.TruncateSegment::readFrom),
     SEGMENT_TRUNCATED(39, WireCommands.SegmentTruncated::readFrom),
 
+    SEAL_SEGMENTS_BATCH(40, WireCommands.SealSegmentsBatch::readFrom),
+    SEGMENTS_BATCH_SEALED(41, WireCommands.SegmentsBatchSealed::readFrom),
+
+    MERGE_SEGMENTS_BATCH(42, WireCommands.MergeSegmentsBatch::readFrom),
+    SEGMENTS_BATCH_MERGED(43, WireCommands.SegmentsBatchMerged::readFrom),
+
     WRONG_HOST(50, WireCommands.WrongHost::readFrom),
     SEGMENT_IS_SEALED(51, WireCommands.SegmentIsSealed::readFrom),
     SEGMENT_ALREADY_EXISTS(52, WireCommands.SegmentAlreadyExists::readFrom),
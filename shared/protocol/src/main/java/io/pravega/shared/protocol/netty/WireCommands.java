@@ -12,8 +12,10 @@ package io.pravega.shared.protocol.netty;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.util.ReferenceCounted;
 import io.pravega.shared.segment.ScaleType;
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -21,7 +23,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.BufferOverflowException;
-import java.nio.ByteBuffer;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -52,7 +53,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * Incompatible changes should instead create a new WireCommand object.
  */
 public final class WireCommands {
-    public static final int WIRE_VERSION = 9;
+    public static final int WIRE_VERSION = 10;
     public static final int OLDEST_COMPATIBLE_VERSION = 5;
     public static final int TYPE_SIZE = 4;
     public static final int TYPE_PLUS_LENGTH_SIZE = 8;
@@ -74,6 +75,22 @@ public final class WireCommands {
         return MAPPING.get(value);
     }
 
+    private static void writeStringList(DataOutput out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStringList(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
     @FunctionalInterface
     interface Constructor {
         WireCommand readFrom(ByteBufInputStream in, int length) throws IOException;
@@ -489,6 +506,33 @@ public final class WireCommands {
         }
     }
 
+    /**
+     * An {@link Event} whose data has been compressed using DEFLATE. Like Event this is only ever written as part of the
+     * data of an append, and is read manually by the client.
+     */
+    @Data
+    public static final class CompressedEvent implements WireCommand {
+        final WireCommandType type = WireCommandType.COMPRESSED_EVENT;
+        final int uncompressedLength;
+        final ByteBuf data;
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeInt(type.getCode());
+            out.writeInt(Integer.BYTES + data.readableBytes());
+            out.writeInt(uncompressedLength);
+            data.getBytes(data.readerIndex(), (OutputStream) out, data.readableBytes());
+        }
+
+        public ByteBuf getAsByteBuf() {
+            ByteBuf header = Unpooled.buffer(TYPE_PLUS_LENGTH_SIZE + Integer.BYTES, TYPE_PLUS_LENGTH_SIZE + Integer.BYTES);
+            header.writeInt(type.getCode());
+            header.writeInt(Integer.BYTES + data.readableBytes());
+            header.writeInt(uncompressedLength);
+            return Unpooled.wrappedBuffer(header, data);
+        }
+    }
+
     @Data
     public static final class SetupAppend implements Request, WireCommand {
         final WireCommandType type = WireCommandType.SETUP_APPEND;
@@ -792,14 +836,19 @@ public final class WireCommands {
         }
     }
 
+    /**
+     * Reply to a {@link ReadSegment} request. The data may point to memory that is owned by the Segment Store's cache,
+     * so this command is {@link ReferenceCounted} (delegating to its data): Netty releases it once it has been encoded,
+     * or if it cannot be written at all (i.e., the channel has been closed).
+     */
     @Data
-    public static final class SegmentRead implements Reply, WireCommand {
+    public static final class SegmentRead implements Reply, WireCommand, ReferenceCounted {
         final WireCommandType type = WireCommandType.SEGMENT_READ;
         final String segment;
         final long offset;
         final boolean atTail; //TODO: Is sometimes false when actual state is unknown.
         final boolean endOfSegment;
-        final ByteBuffer data;
+        final ByteBuf data;
         final long requestId;
 
         @Override
@@ -813,9 +862,15 @@ public final class WireCommands {
             out.writeLong(offset);
             out.writeBoolean(atTail);
             out.writeBoolean(endOfSegment);
-            int dataLength = data.remaining();
+            int dataLength = data.readableBytes();
             out.writeInt(dataLength);
-            out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            if (out instanceof ByteBufOutputStream) {
+                // Copy straight into the target buffer. The data may be off-heap, so going through the OutputStream
+                // would stage it through a temporary heap array.
+                ((ByteBufOutputStream) out).buffer().writeBytes(data, data.readerIndex(), dataLength);
+            } else {
+                data.getBytes(data.readerIndex(), (OutputStream) out, dataLength);
+            }
             out.writeLong(requestId);
         }
 
@@ -831,13 +886,52 @@ public final class WireCommands {
             byte[] data = new byte[dataLength];
             in.readFully(data);
             long requestId =  in.available() >= Long.BYTES ? in.readLong() : -1L;
-            return new SegmentRead(segment, offset, atTail, endOfSegment, ByteBuffer.wrap(data), requestId);
+            return new SegmentRead(segment, offset, atTail, endOfSegment, wrappedBuffer(data), requestId);
         }
 
         @Override
         public long getRequestId() {
             return requestId;
         }
+
+        @Override
+        public int refCnt() {
+            return data.refCnt();
+        }
+
+        @Override
+        public SegmentRead retain() {
+            data.retain();
+            return this;
+        }
+
+        @Override
+        public SegmentRead retain(int increment) {
+            data.retain(increment);
+            return this;
+        }
+
+        @Override
+        public SegmentRead touch() {
+            data.touch();
+            return this;
+        }
+
+        @Override
+        public SegmentRead touch(Object hint) {
+            data.touch(hint);
+            return this;
+        }
+
+        @Override
+        public boolean release() {
+            return data.release();
+        }
+
+        @Override
+        public boolean release(int decrement) {
+            return data.release(decrement);
+        }
     }
 
     @Data
@@ -1278,6 +1372,68 @@ public final class WireCommands {
         }
     }
 
+    /**
+     * Merges each segment in sources into the segment at the same position in targets.
+     */
+    @Data
+    public static final class MergeSegmentsBatch implements Request, WireCommand {
+        final WireCommandType type = WireCommandType.MERGE_SEGMENTS_BATCH;
+        final long requestId;
+        final List<String> targets;
+        final List<String> sources;
+        @ToString.Exclude
+        final String delegationToken;
+
+        @Override
+        public void process(RequestProcessor cp) {
+            cp.mergeSegmentsBatch(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            Preconditions.checkState(targets.size() == sources.size(), "targets and sources must have the same size.");
+            out.writeLong(requestId);
+            writeStringList(out, targets);
+            writeStringList(out, sources);
+            out.writeUTF(delegationToken == null ? "" : delegationToken);
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            List<String> targets = readStringList(in);
+            List<String> sources = readStringList(in);
+            String delegationToken = in.readUTF();
+            return new MergeSegmentsBatch(requestId, targets, sources, delegationToken);
+        }
+    }
+
+    @Data
+    public static final class SegmentsBatchMerged implements Reply, WireCommand {
+        final WireCommandType type = WireCommandType.SEGMENTS_BATCH_MERGED;
+        final long requestId;
+        final List<String> targets;
+        final List<String> sources;
+
+        @Override
+        public void process(ReplyProcessor cp) {
+            cp.segmentsBatchMerged(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            writeStringList(out, targets);
+            writeStringList(out, sources);
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            List<String> targets = readStringList(in);
+            List<String> sources = readStringList(in);
+            return new SegmentsBatchMerged(requestId, targets, sources);
+        }
+    }
+
     @Data
     public static final class SealSegment implements Request, WireCommand {
         final WireCommandType type = WireCommandType.SEAL_SEGMENT;
@@ -1358,6 +1514,58 @@ public final class WireCommands {
         }
     }
 
+    @Data
+    public static final class SealSegmentsBatch implements Request, WireCommand {
+        final WireCommandType type = WireCommandType.SEAL_SEGMENTS_BATCH;
+        final long requestId;
+        final List<String> segments;
+        @ToString.Exclude
+        final String delegationToken;
+
+        @Override
+        public void process(RequestProcessor cp) {
+            cp.sealSegmentsBatch(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            writeStringList(out, segments);
+            out.writeUTF(delegationToken == null ? "" : delegationToken);
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            List<String> segments = readStringList(in);
+            String delegationToken = in.readUTF();
+            return new SealSegmentsBatch(requestId, segments, delegationToken);
+        }
+    }
+
+    @Data
+    public static final class SegmentsBatchSealed implements Reply, WireCommand {
+        final WireCommandType type = WireCommandType.SEGMENTS_BATCH_SEALED;
+        final long requestId;
+        final List<String> segments;
+
+        @Override
+        public void process(ReplyProcessor cp) {
+            cp.segmentsBatchSealed(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            writeStringList(out, segments);
+        }
+
+        public static WireCommand readFrom(DataInput in, int length) throws IOException {
+            long requestId = in.readLong();
+            List<String> segments = readStringList(in);
+            return new SegmentsBatchSealed(requestId, segments);
+        }
+    }
+
     @Data
     public static final class TruncateSegment implements Request, WireCommand {
         final WireCommandType type = WireCommandType.TRUNCATE_SEGMENT;
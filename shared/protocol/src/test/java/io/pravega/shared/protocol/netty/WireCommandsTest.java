@@ -12,6 +12,7 @@ package io.pravega.shared.protocol.netty;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.pravega.shared.protocol.netty.WireCommands.Event;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutput;
@@ -21,6 +22,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -515,7 +517,31 @@ public class WireCommandsTest {
 
     @Test
     public void testSegmentRead() throws IOException {
-        testCommand(new WireCommands.SegmentRead(testString1, l, true, false, buffer, l));
+        testCommand(new WireCommands.SegmentRead(testString1, l, true, false, buf, l));
+    }
+
+    /**
+     * Verifies that a SegmentRead with direct, multi-component data is encoded correctly by the {@link CommandEncoder},
+     * and that its data is released afterwards.
+     */
+    @Test
+    public void testSegmentReadEncoder() throws Exception {
+        ByteBuf first = Unpooled.directBuffer(3).writeBytes(new byte[] { 1, 2, 3 });
+        ByteBuf second = Unpooled.directBuffer(2).writeBytes(new byte[] { 4, 5 });
+        ByteBuf data = Unpooled.wrappedBuffer(first, second);
+        WireCommands.SegmentRead expected = new WireCommands.SegmentRead(testString1, l, true, false, buf, l);
+        EmbeddedChannel channel = new EmbeddedChannel(new CommandEncoder(null));
+        channel.writeOutbound(new WireCommands.SegmentRead(testString1, l, true, false, data, l));
+        assertEquals(0, data.refCnt());
+        ByteBuf out = channel.readOutbound();
+        try {
+            assertEquals(WireCommandType.SEGMENT_READ.getCode(), out.readInt());
+            int length = out.readInt();
+            assertEquals(length, out.readableBytes());
+            assertEquals(expected, WireCommands.SegmentRead.readFrom(new ByteBufInputStream(out), length));
+        } finally {
+            out.release();
+        }
     }
     
     @Test
@@ -579,6 +605,17 @@ public class WireCommandsTest {
         testCommand(new WireCommands.SegmentsMerged(l, testString1, testString2, -l));
     }
 
+    @Test
+    public void testMergeSegmentsBatch() throws IOException {
+        testCommand(new WireCommands.MergeSegmentsBatch(l, Arrays.asList(testString1, testString1), Arrays.asList(testString2, testString2 + "2"), ""));
+        testCommand(new WireCommands.MergeSegmentsBatch(l, Collections.emptyList(), Collections.emptyList(), ""));
+    }
+
+    @Test
+    public void testSegmentsBatchMerged() throws IOException {
+        testCommand(new WireCommands.SegmentsBatchMerged(l, Arrays.asList(testString1, testString1), Arrays.asList(testString2, testString2 + "2")));
+    }
+
     @Test
     public void testSealSegment() throws IOException {
         testCommand(new WireCommands.SealSegment(l, testString1, ""));
@@ -594,6 +631,17 @@ public class WireCommandsTest {
         testCommand(new WireCommands.SegmentSealed(l, testString1));
     }
 
+    @Test
+    public void testSealSegmentsBatch() throws IOException {
+        testCommand(new WireCommands.SealSegmentsBatch(l, Arrays.asList(testString1, testString2), ""));
+        testCommand(new WireCommands.SealSegmentsBatch(l, Collections.emptyList(), ""));
+    }
+
+    @Test
+    public void testSegmentsBatchSealed() throws IOException {
+        testCommand(new WireCommands.SegmentsBatchSealed(l, Arrays.asList(testString1, testString2)));
+    }
+
     @Test
     public void testTruncateSegment() throws IOException {
         testCommand(new WireCommands.TruncateSegment(l, testString1, l + 1, ""));
@@ -207,11 +207,21 @@ class InProcessMockClientAdapter extends ClientAdapterBase {
             throw new UnsupportedOperationException("mergeStreamSegment");
         }
 
+        @Override
+        public CompletableFuture<Map<String, MergeStreamSegmentResult>> mergeStreamSegments(Map<String, String> sourceToTarget, Duration timeout) {
+            throw new UnsupportedOperationException("mergeStreamSegments");
+        }
+
         @Override
         public CompletableFuture<Long> sealStreamSegment(String streamSegmentName, Duration timeout) {
             throw new UnsupportedOperationException("sealStreamSegment");
         }
 
+        @Override
+        public CompletableFuture<Void> sealStreamSegments(Collection<String> streamSegmentNames, Duration timeout) {
+            throw new UnsupportedOperationException("sealStreamSegments");
+        }
+
         @Override
         public CompletableFuture<Void> deleteStreamSegment(String streamSegmentName, Duration timeout) {
             throw new UnsupportedOperationException("deleteStreamSegment");
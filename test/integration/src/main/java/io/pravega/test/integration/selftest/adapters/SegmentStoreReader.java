@@ -348,7 +348,12 @@ class SegmentStoreReader implements StoreReader {
 
             val contents = entry.getContent().join();
             this.readLength.addAndGet(contents.getLength());
-            this.callback.accept(contents.getData(), entry.getStreamSegmentOffset(), contents.getLength());
+            try {
+                this.callback.accept(contents.getData(), entry.getStreamSegmentOffset(), contents.getLength());
+            } finally {
+                contents.release();
+            }
+
             return !this.cancellationToken.isCancellationRequested();
         }
 